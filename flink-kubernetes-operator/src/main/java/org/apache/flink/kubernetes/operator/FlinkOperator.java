@@ -27,18 +27,28 @@ import org.apache.flink.kubernetes.operator.config.FlinkOperatorConfiguration;
 import org.apache.flink.kubernetes.operator.controller.FlinkControllerConfig;
 import org.apache.flink.kubernetes.operator.controller.FlinkDeploymentController;
 import org.apache.flink.kubernetes.operator.controller.FlinkSessionJobController;
+import org.apache.flink.kubernetes.operator.controller.PriorityReconciliationExecutor;
 import org.apache.flink.kubernetes.operator.crd.FlinkDeployment;
 import org.apache.flink.kubernetes.operator.crd.FlinkSessionJob;
+import org.apache.flink.kubernetes.operator.metrics.KubernetesOperatorMetricGroup;
 import org.apache.flink.kubernetes.operator.metrics.OperatorMetricUtils;
 import org.apache.flink.kubernetes.operator.observer.Observer;
 import org.apache.flink.kubernetes.operator.observer.deployment.ObserverFactory;
+import org.apache.flink.kubernetes.operator.observer.sessionjob.SessionClusterObserver;
 import org.apache.flink.kubernetes.operator.observer.sessionjob.SessionJobObserver;
+import org.apache.flink.kubernetes.operator.reconciler.AppliedSpecChanges;
 import org.apache.flink.kubernetes.operator.reconciler.Reconciler;
+import org.apache.flink.kubernetes.operator.reconciler.ReconciliationCounter;
+import org.apache.flink.kubernetes.operator.reconciler.SpecCache;
+import org.apache.flink.kubernetes.operator.reconciler.SpecEncoding;
 import org.apache.flink.kubernetes.operator.reconciler.deployment.ReconcilerFactory;
 import org.apache.flink.kubernetes.operator.reconciler.sessionjob.FlinkSessionJobReconciler;
 import org.apache.flink.kubernetes.operator.service.FlinkService;
+import org.apache.flink.kubernetes.operator.utils.ConfigFileStore;
+import org.apache.flink.kubernetes.operator.utils.EffectiveConfigCache;
 import org.apache.flink.kubernetes.operator.utils.EnvUtils;
 import org.apache.flink.kubernetes.operator.utils.ValidatorUtils;
+import org.apache.flink.kubernetes.operator.utils.VirtualThreads;
 import org.apache.flink.kubernetes.operator.validation.FlinkResourceValidator;
 
 import io.fabric8.kubernetes.client.DefaultKubernetesClient;
@@ -50,7 +60,9 @@ import io.javaoperatorsdk.operator.config.runtime.DefaultConfigurationService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
 /** Main Class for Flink native k8s operator. */
@@ -65,20 +77,37 @@ public class FlinkOperator {
     private final ConfigurationService configurationService;
     private final Configuration defaultConfig;
     private final Set<FlinkResourceValidator> validators;
+    private final KubernetesOperatorMetricGroup metricGroup;
+    private final SpecCache specCache;
+    private final SpecEncoding specEncoding;
+    private final AppliedSpecChanges appliedSpecChanges;
+    private final EffectiveConfigCache effectiveConfigCache;
+    private final ReconciliationCounter reconciliationCounter;
 
     public FlinkOperator() {
         this(GlobalConfiguration.loadConfiguration());
     }
 
     public FlinkOperator(Configuration defaultConfig) {
-        OperatorMetricUtils.initOperatorMetrics(defaultConfig);
+        this.metricGroup = OperatorMetricUtils.initOperatorMetrics(defaultConfig);
 
         this.defaultConfig = defaultConfig;
         this.client = new DefaultKubernetesClient();
         this.operatorConfiguration = FlinkOperatorConfiguration.fromConfiguration(defaultConfig);
         this.configurationService = getConfigurationService(operatorConfiguration);
         this.operator = new Operator(client, configurationService);
-        this.flinkService = new FlinkService(client, operatorConfiguration);
+        this.flinkService = new FlinkService(client, operatorConfiguration, metricGroup);
+        this.specCache = new SpecCache();
+        specCache.registerMetrics(metricGroup.addGroup("SpecCache"));
+        this.specEncoding = new SpecEncoding(operatorConfiguration);
+        this.appliedSpecChanges = new AppliedSpecChanges();
+        appliedSpecChanges.registerMetrics(metricGroup.addGroup("SpecChanges"));
+        ConfigFileStore configFileStore = new ConfigFileStore(operatorConfiguration);
+        configFileStore.registerMetrics(metricGroup.addGroup("ConfigFiles"));
+        this.effectiveConfigCache = new EffectiveConfigCache(configFileStore);
+        effectiveConfigCache.registerMetrics(metricGroup.addGroup("EffectiveConfigCache"));
+        this.reconciliationCounter = new ReconciliationCounter();
+        reconciliationCounter.registerMetrics(metricGroup.addGroup("Reconciliations"));
         this.validators = ValidatorUtils.discoverValidators(defaultConfig);
         PluginManager pluginManager = PluginUtils.createPluginManagerFromRootFolder(defaultConfig);
         FileSystem.initialize(defaultConfig, pluginManager);
@@ -86,7 +115,12 @@ public class FlinkOperator {
 
     private void registerDeploymentController() {
         ReconcilerFactory reconcilerFactory =
-                new ReconcilerFactory(client, flinkService, operatorConfiguration, defaultConfig);
+                new ReconcilerFactory(
+                        client,
+                        flinkService,
+                        operatorConfiguration,
+                        defaultConfig,
+                        appliedSpecChanges);
         ObserverFactory observerFactory =
                 new ObserverFactory(flinkService, operatorConfiguration, defaultConfig);
 
@@ -96,7 +130,12 @@ public class FlinkOperator {
                         client,
                         validators,
                         reconcilerFactory,
-                        observerFactory);
+                        observerFactory,
+                        flinkService,
+                        specCache,
+                        specEncoding,
+                        effectiveConfigCache,
+                        reconciliationCounter);
 
         FlinkControllerConfig<FlinkDeployment> controllerConfig =
                 new FlinkControllerConfig<>(
@@ -110,11 +149,27 @@ public class FlinkOperator {
         Reconciler<FlinkSessionJob> reconciler =
                 new FlinkSessionJobReconciler(
                         client, flinkService, operatorConfiguration, defaultConfig);
+        SessionClusterObserver sessionClusterObserver =
+                new SessionClusterObserver(
+                        flinkService,
+                        operatorConfiguration,
+                        configurationService.getExecutorService());
         Observer<FlinkSessionJob> observer =
-                new SessionJobObserver(operatorConfiguration, flinkService, defaultConfig);
+                new SessionJobObserver(
+                        operatorConfiguration, flinkService, defaultConfig, sessionClusterObserver);
         FlinkSessionJobController controller =
                 new FlinkSessionJobController(
-                        operatorConfiguration, client, validators, reconciler, observer);
+                        operatorConfiguration,
+                        client,
+                        validators,
+                        reconciler,
+                        observer,
+                        flinkService,
+                        sessionClusterObserver,
+                        specCache,
+                        specEncoding,
+                        effectiveConfigCache,
+                        reconciliationCounter);
 
         FlinkControllerConfig<FlinkSessionJob> controllerConfig =
                 new FlinkControllerConfig<>(
@@ -132,13 +187,36 @@ public class FlinkOperator {
                 new ConfigurationServiceOverrider(DefaultConfigurationService.instance())
                         .checkingCRDAndValidateLocalModel(false);
 
+        if (operatorConfiguration.isVirtualThreadsEnabled()) {
+            Optional<ExecutorService> executor = VirtualThreads.newVirtualThreadPerTaskExecutor();
+            if (executor.isPresent()) {
+                LOG.info("Configuring operator with virtual reconciliation threads.");
+                return configOverrider.withExecutorService(executor.get()).build();
+            }
+            LOG.warn(
+                    "Virtual threads are not supported by the Java runtime, "
+                            + "falling back to platform reconciliation threads.");
+        }
+
         int parallelism = operatorConfiguration.getReconcilerMaxParallelism();
         if (parallelism == -1) {
             LOG.info("Configuring operator with unbounded reconciliation thread pool.");
             configOverrider = configOverrider.withExecutorService(Executors.newCachedThreadPool());
         } else {
             LOG.info("Configuring operator with {} reconciliation threads.", parallelism);
-            configOverrider = configOverrider.withConcurrentReconciliationThreads(parallelism);
+            if (operatorConfiguration.isPrioritySchedulingEnabled()
+                    || operatorConfiguration.isFairShareEnabled()) {
+                LOG.info(
+                        "Scheduling queued reconciliations with priorities: {}, fair share between namespaces: {}.",
+                        operatorConfiguration.isPrioritySchedulingEnabled(),
+                        operatorConfiguration.isFairShareEnabled());
+                PriorityReconciliationExecutor executor =
+                        new PriorityReconciliationExecutor(parallelism, operatorConfiguration);
+                executor.registerMetrics(metricGroup.addGroup("ReconciliationQueue"));
+                configOverrider = configOverrider.withExecutorService(executor);
+            } else {
+                configOverrider = configOverrider.withConcurrentReconciliationThreads(parallelism);
+            }
         }
         return configOverrider.build();
     }
@@ -18,6 +18,8 @@
 package org.apache.flink.kubernetes.operator.artifact;
 
 import java.io.File;
+import java.io.InputStream;
+import java.util.Optional;
 
 /** The artifact fetcher. */
 public interface ArtifactFetcher {
@@ -31,4 +33,25 @@ public interface ArtifactFetcher {
      * @throws Exception
      */
     File fetch(String uri, File targetDir) throws Exception;
+
+    /**
+     * Open the resource from the uri for reading, without copying it to the local disk.
+     *
+     * @param uri The artifact to be read.
+     * @return The stream of the artifact content, to be closed by the caller.
+     * @throws Exception
+     */
+    InputStream open(String uri) throws Exception;
+
+    /**
+     * Get a cheap fingerprint of the current content of the artifact without fetching it, such as
+     * its modification time and size.
+     *
+     * @param uri The artifact to be fingerprinted.
+     * @return The fingerprint, or {@code Optional.empty()} if the source does not provide one.
+     * @throws Exception
+     */
+    default Optional<String> fingerprint(String uri) throws Exception {
+        return Optional.empty();
+    }
 }
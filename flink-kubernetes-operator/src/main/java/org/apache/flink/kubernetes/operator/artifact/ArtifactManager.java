@@ -20,22 +20,34 @@ package org.apache.flink.kubernetes.operator.artifact;
 import org.apache.flink.kubernetes.operator.config.FlinkOperatorConfiguration;
 import org.apache.flink.kubernetes.operator.crd.FlinkSessionJob;
 import org.apache.flink.util.FlinkRuntimeException;
+import org.apache.flink.util.StringUtils;
 
 import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.FilenameUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
+import java.net.URISyntaxException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Optional;
 
 /** Manage the user artifacts. */
 public class ArtifactManager {
 
     private static final Logger LOG = LoggerFactory.getLogger(ArtifactManager.class);
     private final File baseDir;
+    private final HttpArtifactFetcher httpArtifactFetcher;
 
     public ArtifactManager(FlinkOperatorConfiguration operatorConfiguration) {
         this.baseDir = new File(operatorConfiguration.getArtifactsBaseDir());
+        this.httpArtifactFetcher =
+                new HttpArtifactFetcher(operatorConfiguration.getFlinkClientTimeout());
     }
 
     private synchronized void createIfNotExists(File targetDir) {
@@ -53,11 +65,63 @@ public class ArtifactManager {
     public File fetch(String jarURI, String targetDirStr) throws Exception {
         File targetDir = new File(targetDirStr);
         createIfNotExists(targetDir);
-        URI uri = new URI(jarURI);
+        return getFetcher(new URI(jarURI)).fetch(jarURI, targetDir);
+    }
+
+    /** Open the artifact for reading without copying it to the local disk. */
+    public InputStream open(String jarURI) throws Exception {
+        return getFetcher(new URI(jarURI)).open(jarURI);
+    }
+
+    /** Get the file name of the artifact, as it would be named when fetched. */
+    public static String getFileName(String jarURI) throws URISyntaxException {
+        return FilenameUtils.getName(new URI(jarURI).getPath());
+    }
+
+    private ArtifactFetcher getFetcher(URI uri) {
         if ("http".equals(uri.getScheme()) || "https".equals(uri.getScheme())) {
-            return HttpArtifactFetcher.INSTANCE.fetch(jarURI, targetDir);
+            return httpArtifactFetcher;
         } else {
-            return FileSystemBasedArtifactFetcher.INSTANCE.fetch(jarURI, targetDir);
+            return FileSystemBasedArtifactFetcher.INSTANCE;
+        }
+    }
+
+    /**
+     * Get a fingerprint of the current content of the artifact without fetching it.
+     *
+     * @return The fingerprint, or {@code Optional.empty()} if it can't be determined.
+     */
+    public Optional<String> fingerprint(String jarURI) {
+        try {
+            return getFetcher(new URI(jarURI)).fingerprint(jarURI);
+        } catch (Exception e) {
+            LOG.warn("Failed to fingerprint the artifact {}", jarURI, e);
+            return Optional.empty();
+        }
+    }
+
+    /** Compute the SHA-256 hash of the content of the file. */
+    public static String contentHash(File file) throws IOException {
+        MessageDigest digest = newContentDigest();
+        try (InputStream inputStream = new FileInputStream(file)) {
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return StringUtils.byteToHexString(digest.digest());
+    }
+
+    /**
+     * Create the digest used for content hashes, e.g. to hash an artifact while streaming it with a
+     * {@link java.security.DigestInputStream}.
+     */
+    public static MessageDigest newContentDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
         }
     }
 
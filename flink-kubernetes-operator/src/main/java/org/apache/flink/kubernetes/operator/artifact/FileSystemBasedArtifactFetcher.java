@@ -17,6 +17,7 @@
 
 package org.apache.flink.kubernetes.operator.artifact;
 
+import org.apache.flink.core.fs.FileStatus;
 import org.apache.flink.core.fs.FileSystem;
 
 import org.apache.commons.io.FileUtils;
@@ -24,6 +25,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.io.InputStream;
+import java.util.Optional;
 
 /** Leverage the flink filesystem plugin to fetch the artifact. */
 public class FileSystemBasedArtifactFetcher implements ArtifactFetcher {
@@ -49,4 +52,18 @@ public class FileSystemBasedArtifactFetcher implements ArtifactFetcher {
                 System.currentTimeMillis() - start);
         return targetFile;
     }
+
+    @Override
+    public InputStream open(String uri) throws Exception {
+        org.apache.flink.core.fs.Path source = new org.apache.flink.core.fs.Path(uri);
+        return source.getFileSystem().open(source);
+    }
+
+    @Override
+    public Optional<String> fingerprint(String uri) throws Exception {
+        org.apache.flink.core.fs.Path source = new org.apache.flink.core.fs.Path(uri);
+        FileStatus status = source.getFileSystem().getFileStatus(source);
+        return Optional.of(
+                String.format("%s|%d|%d", uri, status.getLen(), status.getModificationTime()));
+    }
 }
@@ -17,19 +17,35 @@
 
 package org.apache.flink.kubernetes.operator.artifact;
 
+import org.apache.flink.kubernetes.operator.config.KubernetesOperatorConfigOptions;
+
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.FilenameUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.SocketTimeoutException;
 import java.net.URL;
+import java.time.Duration;
+import java.util.Optional;
 
 /** Download the jar from the http resource. */
 public class HttpArtifactFetcher implements ArtifactFetcher {
 
     public static final Logger LOG = LoggerFactory.getLogger(HttpArtifactFetcher.class);
-    public static final HttpArtifactFetcher INSTANCE = new HttpArtifactFetcher();
+    public static final HttpArtifactFetcher INSTANCE =
+            new HttpArtifactFetcher(
+                    KubernetesOperatorConfigOptions.OPERATOR_OBSERVER_FLINK_CLIENT_TIMEOUT
+                            .defaultValue());
+
+    private final Duration fingerprintTimeout;
+
+    public HttpArtifactFetcher(Duration fingerprintTimeout) {
+        this.fingerprintTimeout = fingerprintTimeout;
+    }
 
     @Override
     public File fetch(String uri, File targetDir) throws Exception {
@@ -47,4 +63,47 @@ public class HttpArtifactFetcher implements ArtifactFetcher {
                 System.currentTimeMillis() - start);
         return targetFile;
     }
+
+    @Override
+    public InputStream open(String uri) throws Exception {
+        return new URL(uri).openStream();
+    }
+
+    /**
+     * Fingerprint the artifact by the ETag or Last-Modified header of a HEAD request. The request
+     * is bounded by the fingerprint timeout, a slow server yields no fingerprint.
+     */
+    @Override
+    public Optional<String> fingerprint(String uri) throws Exception {
+        HttpURLConnection connection = (HttpURLConnection) new URL(uri).openConnection();
+        try {
+            connection.setRequestMethod("HEAD");
+            connection.setConnectTimeout((int) fingerprintTimeout.toMillis());
+            connection.setReadTimeout((int) fingerprintTimeout.toMillis());
+            int responseCode;
+            try {
+                responseCode = connection.getResponseCode();
+            } catch (SocketTimeoutException e) {
+                LOG.warn("Timed out fingerprinting the artifact {}", uri);
+                return Optional.empty();
+            }
+            if (responseCode != HttpURLConnection.HTTP_OK) {
+                return Optional.empty();
+            }
+            String eTag = connection.getHeaderField("ETag");
+            // Weak ETags only promise semantic equivalence, which is not enough to reuse a jar
+            if (eTag != null && !eTag.startsWith("W/")) {
+                return Optional.of(String.format("%s|%s", uri, eTag));
+            }
+            long lastModified = connection.getLastModified();
+            if (lastModified > 0) {
+                return Optional.of(
+                        String.format(
+                                "%s|%d|%d", uri, connection.getContentLengthLong(), lastModified));
+            }
+            return Optional.empty();
+        } finally {
+            connection.disconnect();
+        }
+    }
 }
@@ -19,12 +19,16 @@
 package org.apache.flink.kubernetes.operator.config;
 
 import org.apache.flink.configuration.Configuration;
+import org.apache.flink.configuration.MemorySize;
 import org.apache.flink.kubernetes.operator.utils.EnvUtils;
 import org.apache.flink.kubernetes.operator.utils.OperatorUtils;
+import org.apache.flink.util.Preconditions;
 
 import lombok.Value;
 
 import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
 
 /** Configuration class for operator. */
@@ -42,6 +46,34 @@ public class FlinkOperatorConfiguration {
     Duration flinkCancelJobTimeout;
     Duration flinkShutdownClusterTimeout;
     String artifactsBaseDir;
+    int flinkRestIoThreads;
+    int flinkRestMaxRequestsPerEndpoint;
+    Duration listJobsCacheTtl;
+    int maxUnusedSessionJars;
+    boolean streamingJarUpload;
+    Duration jmPortProbeCacheTtl;
+    int circuitBreakerFailureThreshold;
+    Duration circuitBreakerOpenDuration;
+    Duration circuitBreakerMaxOpenDuration;
+    int flinkRestMaxConcurrentCallsPerCluster;
+    Duration savepointPollMinInterval;
+    Duration savepointPollMaxInterval;
+    boolean virtualThreadsEnabled;
+    int maxConcurrentBlockingCalls;
+    boolean specCompactionEnabled;
+    MemorySize specCompressionMinSize;
+    String configFilesDir;
+    Duration configFilesGcGracePeriod;
+    boolean prioritySchedulingEnabled;
+    Duration prioritySchedulingMaxWait;
+    double rescheduleJitter;
+    boolean adaptiveRescheduleEnabled;
+    double adaptiveMaxStretch;
+    Duration adaptiveStretchPeriod;
+    boolean fairShareEnabled;
+    Map<String, Double> fairShareNamespaceWeights;
+    int fairShareMaxConcurrentOperations;
+    Map<String, Integer> fairShareNamespaceMaxConcurrentOperations;
 
     public static FlinkOperatorConfiguration fromConfiguration(Configuration operatorConfig) {
         Set<String> watchedNamespaces = OperatorUtils.getWatchedNamespaces();
@@ -89,6 +121,147 @@ public class FlinkOperatorConfiguration {
                 operatorConfig.get(
                         KubernetesOperatorConfigOptions.OPERATOR_USER_ARTIFACTS_BASE_DIR);
 
+        int flinkRestIoThreads =
+                operatorConfig.get(KubernetesOperatorConfigOptions.OPERATOR_FLINK_REST_IO_THREADS);
+
+        int flinkRestMaxRequestsPerEndpoint =
+                operatorConfig.get(
+                        KubernetesOperatorConfigOptions
+                                .OPERATOR_FLINK_REST_MAX_REQUESTS_PER_ENDPOINT);
+
+        Duration listJobsCacheTtl =
+                operatorConfig.get(
+                        KubernetesOperatorConfigOptions.OPERATOR_OBSERVER_LIST_JOBS_CACHE_TTL);
+
+        int maxUnusedSessionJars =
+                operatorConfig.get(
+                        KubernetesOperatorConfigOptions.OPERATOR_USER_ARTIFACTS_MAX_UNUSED_JARS);
+
+        boolean streamingJarUpload =
+                operatorConfig.get(
+                        KubernetesOperatorConfigOptions.OPERATOR_USER_ARTIFACTS_STREAMING_UPLOAD);
+
+        Duration jmPortProbeCacheTtl =
+                operatorConfig.get(
+                        KubernetesOperatorConfigOptions.OPERATOR_OBSERVER_JM_PORT_PROBE_CACHE_TTL);
+
+        int circuitBreakerFailureThreshold =
+                operatorConfig.get(
+                        KubernetesOperatorConfigOptions
+                                .OPERATOR_FLINK_REST_CIRCUIT_BREAKER_FAILURE_THRESHOLD);
+
+        Duration circuitBreakerOpenDuration =
+                operatorConfig.get(
+                        KubernetesOperatorConfigOptions
+                                .OPERATOR_FLINK_REST_CIRCUIT_BREAKER_OPEN_DURATION);
+
+        Duration circuitBreakerMaxOpenDuration =
+                operatorConfig.get(
+                        KubernetesOperatorConfigOptions
+                                .OPERATOR_FLINK_REST_CIRCUIT_BREAKER_MAX_OPEN_DURATION);
+
+        int flinkRestMaxConcurrentCallsPerCluster =
+                operatorConfig.get(
+                        KubernetesOperatorConfigOptions
+                                .OPERATOR_FLINK_REST_MAX_CONCURRENT_CALLS_PER_CLUSTER);
+
+        Duration savepointPollMinInterval =
+                operatorConfig.get(
+                        KubernetesOperatorConfigOptions
+                                .OPERATOR_OBSERVER_SAVEPOINT_POLL_MIN_INTERVAL);
+
+        Duration savepointPollMaxInterval =
+                operatorConfig.get(
+                        KubernetesOperatorConfigOptions
+                                .OPERATOR_OBSERVER_SAVEPOINT_POLL_MAX_INTERVAL);
+
+        boolean virtualThreadsEnabled =
+                operatorConfig.get(
+                        KubernetesOperatorConfigOptions
+                                .OPERATOR_RECONCILER_VIRTUAL_THREADS_ENABLED);
+
+        int maxConcurrentBlockingCalls =
+                operatorConfig.get(
+                        KubernetesOperatorConfigOptions.OPERATOR_MAX_CONCURRENT_BLOCKING_CALLS);
+
+        boolean specCompactionEnabled =
+                operatorConfig.get(
+                        KubernetesOperatorConfigOptions
+                                .OPERATOR_RECONCILER_SPEC_COMPACTION_ENABLED);
+
+        MemorySize specCompressionMinSize =
+                operatorConfig.get(
+                        KubernetesOperatorConfigOptions
+                                .OPERATOR_RECONCILER_SPEC_COMPRESSION_MIN_SIZE);
+
+        String configFilesDir =
+                operatorConfig.get(KubernetesOperatorConfigOptions.OPERATOR_CONFIG_FILES_DIR);
+
+        Duration configFilesGcGracePeriod =
+                operatorConfig.get(
+                        KubernetesOperatorConfigOptions.OPERATOR_CONFIG_FILES_GC_GRACE_PERIOD);
+
+        boolean prioritySchedulingEnabled =
+                operatorConfig.get(
+                        KubernetesOperatorConfigOptions
+                                .OPERATOR_RECONCILER_PRIORITY_SCHEDULING_ENABLED);
+
+        Duration prioritySchedulingMaxWait =
+                operatorConfig.get(
+                        KubernetesOperatorConfigOptions
+                                .OPERATOR_RECONCILER_PRIORITY_SCHEDULING_MAX_WAIT);
+
+        double rescheduleJitter =
+                operatorConfig.get(
+                        KubernetesOperatorConfigOptions.OPERATOR_RECONCILER_RESCHEDULE_JITTER);
+        Preconditions.checkArgument(
+                rescheduleJitter >= 0 && rescheduleJitter < 1,
+                "%s must be at least 0 and less than 1, but was %s",
+                KubernetesOperatorConfigOptions.OPERATOR_RECONCILER_RESCHEDULE_JITTER.key(),
+                rescheduleJitter);
+
+        boolean adaptiveRescheduleEnabled =
+                operatorConfig.get(
+                        KubernetesOperatorConfigOptions
+                                .OPERATOR_RECONCILER_RESCHEDULE_ADAPTIVE_ENABLED);
+
+        double adaptiveMaxStretch =
+                operatorConfig.get(
+                        KubernetesOperatorConfigOptions
+                                .OPERATOR_RECONCILER_RESCHEDULE_ADAPTIVE_MAX_STRETCH);
+
+        Duration adaptiveStretchPeriod =
+                operatorConfig.get(
+                        KubernetesOperatorConfigOptions
+                                .OPERATOR_RECONCILER_RESCHEDULE_ADAPTIVE_STRETCH_PERIOD);
+
+        boolean fairShareEnabled =
+                operatorConfig.get(
+                        KubernetesOperatorConfigOptions.OPERATOR_RECONCILER_FAIR_SHARE_ENABLED);
+
+        Map<String, Double> fairShareNamespaceWeights = new HashMap<>();
+        operatorConfig
+                .get(KubernetesOperatorConfigOptions.OPERATOR_RECONCILER_FAIR_SHARE_WEIGHTS)
+                .forEach(
+                        (namespace, weight) ->
+                                fairShareNamespaceWeights.put(
+                                        namespace, Double.parseDouble(weight)));
+
+        int fairShareMaxConcurrentOperations =
+                operatorConfig.get(
+                        KubernetesOperatorConfigOptions
+                                .OPERATOR_RECONCILER_FAIR_SHARE_MAX_OPERATIONS);
+
+        Map<String, Integer> fairShareNamespaceMaxConcurrentOperations = new HashMap<>();
+        operatorConfig
+                .get(
+                        KubernetesOperatorConfigOptions
+                                .OPERATOR_RECONCILER_FAIR_SHARE_NAMESPACE_MAX_OPERATIONS)
+                .forEach(
+                        (namespace, max) ->
+                                fairShareNamespaceMaxConcurrentOperations.put(
+                                        namespace, Integer.parseInt(max)));
+
         String flinkServiceHostOverride = null;
         if (EnvUtils.get("KUBERNETES_SERVICE_HOST") == null) {
             // not running in k8s, simplify local development
@@ -106,6 +279,34 @@ public class FlinkOperatorConfiguration {
                 watchedNamespaces,
                 flinkCancelJobTimeout,
                 flinkShutdownClusterTimeout,
-                artifactsBaseDir);
+                artifactsBaseDir,
+                flinkRestIoThreads,
+                flinkRestMaxRequestsPerEndpoint,
+                listJobsCacheTtl,
+                maxUnusedSessionJars,
+                streamingJarUpload,
+                jmPortProbeCacheTtl,
+                circuitBreakerFailureThreshold,
+                circuitBreakerOpenDuration,
+                circuitBreakerMaxOpenDuration,
+                flinkRestMaxConcurrentCallsPerCluster,
+                savepointPollMinInterval,
+                savepointPollMaxInterval,
+                virtualThreadsEnabled,
+                maxConcurrentBlockingCalls,
+                specCompactionEnabled,
+                specCompressionMinSize,
+                configFilesDir,
+                configFilesGcGracePeriod,
+                prioritySchedulingEnabled,
+                prioritySchedulingMaxWait,
+                rescheduleJitter,
+                adaptiveRescheduleEnabled,
+                adaptiveMaxStretch,
+                adaptiveStretchPeriod,
+                fairShareEnabled,
+                fairShareNamespaceWeights,
+                fairShareMaxConcurrentOperations,
+                fairShareNamespaceMaxConcurrentOperations);
     }
 }
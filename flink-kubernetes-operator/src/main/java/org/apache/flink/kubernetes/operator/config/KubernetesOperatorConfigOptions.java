@@ -20,10 +20,12 @@ package org.apache.flink.kubernetes.operator.config;
 
 import org.apache.flink.configuration.ConfigOption;
 import org.apache.flink.configuration.ConfigOptions;
+import org.apache.flink.configuration.MemorySize;
 
 import io.javaoperatorsdk.operator.api.config.ConfigurationService;
 
 import java.time.Duration;
+import java.util.Map;
 
 /** This class holds configuration constants used by flink operator. */
 public class KubernetesOperatorConfigOptions {
@@ -103,4 +105,208 @@ public class KubernetesOperatorConfigOptions {
                     .stringType()
                     .defaultValue("/opt/flink/artifacts")
                     .withDescription("The base dir to put the session job artifacts.");
+
+    public static final ConfigOption<Integer> OPERATOR_FLINK_REST_IO_THREADS =
+            ConfigOptions.key("kubernetes.operator.flink.rest.io-threads")
+                    .intType()
+                    .defaultValue(4)
+                    .withDescription(
+                            "The number of threads shared by all Flink REST requests of the operator to handle responses.");
+
+    public static final ConfigOption<Integer> OPERATOR_FLINK_REST_MAX_REQUESTS_PER_ENDPOINT =
+            ConfigOptions.key("kubernetes.operator.flink.rest.max-requests-per-endpoint")
+                    .intType()
+                    .defaultValue(4)
+                    .withDescription(
+                            "The maximum number of concurrent Flink REST requests sent to a single JobManager, further requests are queued.");
+
+    public static final ConfigOption<Duration> OPERATOR_OBSERVER_LIST_JOBS_CACHE_TTL =
+            ConfigOptions.key("kubernetes.operator.observer.list-jobs.cache-ttl")
+                    .durationType()
+                    .defaultValue(Duration.ofSeconds(5))
+                    .withDescription(
+                            "The duration for which the job list of a Flink cluster is reused by other observers. Concurrent requests for the same cluster are always shared. When positive, each new job list of a session cluster also wakes up the session jobs whose job state changed. Set to 0 to list the jobs for every observer.");
+
+    public static final ConfigOption<Integer> OPERATOR_USER_ARTIFACTS_MAX_UNUSED_JARS =
+            ConfigOptions.key("kubernetes.operator.user.artifacts.max-unused-jars")
+                    .intType()
+                    .defaultValue(3)
+                    .withDescription(
+                            "The maximum number of uploaded jars no longer used by any session job that are kept on a session cluster for reuse. Least recently used jars are deleted first.");
+
+    public static final ConfigOption<Boolean> OPERATOR_USER_ARTIFACTS_STREAMING_UPLOAD =
+            ConfigOptions.key("kubernetes.operator.user.artifacts.streaming-upload.enabled")
+                    .booleanType()
+                    .defaultValue(true)
+                    .withDescription(
+                            "Whether to stream session job jars from their source to the session cluster instead of staging them in the artifacts base dir first. The local copy is only used to retry failed streaming uploads. Clusters with REST SSL enabled always get the staged jar.");
+
+    public static final ConfigOption<Duration> OPERATOR_OBSERVER_JM_PORT_PROBE_CACHE_TTL =
+            ConfigOptions.key("kubernetes.operator.observer.jm-port-probe.cache-ttl")
+                    .durationType()
+                    .defaultValue(Duration.ofSeconds(5))
+                    .withDescription(
+                            "How long the result of probing the JobManager port is reused before the port is probed again.");
+
+    public static final ConfigOption<Integer>
+            OPERATOR_FLINK_REST_CIRCUIT_BREAKER_FAILURE_THRESHOLD =
+                    ConfigOptions.key(
+                                    "kubernetes.operator.flink.rest.circuit-breaker.failure-threshold")
+                            .intType()
+                            .defaultValue(3)
+                            .withDescription(
+                                    "The number of consecutive calls to a Flink cluster that may time out or fail to connect before calls to the cluster are rejected without being sent. Set to 0 to never reject calls.");
+
+    public static final ConfigOption<Duration> OPERATOR_FLINK_REST_CIRCUIT_BREAKER_OPEN_DURATION =
+            ConfigOptions.key("kubernetes.operator.flink.rest.circuit-breaker.open-duration")
+                    .durationType()
+                    .defaultValue(Duration.ofSeconds(30))
+                    .withDescription(
+                            "How long calls to an unresponsive Flink cluster are rejected before a trial call is sent. Doubled every time the trial call fails.");
+
+    public static final ConfigOption<Duration>
+            OPERATOR_FLINK_REST_CIRCUIT_BREAKER_MAX_OPEN_DURATION =
+                    ConfigOptions.key(
+                                    "kubernetes.operator.flink.rest.circuit-breaker.max-open-duration")
+                            .durationType()
+                            .defaultValue(Duration.ofMinutes(5))
+                            .withDescription(
+                                    "The maximum time calls to an unresponsive Flink cluster are rejected before a trial call is sent.");
+
+    public static final ConfigOption<Integer> OPERATOR_FLINK_REST_MAX_CONCURRENT_CALLS_PER_CLUSTER =
+            ConfigOptions.key("kubernetes.operator.flink.rest.max-concurrent-calls-per-cluster")
+                    .intType()
+                    .defaultValue(16)
+                    .withDescription(
+                            "The maximum number of concurrent calls to a single Flink cluster, further calls are rejected.");
+
+    public static final ConfigOption<Duration> OPERATOR_OBSERVER_SAVEPOINT_POLL_MIN_INTERVAL =
+            ConfigOptions.key("kubernetes.operator.observer.savepoint.poll.min-interval")
+                    .durationType()
+                    .defaultValue(Duration.ofSeconds(2))
+                    .withDescription(
+                            "The minimum interval for polling the status of a pending savepoint, used right after the trigger and around the time the savepoint is expected to complete.");
+
+    public static final ConfigOption<Duration> OPERATOR_OBSERVER_SAVEPOINT_POLL_MAX_INTERVAL =
+            ConfigOptions.key("kubernetes.operator.observer.savepoint.poll.max-interval")
+                    .durationType()
+                    .defaultValue(Duration.ofMinutes(1))
+                    .withDescription(
+                            "The maximum interval for polling the status of a pending savepoint.");
+
+    public static final ConfigOption<Boolean> OPERATOR_RECONCILER_VIRTUAL_THREADS_ENABLED =
+            ConfigOptions.key("kubernetes.operator.reconciler.virtual-threads.enabled")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether to run reconciliations and Flink REST I/O on virtual threads instead of a thread pool. Requires a Java runtime with virtual thread support, platform threads are used otherwise. The reconciler max parallelism does not apply in this mode.");
+
+    public static final ConfigOption<Integer> OPERATOR_MAX_CONCURRENT_BLOCKING_CALLS =
+            ConfigOptions.key("kubernetes.operator.reconciler.max-concurrent-blocking-calls")
+                    .intType()
+                    .defaultValue(-1)
+                    .withDescription(
+                            "The maximum number of blocking Kubernetes API calls made by the operator, such as deleting cluster resources and checking whether a cluster has shut down, that reconciliations run concurrently. Waiting for a cluster to shut down does not hold a permit. Further calls wait for a permit. Use -1 for infinite.");
+
+    public static final ConfigOption<Boolean> OPERATOR_RECONCILER_SPEC_COMPACTION_ENABLED =
+            ConfigOptions.key("kubernetes.operator.reconciler.spec-compaction.enabled")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether to store the last stable spec as a reference when it equals the last reconciled spec, and to compress large specs in the status. Older operator versions cannot read compacted specs, only enable it once all operator instances are upgraded. Specs of existing resources are migrated on their next reconciliation, also when disabling it again.");
+
+    public static final ConfigOption<MemorySize> OPERATOR_RECONCILER_SPEC_COMPRESSION_MIN_SIZE =
+            ConfigOptions.key("kubernetes.operator.reconciler.spec-compaction.compression.min-size")
+                    .memoryType()
+                    .defaultValue(MemorySize.parse("2kb"))
+                    .withDescription(
+                            "The serialized size above which specs are compressed in the status when spec compaction is enabled.");
+
+    public static final ConfigOption<String> OPERATOR_CONFIG_FILES_DIR =
+            ConfigOptions.key("kubernetes.operator.config-files.dir")
+                    .stringType()
+                    .noDefaultValue()
+                    .withDescription(
+                            "The directory to store the pod template and log configuration files of the deployments in. Defaults to a directory in the system temp directory.");
+
+    public static final ConfigOption<Duration> OPERATOR_CONFIG_FILES_GC_GRACE_PERIOD =
+            ConfigOptions.key("kubernetes.operator.config-files.gc.grace-period")
+                    .durationType()
+                    .defaultValue(Duration.ofMinutes(10))
+                    .withDescription(
+                            "The time after which pod template and log configuration files no longer referenced by any deployment are deleted.");
+
+    public static final ConfigOption<Boolean> OPERATOR_RECONCILER_PRIORITY_SCHEDULING_ENABLED =
+            ConfigOptions.key("kubernetes.operator.reconciler.priority-scheduling.enabled")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether to run queued reconciliations by priority instead of in submission order, so that rollbacks, job upgrades and savepoints in progress do not wait behind routine reconciliations of ready resources. Only applies to a bounded reconciler max parallelism without virtual threads.");
+
+    public static final ConfigOption<Duration> OPERATOR_RECONCILER_PRIORITY_SCHEDULING_MAX_WAIT =
+            ConfigOptions.key("kubernetes.operator.reconciler.priority-scheduling.max-wait")
+                    .durationType()
+                    .defaultValue(Duration.ofMinutes(1))
+                    .withDescription(
+                            "The maximum time a queued low priority reconciliation waits behind higher priority reconciliations submitted after it when priority scheduling is enabled.");
+
+    public static final ConfigOption<Double> OPERATOR_RECONCILER_RESCHEDULE_JITTER =
+            ConfigOptions.key("kubernetes.operator.reconciler.reschedule.jitter")
+                    .doubleType()
+                    .defaultValue(0.0)
+                    .withDescription(
+                            "The maximum relative deviation, at least 0 and less than 1, of the reconcile and progress check intervals of a resource. The deviation of each resource is fixed and derived from its UID, which spreads the reconciliations of resources created or recovered together.");
+
+    public static final ConfigOption<Boolean> OPERATOR_RECONCILER_RESCHEDULE_ADAPTIVE_ENABLED =
+            ConfigOptions.key("kubernetes.operator.reconciler.reschedule.adaptive.enabled")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether to adapt the reconcile interval of a resource to its stability. The interval is halved until the last reconciled spec is stable and stretched up to the max stretch the longer the resource stays unchanged afterwards.");
+
+    public static final ConfigOption<Double> OPERATOR_RECONCILER_RESCHEDULE_ADAPTIVE_MAX_STRETCH =
+            ConfigOptions.key("kubernetes.operator.reconciler.reschedule.adaptive.max-stretch")
+                    .doubleType()
+                    .defaultValue(3.0)
+                    .withDescription(
+                            "The factor by which the reconcile interval of long stable resources is stretched at most with adaptive rescheduling.");
+
+    public static final ConfigOption<Duration>
+            OPERATOR_RECONCILER_RESCHEDULE_ADAPTIVE_STRETCH_PERIOD =
+                    ConfigOptions.key(
+                                    "kubernetes.operator.reconciler.reschedule.adaptive.stretch-period")
+                            .durationType()
+                            .defaultValue(Duration.ofHours(1))
+                            .withDescription(
+                                    "The time without changes after which the reconcile interval of a resource is stretched by the max stretch with adaptive rescheduling. The interval grows linearly until then.");
+
+    public static final ConfigOption<Boolean> OPERATOR_RECONCILER_FAIR_SHARE_ENABLED =
+            ConfigOptions.key("kubernetes.operator.reconciler.fair-share.enabled")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether to share the reconciliation threads fairly between the namespaces, so that many pending reconciliations in one namespace do not hold up the others. Only applies to a bounded reconciler max parallelism without virtual threads.");
+
+    public static final ConfigOption<Map<String, String>> OPERATOR_RECONCILER_FAIR_SHARE_WEIGHTS =
+            ConfigOptions.key("kubernetes.operator.reconciler.fair-share.namespace-weights")
+                    .mapType()
+                    .defaultValue(Map.of())
+                    .withDescription(
+                            "The relative share of the reconciliation threads of the namespaces with fair share scheduling, e.g. team-a:2,team-b:0.5. Namespaces without a weight get a weight of 1.");
+
+    public static final ConfigOption<Integer> OPERATOR_RECONCILER_FAIR_SHARE_MAX_OPERATIONS =
+            ConfigOptions.key("kubernetes.operator.reconciler.fair-share.max-concurrent-operations")
+                    .intType()
+                    .defaultValue(-1)
+                    .withDescription(
+                            "The maximum number of reconciliations per namespace that run expensive operations concurrently with fair share scheduling, such as deploying, upgrading and shutting down clusters and jobs or triggering savepoints manually. Further reconciliations of this kind stay queued without blocking a thread. Use -1 for infinite.");
+
+    public static final ConfigOption<Map<String, String>>
+            OPERATOR_RECONCILER_FAIR_SHARE_NAMESPACE_MAX_OPERATIONS =
+                    ConfigOptions.key(
+                                    "kubernetes.operator.reconciler.fair-share.namespace-max-concurrent-operations")
+                            .mapType()
+                            .defaultValue(Map.of())
+                            .withDescription(
+                                    "Overrides of the maximum number of concurrent expensive reconciliations for single namespaces, e.g. team-a:4,team-b:1.");
 }
@@ -23,8 +23,13 @@ import org.apache.flink.kubernetes.operator.crd.status.JobManagerDeploymentStatu
 import org.apache.flink.kubernetes.operator.exception.DeploymentFailedException;
 import org.apache.flink.kubernetes.operator.exception.ReconciliationException;
 import org.apache.flink.kubernetes.operator.observer.deployment.ObserverFactory;
+import org.apache.flink.kubernetes.operator.reconciler.ReconciliationCounter;
 import org.apache.flink.kubernetes.operator.reconciler.ReconciliationUtils;
+import org.apache.flink.kubernetes.operator.reconciler.SpecCache;
+import org.apache.flink.kubernetes.operator.reconciler.SpecEncoding;
 import org.apache.flink.kubernetes.operator.reconciler.deployment.ReconcilerFactory;
+import org.apache.flink.kubernetes.operator.service.FlinkService;
+import org.apache.flink.kubernetes.operator.utils.EffectiveConfigCache;
 import org.apache.flink.kubernetes.operator.utils.OperatorUtils;
 import org.apache.flink.kubernetes.operator.validation.FlinkResourceValidator;
 import org.apache.flink.util.Preconditions;
@@ -48,6 +53,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /** Controller that runs the main reconcile loop for Flink deployments. */
 @ControllerConfiguration
@@ -63,6 +69,11 @@ public class FlinkDeploymentController
     private final ReconcilerFactory reconcilerFactory;
     private final ObserverFactory observerFactory;
     private final FlinkOperatorConfiguration operatorConfiguration;
+    private final FlinkService flinkService;
+    private final SpecCache specCache;
+    private final SpecEncoding specEncoding;
+    private final EffectiveConfigCache effectiveConfigCache;
+    private final ReconciliationCounter reconciliationCounter;
 
     private FlinkControllerConfig<FlinkDeployment> controllerConfig;
 
@@ -71,8 +82,18 @@ public class FlinkDeploymentController
             KubernetesClient kubernetesClient,
             Set<FlinkResourceValidator> validators,
             ReconcilerFactory reconcilerFactory,
-            ObserverFactory observerFactory) {
+            ObserverFactory observerFactory,
+            FlinkService flinkService,
+            SpecCache specCache,
+            SpecEncoding specEncoding,
+            EffectiveConfigCache effectiveConfigCache,
+            ReconciliationCounter reconciliationCounter) {
         this.operatorConfiguration = operatorConfiguration;
+        this.flinkService = flinkService;
+        this.specCache = specCache;
+        this.specEncoding = specEncoding;
+        this.effectiveConfigCache = effectiveConfigCache;
+        this.reconciliationCounter = reconciliationCounter;
         this.kubernetesClient = kubernetesClient;
         this.validators = validators;
         this.reconcilerFactory = reconcilerFactory;
@@ -82,18 +103,32 @@ public class FlinkDeploymentController
     @Override
     public DeleteControl cleanup(FlinkDeployment flinkApp, Context context) {
         LOG.info("Deleting FlinkDeployment");
-        try {
-            observerFactory.getOrCreate(flinkApp).observe(flinkApp, context);
-        } catch (DeploymentFailedException dfe) {
-            // ignore during cleanup
+        try (EffectiveConfigCache.Reconciliation ignored = effectiveConfigCache.startReconcile()) {
+            try {
+                observerFactory.getOrCreate(flinkApp).observe(flinkApp, context);
+            } catch (DeploymentFailedException dfe) {
+                // ignore during cleanup
+            }
+            return reconcilerFactory.getOrCreate(flinkApp).cleanup(flinkApp, context);
         }
-        return reconcilerFactory.getOrCreate(flinkApp).cleanup(flinkApp, context);
     }
 
     @Override
     public UpdateControl<FlinkDeployment> reconcile(FlinkDeployment flinkApp, Context context) {
+        reconciliationCounter.record();
+        try (SpecCache.Reconciliation ignored = specCache.startReconcile();
+                SpecEncoding.Reconciliation ignoredEncoding = specEncoding.startReconcile();
+                EffectiveConfigCache.Reconciliation ignoredConfigs =
+                        effectiveConfigCache.startReconcile()) {
+            return reconcileInternal(flinkApp, context);
+        }
+    }
+
+    private UpdateControl<FlinkDeployment> reconcileInternal(
+            FlinkDeployment flinkApp, Context context) {
         LOG.info("Starting reconciliation");
         FlinkDeployment originalCopy = ReconciliationUtils.clone(flinkApp);
+        flinkApp.getStatus().getReconciliationStatus().migrateSpecEncoding();
         try {
             observerFactory.getOrCreate(flinkApp).observe(flinkApp, context);
             Optional<String> validationError = validateDeployment(flinkApp);
@@ -111,8 +146,11 @@ public class FlinkDeploymentController
         }
 
         LOG.info("End of reconciliation");
-        return ReconciliationUtils.toUpdateControl(
-                operatorConfiguration, originalCopy, flinkApp, true);
+        return ReconciliationUtils.withClusterBackoff(
+                ReconciliationUtils.toUpdateControl(
+                        operatorConfiguration, originalCopy, flinkApp, true),
+                flinkService.getClusterBackoff(
+                        flinkApp.getMetadata().getNamespace(), flinkApp.getMetadata().getName()));
     }
 
     private void handleDeploymentFailed(FlinkDeployment flinkApp, DeploymentFailedException dfe) {
@@ -134,10 +172,21 @@ public class FlinkDeploymentController
         Preconditions.checkNotNull(controllerConfig, "Controller config cannot be null");
         Set<String> effectiveNamespaces = controllerConfig.getEffectiveNamespaces();
         if (effectiveNamespaces.isEmpty()) {
-            return List.of(OperatorUtils.createJmDepInformerEventSource(kubernetesClient));
+            return List.of(
+                    OperatorUtils.createJmDepInformerEventSource(kubernetesClient),
+                    OperatorUtils.createPodInformerEventSource(
+                            kubernetesClient, flinkService.getPodCache()));
         } else {
             return effectiveNamespaces.stream()
-                    .map(ns -> OperatorUtils.createJmDepInformerEventSource(kubernetesClient, ns))
+                    .flatMap(
+                            ns ->
+                                    Stream.of(
+                                            OperatorUtils.createJmDepInformerEventSource(
+                                                    kubernetesClient, ns),
+                                            OperatorUtils.createPodInformerEventSource(
+                                                    kubernetesClient,
+                                                    ns,
+                                                    flinkService.getPodCache())))
                     .collect(Collectors.toList());
         }
     }
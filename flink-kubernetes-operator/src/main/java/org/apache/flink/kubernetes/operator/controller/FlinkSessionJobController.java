@@ -17,21 +17,33 @@
 
 package org.apache.flink.kubernetes.operator.controller;
 
+import org.apache.flink.annotation.VisibleForTesting;
 import org.apache.flink.kubernetes.operator.config.FlinkOperatorConfiguration;
 import org.apache.flink.kubernetes.operator.crd.FlinkDeployment;
 import org.apache.flink.kubernetes.operator.crd.FlinkSessionJob;
+import org.apache.flink.kubernetes.operator.crd.status.SavepointInfo;
 import org.apache.flink.kubernetes.operator.exception.ReconciliationException;
 import org.apache.flink.kubernetes.operator.observer.Observer;
+import org.apache.flink.kubernetes.operator.observer.sessionjob.SessionClusterObserver;
 import org.apache.flink.kubernetes.operator.reconciler.Reconciler;
+import org.apache.flink.kubernetes.operator.reconciler.ReconciliationCounter;
 import org.apache.flink.kubernetes.operator.reconciler.ReconciliationUtils;
+import org.apache.flink.kubernetes.operator.reconciler.RescheduleIntervals;
+import org.apache.flink.kubernetes.operator.reconciler.SpecCache;
+import org.apache.flink.kubernetes.operator.reconciler.SpecEncoding;
+import org.apache.flink.kubernetes.operator.service.FlinkService;
+import org.apache.flink.kubernetes.operator.utils.EffectiveConfigCache;
 import org.apache.flink.kubernetes.operator.utils.OperatorUtils;
+import org.apache.flink.kubernetes.operator.utils.SavepointUtils;
 import org.apache.flink.kubernetes.operator.validation.FlinkResourceValidator;
 import org.apache.flink.util.Preconditions;
 
 import io.fabric8.kubernetes.api.model.KubernetesResourceList;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.dsl.FilterWatchListDeletable;
+import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
 import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import io.fabric8.kubernetes.client.informers.SharedInformer;
 import io.javaoperatorsdk.operator.api.reconciler.Context;
 import io.javaoperatorsdk.operator.api.reconciler.ControllerConfiguration;
 import io.javaoperatorsdk.operator.api.reconciler.DeleteControl;
@@ -40,6 +52,7 @@ import io.javaoperatorsdk.operator.api.reconciler.EventSourceContext;
 import io.javaoperatorsdk.operator.api.reconciler.EventSourceInitializer;
 import io.javaoperatorsdk.operator.api.reconciler.RetryInfo;
 import io.javaoperatorsdk.operator.api.reconciler.UpdateControl;
+import io.javaoperatorsdk.operator.processing.event.Event;
 import io.javaoperatorsdk.operator.processing.event.ResourceID;
 import io.javaoperatorsdk.operator.processing.event.source.EventSource;
 import io.javaoperatorsdk.operator.processing.event.source.PrimaryResourcesRetriever;
@@ -47,12 +60,16 @@ import io.javaoperatorsdk.operator.processing.event.source.informer.InformerEven
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -73,6 +90,13 @@ public class FlinkSessionJobController
     private final Reconciler<FlinkSessionJob> reconciler;
     private final Observer<FlinkSessionJob> observer;
     private final FlinkOperatorConfiguration operatorConfiguration;
+    private final FlinkService flinkService;
+    private final SpecCache specCache;
+    private final SpecEncoding specEncoding;
+    private final EffectiveConfigCache effectiveConfigCache;
+    private final ReconciliationCounter reconciliationCounter;
+    private final SessionClusterObserver sessionClusterObserver;
+    private final Map<String, SessionClusterEventSource> eventSources = new ConcurrentHashMap<>();
     private Map<String, SharedIndexInformer<FlinkSessionJob>> informers;
     private FlinkControllerConfig<FlinkSessionJob> controllerConfig;
 
@@ -81,8 +105,20 @@ public class FlinkSessionJobController
             KubernetesClient kubernetesClient,
             Set<FlinkResourceValidator> validators,
             Reconciler<FlinkSessionJob> reconciler,
-            Observer<FlinkSessionJob> observer) {
+            Observer<FlinkSessionJob> observer,
+            FlinkService flinkService,
+            SessionClusterObserver sessionClusterObserver,
+            SpecCache specCache,
+            SpecEncoding specEncoding,
+            EffectiveConfigCache effectiveConfigCache,
+            ReconciliationCounter reconciliationCounter) {
         this.operatorConfiguration = operatorConfiguration;
+        this.flinkService = flinkService;
+        this.specCache = specCache;
+        this.specEncoding = specEncoding;
+        this.effectiveConfigCache = effectiveConfigCache;
+        this.reconciliationCounter = reconciliationCounter;
+        this.sessionClusterObserver = sessionClusterObserver;
         this.kubernetesClient = kubernetesClient;
         this.validators = validators;
         this.reconciler = reconciler;
@@ -92,13 +128,37 @@ public class FlinkSessionJobController
     public void init(FlinkControllerConfig<FlinkSessionJob> config) {
         this.controllerConfig = config;
         this.informers = createInformers();
+        sessionClusterObserver.setSessionJobs(
+                new SessionClusterObserver.SessionJobs() {
+                    @Override
+                    public Collection<FlinkSessionJob> get(String namespace, String clusterId) {
+                        return getSessionJobs(namespace, clusterId);
+                    }
+
+                    @Override
+                    public void wakeUp(FlinkSessionJob sessionJob) {
+                        wakeUpSessionJob(sessionJob);
+                    }
+                });
     }
 
     @Override
     public UpdateControl<FlinkSessionJob> reconcile(
             FlinkSessionJob flinkSessionJob, Context context) {
+        reconciliationCounter.record();
+        try (SpecCache.Reconciliation ignored = specCache.startReconcile();
+                SpecEncoding.Reconciliation ignoredEncoding = specEncoding.startReconcile();
+                EffectiveConfigCache.Reconciliation ignoredConfigs =
+                        effectiveConfigCache.startReconcile()) {
+            return reconcileInternal(flinkSessionJob, context);
+        }
+    }
+
+    private UpdateControl<FlinkSessionJob> reconcileInternal(
+            FlinkSessionJob flinkSessionJob, Context context) {
         LOG.info("Starting reconciliation");
         FlinkSessionJob originalCopy = ReconciliationUtils.clone(flinkSessionJob);
+        flinkSessionJob.getStatus().getReconciliationStatus().migrateSpecEncoding();
         observer.observe(flinkSessionJob, context);
         Optional<String> validationError = validateSessionJob(flinkSessionJob, context);
         if (validationError.isPresent()) {
@@ -115,15 +175,31 @@ public class FlinkSessionJobController
             throw new ReconciliationException(e);
         }
 
-        return ReconciliationUtils.toUpdateControl(originalCopy, flinkSessionJob)
-                .rescheduleAfter(operatorConfiguration.getReconcileInterval().toMillis());
+        Duration rescheduleAfter =
+                RescheduleIntervals.reconcileInterval(flinkSessionJob, operatorConfiguration);
+        SavepointInfo savepointInfo = flinkSessionJob.getStatus().getJobStatus().getSavepointInfo();
+        if (savepointInfo.getTriggerId() != null) {
+            Duration pollDelay =
+                    SavepointUtils.getStatusPollDelay(operatorConfiguration, savepointInfo);
+            if (pollDelay.compareTo(rescheduleAfter) < 0) {
+                rescheduleAfter = pollDelay;
+            }
+        }
+        return ReconciliationUtils.withClusterBackoff(
+                ReconciliationUtils.toUpdateControl(originalCopy, flinkSessionJob)
+                        .rescheduleAfter(rescheduleAfter.toMillis()),
+                flinkService.getClusterBackoff(
+                        flinkSessionJob.getMetadata().getNamespace(),
+                        flinkSessionJob.getSpec().getClusterId()));
     }
 
     @Override
     public DeleteControl cleanup(FlinkSessionJob sessionJob, Context context) {
         LOG.info("Deleting FlinkSessionJob");
 
-        return reconciler.cleanup(sessionJob, context);
+        try (EffectiveConfigCache.Reconciliation ignored = effectiveConfigCache.startReconcile()) {
+            return reconciler.cleanup(sessionJob, context);
+        }
     }
 
     @Override
@@ -167,19 +243,27 @@ public class FlinkSessionJobController
             FilterWatchListDeletable<FlinkDeployment, KubernetesResourceList<FlinkDeployment>>
                     filteredClient,
             String name) {
-        return new InformerEventSource<>(
-                filteredClient.runnableInformer(0),
-                primaryResourceRetriever(),
-                sessionJob ->
-                        new ResourceID(
-                                sessionJob.getSpec().getClusterId(),
-                                sessionJob.getMetadata().getNamespace()),
-                false) {
-            @Override
-            public String name() {
-                return name;
-            }
-        };
+        var eventSource = new SessionClusterEventSource(filteredClient.runnableInformer(0), name);
+        eventSources.put(name, eventSource);
+        return eventSource;
+    }
+
+    /**
+     * Check whether a session cluster update may unblock or affect its session jobs. The session
+     * jobs are only reconciled against a ready cluster, so they are woken up when the JobManager
+     * deployment status changes, besides spec changes and the deletion of the cluster. The frequent
+     * status updates of the cluster are not propagated otherwise.
+     */
+    @VisibleForTesting
+    static boolean isSessionClusterChanged(FlinkDeployment oldCluster, FlinkDeployment newCluster) {
+        return oldCluster.getStatus().getJobManagerDeploymentStatus()
+                        != newCluster.getStatus().getJobManagerDeploymentStatus()
+                || !Objects.equals(
+                        oldCluster.getMetadata().getGeneration(),
+                        newCluster.getMetadata().getGeneration())
+                || !Objects.equals(
+                        oldCluster.getMetadata().getDeletionTimestamp(),
+                        newCluster.getMetadata().getDeletionTimestamp());
     }
 
     /**
@@ -190,21 +274,13 @@ public class FlinkSessionJobController
      */
     private PrimaryResourcesRetriever<FlinkDeployment> primaryResourceRetriever() {
         return flinkDeployment -> {
-            var namespace = flinkDeployment.getMetadata().getNamespace();
-            var informer =
-                    controllerConfig.getEffectiveNamespaces().isEmpty()
-                            ? informers.get(ALL_NAMESPACE)
-                            : informers.get(namespace);
-
             var sessionJobs =
-                    informer.getIndexer()
-                            .byIndex(CLUSTER_ID_INDEX, flinkDeployment.getMetadata().getName());
+                    getSessionJobs(
+                            flinkDeployment.getMetadata().getNamespace(),
+                            flinkDeployment.getMetadata().getName());
             var resourceIDs = new HashSet<ResourceID>();
             for (FlinkSessionJob sessionJob : sessionJobs) {
-                resourceIDs.add(
-                        new ResourceID(
-                                sessionJob.getMetadata().getName(),
-                                sessionJob.getMetadata().getNamespace()));
+                resourceIDs.add(ResourceID.fromResource(sessionJob));
             }
             LOG.debug(
                     "Find the target resource {} for {} ",
@@ -214,6 +290,31 @@ public class FlinkSessionJobController
         };
     }
 
+    /** Get the session jobs of the session cluster from the informer indexer. */
+    private List<FlinkSessionJob> getSessionJobs(String namespace, String clusterId) {
+        var informer =
+                controllerConfig.getEffectiveNamespaces().isEmpty()
+                        ? informers.get(ALL_NAMESPACE)
+                        : informers.get(namespace);
+        if (informer == null) {
+            return List.of();
+        }
+        // The index spans all namespaces when watching all of them
+        return informer.getIndexer().byIndex(CLUSTER_ID_INDEX, clusterId).stream()
+                .filter(sessionJob -> namespace.equals(sessionJob.getMetadata().getNamespace()))
+                .collect(Collectors.toList());
+    }
+
+    private void wakeUpSessionJob(FlinkSessionJob sessionJob) {
+        var eventSource =
+                controllerConfig.getEffectiveNamespaces().isEmpty()
+                        ? eventSources.get(ALL_NAMESPACE)
+                        : eventSources.get(sessionJob.getMetadata().getNamespace());
+        if (eventSource != null) {
+            eventSource.wakeUp(ResourceID.fromResource(sessionJob));
+        }
+    }
+
     /**
      * Create informers for session job to build indexer for cluster to session job relations.
      *
@@ -248,6 +349,72 @@ public class FlinkSessionJobController
         return Map.of(CLUSTER_ID_INDEX, sessionJob -> List.of(sessionJob.getSpec().getClusterId()));
     }
 
+    /**
+     * Event source of the session clusters, which also serves them as the secondary resources of
+     * the session jobs. Events are propagated to the session jobs of the cluster only for the
+     * changes selected by {@link #isSessionClusterChanged}.
+     */
+    private class SessionClusterEventSource
+            extends InformerEventSource<FlinkDeployment, FlinkSessionJob>
+            implements ResourceEventHandler<FlinkDeployment> {
+
+        private final String name;
+        private final PrimaryResourcesRetriever<FlinkDeployment> sessionJobRetriever =
+                primaryResourceRetriever();
+
+        private SessionClusterEventSource(SharedInformer<FlinkDeployment> informer, String name) {
+            super(
+                    informer,
+                    // Events are propagated by this source itself, see onUpdate
+                    flinkDeployment -> Set.of(),
+                    sessionJob ->
+                            new ResourceID(
+                                    sessionJob.getSpec().getClusterId(),
+                                    sessionJob.getMetadata().getNamespace()),
+                    false);
+            this.name = name;
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public void start() {
+            getSharedInformer().addEventHandler(this);
+            super.start();
+        }
+
+        @Override
+        public void onAdd(FlinkDeployment flinkDeployment) {
+            propagateEvent(flinkDeployment);
+        }
+
+        @Override
+        public void onUpdate(FlinkDeployment oldDeployment, FlinkDeployment newDeployment) {
+            if (isSessionClusterChanged(oldDeployment, newDeployment)) {
+                propagateEvent(newDeployment);
+            }
+        }
+
+        @Override
+        public void onDelete(FlinkDeployment flinkDeployment, boolean deletedFinalStateUnknown) {
+            propagateEvent(flinkDeployment);
+        }
+
+        private void propagateEvent(FlinkDeployment flinkDeployment) {
+            for (ResourceID sessionJob :
+                    sessionJobRetriever.associatedPrimaryResources(flinkDeployment)) {
+                wakeUp(sessionJob);
+            }
+        }
+
+        private void wakeUp(ResourceID sessionJob) {
+            getEventHandler().handleEvent(new Event(sessionJob));
+        }
+    }
+
     private Optional<String> validateSessionJob(FlinkSessionJob sessionJob, Context context) {
         Optional<String> validationError = Optional.empty();
         for (FlinkResourceValidator validator : validators) {
@@ -0,0 +1,371 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.kubernetes.operator.controller;
+
+import org.apache.flink.kubernetes.operator.config.FlinkOperatorConfiguration;
+import org.apache.flink.kubernetes.operator.controller.PriorityReconciliationExecutor.ReconciliationTask;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Work queue of the reconciliation threads which shares them between the namespaces by weighted
+ * start time fair queuing. Every namespace advances its own virtual time by the inverse of its
+ * weight for each dispatched reconciliation, and the namespace furthest behind the global virtual
+ * time is served next. Idle namespaces start again at the global virtual time, so they cannot save
+ * up a share while idle. Within a namespace the reconciliations are dispatched by their deadline.
+ *
+ * <p>Expensive reconciliations, which deploy, upgrade or shut down clusters and jobs, can be capped
+ * per namespace. Capped reconciliations stay queued without occupying a thread, while the other
+ * reconciliations of the namespace are still dispatched.
+ */
+class NamespaceFairShareQueue extends AbstractQueue<Runnable> implements BlockingQueue<Runnable> {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    private final Map<String, NamespaceQueue> namespaces = new HashMap<>();
+    private final Function<String, Double> weights;
+    private final Function<String, Integer> maxConcurrentOperations;
+    private double virtualTime;
+    private int size;
+
+    NamespaceFairShareQueue(
+            Function<String, Double> weights, Function<String, Integer> maxConcurrentOperations) {
+        this.weights = weights;
+        this.maxConcurrentOperations = maxConcurrentOperations;
+    }
+
+    static NamespaceFairShareQueue create(FlinkOperatorConfiguration operatorConfiguration) {
+        var namespaceWeights = operatorConfiguration.getFairShareNamespaceWeights();
+        var namespaceMaxConcurrentOperations =
+                operatorConfiguration.getFairShareNamespaceMaxConcurrentOperations();
+        int defaultMaxConcurrentOperations =
+                operatorConfiguration.getFairShareMaxConcurrentOperations();
+        return new NamespaceFairShareQueue(
+                namespace -> namespaceWeights.getOrDefault(namespace, 1.0),
+                namespace ->
+                        namespaceMaxConcurrentOperations.getOrDefault(
+                                namespace, defaultMaxConcurrentOperations));
+    }
+
+    @Override
+    public boolean offer(Runnable runnable) {
+        var task = (ReconciliationTask) runnable;
+        lock.lock();
+        try {
+            namespaces.computeIfAbsent(task.info.namespace, this::createNamespaceQueue).add(task);
+            size++;
+            available.signalAll();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void put(Runnable runnable) {
+        offer(runnable);
+    }
+
+    @Override
+    public boolean offer(Runnable runnable, long timeout, TimeUnit unit) {
+        return offer(runnable);
+    }
+
+    @Override
+    public Runnable poll() {
+        lock.lock();
+        try {
+            return dispatch();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Runnable poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            Runnable task;
+            while ((task = dispatch()) == null) {
+                if (nanos <= 0) {
+                    return null;
+                }
+                nanos = available.awaitNanos(nanos);
+            }
+            return task;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Runnable take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            Runnable task;
+            while ((task = dispatch()) == null) {
+                available.await();
+            }
+            return task;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Runnable peek() {
+        lock.lock();
+        try {
+            var next = next();
+            return next != null ? next.head() : null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (!(o instanceof ReconciliationTask)) {
+            return false;
+        }
+        var task = (ReconciliationTask) o;
+        lock.lock();
+        try {
+            var namespaceQueue = namespaces.get(task.info.namespace);
+            if (namespaceQueue != null && namespaceQueue.remove(task)) {
+                size--;
+                return true;
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** The number of queued reconciliations of the namespace. */
+    int size(String namespace) {
+        lock.lock();
+        try {
+            var namespaceQueue = namespaces.get(namespace);
+            return namespaceQueue != null ? namespaceQueue.size() : 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public Iterator<Runnable> iterator() {
+        var iterator = snapshot().iterator();
+        return new Iterator<>() {
+            private Runnable current;
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public Runnable next() {
+                current = iterator.next();
+                return current;
+            }
+
+            @Override
+            public void remove() {
+                NamespaceFairShareQueue.this.remove(current);
+            }
+        };
+    }
+
+    @Override
+    public int drainTo(Collection<? super Runnable> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(Collection<? super Runnable> c, int maxElements) {
+        lock.lock();
+        try {
+            int count = 0;
+            for (Runnable task : snapshot()) {
+                if (count >= maxElements) {
+                    break;
+                }
+                remove(task);
+                c.add(task);
+                count++;
+            }
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Release the operation slot of a completed reconciliation. */
+    void completed(ReconciliationTask task) {
+        if (!task.info.expensive) {
+            return;
+        }
+        lock.lock();
+        try {
+            var namespaceQueue = namespaces.get(task.info.namespace);
+            if (namespaceQueue != null && namespaceQueue.runningOperations > 0) {
+                namespaceQueue.runningOperations--;
+            }
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private List<Runnable> snapshot() {
+        List<Runnable> snapshot = new ArrayList<>();
+        lock.lock();
+        try {
+            for (NamespaceQueue namespaceQueue : namespaces.values()) {
+                namespaceQueue.addTo(snapshot);
+            }
+        } finally {
+            lock.unlock();
+        }
+        return snapshot;
+    }
+
+    private NamespaceQueue createNamespaceQueue(String namespace) {
+        return new NamespaceQueue(
+                Math.max(weights.apply(namespace), Double.MIN_VALUE),
+                maxConcurrentOperations.apply(namespace));
+    }
+
+    /** The namespace to be served next, or null if there is no dispatchable reconciliation. */
+    private NamespaceQueue next() {
+        NamespaceQueue next = null;
+        for (NamespaceQueue namespaceQueue : namespaces.values()) {
+            var head = namespaceQueue.head();
+            if (head == null) {
+                continue;
+            }
+            if (next == null
+                    || namespaceQueue.startTag() < next.startTag()
+                    || (namespaceQueue.startTag() == next.startTag()
+                            && head.compareTo(next.head()) < 0)) {
+                next = namespaceQueue;
+            }
+        }
+        return next;
+    }
+
+    private ReconciliationTask dispatch() {
+        var next = next();
+        if (next == null) {
+            return null;
+        }
+        virtualTime = next.startTag();
+        next.finishTag = virtualTime + 1 / next.weight;
+        size--;
+        return next.poll();
+    }
+
+    private class NamespaceQueue {
+        private final PriorityQueue<ReconciliationTask> operations = new PriorityQueue<>();
+        private final PriorityQueue<ReconciliationTask> others = new PriorityQueue<>();
+        private final double weight;
+        private final int maxConcurrentOperations;
+        private double finishTag;
+        private int runningOperations;
+
+        private NamespaceQueue(double weight, int maxConcurrentOperations) {
+            this.weight = weight;
+            this.maxConcurrentOperations = maxConcurrentOperations;
+        }
+
+        private double startTag() {
+            return Math.max(virtualTime, finishTag);
+        }
+
+        private boolean operationsCapped() {
+            return maxConcurrentOperations > 0 && runningOperations >= maxConcurrentOperations;
+        }
+
+        private ReconciliationTask head() {
+            var other = others.peek();
+            var operation = operationsCapped() ? null : operations.peek();
+            if (operation == null) {
+                return other;
+            }
+            return other == null || operation.compareTo(other) < 0 ? operation : other;
+        }
+
+        private ReconciliationTask poll() {
+            var head = head();
+            if (head.info.expensive) {
+                operations.poll();
+                runningOperations++;
+            } else {
+                others.poll();
+            }
+            return head;
+        }
+
+        private void add(ReconciliationTask task) {
+            (task.info.expensive ? operations : others).add(task);
+        }
+
+        private boolean remove(ReconciliationTask task) {
+            return (task.info.expensive ? operations : others).remove(task);
+        }
+
+        private int size() {
+            return operations.size() + others.size();
+        }
+
+        private void addTo(List<Runnable> tasks) {
+            tasks.addAll(operations);
+            tasks.addAll(others);
+        }
+    }
+}
@@ -0,0 +1,303 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.kubernetes.operator.controller;
+
+import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.kubernetes.operator.config.FlinkOperatorConfiguration;
+import org.apache.flink.kubernetes.operator.reconciler.ReconciliationPriority;
+import org.apache.flink.metrics.Histogram;
+import org.apache.flink.metrics.MetricGroup;
+import org.apache.flink.runtime.metrics.DescriptiveStatisticsHistogram;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Fixed size reconciliation thread pool which runs the queued reconciliations by their {@link
+ * ReconciliationPriority} instead of in submission order.
+ *
+ * <p>Each queued reconciliation gets a deadline of its submission time plus a delay depending on
+ * its priority, none for {@link ReconciliationPriority#HIGH}, half the max wait for {@link
+ * ReconciliationPriority#NORMAL} and the max wait for {@link ReconciliationPriority#LOW}, and the
+ * earliest deadline runs first. Lower priority reconciliations therefore never wait for more than
+ * the max wait behind reconciliations submitted after them.
+ *
+ * <p>With fair share scheduling the reconciliations are additionally queued per namespace, see
+ * {@link NamespaceFairShareQueue}, so that a namespace with many pending reconciliations does not
+ * hold up the other namespaces.
+ *
+ * <p>The priority is derived from the resource of the reconciliation, which is read from the task
+ * submitted by the operator framework. Tasks without a known resource run with normal priority.
+ */
+public class PriorityReconciliationExecutor extends ThreadPoolExecutor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PriorityReconciliationExecutor.class);
+
+    private static final String CONTROLLER_EXECUTION_CLASS =
+            "io.javaoperatorsdk.operator.processing.event.EventProcessor$ControllerExecution";
+    private static final String EXECUTION_SCOPE_CLASS =
+            "io.javaoperatorsdk.operator.processing.event.ExecutionScope";
+
+    private static final int LATENCY_WINDOW = 1000;
+
+    private static final Field EXECUTION_SCOPE = findExecutionScopeField();
+    private static final Method GET_RESOURCE = findGetResourceMethod();
+
+    private final Function<Runnable, TaskInfo> classifier;
+    private final long maxWaitMillis;
+    private final LongSupplier clock;
+    @Nullable private final NamespaceFairShareQueue fairShareQueue;
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<ReconciliationPriority, AtomicInteger> queued =
+            new EnumMap<>(ReconciliationPriority.class);
+    private final Map<String, Histogram> namespaceLatencies = new ConcurrentHashMap<>();
+    private volatile MetricGroup metricGroup;
+
+    public PriorityReconciliationExecutor(
+            int parallelism, FlinkOperatorConfiguration operatorConfiguration) {
+        this(
+                parallelism,
+                operatorConfiguration.isPrioritySchedulingEnabled()
+                        ? operatorConfiguration.getPrioritySchedulingMaxWait()
+                        : Duration.ZERO,
+                operatorConfiguration.isFairShareEnabled()
+                        ? NamespaceFairShareQueue.create(operatorConfiguration)
+                        : null,
+                task -> TaskInfo.of(getResource(task)),
+                System::currentTimeMillis);
+    }
+
+    @VisibleForTesting
+    PriorityReconciliationExecutor(
+            int parallelism,
+            Duration maxWait,
+            @Nullable NamespaceFairShareQueue fairShareQueue,
+            Function<Runnable, TaskInfo> classifier,
+            LongSupplier clock) {
+        super(parallelism, parallelism, 0L, TimeUnit.MILLISECONDS, createQueue(fairShareQueue));
+        this.fairShareQueue = fairShareQueue;
+        this.classifier = classifier;
+        this.maxWaitMillis = maxWait.toMillis();
+        this.clock = clock;
+        for (ReconciliationPriority priority : ReconciliationPriority.values()) {
+            queued.put(priority, new AtomicInteger());
+        }
+        // New threads would run their first task right away, every task has to pass the queue
+        prestartAllCoreThreads();
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        TaskInfo info;
+        try {
+            info = classifier.apply(command);
+        } catch (Exception e) {
+            LOG.warn("Could not determine the reconciliation priority", e);
+            info = TaskInfo.UNKNOWN;
+        }
+        var task = new ReconciliationTask(command, info, clock.getAsLong());
+        queued.get(info.priority).incrementAndGet();
+        try {
+            super.execute(task);
+        } catch (RejectedExecutionException e) {
+            queued.get(info.priority).decrementAndGet();
+            throw e;
+        }
+    }
+
+    public void registerMetrics(MetricGroup metricGroup) {
+        for (ReconciliationPriority priority : ReconciliationPriority.values()) {
+            metricGroup
+                    .addGroup("Priority", priority.name())
+                    .gauge("QueueDepth", () -> queued.get(priority).get());
+        }
+        this.metricGroup = metricGroup;
+    }
+
+    @VisibleForTesting
+    int getQueueDepth(ReconciliationPriority priority) {
+        return queued.get(priority).get();
+    }
+
+    @VisibleForTesting
+    Histogram getQueueLatency(String namespace) {
+        return namespaceLatencies.get(namespace);
+    }
+
+    private long deadline(ReconciliationPriority priority, long submittedAt) {
+        switch (priority) {
+            case HIGH:
+                return submittedAt;
+            case NORMAL:
+                return submittedAt + maxWaitMillis / 2;
+            default:
+                return submittedAt + maxWaitMillis;
+        }
+    }
+
+    private void recordLatency(String namespace, long latencyMillis) {
+        namespaceLatencies
+                .computeIfAbsent(namespace, this::createNamespaceMetrics)
+                .update(latencyMillis);
+    }
+
+    private Histogram createNamespaceMetrics(String namespace) {
+        var latency = new DescriptiveStatisticsHistogram(LATENCY_WINDOW);
+        var group = metricGroup;
+        if (group != null) {
+            var namespaceGroup = group.addGroup("Namespace", namespace);
+            namespaceGroup.histogram("QueueLatency", latency);
+            if (fairShareQueue != null) {
+                namespaceGroup.gauge("QueueDepth", () -> fairShareQueue.size(namespace));
+            }
+        }
+        return latency;
+    }
+
+    private static BlockingQueue<Runnable> createQueue(
+            @Nullable NamespaceFairShareQueue fairShareQueue) {
+        return fairShareQueue != null ? fairShareQueue : new PriorityBlockingQueue<>();
+    }
+
+    private static HasMetadata getResource(Runnable task) {
+        if (EXECUTION_SCOPE == null
+                || GET_RESOURCE == null
+                || !task.getClass().getName().equals(CONTROLLER_EXECUTION_CLASS)) {
+            return null;
+        }
+        try {
+            return (HasMetadata) GET_RESOURCE.invoke(EXECUTION_SCOPE.get(task));
+        } catch (ReflectiveOperationException e) {
+            LOG.debug("Could not read the resource of the reconciliation", e);
+            return null;
+        }
+    }
+
+    private static Field findExecutionScopeField() {
+        try {
+            Field field =
+                    Class.forName(CONTROLLER_EXECUTION_CLASS).getDeclaredField("executionScope");
+            field.setAccessible(true);
+            return field;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            LOG.warn("Reconciliation priorities are not supported by the operator framework", e);
+            return null;
+        }
+    }
+
+    private static Method findGetResourceMethod() {
+        try {
+            Method method = Class.forName(EXECUTION_SCOPE_CLASS).getDeclaredMethod("getResource");
+            method.setAccessible(true);
+            return method;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            LOG.warn("Reconciliation priorities are not supported by the operator framework", e);
+            return null;
+        }
+    }
+
+    /** The properties of a reconciliation its scheduling is based on. */
+    @VisibleForTesting
+    static class TaskInfo {
+
+        private static final TaskInfo UNKNOWN =
+                new TaskInfo(ReconciliationPriority.NORMAL, "", false);
+
+        final ReconciliationPriority priority;
+        final String namespace;
+        final boolean expensive;
+
+        TaskInfo(ReconciliationPriority priority, String namespace, boolean expensive) {
+            this.priority = priority;
+            this.namespace = namespace;
+            this.expensive = expensive;
+        }
+
+        static TaskInfo of(@Nullable HasMetadata resource) {
+            if (resource == null) {
+                return UNKNOWN;
+            }
+            var namespace = resource.getMetadata().getNamespace();
+            return new TaskInfo(
+                    ReconciliationPriority.of(resource),
+                    namespace != null ? namespace : "",
+                    ReconciliationPriority.isExpensive(resource));
+        }
+    }
+
+    /** A queued reconciliation, ordered by its deadline. */
+    class ReconciliationTask implements Runnable, Comparable<ReconciliationTask> {
+
+        private final Runnable task;
+        final TaskInfo info;
+        private final long submittedAt;
+        private final long deadline;
+        private final long seq = sequence.getAndIncrement();
+
+        private ReconciliationTask(Runnable task, TaskInfo info, long submittedAt) {
+            this.task = task;
+            this.info = info;
+            this.submittedAt = submittedAt;
+            this.deadline = deadline(info.priority, submittedAt);
+        }
+
+        @Override
+        public void run() {
+            queued.get(info.priority).decrementAndGet();
+            recordLatency(info.namespace, clock.getAsLong() - submittedAt);
+            try {
+                task.run();
+            } finally {
+                if (fairShareQueue != null) {
+                    fairShareQueue.completed(this);
+                }
+            }
+        }
+
+        @Override
+        public int compareTo(ReconciliationTask other) {
+            int result = Long.compare(deadline, other.deadline);
+            return result != 0 ? result : Long.compare(seq, other.seq);
+        }
+
+        @Override
+        public String toString() {
+            return task.toString();
+        }
+    }
+}
@@ -18,6 +18,8 @@
 package org.apache.flink.kubernetes.operator.crd.spec;
 
 import org.apache.flink.annotation.Experimental;
+import org.apache.flink.kubernetes.operator.crd.diff.DiffType;
+import org.apache.flink.kubernetes.operator.crd.diff.SpecDiff;
 
 import io.fabric8.kubernetes.api.model.Pod;
 import lombok.AllArgsConstructor;
@@ -47,9 +49,11 @@ public class FlinkDeploymentSpec {
     private FlinkVersion flinkVersion;
 
     /** Ingress specs. */
+    @SpecDiff(DiffType.IN_PLACE)
     private IngressSpec ingress;
 
     /** Flink configuration overrides for the Flink deployment. */
+    @SpecDiff(value = DiffType.UPGRADE, ignoredKeyPrefixes = "kubernetes.operator.")
     private Map<String, String> flinkConfiguration;
 
     /**
@@ -77,5 +81,6 @@ public class FlinkDeploymentSpec {
      * Log configuration overrides for the Flink deployment. Format logConfigFileName ->
      * configContent.
      */
+    @SpecDiff(DiffType.IN_PLACE)
     private Map<String, String> logConfiguration;
 }
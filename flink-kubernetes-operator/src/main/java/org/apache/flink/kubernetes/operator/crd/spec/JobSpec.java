@@ -18,6 +18,8 @@
 package org.apache.flink.kubernetes.operator.crd.spec;
 
 import org.apache.flink.annotation.Experimental;
+import org.apache.flink.kubernetes.operator.crd.diff.DiffType;
+import org.apache.flink.kubernetes.operator.crd.diff.SpecDiff;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -55,14 +57,20 @@ public class JobSpec {
      * Nonce used to manually trigger savepoint for the running job. In order to trigger a
      * savepoint, change the number to anything other than the current value.
      */
-    @EqualsAndHashCode.Exclude private Long savepointTriggerNonce;
+    @SpecDiff(DiffType.IGNORE)
+    @EqualsAndHashCode.Exclude
+    private Long savepointTriggerNonce;
 
     /**
      * Savepoint path used by the job the first time it is deployed. Upgrades/redeployments will not
      * be affected.
      */
-    @EqualsAndHashCode.Exclude private String initialSavepointPath;
+    @SpecDiff(DiffType.IGNORE)
+    @EqualsAndHashCode.Exclude
+    private String initialSavepointPath;
 
     /** Upgrade mode of the Flink job. */
-    @EqualsAndHashCode.Exclude private UpgradeMode upgradeMode = UpgradeMode.STATELESS;
+    @SpecDiff(DiffType.IGNORE)
+    @EqualsAndHashCode.Exclude
+    private UpgradeMode upgradeMode = UpgradeMode.STATELESS;
 }
@@ -41,4 +41,10 @@ public class FlinkDeploymentStatus {
 
     /** Error information about the Flink deployment. */
     private String error;
+
+    /**
+     * Epoch timestamp of the cluster shutdown the reconciler is waiting for before continuing, null
+     * if no shutdown is pending.
+     */
+    private Long clusterShutdownTimestamp;
 }
@@ -20,6 +20,7 @@ package org.apache.flink.kubernetes.operator.crd.status;
 import org.apache.flink.annotation.Experimental;
 import org.apache.flink.kubernetes.operator.crd.spec.FlinkSessionJobSpec;
 import org.apache.flink.kubernetes.operator.reconciler.ReconciliationUtils;
+import org.apache.flink.kubernetes.operator.reconciler.SpecEncoding;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
@@ -50,4 +51,11 @@ public class FlinkSessionJobReconciliationStatus {
     public void serializeAndSetLastReconciledSpec(FlinkSessionJobSpec spec) {
         setLastReconciledSpec(ReconciliationUtils.writeSpecWithCurrentVersion(spec));
     }
+
+    /** Re-encode the stored spec if it does not match the current {@link SpecEncoding}. */
+    public void migrateSpecEncoding() {
+        if (lastReconciledSpec != null) {
+            lastReconciledSpec = SpecEncoding.current().reencode(lastReconciledSpec);
+        }
+    }
 }
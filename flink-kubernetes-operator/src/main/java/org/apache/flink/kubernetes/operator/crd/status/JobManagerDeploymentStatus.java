@@ -19,6 +19,7 @@ package org.apache.flink.kubernetes.operator.crd.status;
 
 import org.apache.flink.kubernetes.operator.config.FlinkOperatorConfiguration;
 import org.apache.flink.kubernetes.operator.crd.FlinkDeployment;
+import org.apache.flink.kubernetes.operator.reconciler.RescheduleIntervals;
 import org.apache.flink.kubernetes.operator.utils.SavepointUtils;
 
 import java.time.Duration;
@@ -47,18 +48,33 @@ public enum JobManagerDeploymentStatus {
         Duration rescheduleAfter;
         switch (this) {
             case DEPLOYING:
-                rescheduleAfter = operatorConfiguration.getProgressCheckInterval();
+                rescheduleAfter =
+                        RescheduleIntervals.progressCheckInterval(
+                                flinkDeployment, operatorConfiguration);
                 break;
             case READY:
+                JobStatus jobStatus = flinkDeployment.getStatus().getJobStatus();
                 rescheduleAfter =
-                        SavepointUtils.savepointInProgress(
-                                        flinkDeployment.getStatus().getJobStatus())
-                                ? operatorConfiguration.getProgressCheckInterval()
-                                : operatorConfiguration.getReconcileInterval();
+                        RescheduleIntervals.reconcileInterval(
+                                flinkDeployment, operatorConfiguration);
+                if (SavepointUtils.savepointInProgress(jobStatus)) {
+                    Duration pollDelay =
+                            SavepointUtils.getStatusPollDelay(
+                                    operatorConfiguration, jobStatus.getSavepointInfo());
+                    if (pollDelay.compareTo(rescheduleAfter) < 0) {
+                        rescheduleAfter = pollDelay;
+                    }
+                }
                 break;
             case MISSING:
+                rescheduleAfter =
+                        RescheduleIntervals.reconcileInterval(
+                                flinkDeployment, operatorConfiguration);
+                break;
             case ERROR:
-                rescheduleAfter = operatorConfiguration.getReconcileInterval();
+                rescheduleAfter =
+                        RescheduleIntervals.jitteredReconcileInterval(
+                                flinkDeployment, operatorConfiguration);
                 break;
             case DEPLOYED_NOT_READY:
                 rescheduleAfter = operatorConfiguration.getRestApiReadyDelay();
@@ -20,6 +20,7 @@ package org.apache.flink.kubernetes.operator.crd.status;
 import org.apache.flink.annotation.Experimental;
 import org.apache.flink.kubernetes.operator.crd.spec.FlinkDeploymentSpec;
 import org.apache.flink.kubernetes.operator.reconciler.ReconciliationUtils;
+import org.apache.flink.kubernetes.operator.reconciler.SpecEncoding;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
@@ -46,13 +47,17 @@ public class ReconciliationStatus {
 
     /**
      * Last stable deployment spec according to the specified stability condition. If a rollback
-     * strategy is defined this will be the target to roll back to.
+     * strategy is defined this will be the target to roll back to. With spec compaction enabled
+     * this only references the last reconciled spec if the two are the same.
      */
     private String lastStableSpec;
 
     /** Deployment state of the last reconciled spec. */
     private ReconciliationState state = ReconciliationState.DEPLOYED;
 
+    /** Classification of the last reconciled spec change. */
+    private SpecChange lastSpecChange;
+
     @JsonIgnore
     public FlinkDeploymentSpec deserializeLastReconciledSpec() {
         return ReconciliationUtils.deserializedSpecWithVersion(
@@ -62,16 +67,20 @@ public class ReconciliationStatus {
     @JsonIgnore
     public FlinkDeploymentSpec deserializeLastStableSpec() {
         return ReconciliationUtils.deserializedSpecWithVersion(
-                lastStableSpec, FlinkDeploymentSpec.class);
+                resolveLastStableSpec(), FlinkDeploymentSpec.class);
     }
 
     @JsonIgnore
     public void serializeAndSetLastReconciledSpec(FlinkDeploymentSpec spec) {
+        // The stable spec might be a reference to the spec we are about to replace
+        lastStableSpec = resolveLastStableSpec();
         setLastReconciledSpec(ReconciliationUtils.writeSpecWithCurrentVersion(spec));
+        compactLastStableSpec();
     }
 
     public void markReconciledSpecAsStable() {
         lastStableSpec = lastReconciledSpec;
+        compactLastStableSpec();
     }
 
     @JsonIgnore
@@ -79,6 +88,30 @@ public class ReconciliationStatus {
         if (lastReconciledSpec == null || lastStableSpec == null) {
             return false;
         }
-        return lastReconciledSpec.equals(lastStableSpec);
+        return lastReconciledSpec.equals(resolveLastStableSpec());
+    }
+
+    /** Re-encode the stored specs if they do not match the current {@link SpecEncoding}. */
+    public void migrateSpecEncoding() {
+        String stableSpec = resolveLastStableSpec();
+        if (lastReconciledSpec != null) {
+            lastReconciledSpec = SpecEncoding.current().reencode(lastReconciledSpec);
+        }
+        lastStableSpec = stableSpec == null ? null : SpecEncoding.current().reencode(stableSpec);
+        compactLastStableSpec();
+    }
+
+    private String resolveLastStableSpec() {
+        return SpecEncoding.SAME_AS_LAST_RECONCILED.equals(lastStableSpec)
+                ? lastReconciledSpec
+                : lastStableSpec;
+    }
+
+    private void compactLastStableSpec() {
+        if (SpecEncoding.current().isCompactionEnabled()
+                && lastStableSpec != null
+                && lastStableSpec.equals(lastReconciledSpec)) {
+            lastStableSpec = SpecEncoding.SAME_AS_LAST_RECONCILED;
+        }
     }
 }
@@ -40,18 +40,33 @@ public class SavepointInfo {
     /** Trigger timestamp of a pending savepoint operation. */
     private Long triggerTimestamp;
 
+    /** Savepoint operation type of a pending savepoint operation. */
+    private SavepointTriggerType triggerType;
+
+    /** Milliseconds from trigger to completion of the last savepoint triggered by the operator. */
+    private Long lastSavepointDuration;
+
     public void setTrigger(String triggerId) {
+        setTrigger(triggerId, SavepointTriggerType.MANUAL);
+    }
+
+    public void setTrigger(String triggerId, SavepointTriggerType triggerType) {
         this.triggerId = triggerId;
         this.triggerTimestamp = System.currentTimeMillis();
+        this.triggerType = triggerType;
     }
 
     public void resetTrigger() {
         this.triggerId = null;
         this.triggerTimestamp = null;
+        this.triggerType = null;
     }
 
     public void updateLastSavepoint(Savepoint savepoint) {
         lastSavepoint = savepoint;
+        if (triggerTimestamp != null) {
+            lastSavepointDuration = Math.max(0, savepoint.getTimeStamp() - triggerTimestamp);
+        }
         resetTrigger();
     }
 }
@@ -0,0 +1,31 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.kubernetes.operator.exception;
+
+/**
+ * Exception to signal that a call to a Flink cluster was rejected without being sent, because the
+ * circuit breaker of the cluster is open or too many calls to it are in flight.
+ */
+public class ClusterUnavailableException extends RuntimeException {
+
+    private static final long serialVersionUID = 4521889461624617470L;
+
+    public ClusterUnavailableException(String msg) {
+        super(msg);
+    }
+}
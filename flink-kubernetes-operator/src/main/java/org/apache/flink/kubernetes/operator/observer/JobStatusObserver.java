@@ -19,15 +19,19 @@ package org.apache.flink.kubernetes.operator.observer;
 
 import org.apache.flink.configuration.Configuration;
 import org.apache.flink.kubernetes.operator.crd.status.JobStatus;
+import org.apache.flink.kubernetes.operator.exception.ClusterUnavailableException;
 import org.apache.flink.kubernetes.operator.service.FlinkService;
 import org.apache.flink.runtime.client.JobStatusMessage;
+import org.apache.flink.util.ExceptionUtils;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeoutException;
 
 import static org.apache.flink.kubernetes.operator.observer.deployment.AbstractDeploymentObserver.JOB_STATE_UNKNOWN;
@@ -50,15 +54,37 @@ public abstract class JobStatusObserver<CTX> {
      * @return If job found return true, otherwise return false.
      */
     public boolean observe(JobStatus jobStatus, Configuration deployedConfig, CTX ctx) {
+        return observe(jobStatus, flinkService.listJobsAsync(deployedConfig), ctx);
+    }
+
+    /**
+     * Observe the status of the flink job based on a job listing that was already requested, so
+     * that the caller can issue other requests to the cluster while the listing is in flight.
+     *
+     * @param jobStatus The job status to be observed.
+     * @param clusterJobsFuture The pending job listing of the cluster.
+     * @return If job found return true, otherwise return false.
+     */
+    public boolean observe(
+            JobStatus jobStatus,
+            CompletableFuture<Collection<JobStatusMessage>> clusterJobsFuture,
+            CTX ctx) {
         LOG.info("Observing job status");
         var previousJobStatus = jobStatus.getState();
         List<JobStatusMessage> clusterJobStatuses;
         try {
-            clusterJobStatuses = new ArrayList<>(flinkService.listJobs(deployedConfig));
+            clusterJobStatuses = new ArrayList<>(clusterJobsFuture.get());
         } catch (Exception e) {
-            LOG.error("Exception while listing jobs", e);
+            Throwable cause =
+                    ExceptionUtils.stripCompletionException(
+                            ExceptionUtils.stripExecutionException(e));
             jobStatus.setState(JOB_STATE_UNKNOWN);
-            if (e instanceof TimeoutException) {
+            if (cause instanceof ClusterUnavailableException) {
+                LOG.warn("Skipped listing jobs: {}", cause.getMessage());
+                return false;
+            }
+            LOG.error("Exception while listing jobs", cause);
+            if (cause instanceof TimeoutException) {
                 onTimeout(ctx);
             }
             return false;
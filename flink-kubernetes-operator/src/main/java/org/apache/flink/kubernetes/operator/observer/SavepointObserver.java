@@ -19,14 +19,20 @@ package org.apache.flink.kubernetes.operator.observer;
 
 import org.apache.flink.configuration.Configuration;
 import org.apache.flink.kubernetes.operator.config.FlinkOperatorConfiguration;
+import org.apache.flink.kubernetes.operator.crd.status.JobStatus;
 import org.apache.flink.kubernetes.operator.crd.status.SavepointInfo;
+import org.apache.flink.kubernetes.operator.crd.status.SavepointTriggerType;
 import org.apache.flink.kubernetes.operator.service.FlinkService;
 import org.apache.flink.kubernetes.operator.utils.SavepointUtils;
+import org.apache.flink.util.ExceptionUtils;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
+
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 /** An observer of savepoint progress. */
 public class SavepointObserver {
@@ -45,25 +51,56 @@ public class SavepointObserver {
     /**
      * Observe the savepoint result based on the current savepoint info.
      *
-     * @param currentSavepointInfo the current savepoint info.
-     * @param jobID the jobID of the observed job.
+     * @param jobStatus the status of the observed job.
      * @param deployedConfig Deployed job config.
      * @return The observed error, if no error observed, {@code Optional.empty()} will be returned.
      */
-    public Optional<String> observe(
+    public Optional<String> observe(JobStatus jobStatus, Configuration deployedConfig) {
+        return observe(
+                jobStatus,
+                fetchSavepointInfo(
+                        jobStatus.getSavepointInfo(), jobStatus.getJobId(), deployedConfig));
+    }
+
+    /**
+     * Request the progress of the pending savepoint without waiting for the response.
+     *
+     * @return The pending savepoint fetch, or null if there is no savepoint in progress.
+     */
+    @Nullable
+    public CompletableFuture<SavepointFetchResult> fetchSavepointInfo(
             SavepointInfo currentSavepointInfo, String jobID, Configuration deployedConfig) {
-        if (currentSavepointInfo.getTriggerId() == null) {
+        if (currentSavepointInfo.getTriggerId() == null || jobID == null) {
+            return null;
+        }
+        return flinkService.fetchSavepointInfoAsync(
+                currentSavepointInfo.getTriggerId(), jobID, deployedConfig);
+    }
+
+    /**
+     * Observe the savepoint result based on a savepoint fetch that was already requested. The job
+     * of a completed stop-with-savepoint is marked as finished.
+     *
+     * @param jobStatus the status of the observed job.
+     * @param savepointFetchFuture the pending fetch from {@link #fetchSavepointInfo}.
+     * @return The observed error, if no error observed, {@code Optional.empty()} will be returned.
+     */
+    public Optional<String> observe(
+            JobStatus jobStatus,
+            @Nullable CompletableFuture<SavepointFetchResult> savepointFetchFuture) {
+        SavepointInfo currentSavepointInfo = jobStatus.getSavepointInfo();
+        if (currentSavepointInfo.getTriggerId() == null || savepointFetchFuture == null) {
             LOG.debug("Savepoint not in progress");
             return Optional.empty();
         }
         LOG.info("Observing savepoint status");
         SavepointFetchResult savepointFetchResult;
         try {
-            savepointFetchResult =
-                    flinkService.fetchSavepointInfo(
-                            currentSavepointInfo.getTriggerId(), jobID, deployedConfig);
+            savepointFetchResult = savepointFetchFuture.get();
         } catch (Exception e) {
-            LOG.error("Exception while fetching savepoint info", e);
+            LOG.error(
+                    "Exception while fetching savepoint info",
+                    ExceptionUtils.stripExecutionException(e));
             return Optional.empty();
         }
 
@@ -84,6 +121,9 @@ public class SavepointObserver {
             return Optional.empty();
         }
         LOG.info("Savepoint status updated with latest completed savepoint info");
+        if (currentSavepointInfo.getTriggerType() == SavepointTriggerType.STOP) {
+            jobStatus.setState(org.apache.flink.api.common.JobStatus.FINISHED.name());
+        }
         currentSavepointInfo.updateLastSavepoint(savepointFetchResult.getSavepoint());
         return Optional.empty();
     }
@@ -79,6 +79,12 @@ public abstract class AbstractDeploymentObserver implements Observer<FlinkDeploy
             return;
         }
 
+        // The reconciler waits for the shutdown of the cluster, there is nothing to observe
+        if (flinkApp.getStatus().getClusterShutdownTimestamp() != null) {
+            logger.info("Skipping observe step while the cluster is shutting down");
+            return;
+        }
+
         Configuration observeConfig = ReconciliationUtils.getDeployedConfig(flinkApp, flinkConfig);
         if (!isJmDeploymentReady(flinkApp)) {
             observeJmDeployment(flinkApp, context, observeConfig);
@@ -133,7 +139,7 @@ public abstract class AbstractDeploymentObserver implements Observer<FlinkDeploy
 
             try {
                 checkFailedCreate(status);
-                // checking the pod is expensive; only do it when the deployment isn't ready
+                // only check the pods when the deployment isn't ready
                 checkCrashLoopBackoff(flinkApp, effectiveConfig);
             } catch (DeploymentFailedException dfe) {
                 // throw only when not already in error status to allow for spec update
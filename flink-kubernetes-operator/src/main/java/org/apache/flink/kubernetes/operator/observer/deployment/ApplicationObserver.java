@@ -26,11 +26,13 @@ import org.apache.flink.kubernetes.operator.observer.SavepointObserver;
 import org.apache.flink.kubernetes.operator.observer.context.ApplicationObserverContext;
 import org.apache.flink.kubernetes.operator.reconciler.ReconciliationUtils;
 import org.apache.flink.kubernetes.operator.service.FlinkService;
+import org.apache.flink.kubernetes.operator.utils.SavepointUtils;
 import org.apache.flink.runtime.client.JobStatusMessage;
 
 import io.javaoperatorsdk.operator.api.reconciler.Context;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 /** The observer of {@link org.apache.flink.kubernetes.operator.config.Mode#APPLICATION} cluster. */
@@ -75,20 +77,34 @@ public class ApplicationObserver extends AbstractDeploymentObserver {
 
         JobStatus jobStatus = flinkApp.getStatus().getJobStatus();
 
+        // Request the job list and the savepoint progress at the same time and only wait once
+        var clusterJobsFuture = flinkService.listJobsAsync(deployedConfig);
+        var previousJobId = jobStatus.getJobId();
+        var savepointFetchFuture =
+                savepointObserver.fetchSavepointInfo(
+                        jobStatus.getSavepointInfo(), previousJobId, deployedConfig);
+
         boolean jobFound =
                 jobStatusObserver.observe(
                         jobStatus,
-                        deployedConfig,
+                        clusterJobsFuture,
                         new ApplicationObserverContext(flinkApp, context, deployedConfig));
         if (jobFound) {
+            if (!Objects.equals(previousJobId, jobStatus.getJobId())) {
+                savepointFetchFuture =
+                        savepointObserver.fetchSavepointInfo(
+                                jobStatus.getSavepointInfo(), jobStatus.getJobId(), deployedConfig);
+            }
             savepointObserver
-                    .observe(jobStatus.getSavepointInfo(), jobStatus.getJobId(), deployedConfig)
+                    .observe(jobStatus, savepointFetchFuture)
                     .ifPresent(
                             error ->
                                     ReconciliationUtils.updateForReconciliationError(
                                             flinkApp, error));
         }
-        return isJobReady(jobStatus);
+        // The job keeps running until the savepoint of a stop is completed, but the last reconciled
+        // spec is already the one the job is upgraded to
+        return isJobReady(jobStatus) && !SavepointUtils.stopWithSavepointInProgress(jobStatus);
     }
 
     private boolean isJobReady(JobStatus jobStatus) {
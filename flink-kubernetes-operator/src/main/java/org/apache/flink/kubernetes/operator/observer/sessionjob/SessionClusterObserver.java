@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.kubernetes.operator.observer.sessionjob;
+
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.kubernetes.operator.config.FlinkOperatorConfiguration;
+import org.apache.flink.kubernetes.operator.crd.FlinkSessionJob;
+import org.apache.flink.kubernetes.operator.service.FlinkService;
+import org.apache.flink.runtime.client.JobStatusMessage;
+
+import org.apache.flink.shaded.guava30.com.google.common.cache.Cache;
+import org.apache.flink.shaded.guava30.com.google.common.cache.CacheBuilder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import static org.apache.flink.kubernetes.operator.observer.deployment.AbstractDeploymentObserver.JOB_STATE_UNKNOWN;
+
+/**
+ * Observes the job overview of the session clusters on behalf of all of their session jobs. The job
+ * listings of a cluster are shared for the configured list jobs cache ttl, which makes up one
+ * observation cycle of the cluster. The first session job seeing the listing of a new cycle checks
+ * the other session jobs of the cluster against it and only wakes up those whose job state changed,
+ * the others are left alone until their next scheduled reconciliation. The check runs on the
+ * operator executor, so the threads completing the listings are never held up by it.
+ */
+public class SessionClusterObserver {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SessionClusterObserver.class);
+
+    private final FlinkService flinkService;
+    private final boolean fanOutEnabled;
+    private final Executor executor;
+
+    /** The last listing seen per cluster, compared by identity to detect a new cycle. */
+    private final Cache<String, Collection<JobStatusMessage>> lastListings =
+            CacheBuilder.newBuilder().weakValues().build();
+
+    private volatile SessionJobs sessionJobs;
+
+    public SessionClusterObserver(
+            FlinkService flinkService,
+            FlinkOperatorConfiguration operatorConfiguration,
+            Executor executor) {
+        this.flinkService = flinkService;
+        this.executor = executor;
+        var cycle = operatorConfiguration.getListJobsCacheTtl();
+        // Without a shared listing every session job fetches its own, so there is nothing to share
+        this.fanOutEnabled = !cycle.isZero() && !cycle.isNegative();
+    }
+
+    /** Set the session jobs known to the controller, used to wake up the changed ones. */
+    public void setSessionJobs(SessionJobs sessionJobs) {
+        this.sessionJobs = sessionJobs;
+    }
+
+    /** List the jobs of the session cluster of the session job. */
+    public CompletableFuture<Collection<JobStatusMessage>> listJobs(
+            FlinkSessionJob sessionJob, Configuration deployedConfig) {
+        var listing = flinkService.listJobsAsync(deployedConfig);
+        if (fanOutEnabled && sessionJobs != null) {
+            listing.thenAcceptAsync(jobs -> onListing(sessionJob, jobs), executor);
+        }
+        return listing;
+    }
+
+    private void onListing(FlinkSessionJob sessionJob, Collection<JobStatusMessage> jobs) {
+        var namespace = sessionJob.getMetadata().getNamespace();
+        var clusterId = sessionJob.getSpec().getClusterId();
+        if (lastListings.asMap().put(namespace + "/" + clusterId, jobs) == jobs) {
+            return;
+        }
+        try {
+            Map<String, String> jobStates = new HashMap<>();
+            for (JobStatusMessage job : jobs) {
+                jobStates.put(job.getJobId().toHexString(), job.getJobState().name());
+            }
+            int wokenUp = 0;
+            for (FlinkSessionJob other : sessionJobs.get(namespace, clusterId)) {
+                var jobStatus = other.getStatus().getJobStatus();
+                if (jobStatus.getJobId() == null
+                        || other.getMetadata()
+                                .getName()
+                                .equals(sessionJob.getMetadata().getName())) {
+                    continue;
+                }
+                var observedState = jobStates.getOrDefault(jobStatus.getJobId(), JOB_STATE_UNKNOWN);
+                if (!Objects.equals(observedState, jobStatus.getState())) {
+                    sessionJobs.wakeUp(other);
+                    wokenUp++;
+                }
+            }
+            LOG.debug("Woke up {} session jobs of {}/{}", wokenUp, namespace, clusterId);
+        } catch (Exception e) {
+            LOG.warn("Could not check the session jobs of {}/{}", namespace, clusterId, e);
+        }
+    }
+
+    /** The session jobs of the session clusters, provided by the session job controller. */
+    public interface SessionJobs {
+
+        /** Get the session jobs of the session cluster. */
+        Collection<FlinkSessionJob> get(String namespace, String clusterId);
+
+        /** Trigger the reconciliation of the session job. */
+        void wakeUp(FlinkSessionJob sessionJob);
+    }
+}
@@ -37,6 +37,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -46,6 +47,8 @@ public class SessionJobObserver implements Observer<FlinkSessionJob> {
     private static final Logger LOG = LoggerFactory.getLogger(SessionJobObserver.class);
     private final FlinkOperatorConfiguration operatorConfiguration;
     private final Configuration defaultConfig;
+    private final FlinkService flinkService;
+    private final SessionClusterObserver sessionClusterObserver;
     private final SavepointObserver savepointObserver;
     private final JobStatusObserver<VoidObserverContext> jobStatusObserver;
 
@@ -53,8 +56,22 @@ public class SessionJobObserver implements Observer<FlinkSessionJob> {
             FlinkOperatorConfiguration operatorConfiguration,
             FlinkService flinkService,
             Configuration defaultConfig) {
+        this(
+                operatorConfiguration,
+                flinkService,
+                defaultConfig,
+                new SessionClusterObserver(flinkService, operatorConfiguration, Runnable::run));
+    }
+
+    public SessionJobObserver(
+            FlinkOperatorConfiguration operatorConfiguration,
+            FlinkService flinkService,
+            Configuration defaultConfig,
+            SessionClusterObserver sessionClusterObserver) {
         this.operatorConfiguration = operatorConfiguration;
         this.defaultConfig = defaultConfig;
+        this.flinkService = flinkService;
+        this.sessionClusterObserver = sessionClusterObserver;
         this.savepointObserver = new SavepointObserver(flinkService, operatorConfiguration);
         this.jobStatusObserver =
                 new JobStatusObserver<>(flinkService) {
@@ -85,10 +102,17 @@ public class SessionJobObserver implements Observer<FlinkSessionJob> {
 
                         JobStatusMessage newJob = matchedList.get(0);
 
-                        status.setState(newJob.getJobState().name());
-                        status.setJobName(newJob.getJobName());
-                        status.setStartTime(String.valueOf(newJob.getStartTime()));
-                        status.setUpdateTime(String.valueOf(System.currentTimeMillis()));
+                        var state = newJob.getJobState().name();
+                        var startTime = String.valueOf(newJob.getStartTime());
+                        // Leave the status untouched if nothing changed, to avoid a status patch
+                        if (!state.equals(status.getState())
+                                || !Objects.equals(newJob.getJobName(), status.getJobName())
+                                || !startTime.equals(status.getStartTime())) {
+                            status.setState(state);
+                            status.setJobName(newJob.getJobName());
+                            status.setStartTime(startTime);
+                            status.setUpdateTime(String.valueOf(System.currentTimeMillis()));
+                        }
                         return Optional.of(status.getState());
                     }
                 };
@@ -114,17 +138,18 @@ public class SessionJobObserver implements Observer<FlinkSessionJob> {
 
         Configuration deployedConfig =
                 ReconciliationUtils.getDeployedConfig(flinkDepOpt.get(), defaultConfig);
+        var jobStatus = flinkSessionJob.getStatus().getJobStatus();
+        // Request the job list and the savepoint progress at the same time and only wait once
+        var clusterJobsFuture = sessionClusterObserver.listJobs(flinkSessionJob, deployedConfig);
+        var savepointFetchFuture =
+                savepointObserver.fetchSavepointInfo(
+                        jobStatus.getSavepointInfo(), jobStatus.getJobId(), deployedConfig);
         var jobFound =
                 jobStatusObserver.observe(
-                        flinkSessionJob.getStatus().getJobStatus(),
-                        deployedConfig,
-                        VoidObserverContext.INSTANCE);
+                        jobStatus, clusterJobsFuture, VoidObserverContext.INSTANCE);
         if (jobFound) {
             savepointObserver
-                    .observe(
-                            flinkSessionJob.getStatus().getJobStatus().getSavepointInfo(),
-                            flinkSessionJob.getStatus().getJobStatus().getJobId(),
-                            deployedConfig)
+                    .observe(jobStatus, savepointFetchFuture)
                     .ifPresent(
                             error ->
                                     ReconciliationUtils.updateForReconciliationError(
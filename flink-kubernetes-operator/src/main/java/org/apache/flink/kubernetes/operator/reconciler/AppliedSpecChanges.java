@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.kubernetes.operator.reconciler;
+
+import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.kubernetes.operator.crd.diff.DiffType;
+import org.apache.flink.kubernetes.operator.crd.status.SpecChange;
+import org.apache.flink.metrics.Counter;
+import org.apache.flink.metrics.MetricGroup;
+import org.apache.flink.metrics.SimpleCounter;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/** Counts the spec changes applied to the deployments by the type of the change. */
+public class AppliedSpecChanges {
+
+    private final Map<DiffType, Counter> counters = new EnumMap<>(DiffType.class);
+
+    public AppliedSpecChanges() {
+        for (DiffType type : DiffType.values()) {
+            counters.put(type, new SimpleCounter());
+        }
+    }
+
+    /** Record a change applied to a deployment. */
+    public void record(SpecChange change) {
+        counters.get(change.getType()).inc();
+    }
+
+    public void registerMetrics(MetricGroup metricGroup) {
+        metricGroup.counter("Ignore", counters.get(DiffType.IGNORE));
+        metricGroup.counter("InPlace", counters.get(DiffType.IN_PLACE));
+        metricGroup.counter("Upgrade", counters.get(DiffType.UPGRADE));
+    }
+
+    @VisibleForTesting
+    public long getCount(DiffType type) {
+        return counters.get(type).getCount();
+    }
+}
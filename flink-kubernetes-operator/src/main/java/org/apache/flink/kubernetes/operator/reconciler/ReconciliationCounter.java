@@ -0,0 +1,39 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.kubernetes.operator.reconciler;
+
+import org.apache.flink.metrics.Counter;
+import org.apache.flink.metrics.MeterView;
+import org.apache.flink.metrics.MetricGroup;
+import org.apache.flink.metrics.SimpleCounter;
+
+/** Counts the reconciliation loops of the resources of all controllers. */
+public class ReconciliationCounter {
+
+    private final Counter reconciliations = new SimpleCounter();
+
+    /** Record a reconciliation loop of any resource. */
+    public void record() {
+        reconciliations.inc();
+    }
+
+    public void registerMetrics(MetricGroup metricGroup) {
+        metricGroup.counter("Count", reconciliations);
+        metricGroup.meter("Rate", new MeterView(reconciliations));
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.kubernetes.operator.reconciler;
+
+import org.apache.flink.api.common.JobStatus;
+import org.apache.flink.kubernetes.operator.crd.FlinkDeployment;
+import org.apache.flink.kubernetes.operator.crd.FlinkSessionJob;
+import org.apache.flink.kubernetes.operator.crd.status.JobManagerDeploymentStatus;
+import org.apache.flink.kubernetes.operator.crd.status.ReconciliationState;
+import org.apache.flink.kubernetes.operator.utils.SavepointUtils;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+
+/** Priority of the reconciliation of a resource, derived from its current status. */
+public enum ReconciliationPriority {
+    /** Rollbacks, job upgrades and savepoints in progress. */
+    HIGH,
+    /** New, changed and deleted resources, clusters and jobs that are not ready. */
+    NORMAL,
+    /** Routine reconciliation of ready resources without pending changes. */
+    LOW;
+
+    public static ReconciliationPriority of(HasMetadata resource) {
+        if (resource instanceof FlinkDeployment) {
+            return of((FlinkDeployment) resource);
+        }
+        if (resource instanceof FlinkSessionJob) {
+            return of((FlinkSessionJob) resource);
+        }
+        return NORMAL;
+    }
+
+    /**
+     * Whether the reconciliation of the resource is expected to run an expensive operation, such as
+     * deploying, upgrading, rolling back or shutting down a cluster or job, which includes manually
+     * triggered savepoints.
+     */
+    public static boolean isExpensive(HasMetadata resource) {
+        if (resource instanceof FlinkDeployment) {
+            var deployment = (FlinkDeployment) resource;
+            var reconciliationStatus = deployment.getStatus().getReconciliationStatus();
+            return deployment.getMetadata().getDeletionTimestamp() != null
+                    || reconciliationStatus.getLastReconciledSpec() == null
+                    || reconciliationStatus.getState() == ReconciliationState.ROLLING_BACK
+                    || ReconciliationUtils.isJobUpgradeInProgress(deployment)
+                    || !deployment
+                            .getSpec()
+                            .equals(reconciliationStatus.deserializeLastReconciledSpec());
+        }
+        if (resource instanceof FlinkSessionJob) {
+            var sessionJob = (FlinkSessionJob) resource;
+            var reconciliationStatus = sessionJob.getStatus().getReconciliationStatus();
+            return sessionJob.getMetadata().getDeletionTimestamp() != null
+                    || reconciliationStatus.getLastReconciledSpec() == null
+                    || !sessionJob
+                            .getSpec()
+                            .equals(reconciliationStatus.deserializeLastReconciledSpec());
+        }
+        return false;
+    }
+
+    private static ReconciliationPriority of(FlinkDeployment deployment) {
+        var status = deployment.getStatus();
+        var reconciliationStatus = status.getReconciliationStatus();
+        if (deployment.getMetadata().getDeletionTimestamp() != null
+                || reconciliationStatus.getLastReconciledSpec() == null) {
+            return NORMAL;
+        }
+        if (reconciliationStatus.getState() == ReconciliationState.ROLLING_BACK
+                || SavepointUtils.savepointInProgress(status.getJobStatus())
+                || ReconciliationUtils.isJobUpgradeInProgress(deployment)) {
+            return HIGH;
+        }
+        if (status.getJobManagerDeploymentStatus() != JobManagerDeploymentStatus.READY
+                || !deployment
+                        .getSpec()
+                        .equals(reconciliationStatus.deserializeLastReconciledSpec())) {
+            return NORMAL;
+        }
+        return LOW;
+    }
+
+    private static ReconciliationPriority of(FlinkSessionJob sessionJob) {
+        var status = sessionJob.getStatus();
+        var reconciliationStatus = status.getReconciliationStatus();
+        if (sessionJob.getMetadata().getDeletionTimestamp() != null
+                || reconciliationStatus.getLastReconciledSpec() == null) {
+            return NORMAL;
+        }
+        if (SavepointUtils.savepointInProgress(status.getJobStatus())) {
+            return HIGH;
+        }
+        if (!JobStatus.RUNNING.name().equals(status.getJobStatus().getState())
+                || !sessionJob
+                        .getSpec()
+                        .equals(reconciliationStatus.deserializeLastReconciledSpec())) {
+            return NORMAL;
+        }
+        return LOW;
+    }
+}
@@ -31,7 +31,10 @@ import org.apache.flink.kubernetes.operator.crd.status.FlinkSessionJobReconcilia
 import org.apache.flink.kubernetes.operator.crd.status.FlinkSessionJobStatus;
 import org.apache.flink.kubernetes.operator.crd.status.ReconciliationState;
 import org.apache.flink.kubernetes.operator.crd.status.ReconciliationStatus;
+import org.apache.flink.kubernetes.operator.crd.status.SpecChange;
 import org.apache.flink.kubernetes.operator.utils.FlinkUtils;
+import org.apache.flink.kubernetes.operator.utils.ResourceCopier;
+import org.apache.flink.kubernetes.operator.utils.SavepointUtils;
 import org.apache.flink.util.Preconditions;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -46,6 +49,7 @@ import javax.annotation.Nullable;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Objects;
+import java.util.Optional;
 
 /** Reconciliation utilities. */
 public class ReconciliationUtils {
@@ -75,6 +79,37 @@ public class ReconciliationUtils {
         }
     }
 
+    public static void updateForSpecReconciliationSuccess(
+            FlinkDeployment flinkApp, JobState stateAfterReconcile, SpecChange specChange) {
+        updateForSpecReconciliationSuccess(flinkApp, stateAfterReconcile);
+        flinkApp.getStatus().getReconciliationStatus().setLastSpecChange(specChange);
+    }
+
+    /**
+     * Update the status after spec changes have been applied without redeployment. The readiness
+     * deadline of a deployment that has not become stable yet is kept, so the in-place changes do
+     * not postpone its rollback.
+     */
+    public static void updateForInPlaceSpecChange(
+            FlinkDeployment flinkApp, JobState stateAfterReconcile, SpecChange specChange) {
+        ReconciliationStatus reconciliationStatus = flinkApp.getStatus().getReconciliationStatus();
+        boolean stable = reconciliationStatus.isLastReconciledSpecStable();
+        long reconciliationTimestamp = reconciliationStatus.getReconciliationTimestamp();
+        updateForSpecReconciliationSuccess(flinkApp, stateAfterReconcile, specChange);
+        if (!stable) {
+            reconciliationStatus.setReconciliationTimestamp(reconciliationTimestamp);
+        }
+    }
+
+    /** Update the job state of the last reconciled spec, which the cluster keeps running. */
+    public static void updateLastReconciledJobState(FlinkDeployment flinkApp, JobState jobState) {
+        ReconciliationStatus reconciliationStatus = flinkApp.getStatus().getReconciliationStatus();
+        FlinkDeploymentSpec lastReconciledSpec =
+                reconciliationStatus.deserializeLastReconciledSpec();
+        lastReconciledSpec.getJob().setState(jobState);
+        reconciliationStatus.serializeAndSetLastReconciledSpec(lastReconciledSpec);
+    }
+
     public static void updateSavepointReconciliationSuccess(FlinkDeployment flinkApp) {
         ReconciliationStatus reconciliationStatus = flinkApp.getStatus().getReconciliationStatus();
         flinkApp.getStatus().setError(null);
@@ -124,16 +159,7 @@ public class ReconciliationUtils {
     }
 
     public static <T> T clone(T object) {
-        if (object == null) {
-            return null;
-        }
-        try {
-            return (T)
-                    objectMapper.readValue(
-                            objectMapper.writeValueAsString(object), object.getClass());
-        } catch (JsonProcessingException e) {
-            throw new IllegalStateException(e);
-        }
+        return ResourceCopier.copy(object);
     }
 
     public static <CR extends CustomResource> UpdateControl<CR> toUpdateControl(
@@ -167,6 +193,13 @@ public class ReconciliationUtils {
             return updateControl;
         }
 
+        if (current.getStatus().getClusterShutdownTimestamp() != null) {
+            // Pod events trigger the reconciliation earlier, but the service might outlive the pods
+            return updateControl.rescheduleAfter(
+                    RescheduleIntervals.progressCheckInterval(current, operatorConfiguration)
+                            .toMillis());
+        }
+
         if (isJobUpgradeInProgress(current)) {
             return updateControl.rescheduleAfter(0);
         }
@@ -179,6 +212,21 @@ public class ReconciliationUtils {
         return updateControl.rescheduleAfter(rescheduleAfter.toMillis());
     }
 
+    /**
+     * Delay the scheduled reconciliation until the Flink cluster the resource depends on accepts
+     * calls again, if calls to it are currently rejected.
+     */
+    public static <CR extends CustomResource> UpdateControl<CR> withClusterBackoff(
+            UpdateControl<CR> updateControl, Optional<Duration> clusterBackoff) {
+        if (clusterBackoff.isPresent() && updateControl.getScheduleDelay().isPresent()) {
+            updateControl.rescheduleAfter(
+                    Math.max(
+                            updateControl.getScheduleDelay().get(),
+                            clusterBackoff.get().toMillis()));
+        }
+        return updateControl;
+    }
+
     public static boolean isUpgradeModeChangedToLastStateAndHADisabledPreviously(
             FlinkDeployment flinkApp, Configuration defaultConf) {
 
@@ -208,7 +256,7 @@ public class ReconciliationUtils {
                 deployment.getMetadata(), getDeployedSpec(deployment), defaultConf);
     }
 
-    private static boolean isJobUpgradeInProgress(FlinkDeployment current) {
+    public static boolean isJobUpgradeInProgress(FlinkDeployment current) {
         ReconciliationStatus reconciliationStatus = current.getStatus().getReconciliationStatus();
 
         if (reconciliationStatus == null) {
@@ -226,6 +274,7 @@ public class ReconciliationUtils {
 
         return current.getSpec().getJob().getState() == JobState.RUNNING
                 && current.getStatus().getError() == null
+                && !SavepointUtils.savepointInProgress(current.getStatus().getJobStatus())
                 && reconciliationStatus.deserializeLastReconciledSpec().getJob().getState()
                         == JobState.SUSPENDED;
     }
@@ -235,9 +284,13 @@ public class ReconciliationUtils {
         if (specString == null) {
             return null;
         }
+        return SpecCache.get(specString, specClass, s -> deserializeSpecWithVersion(s, specClass));
+    }
 
+    private static <T> T deserializeSpecWithVersion(String specString, Class<T> specClass) {
         try {
-            ObjectNode objectNode = (ObjectNode) objectMapper.readTree(specString);
+            ObjectNode objectNode =
+                    (ObjectNode) objectMapper.readTree(SpecEncoding.decode(specString));
             objectNode.remove("apiVersion");
             return objectMapper.treeToValue(objectNode, specClass);
         } catch (JsonProcessingException e) {
@@ -249,7 +302,7 @@ public class ReconciliationUtils {
         ObjectNode objectNode = objectMapper.valueToTree(Preconditions.checkNotNull(spec));
         objectNode.set("apiVersion", new TextNode(CrdConstants.API_VERSION));
         try {
-            return objectMapper.writeValueAsString(objectNode);
+            return SpecEncoding.current().encode(objectMapper.writeValueAsString(objectNode));
         } catch (JsonProcessingException e) {
             throw new RuntimeException("Could not serialize spec, this indicates a bug...", e);
         }
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.kubernetes.operator.reconciler;
+
+import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.api.common.JobStatus;
+import org.apache.flink.kubernetes.operator.config.FlinkOperatorConfiguration;
+import org.apache.flink.kubernetes.operator.crd.FlinkDeployment;
+import org.apache.flink.kubernetes.operator.crd.FlinkSessionJob;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+
+import java.time.Duration;
+
+/**
+ * Reschedule intervals of the resources. With jitter configured, the intervals of every resource
+ * deviate by a fixed fraction derived from its UID, so that resources created or recovered together
+ * do not keep reconciling in lockstep. With adaptive rescheduling enabled, the reconcile interval
+ * is halved while the last reconciled spec is not stable yet and is stretched up to the configured
+ * max stretch the longer the resource stays unchanged afterwards.
+ */
+public class RescheduleIntervals {
+
+    /** The shortest interval jitter may lead to, unless the interval itself is shorter. */
+    @VisibleForTesting static final Duration MIN_JITTERED_INTERVAL = Duration.ofSeconds(1);
+
+    /** The interval of the routine reconciliation of the deployment. */
+    public static Duration reconcileInterval(
+            FlinkDeployment deployment, FlinkOperatorConfiguration operatorConfiguration) {
+        var status = deployment.getStatus();
+        var reconciliationStatus = status.getReconciliationStatus();
+        return reconcileInterval(
+                deployment,
+                operatorConfiguration,
+                reconciliationStatus.isLastReconciledSpecStable() && status.getError() == null,
+                reconciliationStatus.getReconciliationTimestamp(),
+                System.currentTimeMillis());
+    }
+
+    /** The interval of the routine reconciliation of the session job. */
+    public static Duration reconcileInterval(
+            FlinkSessionJob sessionJob, FlinkOperatorConfiguration operatorConfiguration) {
+        var jobStatus = sessionJob.getStatus().getJobStatus();
+        long lastChange = 0;
+        try {
+            if (jobStatus.getUpdateTime() != null) {
+                lastChange = Long.parseLong(jobStatus.getUpdateTime());
+            }
+        } catch (NumberFormatException ignored) {
+            // Treated as unchanged
+        }
+        return reconcileInterval(
+                sessionJob,
+                operatorConfiguration,
+                JobStatus.RUNNING.name().equals(jobStatus.getState()),
+                lastChange,
+                System.currentTimeMillis());
+    }
+
+    /** The interval of observing the in progress operations of the resource. */
+    public static Duration progressCheckInterval(
+            HasMetadata resource, FlinkOperatorConfiguration operatorConfiguration) {
+        return jitter(
+                resource,
+                operatorConfiguration.getProgressCheckInterval(),
+                operatorConfiguration.getRescheduleJitter());
+    }
+
+    /** The reconcile interval of the resource with jitter only. */
+    public static Duration jitteredReconcileInterval(
+            HasMetadata resource, FlinkOperatorConfiguration operatorConfiguration) {
+        return jitter(
+                resource,
+                operatorConfiguration.getReconcileInterval(),
+                operatorConfiguration.getRescheduleJitter());
+    }
+
+    @VisibleForTesting
+    static Duration reconcileInterval(
+            HasMetadata resource,
+            FlinkOperatorConfiguration operatorConfiguration,
+            boolean settled,
+            long lastChangeMillis,
+            long nowMillis) {
+        Duration interval = operatorConfiguration.getReconcileInterval();
+        if (operatorConfiguration.isAdaptiveRescheduleEnabled()) {
+            double factor;
+            if (!settled) {
+                factor = 0.5;
+            } else {
+                long stableFor = Math.max(0, nowMillis - lastChangeMillis);
+                long stretchPeriod =
+                        Math.max(1, operatorConfiguration.getAdaptiveStretchPeriod().toMillis());
+                factor =
+                        1
+                                + (operatorConfiguration.getAdaptiveMaxStretch() - 1)
+                                        * Math.min(1.0, (double) stableFor / stretchPeriod);
+            }
+            interval = Duration.ofMillis(Math.round(interval.toMillis() * factor));
+        }
+        return jitter(resource, interval, operatorConfiguration.getRescheduleJitter());
+    }
+
+    @VisibleForTesting
+    static Duration jitter(HasMetadata resource, Duration interval, double ratio) {
+        if (ratio <= 0) {
+            return interval;
+        }
+        var metadata = resource.getMetadata();
+        var key =
+                metadata.getUid() != null
+                        ? metadata.getUid()
+                        : metadata.getNamespace() + "/" + metadata.getName();
+        // Spread the hash of the key over [-1, 1]
+        double position = (key.hashCode() & Integer.MAX_VALUE) / (double) Integer.MAX_VALUE * 2 - 1;
+        var jittered = Duration.ofMillis(Math.round(interval.toMillis() * (1 + ratio * position)));
+        // Keep resources at the low end of a large ratio from reconciling in a tight loop
+        var min = interval.compareTo(MIN_JITTERED_INTERVAL) < 0 ? interval : MIN_JITTERED_INTERVAL;
+        return jittered.compareTo(min) < 0 ? min : jittered;
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.kubernetes.operator.reconciler;
+
+import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.kubernetes.operator.utils.ResourceCopier;
+import org.apache.flink.metrics.Counter;
+import org.apache.flink.metrics.Histogram;
+import org.apache.flink.metrics.MetricGroup;
+import org.apache.flink.metrics.SimpleCounter;
+import org.apache.flink.runtime.metrics.DescriptiveStatisticsHistogram;
+
+import org.apache.flink.shaded.guava30.com.google.common.cache.Cache;
+import org.apache.flink.shaded.guava30.com.google.common.cache.CacheBuilder;
+
+import java.util.function.Function;
+
+/**
+ * Cache of the specs deserialized from the reconciliation status. The serialized spec of a resource
+ * is the same string instance as long as the status is not updated, so the specs are cached by the
+ * identity of the string and dropped once the string is garbage collected. Every caller gets its
+ * own copy of the cached spec, which is much cheaper than parsing it again.
+ *
+ * <p>The specs are deserialized by the status classes, which cannot reach the controller, so a
+ * controller binds its cache to the thread running a reconciliation with {@link #startReconcile()}.
+ * Specs deserialized outside of a reconciliation are parsed without caching.
+ */
+public class SpecCache implements AutoCloseable {
+
+    private static final int PARSES_PER_RECONCILE_WINDOW = 1000;
+
+    private static final ThreadLocal<Reconciliation> CURRENT_RECONCILIATION = new ThreadLocal<>();
+
+    private final Cache<String, Object> specs = CacheBuilder.newBuilder().weakKeys().build();
+    private final Counter parses = new SimpleCounter();
+    private final Counter hits = new SimpleCounter();
+    private final Histogram parsesPerReconcile =
+            new DescriptiveStatisticsHistogram(PARSES_PER_RECONCILE_WINDOW);
+
+    /**
+     * Get the spec of the string from the cache of the reconciliation running on the current
+     * thread, parsing it only if it has not been parsed before.
+     */
+    public static <T> T get(String specString, Class<T> specClass, Function<String, T> parser) {
+        Reconciliation reconciliation = CURRENT_RECONCILIATION.get();
+        if (reconciliation == null) {
+            return parser.apply(specString);
+        }
+        return reconciliation.get(specString, specClass, parser);
+    }
+
+    /**
+     * Use this cache for the specs deserialized on the current thread until the returned
+     * reconciliation is closed, which records the number of specs it parsed.
+     */
+    public Reconciliation startReconcile() {
+        Reconciliation reconciliation = new Reconciliation(CURRENT_RECONCILIATION.get());
+        CURRENT_RECONCILIATION.set(reconciliation);
+        return reconciliation;
+    }
+
+    public void registerMetrics(MetricGroup metricGroup) {
+        metricGroup.counter("Parses", parses);
+        metricGroup.counter("CacheHits", hits);
+        metricGroup.histogram("ParsesPerReconcile", parsesPerReconcile);
+        metricGroup.gauge("Size", specs::size);
+    }
+
+    @VisibleForTesting
+    long getParseCount() {
+        return parses.getCount();
+    }
+
+    @Override
+    public void close() {
+        specs.invalidateAll();
+    }
+
+    /** A reconciliation using the cache on the thread that started it. */
+    public class Reconciliation implements AutoCloseable {
+        private final Reconciliation previous;
+        private int parseCount;
+
+        private Reconciliation(Reconciliation previous) {
+            this.previous = previous;
+        }
+
+        private <T> T get(String specString, Class<T> specClass, Function<String, T> parser) {
+            Object spec = specs.getIfPresent(specString);
+            if (specClass.isInstance(spec)) {
+                hits.inc();
+                return ResourceCopier.copy(specClass.cast(spec));
+            }
+            T parsed = parser.apply(specString);
+            parses.inc();
+            parseCount++;
+            specs.put(specString, parsed);
+            return ResourceCopier.copy(parsed);
+        }
+
+        @Override
+        public void close() {
+            parsesPerReconcile.update(parseCount);
+            if (previous == null) {
+                CURRENT_RECONCILIATION.remove();
+            } else {
+                CURRENT_RECONCILIATION.set(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.kubernetes.operator.reconciler;
+
+import org.apache.flink.kubernetes.operator.crd.diff.DiffType;
+import org.apache.flink.kubernetes.operator.crd.diff.SpecDiff;
+import org.apache.flink.kubernetes.operator.crd.status.SpecChange;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Compares two specs field by field and classifies the change by the {@link SpecDiff} annotations
+ * of the changed fields. Nested operator specs are compared recursively, everything else is
+ * compared as a whole.
+ */
+public class SpecDiffer {
+
+    private static final String SPEC_PACKAGE = "org.apache.flink.kubernetes.operator.crd.spec";
+
+    /** Classify the change from the old to the new spec. */
+    public static SpecChange diff(Object oldSpec, Object newSpec) {
+        SpecChange change = new SpecChange();
+        diffFields("", oldSpec.getClass(), oldSpec, newSpec, change);
+        return change;
+    }
+
+    /** Whether the field at the given path or any field nested under it changed. */
+    public static boolean isChanged(SpecChange change, String path) {
+        for (String field : change.getFields()) {
+            if (field.equals(path) || field.startsWith(path + ".")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void diffFields(
+            String prefix, Class<?> clazz, Object oldSpec, Object newSpec, SpecChange change) {
+        for (Field field : clazz.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers())) {
+                continue;
+            }
+            field.setAccessible(true);
+            Object oldValue;
+            Object newValue;
+            try {
+                oldValue = field.get(oldSpec);
+                newValue = field.get(newSpec);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+            if (Objects.deepEquals(oldValue, newValue)) {
+                continue;
+            }
+
+            String path = prefix + field.getName();
+            SpecDiff specDiff = field.getAnnotation(SpecDiff.class);
+            if (specDiff == null) {
+                if (oldValue != null
+                        && newValue != null
+                        && field.getType().getName().startsWith(SPEC_PACKAGE)
+                        && !field.getType().isEnum()) {
+                    diffFields(path + ".", field.getType(), oldValue, newValue, change);
+                } else {
+                    addDiff(path, DiffType.UPGRADE, change);
+                }
+            } else if (specDiff.ignoredKeyPrefixes().length > 0 && field.getType() == Map.class) {
+                diffMap(path, specDiff, (Map<?, ?>) oldValue, (Map<?, ?>) newValue, change);
+            } else {
+                addDiff(path, specDiff.value(), change);
+            }
+        }
+    }
+
+    private static void diffMap(
+            String path, SpecDiff specDiff, Map<?, ?> oldMap, Map<?, ?> newMap, SpecChange change) {
+        Map<?, ?> oldEntries = oldMap == null ? Collections.emptyMap() : oldMap;
+        Map<?, ?> newEntries = newMap == null ? Collections.emptyMap() : newMap;
+        Set<String> keys = new TreeSet<>();
+        oldEntries.keySet().forEach(key -> keys.add(String.valueOf(key)));
+        newEntries.keySet().forEach(key -> keys.add(String.valueOf(key)));
+        for (String key : keys) {
+            if (Objects.equals(oldEntries.get(key), newEntries.get(key))) {
+                continue;
+            }
+            DiffType type = specDiff.value();
+            for (String ignoredPrefix : specDiff.ignoredKeyPrefixes()) {
+                if (key.startsWith(ignoredPrefix)) {
+                    type = DiffType.IGNORE;
+                    break;
+                }
+            }
+            addDiff(path + "." + key, type, change);
+        }
+    }
+
+    private static void addDiff(String path, DiffType type, SpecChange change) {
+        change.getFields().add(path);
+        if (type.compareTo(change.getType()) > 0) {
+            change.setType(type);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.kubernetes.operator.reconciler;
+
+import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.kubernetes.operator.config.FlinkOperatorConfiguration;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encoding of the specs stored in the reconciliation status. Specs are stored as plain JSON unless
+ * spec compaction is enabled, in which case large specs are gzip compressed and stored in base64
+ * behind a versioned prefix, and a last stable spec equal to the last reconciled spec is stored as
+ * a reference to it. Both encodings are always understood when reading.
+ *
+ * <p>Compaction must only be enabled once no operator version unaware of it manages the resources.
+ * Stored specs are migrated to the configured encoding when the resources are reconciled, so
+ * disabling compaction again also restores the plain encoding.
+ *
+ * <p>The specs are encoded by the status classes, which cannot reach the controller, so a
+ * controller binds the encoding of the operator to the thread running a reconciliation with {@link
+ * #startReconcile()}. Specs encoded outside of a reconciliation use the plain encoding.
+ */
+public class SpecEncoding {
+
+    /** Prefix of the specs stored as base64 encoded gzip compressed JSON. */
+    public static final String GZIP_PREFIX = "gzip/v1:";
+
+    /** Value of the last stable spec if it is the same as the last reconciled spec. */
+    public static final String SAME_AS_LAST_RECONCILED = "@lastReconciledSpec";
+
+    private static final SpecEncoding PLAIN = new SpecEncoding(false, Long.MAX_VALUE);
+
+    private static final ThreadLocal<SpecEncoding> CURRENT_ENCODING = new ThreadLocal<>();
+
+    private final boolean compactionEnabled;
+    private final long compressionMinSize;
+
+    public SpecEncoding(FlinkOperatorConfiguration operatorConfiguration) {
+        this(
+                operatorConfiguration.isSpecCompactionEnabled(),
+                operatorConfiguration.getSpecCompressionMinSize().getBytes());
+    }
+
+    @VisibleForTesting
+    public SpecEncoding(boolean compactionEnabled, long compressionMinSize) {
+        this.compactionEnabled = compactionEnabled;
+        this.compressionMinSize = compressionMinSize;
+    }
+
+    /** Get the encoding of the reconciliation running on the current thread. */
+    public static SpecEncoding current() {
+        SpecEncoding encoding = CURRENT_ENCODING.get();
+        return encoding == null ? PLAIN : encoding;
+    }
+
+    /**
+     * Use this encoding for the specs encoded on the current thread until the returned
+     * reconciliation is closed.
+     */
+    public Reconciliation startReconcile() {
+        Reconciliation reconciliation = new Reconciliation(CURRENT_ENCODING.get());
+        CURRENT_ENCODING.set(this);
+        return reconciliation;
+    }
+
+    public boolean isCompactionEnabled() {
+        return compactionEnabled;
+    }
+
+    /** Encode the JSON of a spec for storing it in the status. */
+    public String encode(String json) {
+        if (!compactionEnabled || json.length() < compressionMinSize) {
+            return json;
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(json.length() / 4);
+        try (OutputStream out = new GZIPOutputStream(Base64.getEncoder().wrap(bytes))) {
+            out.write(json.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new RuntimeException("Could not compress spec, this indicates a bug...", e);
+        }
+        return GZIP_PREFIX + bytes.toString(StandardCharsets.ISO_8859_1);
+    }
+
+    /** Decode a spec stored in the status to its JSON. */
+    public static String decode(String encoded) {
+        if (!encoded.startsWith(GZIP_PREFIX)) {
+            return encoded;
+        }
+        byte[] compressed =
+                encoded.substring(GZIP_PREFIX.length()).getBytes(StandardCharsets.ISO_8859_1);
+        try (InputStream in =
+                new GZIPInputStream(
+                        Base64.getDecoder().wrap(new ByteArrayInputStream(compressed)))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not decompress spec, this indicates a bug...", e);
+        }
+    }
+
+    /** Encode a stored spec with the current settings, returns the same instance if unchanged. */
+    public String reencode(String encoded) {
+        String reencoded = encode(decode(encoded));
+        return reencoded.equals(encoded) ? encoded : reencoded;
+    }
+
+    /** A reconciliation using the encoding on the thread that started it. */
+    public static class Reconciliation implements AutoCloseable {
+        private final SpecEncoding previous;
+
+        private Reconciliation(SpecEncoding previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            if (previous == null) {
+                CURRENT_ENCODING.remove();
+            } else {
+                CURRENT_ENCODING.set(previous);
+            }
+        }
+    }
+}
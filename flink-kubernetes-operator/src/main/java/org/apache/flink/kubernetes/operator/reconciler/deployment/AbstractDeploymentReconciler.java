@@ -20,13 +20,20 @@ package org.apache.flink.kubernetes.operator.reconciler.deployment;
 import org.apache.flink.configuration.Configuration;
 import org.apache.flink.kubernetes.operator.config.FlinkOperatorConfiguration;
 import org.apache.flink.kubernetes.operator.crd.FlinkDeployment;
+import org.apache.flink.kubernetes.operator.crd.spec.FlinkDeploymentSpec;
 import org.apache.flink.kubernetes.operator.crd.status.FlinkDeploymentStatus;
 import org.apache.flink.kubernetes.operator.crd.status.JobManagerDeploymentStatus;
 import org.apache.flink.kubernetes.operator.crd.status.ReconciliationState;
 import org.apache.flink.kubernetes.operator.crd.status.ReconciliationStatus;
+import org.apache.flink.kubernetes.operator.crd.status.SpecChange;
+import org.apache.flink.kubernetes.operator.reconciler.AppliedSpecChanges;
 import org.apache.flink.kubernetes.operator.reconciler.Reconciler;
+import org.apache.flink.kubernetes.operator.reconciler.ReconciliationUtils;
+import org.apache.flink.kubernetes.operator.reconciler.SpecDiffer;
 import org.apache.flink.kubernetes.operator.service.FlinkService;
+import org.apache.flink.kubernetes.operator.utils.EffectiveConfigCache;
 import org.apache.flink.kubernetes.operator.utils.FlinkUtils;
+import org.apache.flink.kubernetes.operator.utils.IngressUtils;
 
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.javaoperatorsdk.operator.api.reconciler.Context;
@@ -34,6 +41,8 @@ import io.javaoperatorsdk.operator.api.reconciler.DeleteControl;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
+
 /** BaseReconciler with functionality that is common to job and session modes. */
 public abstract class AbstractDeploymentReconciler implements Reconciler<FlinkDeployment> {
 
@@ -43,23 +52,61 @@ public abstract class AbstractDeploymentReconciler implements Reconciler<FlinkDe
     protected final KubernetesClient kubernetesClient;
     protected final FlinkService flinkService;
     protected final Configuration defaultConfig;
+    protected final AppliedSpecChanges appliedSpecChanges;
 
     public AbstractDeploymentReconciler(
             KubernetesClient kubernetesClient,
             FlinkService flinkService,
             FlinkOperatorConfiguration operatorConfiguration,
-            Configuration defaultConfig) {
+            Configuration defaultConfig,
+            AppliedSpecChanges appliedSpecChanges) {
 
         this.kubernetesClient = kubernetesClient;
         this.flinkService = flinkService;
         this.operatorConfiguration = operatorConfiguration;
         this.defaultConfig = defaultConfig;
+        this.appliedSpecChanges = appliedSpecChanges;
+    }
+
+    /**
+     * Whether the spec changes that do not require redeploying the cluster can be applied on top of
+     * the running cluster. While a rollback is in progress or pending, and after it completed, the
+     * cluster does not run the last reconciled spec, so the changes need a redeployment.
+     */
+    protected boolean canApplyInPlace(
+            ReconciliationStatus reconciliationStatus, Configuration effectiveConfig) {
+        return reconciliationStatus.getState() != ReconciliationState.ROLLED_BACK
+                && !ReconciliationUtils.shouldRollBack(reconciliationStatus, effectiveConfig);
+    }
+
+    /** Apply the spec changes that do not require redeploying the cluster. */
+    protected void applyInPlaceChanges(
+            FlinkDeployment flinkApp, Configuration effectiveConfig, SpecChange specChange)
+            throws Exception {
+        LOG.info(
+                "Applying spec change of type {} without redeployment: {}",
+                specChange.getType(),
+                specChange.getFields());
+        FlinkDeploymentSpec spec = flinkApp.getSpec();
+        if (SpecDiffer.isChanged(specChange, "ingress")) {
+            if (spec.getIngress() == null) {
+                IngressUtils.deleteIngress(flinkApp.getMetadata(), kubernetesClient);
+            } else {
+                IngressUtils.updateIngressRules(
+                        flinkApp.getMetadata(), spec, effectiveConfig, kubernetesClient);
+            }
+        }
+        if (SpecDiffer.isChanged(specChange, "logConfiguration")) {
+            FlinkUtils.updateLogConfiguration(kubernetesClient, effectiveConfig);
+        }
     }
 
     @Override
     public DeleteControl cleanup(FlinkDeployment flinkApp, Context context) {
         Configuration effectiveConfig = FlinkUtils.getEffectiveConfig(flinkApp, defaultConfig);
-        return shutdownAndDelete(flinkApp, effectiveConfig);
+        DeleteControl deleteControl = shutdownAndDelete(flinkApp, effectiveConfig);
+        EffectiveConfigCache.invalidate(flinkApp.getMetadata());
+        return deleteControl;
     }
 
     private DeleteControl shutdownAndDelete(
@@ -69,12 +116,13 @@ public abstract class AbstractDeploymentReconciler implements Reconciler<FlinkDe
                 == flinkApp.getStatus().getJobManagerDeploymentStatus()) {
             shutdown(flinkApp, effectiveConfig);
         } else {
-            FlinkUtils.deleteCluster(
+            flinkService.deleteCluster(
                     flinkApp.getMetadata(),
                     kubernetesClient,
                     true,
                     operatorConfiguration.getFlinkShutdownClusterTimeout().toSeconds());
         }
+        flinkService.invalidateClusterClient(effectiveConfig);
 
         return DeleteControl.defaultDelete();
     }
@@ -93,5 +141,46 @@ public abstract class AbstractDeploymentReconciler implements Reconciler<FlinkDe
         return false;
     }
 
+    /**
+     * Start waiting for the shutdown of a cluster that has been asked to shut down. The pending
+     * shutdown is recorded in the status instead of blocking the reconciliation, it is checked
+     * again by {@link #isClusterShuttingDown} in the following reconcile loops, which are triggered
+     * by the pod events of the cluster.
+     *
+     * @return True if the cluster is still shutting down.
+     */
+    protected boolean awaitClusterShutdown(
+            FlinkDeployment flinkApp, Configuration effectiveConfig) {
+        flinkApp.getStatus().setClusterShutdownTimestamp(System.currentTimeMillis());
+        return isClusterShuttingDown(flinkApp, effectiveConfig);
+    }
+
+    /**
+     * Check the pending cluster shutdown, if any. The shutdown is completed once the cluster is
+     * gone or the shutdown timeout has passed.
+     *
+     * @return True if the cluster is still shutting down.
+     */
+    protected boolean isClusterShuttingDown(
+            FlinkDeployment flinkApp, Configuration effectiveConfig) {
+        FlinkDeploymentStatus status = flinkApp.getStatus();
+        Long shutdownTimestamp = status.getClusterShutdownTimestamp();
+        if (shutdownTimestamp == null) {
+            return false;
+        }
+
+        Duration elapsed = Duration.ofMillis(System.currentTimeMillis() - shutdownTimestamp);
+        if (flinkService.isClusterShutDown(effectiveConfig)) {
+            LOG.info("Cluster shutdown completed.");
+        } else if (elapsed.compareTo(operatorConfiguration.getFlinkShutdownClusterTimeout()) < 0) {
+            LOG.info("Waiting for cluster shutdown... ({}s)", elapsed.toSeconds());
+            return true;
+        } else {
+            LOG.warn("Cluster did not shut down within {}, continuing", elapsed);
+        }
+        status.setClusterShutdownTimestamp(null);
+        return false;
+    }
+
     protected abstract void shutdown(FlinkDeployment flinkApp, Configuration effectiveConfig);
 }
@@ -18,9 +18,11 @@
 package org.apache.flink.kubernetes.operator.reconciler.deployment;
 
 import org.apache.flink.api.common.JobID;
+import org.apache.flink.configuration.CheckpointingOptions;
 import org.apache.flink.configuration.Configuration;
 import org.apache.flink.kubernetes.operator.config.FlinkOperatorConfiguration;
 import org.apache.flink.kubernetes.operator.crd.FlinkDeployment;
+import org.apache.flink.kubernetes.operator.crd.diff.DiffType;
 import org.apache.flink.kubernetes.operator.crd.spec.FlinkDeploymentSpec;
 import org.apache.flink.kubernetes.operator.crd.spec.JobSpec;
 import org.apache.flink.kubernetes.operator.crd.spec.JobState;
@@ -31,7 +33,10 @@ import org.apache.flink.kubernetes.operator.crd.status.JobStatus;
 import org.apache.flink.kubernetes.operator.crd.status.ReconciliationState;
 import org.apache.flink.kubernetes.operator.crd.status.ReconciliationStatus;
 import org.apache.flink.kubernetes.operator.crd.status.Savepoint;
+import org.apache.flink.kubernetes.operator.crd.status.SpecChange;
+import org.apache.flink.kubernetes.operator.reconciler.AppliedSpecChanges;
 import org.apache.flink.kubernetes.operator.reconciler.ReconciliationUtils;
+import org.apache.flink.kubernetes.operator.reconciler.SpecDiffer;
 import org.apache.flink.kubernetes.operator.service.FlinkService;
 import org.apache.flink.kubernetes.operator.utils.FlinkUtils;
 import org.apache.flink.kubernetes.operator.utils.IngressUtils;
@@ -45,6 +50,7 @@ import io.javaoperatorsdk.operator.api.reconciler.Context;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Arrays;
 import java.util.Optional;
 
 import static org.apache.flink.kubernetes.operator.observer.deployment.AbstractDeploymentObserver.JOB_STATE_UNKNOWN;
@@ -61,8 +67,14 @@ public class ApplicationReconciler extends AbstractDeploymentReconciler {
             KubernetesClient kubernetesClient,
             FlinkService flinkService,
             FlinkOperatorConfiguration operatorConfiguration,
-            Configuration defaultConfig) {
-        super(kubernetesClient, flinkService, operatorConfiguration, defaultConfig);
+            Configuration defaultConfig,
+            AppliedSpecChanges appliedSpecChanges) {
+        super(
+                kubernetesClient,
+                flinkService,
+                operatorConfiguration,
+                defaultConfig,
+                appliedSpecChanges);
     }
 
     @Override
@@ -88,13 +100,63 @@ public class ApplicationReconciler extends AbstractDeploymentReconciler {
             return;
         }
 
+        if (isClusterShuttingDown(flinkApp, effectiveConfig)) {
+            return;
+        }
+
         if (SavepointUtils.savepointInProgress(status.getJobStatus())) {
+            if (SavepointUtils.stopWithSavepointInProgress(status.getJobStatus())
+                    && status.getJobManagerDeploymentStatus()
+                            == JobManagerDeploymentStatus.MISSING) {
+                ReconciliationUtils.updateForReconciliationError(
+                        flinkApp,
+                        "The cluster shut down before the savepoint of the stopped job was observed, "
+                                + "the job stays suspended until it is restored manually from the "
+                                + "latest savepoint in "
+                                + effectiveConfig.get(CheckpointingOptions.SAVEPOINT_DIRECTORY));
+            }
             LOG.info("Delaying job reconciliation until pending savepoint is completed");
             return;
         }
 
+        if (lastReconciledSpec.getJob().getState() == JobState.SUSPENDED
+                && status.getJobManagerDeploymentStatus() != JobManagerDeploymentStatus.MISSING) {
+            if (isJobRunning(status)) {
+                // The upgrade is retried as the job still runs the last reconciled spec
+                LOG.warn("Stop with savepoint failed, the job keeps running");
+                ReconciliationUtils.updateLastReconciledJobState(flinkApp, JobState.RUNNING);
+                return;
+            }
+            if (!isJobTerminated(status)) {
+                LOG.info("Waiting for the job to stop");
+                return;
+            }
+            LOG.info("Job stopped with savepoint, the cluster shuts down");
+            status.getJobStatus().setState(JobState.SUSPENDED.name());
+            status.setJobManagerDeploymentStatus(JobManagerDeploymentStatus.MISSING);
+            flinkService.invalidateClusterClient(effectiveConfig);
+            // The new spec is recorded once the job no longer runs the previous one
+            SpecChange appliedChange = SpecDiffer.diff(lastReconciledSpec, currentDeploySpec);
+            ReconciliationUtils.updateForSpecReconciliationSuccess(
+                    flinkApp, JobState.SUSPENDED, appliedChange);
+            appliedSpecChanges.record(appliedChange);
+            if (awaitClusterShutdown(flinkApp, effectiveConfig)) {
+                return;
+            }
+            lastReconciledSpec = reconciliationStatus.deserializeLastReconciledSpec();
+        }
+
         boolean specChanged = !currentDeploySpec.equals(lastReconciledSpec);
-        if (specChanged) {
+        SpecChange specChange =
+                specChanged ? SpecDiffer.diff(lastReconciledSpec, currentDeploySpec) : null;
+        if (specChanged
+                && specChange.getType() != DiffType.UPGRADE
+                && canApplyInPlace(reconciliationStatus, effectiveConfig)) {
+            applyInPlaceChanges(flinkApp, effectiveConfig, specChange);
+            ReconciliationUtils.updateForInPlaceSpecChange(
+                    flinkApp, lastReconciledSpec.getJob().getState(), specChange);
+            appliedSpecChanges.record(specChange);
+        } else if (specChanged) {
             if (!inUpgradeableState(flinkApp)) {
                 LOG.info("Waiting for upgradeable state");
                 return;
@@ -108,7 +170,20 @@ public class ApplicationReconciler extends AbstractDeploymentReconciler {
                     LOG.info("Upgrading/Restarting running job, suspending first...");
                 }
                 printCancelLogs(upgradeMode);
-                stateAfterReconcile = suspendJob(flinkApp, upgradeMode, effectiveConfig);
+                if (requiresSavepoint(flinkApp, upgradeMode)) {
+                    // The job keeps running the last reconciled spec until the savepoint has been
+                    // completed, only its state is marked as suspended until then
+                    stopWithSavepoint(flinkApp, effectiveConfig);
+                    ReconciliationUtils.updateLastReconciledJobState(flinkApp, JobState.SUSPENDED);
+                    return;
+                } else {
+                    suspendJob(flinkApp, upgradeMode, effectiveConfig);
+                    if (desiredJobState == JobState.RUNNING) {
+                        // The job is redeployed from the suspended state once the cluster is gone
+                        awaitClusterShutdown(flinkApp, effectiveConfig);
+                    }
+                }
+                stateAfterReconcile = JobState.SUSPENDED;
             }
             if (currentJobState == JobState.SUSPENDED && desiredJobState == JobState.RUNNING) {
                 if (upgradeMode == UpgradeMode.STATELESS) {
@@ -120,7 +195,9 @@ public class ApplicationReconciler extends AbstractDeploymentReconciler {
             }
             IngressUtils.updateIngressRules(
                     deployMeta, currentDeploySpec, effectiveConfig, kubernetesClient);
-            ReconciliationUtils.updateForSpecReconciliationSuccess(flinkApp, stateAfterReconcile);
+            ReconciliationUtils.updateForSpecReconciliationSuccess(
+                    flinkApp, stateAfterReconcile, specChange);
+            appliedSpecChanges.record(specChange);
         } else if (ReconciliationUtils.shouldRollBack(reconciliationStatus, effectiveConfig)) {
             rollbackApplication(flinkApp);
         } else if (SavepointUtils.shouldTriggerSavepoint(desiredJobSpec, status)
@@ -145,13 +222,24 @@ public class ApplicationReconciler extends AbstractDeploymentReconciler {
                 FlinkUtils.getEffectiveConfig(flinkApp.getMetadata(), rollbackSpec, defaultConfig);
 
         UpgradeMode upgradeMode = flinkApp.getSpec().getJob().getUpgradeMode();
-
-        suspendJob(
-                flinkApp,
+        UpgradeMode suspendMode =
                 upgradeMode == UpgradeMode.STATELESS
                         ? UpgradeMode.STATELESS
-                        : UpgradeMode.LAST_STATE,
-                rollbackConfig);
+                        : UpgradeMode.LAST_STATE;
+
+        // The job has already been suspended if we are waiting for the cluster shutdown
+        if (flinkApp.getStatus().getJobManagerDeploymentStatus()
+                != JobManagerDeploymentStatus.MISSING) {
+            if (requiresSavepoint(flinkApp, suspendMode) && isJobRunning(flinkApp.getStatus())) {
+                // The rollback continues once the savepoint of the stop has been completed
+                stopWithSavepoint(flinkApp, rollbackConfig);
+                return;
+            }
+            suspendJob(flinkApp, suspendMode, rollbackConfig);
+            if (awaitClusterShutdown(flinkApp, rollbackConfig)) {
+                return;
+            }
+        }
         deployFlinkJob(
                 rollbackSpec.getJob(),
                 flinkApp.getStatus(),
@@ -183,6 +271,13 @@ public class ApplicationReconciler extends AbstractDeploymentReconciler {
                 || isJobRunning(status);
     }
 
+    private boolean isJobTerminated(FlinkDeploymentStatus status) {
+        String state = status.getJobStatus().getState();
+        return Arrays.stream(org.apache.flink.api.common.JobStatus.values())
+                .anyMatch(
+                        jobStatus -> jobStatus.isTerminalState() && jobStatus.name().equals(state));
+    }
+
     private boolean isJobRunning(FlinkDeploymentStatus status) {
         JobManagerDeploymentStatus deploymentStatus = status.getJobManagerDeploymentStatus();
         return deploymentStatus == JobManagerDeploymentStatus.READY
@@ -234,21 +329,33 @@ public class ApplicationReconciler extends AbstractDeploymentReconciler {
         }
     }
 
+    private boolean requiresSavepoint(FlinkDeployment flinkApp, UpgradeMode upgradeMode) {
+        // Always take a savepoint when upgrade mode changes from stateless/savepoint to
+        // last-state and HA is disabled previously. This is a safeguard to ensure the state is
+        // never lost.
+        return upgradeMode == UpgradeMode.SAVEPOINT
+                || ReconciliationUtils.isUpgradeModeChangedToLastStateAndHADisabledPreviously(
+                        flinkApp, defaultConfig);
+    }
+
+    /**
+     * Stop the job with a savepoint without waiting for it. The savepoint is completed by the
+     * observer, the job is marked suspended in the following reconcile loops.
+     */
+    private void stopWithSavepoint(FlinkDeployment flinkApp, Configuration effectiveConfig)
+            throws Exception {
+        JobStatus jobStatus = flinkApp.getStatus().getJobStatus();
+        flinkService.stopWithSavepoint(
+                Preconditions.checkNotNull(jobStatus.getJobId()),
+                jobStatus.getSavepointInfo(),
+                effectiveConfig);
+    }
+
     private Optional<String> internalSuspendJob(
             FlinkDeployment flinkApp, UpgradeMode upgradeMode, Configuration effectiveConfig)
             throws Exception {
         final String jobIdString = flinkApp.getStatus().getJobStatus().getJobId();
-
-        // Always trigger a savepoint when upgrade mode changes from stateless/savepoint to
-        // last-state and HA is disabled previously. This is a safeguard to ensure the state is
-        // never lost.
-        if (ReconciliationUtils.isUpgradeModeChangedToLastStateAndHADisabledPreviously(
-                flinkApp, defaultConfig)) {
-            return flinkService.cancelJob(
-                    JobID.fromHexString(Preconditions.checkNotNull(jobIdString)),
-                    UpgradeMode.SAVEPOINT,
-                    effectiveConfig);
-        }
+        // Jobs requiring a savepoint are stopped before, see requiresSavepoint
         if (upgradeMode == UpgradeMode.STATELESS) {
             shutdown(flinkApp, effectiveConfig);
             return Optional.empty();
@@ -289,7 +396,7 @@ public class ApplicationReconciler extends AbstractDeploymentReconciler {
             }
         }
 
-        FlinkUtils.deleteCluster(
+        flinkService.deleteCluster(
                 flinkApp.getMetadata(),
                 kubernetesClient,
                 true,
@@ -21,6 +21,7 @@ import org.apache.flink.configuration.Configuration;
 import org.apache.flink.kubernetes.operator.config.FlinkOperatorConfiguration;
 import org.apache.flink.kubernetes.operator.config.Mode;
 import org.apache.flink.kubernetes.operator.crd.FlinkDeployment;
+import org.apache.flink.kubernetes.operator.reconciler.AppliedSpecChanges;
 import org.apache.flink.kubernetes.operator.reconciler.Reconciler;
 import org.apache.flink.kubernetes.operator.service.FlinkService;
 
@@ -36,17 +37,20 @@ public class ReconcilerFactory {
     private final FlinkService flinkService;
     private final FlinkOperatorConfiguration operatorConfiguration;
     private final Configuration defaultConfig;
+    private final AppliedSpecChanges appliedSpecChanges;
     private final Map<Mode, Reconciler<FlinkDeployment>> reconcilerMap;
 
     public ReconcilerFactory(
             KubernetesClient kubernetesClient,
             FlinkService flinkService,
             FlinkOperatorConfiguration operatorConfiguration,
-            Configuration defaultConfig) {
+            Configuration defaultConfig,
+            AppliedSpecChanges appliedSpecChanges) {
         this.kubernetesClient = kubernetesClient;
         this.flinkService = flinkService;
         this.operatorConfiguration = operatorConfiguration;
         this.defaultConfig = defaultConfig;
+        this.appliedSpecChanges = appliedSpecChanges;
         this.reconcilerMap = new ConcurrentHashMap<>();
     }
 
@@ -60,13 +64,15 @@ public class ReconcilerFactory {
                                     kubernetesClient,
                                     flinkService,
                                     operatorConfiguration,
-                                    defaultConfig);
+                                    defaultConfig,
+                                    appliedSpecChanges);
                         case APPLICATION:
                             return new ApplicationReconciler(
                                     kubernetesClient,
                                     flinkService,
                                     operatorConfiguration,
-                                    defaultConfig);
+                                    defaultConfig,
+                                    appliedSpecChanges);
                         default:
                             throw new UnsupportedOperationException(
                                     String.format("Unsupported running mode: %s", mode));
@@ -20,12 +20,16 @@ package org.apache.flink.kubernetes.operator.reconciler.deployment;
 import org.apache.flink.configuration.Configuration;
 import org.apache.flink.kubernetes.operator.config.FlinkOperatorConfiguration;
 import org.apache.flink.kubernetes.operator.crd.FlinkDeployment;
+import org.apache.flink.kubernetes.operator.crd.diff.DiffType;
 import org.apache.flink.kubernetes.operator.crd.spec.FlinkDeploymentSpec;
 import org.apache.flink.kubernetes.operator.crd.status.FlinkDeploymentStatus;
 import org.apache.flink.kubernetes.operator.crd.status.JobManagerDeploymentStatus;
 import org.apache.flink.kubernetes.operator.crd.status.ReconciliationState;
 import org.apache.flink.kubernetes.operator.crd.status.ReconciliationStatus;
+import org.apache.flink.kubernetes.operator.crd.status.SpecChange;
+import org.apache.flink.kubernetes.operator.reconciler.AppliedSpecChanges;
 import org.apache.flink.kubernetes.operator.reconciler.ReconciliationUtils;
+import org.apache.flink.kubernetes.operator.reconciler.SpecDiffer;
 import org.apache.flink.kubernetes.operator.service.FlinkService;
 import org.apache.flink.kubernetes.operator.utils.FlinkUtils;
 import org.apache.flink.kubernetes.operator.utils.IngressUtils;
@@ -48,8 +52,14 @@ public class SessionReconciler extends AbstractDeploymentReconciler {
             KubernetesClient kubernetesClient,
             FlinkService flinkService,
             FlinkOperatorConfiguration operatorConfiguration,
-            Configuration defaultConfig) {
-        super(kubernetesClient, flinkService, operatorConfiguration, defaultConfig);
+            Configuration defaultConfig,
+            AppliedSpecChanges appliedSpecChanges) {
+        super(
+                kubernetesClient,
+                flinkService,
+                operatorConfiguration,
+                defaultConfig,
+                appliedSpecChanges);
     }
 
     @Override
@@ -73,34 +83,57 @@ public class SessionReconciler extends AbstractDeploymentReconciler {
         }
 
         boolean specChanged = !currentDeploySpec.equals(lastReconciledSpec);
+        if (isClusterShuttingDown(flinkApp, effectiveConfig)) {
+            return;
+        }
+
         if (specChanged) {
-            upgradeSessionCluster(
-                    flinkApp.getMetadata(), currentDeploySpec, status, effectiveConfig);
-            ReconciliationUtils.updateForSpecReconciliationSuccess(flinkApp, null);
+            SpecChange specChange = SpecDiffer.diff(lastReconciledSpec, currentDeploySpec);
+            if (specChange.getType() != DiffType.UPGRADE
+                    && canApplyInPlace(reconciliationStatus, effectiveConfig)) {
+                applyInPlaceChanges(flinkApp, effectiveConfig, specChange);
+                ReconciliationUtils.updateForInPlaceSpecChange(flinkApp, null, specChange);
+                appliedSpecChanges.record(specChange);
+                return;
+            }
+            if (!upgradeSessionCluster(flinkApp, currentDeploySpec, effectiveConfig)) {
+                return;
+            }
+            ReconciliationUtils.updateForSpecReconciliationSuccess(flinkApp, null, specChange);
+            appliedSpecChanges.record(specChange);
         } else if (ReconciliationUtils.shouldRollBack(reconciliationStatus, effectiveConfig)) {
             rollbackSessionCluster(flinkApp);
         }
     }
 
-    private void upgradeSessionCluster(
-            ObjectMeta objectMeta,
-            FlinkDeploymentSpec deploySpec,
-            FlinkDeploymentStatus status,
-            Configuration effectiveConfig)
+    /**
+     * Stop the session cluster and submit it again with the given spec once it is gone.
+     *
+     * @return True if the new cluster has been submitted, false if the old one is still shutting
+     *     down.
+     */
+    private boolean upgradeSessionCluster(
+            FlinkDeployment flinkApp, FlinkDeploymentSpec deploySpec, Configuration effectiveConfig)
             throws Exception {
-        LOG.info("Upgrading session cluster");
-        flinkService.stopSessionCluster(
-                objectMeta,
-                effectiveConfig,
-                false,
-                operatorConfiguration.getFlinkShutdownClusterTimeout().toSeconds());
-        FlinkUtils.waitForClusterShutdown(
-                kubernetesClient,
-                effectiveConfig,
-                operatorConfiguration.getFlinkShutdownClusterTimeout().toSeconds());
+        ObjectMeta objectMeta = flinkApp.getMetadata();
+        FlinkDeploymentStatus status = flinkApp.getStatus();
+        // The cluster has already been stopped if we are waiting for the cluster shutdown
+        if (status.getJobManagerDeploymentStatus() != JobManagerDeploymentStatus.MISSING) {
+            LOG.info("Upgrading session cluster");
+            flinkService.stopSessionCluster(
+                    objectMeta,
+                    effectiveConfig,
+                    false,
+                    operatorConfiguration.getFlinkShutdownClusterTimeout().toSeconds());
+            status.setJobManagerDeploymentStatus(JobManagerDeploymentStatus.MISSING);
+            if (awaitClusterShutdown(flinkApp, effectiveConfig)) {
+                return false;
+            }
+        }
         flinkService.submitSessionCluster(effectiveConfig);
         status.setJobManagerDeploymentStatus(JobManagerDeploymentStatus.DEPLOYING);
         IngressUtils.updateIngressRules(objectMeta, deploySpec, effectiveConfig, kubernetesClient);
+        return true;
     }
 
     private void rollbackSessionCluster(FlinkDeployment deployment) throws Exception {
@@ -114,8 +147,9 @@ public class SessionReconciler extends AbstractDeploymentReconciler {
         Configuration rollbackConfig =
                 FlinkUtils.getEffectiveConfig(
                         deployment.getMetadata(), rollbackSpec, defaultConfig);
-        upgradeSessionCluster(deployment.getMetadata(), rollbackSpec, status, rollbackConfig);
-        reconciliationStatus.setState(ReconciliationState.ROLLED_BACK);
+        if (upgradeSessionCluster(deployment, rollbackSpec, rollbackConfig)) {
+            reconciliationStatus.setState(ReconciliationState.ROLLED_BACK);
+        }
     }
 
     @Override
@@ -117,6 +117,13 @@ public class FlinkSessionJobReconciler implements Reconciler<FlinkSessionJob> {
                 if (desiredJobState == JobState.RUNNING) {
                     LOG.info("Upgrading/Restarting running job, suspending first...");
                 }
+                if (upgradeMode == UpgradeMode.SAVEPOINT
+                        && !isStoppedWithSavepoint(flinkSessionJob)) {
+                    // The job keeps running the last reconciled spec until the savepoint has been
+                    // completed, the upgrade continues once the job has been stopped
+                    stopWithSavepoint(flinkSessionJob, effectiveConfig);
+                    return;
+                }
                 stateAfterReconcile = suspendJob(flinkSessionJob, upgradeMode, effectiveConfig);
             }
             if (currentJobState == JobState.SUSPENDED && desiredJobState == JobState.RUNNING) {
@@ -153,6 +160,7 @@ public class FlinkSessionJobReconciler implements Reconciler<FlinkSessionJob> {
                     LOG.error("Failed to cancel job.", e);
                 }
             }
+            flinkService.releaseSessionJobJar(sessionJob, effectiveConfig);
         } else {
             LOG.info("Session cluster deployment not available");
         }
@@ -183,9 +191,33 @@ public class FlinkSessionJobReconciler implements Reconciler<FlinkSessionJob> {
         submitAndInitStatus(flinkSessionJob, effectiveConfig, savepointOpt.orElse(null));
     }
 
+    /**
+     * Stop the job with a savepoint without waiting for it. The savepoint is completed by the
+     * observer, which also marks the job finished.
+     */
+    private void stopWithSavepoint(FlinkSessionJob sessionJob, Configuration effectiveConfig)
+            throws Exception {
+        JobStatus jobStatus = sessionJob.getStatus().getJobStatus();
+        flinkService.stopWithSavepoint(
+                Preconditions.checkNotNull(
+                        jobStatus.getJobId(), "The job to be suspend should not be null"),
+                jobStatus.getSavepointInfo(),
+                effectiveConfig);
+    }
+
+    private boolean isStoppedWithSavepoint(FlinkSessionJob sessionJob) {
+        return org.apache.flink.api.common.JobStatus.FINISHED
+                .name()
+                .equals(sessionJob.getStatus().getJobStatus().getState());
+    }
+
     private Optional<String> internalSuspendJob(
             FlinkSessionJob sessionJob, UpgradeMode upgradeMode, Configuration effectiveConfig)
             throws Exception {
+        if (upgradeMode == UpgradeMode.SAVEPOINT) {
+            // The job has already been stopped, the observer recorded its savepoint
+            return Optional.empty();
+        }
         final String jobIdString = sessionJob.getStatus().getJobStatus().getJobId();
         Preconditions.checkNotNull(jobIdString, "The job to be suspend should not be null");
         return flinkService.cancelSessionJob(
@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.kubernetes.operator.service;
+
+import org.apache.flink.metrics.MetricGroup;
+import org.apache.flink.util.function.SupplierWithException;
+import org.apache.flink.util.function.ThrowingRunnable;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * Caps the number of blocking outbound calls made concurrently by the reconciliations. Without a
+ * bounded reconciliation thread pool, e.g. when reconciling on virtual threads, this keeps the
+ * operator from flooding the Kubernetes API server. Callers wait for a permit instead of failing.
+ */
+public class BlockingCallLimiter {
+
+    private final Semaphore permits;
+    private final int maxConcurrentCalls;
+
+    public BlockingCallLimiter(int maxConcurrentCalls, MetricGroup metricGroup) {
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.permits = maxConcurrentCalls > 0 ? new Semaphore(maxConcurrentCalls, true) : null;
+        metricGroup.gauge("ActiveCalls", this::getActiveCalls);
+        metricGroup.gauge("WaitingCalls", this::getWaitingCalls);
+    }
+
+    public <T, E extends Throwable> T call(SupplierWithException<T, E> call) throws E {
+        if (permits == null) {
+            return call.get();
+        }
+        permits.acquireUninterruptibly();
+        try {
+            return call.get();
+        } finally {
+            permits.release();
+        }
+    }
+
+    public <E extends Throwable> void run(ThrowingRunnable<E> call) throws E {
+        call(
+                () -> {
+                    call.run();
+                    return null;
+                });
+    }
+
+    public int getActiveCalls() {
+        return permits == null ? 0 : maxConcurrentCalls - permits.availablePermits();
+    }
+
+    public int getWaitingCalls() {
+        return permits == null ? 0 : permits.getQueueLength();
+    }
+}
@@ -0,0 +1,250 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.kubernetes.operator.service;
+
+import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.kubernetes.operator.config.FlinkOperatorConfiguration;
+import org.apache.flink.kubernetes.operator.exception.ClusterUnavailableException;
+import org.apache.flink.metrics.Counter;
+import org.apache.flink.metrics.MetricGroup;
+import org.apache.flink.util.ExceptionUtils;
+import org.apache.flink.util.concurrent.FutureUtils;
+import org.apache.flink.util.function.SupplierWithException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Circuit breakers and bulkheads for the calls to Flink clusters, one per cluster. A breaker opens
+ * after a number of consecutive calls failed because the cluster did not respond, and rejects all
+ * calls while open instead of letting each of them wait for the client timeout. Once the open
+ * duration passed a single trial call is let through, the breaker closes if it succeeds and opens
+ * again for twice as long otherwise. Independently of the breaker state, the number of concurrent
+ * calls to a single cluster is bounded.
+ */
+public class ClusterCircuitBreakers {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ClusterCircuitBreakers.class);
+
+    /** State of a circuit breaker. */
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final Map<String, Breaker> breakers = new ConcurrentHashMap<>();
+    private final int failureThreshold;
+    private final long openMillis;
+    private final long maxOpenMillis;
+    private final int maxConcurrentCalls;
+    private final LongSupplier clock;
+    private final Counter rejectedCalls;
+    private final Counter openings;
+
+    public ClusterCircuitBreakers(
+            FlinkOperatorConfiguration operatorConfiguration, MetricGroup metricGroup) {
+        this(operatorConfiguration, metricGroup, System::currentTimeMillis);
+    }
+
+    @VisibleForTesting
+    ClusterCircuitBreakers(
+            FlinkOperatorConfiguration operatorConfiguration,
+            MetricGroup metricGroup,
+            LongSupplier clock) {
+        this.failureThreshold = operatorConfiguration.getCircuitBreakerFailureThreshold();
+        this.openMillis = operatorConfiguration.getCircuitBreakerOpenDuration().toMillis();
+        this.maxOpenMillis = operatorConfiguration.getCircuitBreakerMaxOpenDuration().toMillis();
+        this.maxConcurrentCalls = operatorConfiguration.getFlinkRestMaxConcurrentCallsPerCluster();
+        this.clock = clock;
+        this.rejectedCalls = metricGroup.counter("RejectedCalls");
+        this.openings = metricGroup.counter("Openings");
+        metricGroup.gauge("OpenCircuits", () -> count(State.OPEN));
+        metricGroup.gauge("HalfOpenCircuits", () -> count(State.HALF_OPEN));
+    }
+
+    /**
+     * Run the call against the given cluster if its breaker and bulkhead admit it, otherwise fail
+     * with a {@link ClusterUnavailableException} right away. The outcome of the call is taken from
+     * the future returned by the call, so timeouts have to be applied to that future to count as
+     * failures and to free the slot of the call.
+     *
+     * <p>Calls must be short and bounded by the client timeout. Long running operations such as
+     * savepoints are triggered and then polled with separate calls, so that they neither hold a
+     * slot of the bulkhead nor count as an unresponsive cluster while they are in progress.
+     */
+    public <T> CompletableFuture<T> call(
+            String cluster, SupplierWithException<CompletableFuture<T>, Exception> call) {
+        Breaker breaker = breakers.computeIfAbsent(cluster, c -> new Breaker());
+        String rejection = breaker.tryAcquire(clock.getAsLong());
+        if (rejection != null) {
+            rejectedCalls.inc();
+            return FutureUtils.completedExceptionally(
+                    new ClusterUnavailableException(
+                            String.format("Call to cluster %s rejected: %s", cluster, rejection)));
+        }
+        // The slot is released before the result of the call completes, so that the caller can
+        // send its next call right away. The result may also be completed by the caller, e.g. on
+        // a timeout, which releases the slot as well.
+        AtomicBoolean released = new AtomicBoolean();
+        BiConsumer<T, Throwable> release =
+                (value, throwable) -> {
+                    if (released.compareAndSet(false, true)) {
+                        breaker.release(cluster, isUnresponsive(throwable));
+                    }
+                };
+        CompletableFuture<T> result = new CompletableFuture<>();
+        result.whenComplete(release);
+        try {
+            call.get()
+                    .whenComplete(
+                            (value, throwable) -> {
+                                release.accept(value, throwable);
+                                if (throwable != null) {
+                                    result.completeExceptionally(throwable);
+                                } else {
+                                    result.complete(value);
+                                }
+                            });
+        } catch (Throwable t) {
+            result.completeExceptionally(t);
+        }
+        return result;
+    }
+
+    /**
+     * Get how long calls to the cluster will still be rejected by its open breaker.
+     *
+     * @return The remaining open duration, or {@code Optional.empty()} if the breaker is not open.
+     */
+    public Optional<Duration> getRemainingOpenDuration(String cluster) {
+        Breaker breaker = breakers.get(cluster);
+        return breaker == null
+                ? Optional.empty()
+                : breaker.getRemainingOpenDuration(clock.getAsLong());
+    }
+
+    /** Forget the breaker of the cluster, e.g. when the cluster has been redeployed. */
+    public void reset(String cluster) {
+        breakers.remove(cluster);
+    }
+
+    @VisibleForTesting
+    State getState(String cluster) {
+        Breaker breaker = breakers.get(cluster);
+        return breaker == null ? State.CLOSED : breaker.getState();
+    }
+
+    private int count(State state) {
+        return (int) breakers.values().stream().filter(b -> b.getState() == state).count();
+    }
+
+    /**
+     * Whether the failure shows that the cluster does not respond, as opposed to an error reply.
+     */
+    private static boolean isUnresponsive(Throwable throwable) {
+        return throwable != null
+                && (ExceptionUtils.findThrowable(throwable, TimeoutException.class).isPresent()
+                        || ExceptionUtils.findThrowable(throwable, IOException.class).isPresent());
+    }
+
+    private class Breaker {
+        private State state = State.CLOSED;
+        private int consecutiveFailures;
+        private long openUntil;
+        private long currentOpenMillis = openMillis;
+        private int activeCalls;
+        private boolean trialInFlight;
+
+        private synchronized String tryAcquire(long now) {
+            if (activeCalls >= maxConcurrentCalls) {
+                return String.format("%d calls in flight", activeCalls);
+            }
+            if (state == State.OPEN) {
+                if (now < openUntil) {
+                    return String.format("circuit open for %d ms", openUntil - now);
+                }
+                state = State.HALF_OPEN;
+            }
+            if (state == State.HALF_OPEN) {
+                if (trialInFlight) {
+                    return "circuit half open, waiting for trial call";
+                }
+                trialInFlight = true;
+            }
+            activeCalls++;
+            return null;
+        }
+
+        private synchronized void release(String cluster, boolean failed) {
+            activeCalls--;
+            boolean trial = state == State.HALF_OPEN && trialInFlight;
+            if (trial) {
+                trialInFlight = false;
+            }
+            if (!failed) {
+                if (state != State.CLOSED) {
+                    LOG.info("Closing circuit of cluster {}", cluster);
+                }
+                state = State.CLOSED;
+                consecutiveFailures = 0;
+                currentOpenMillis = openMillis;
+                return;
+            }
+            if (trial) {
+                currentOpenMillis = Math.min(currentOpenMillis * 2, maxOpenMillis);
+                open(cluster);
+            } else if (state == State.CLOSED
+                    && failureThreshold > 0
+                    && ++consecutiveFailures >= failureThreshold) {
+                open(cluster);
+            }
+        }
+
+        private void open(String cluster) {
+            LOG.warn(
+                    "Opening circuit of cluster {} for {} ms after it did not respond",
+                    cluster,
+                    currentOpenMillis);
+            state = State.OPEN;
+            openUntil = clock.getAsLong() + currentOpenMillis;
+            openings.inc();
+        }
+
+        private synchronized Optional<Duration> getRemainingOpenDuration(long now) {
+            return state == State.OPEN && now < openUntil
+                    ? Optional.of(Duration.ofMillis(openUntil - now))
+                    : Optional.empty();
+        }
+
+        private synchronized State getState() {
+            return state;
+        }
+    }
+}
@@ -0,0 +1,414 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.kubernetes.operator.service;
+
+import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.api.common.time.Time;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.configuration.RestOptions;
+import org.apache.flink.kubernetes.operator.config.FlinkOperatorConfiguration;
+import org.apache.flink.kubernetes.operator.utils.VirtualThreads;
+import org.apache.flink.metrics.MetricGroup;
+import org.apache.flink.runtime.rest.FileUpload;
+import org.apache.flink.runtime.rest.RestClient;
+import org.apache.flink.runtime.rest.messages.MessageHeaders;
+import org.apache.flink.runtime.rest.messages.MessageParameters;
+import org.apache.flink.runtime.rest.messages.RequestBody;
+import org.apache.flink.runtime.rest.messages.ResponseBody;
+import org.apache.flink.runtime.rest.util.RestConstants;
+import org.apache.flink.runtime.rest.util.RestMapperUtils;
+import org.apache.flink.runtime.webmonitor.handlers.JarUploadHeaders;
+import org.apache.flink.runtime.webmonitor.handlers.JarUploadResponseBody;
+import org.apache.flink.util.FlinkRuntimeException;
+import org.apache.flink.util.concurrent.ExecutorThreadFactory;
+import org.apache.flink.util.function.SupplierWithException;
+
+import org.apache.flink.shaded.netty4.io.netty.handler.codec.http.HttpResponseStatus;
+
+import lombok.Value;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Operator wide transport for the Flink REST calls that the operator sends itself. Requests share a
+ * fixed size IO pool and one {@link RestClient} per distinct set of client settings, such as the
+ * REST SSL settings and timeouts of the cluster, instead of creating new client threads per cluster
+ * or per request. Clusters without specific client settings therefore all share a single client.
+ * The number of requests in flight against a single JobManager endpoint is bounded, requests above
+ * the limit are queued without blocking the caller. Jar uploads are streamed through a separate
+ * HTTP client, as the {@link RestClient} can only upload local files.
+ *
+ * <p>Connections are not pooled: the {@link RestClient} sends every request with {@code Connection:
+ * close} and opens a new connection for it. The transport therefore bounds the concurrency of the
+ * requests rather than the number of open connections, which is what its metrics report.
+ */
+public class FlinkRestTransport implements AutoCloseable {
+
+    private static final String SSL_OPTIONS_PREFIX = "security.ssl.";
+    private static final Set<String> CLIENT_OPTIONS =
+            Set.of(
+                    RestOptions.CONNECTION_TIMEOUT.key(),
+                    RestOptions.IDLENESS_TIMEOUT.key(),
+                    RestOptions.CLIENT_MAX_CONTENT_LENGTH.key());
+
+    private final Map<Endpoint, EndpointQueue> endpoints = new ConcurrentHashMap<>();
+    private final Map<Configuration, RestClient> restClients = new HashMap<>();
+    private final AtomicInteger inFlightRequests = new AtomicInteger();
+    private final AtomicInteger queuedRequests = new AtomicInteger();
+    private final FlinkOperatorConfiguration operatorConfiguration;
+    private final int maxRequestsPerEndpoint;
+
+    private ExecutorService ioExecutor;
+    private ExecutorService uploadExecutor;
+    private HttpClient httpClient;
+
+    public FlinkRestTransport(
+            FlinkOperatorConfiguration operatorConfiguration, MetricGroup metricGroup) {
+        this.operatorConfiguration = operatorConfiguration;
+        this.maxRequestsPerEndpoint = operatorConfiguration.getFlinkRestMaxRequestsPerEndpoint();
+        metricGroup.gauge("InFlightRequests", inFlightRequests::get);
+        metricGroup.gauge("QueuedRequests", queuedRequests::get);
+        metricGroup.gauge("ActiveEndpoints", endpoints::size);
+    }
+
+    /**
+     * Send the request to the REST endpoint at the given host and port, using the client settings
+     * of the given cluster configuration. The request is sent immediately if the endpoint is below
+     * its concurrency limit, otherwise it is sent once one of the in flight requests to the same
+     * endpoint completes.
+     */
+    public <
+                    M extends MessageHeaders<R, P, U>,
+                    U extends MessageParameters,
+                    R extends RequestBody,
+                    P extends ResponseBody>
+            CompletableFuture<P> sendRequest(
+                    Configuration conf,
+                    String host,
+                    int port,
+                    M messageHeaders,
+                    U messageParameters,
+                    R request,
+                    Collection<FileUpload> fileUploads) {
+        return execute(
+                host,
+                port,
+                () ->
+                        getRestClient(conf)
+                                .sendRequest(
+                                        host,
+                                        port,
+                                        messageHeaders,
+                                        messageParameters,
+                                        request,
+                                        fileUploads));
+    }
+
+    /**
+     * Upload a jar to the JobManager at the given host and port, streaming its content from the
+     * given source instead of reading it from a local file. The content is read in small chunks as
+     * the connection accepts them, so memory usage is bounded and a slow JobManager slows down
+     * reading the source. The source is opened again if the request has to be resent.
+     */
+    public CompletableFuture<JarUploadResponseBody> uploadJar(
+            String host, int port, String fileName, Supplier<InputStream> content) {
+        String boundary = "FlinkJarUpload" + UUID.randomUUID().toString().replace("-", "");
+        byte[] head =
+                String.format(
+                                "--%s\r\n"
+                                        + "Content-Disposition: form-data; name=\"jarfile\"; filename=\"%s\"\r\n"
+                                        + "Content-Type: %s\r\n\r\n",
+                                boundary, fileName, RestConstants.CONTENT_TYPE_JAR)
+                        .getBytes(StandardCharsets.UTF_8);
+        byte[] tail = String.format("\r\n--%s--\r\n", boundary).getBytes(StandardCharsets.UTF_8);
+        HttpRequest request =
+                HttpRequest.newBuilder(
+                                URI.create(
+                                        String.format(
+                                                "http://%s:%d%s",
+                                                host,
+                                                port,
+                                                JarUploadHeaders.getInstance()
+                                                        .getTargetRestEndpointURL())))
+                        .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                        .timeout(operatorConfiguration.getFlinkClientTimeout())
+                        .POST(
+                                HttpRequest.BodyPublishers.ofInputStream(
+                                        () ->
+                                                new SequenceInputStream(
+                                                        Collections.enumeration(
+                                                                List.of(
+                                                                        new ByteArrayInputStream(
+                                                                                head),
+                                                                        content.get(),
+                                                                        new ByteArrayInputStream(
+                                                                                tail))))))
+                        .build();
+        return execute(
+                host,
+                port,
+                () ->
+                        getHttpClient()
+                                .sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                                .thenApply(FlinkRestTransport::toJarUploadResponse));
+    }
+
+    private static JarUploadResponseBody toJarUploadResponse(HttpResponse<String> response) {
+        if (response.statusCode() != HttpResponseStatus.OK.code()) {
+            throw new CompletionException(
+                    new FlinkRuntimeException(
+                            String.format(
+                                    "Failed to upload the jar, status: %d, response: %s",
+                                    response.statusCode(), response.body())));
+        }
+        try {
+            return RestMapperUtils.getStrictObjectMapper()
+                    .readValue(response.body(), JarUploadResponseBody.class);
+        } catch (IOException e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    /**
+     * Run the request against the endpoint at the given host and port once the endpoint is below
+     * its concurrency limit.
+     */
+    private <T> CompletableFuture<T> execute(
+            String host, int port, SupplierWithException<CompletableFuture<T>, Exception> request) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Endpoint endpoint = new Endpoint(host, port);
+        Runnable send =
+                () -> {
+                    try {
+                        request.get()
+                                .whenComplete(
+                                        (response, throwable) -> {
+                                            release(endpoint);
+                                            if (throwable != null) {
+                                                result.completeExceptionally(throwable);
+                                            } else {
+                                                result.complete(response);
+                                            }
+                                        });
+                    } catch (Throwable t) {
+                        release(endpoint);
+                        result.completeExceptionally(t);
+                    }
+                };
+
+        while (true) {
+            EndpointQueue queue = endpoints.computeIfAbsent(endpoint, e -> new EndpointQueue());
+            Boolean sendNow = queue.offer(send);
+            if (sendNow != null) {
+                if (sendNow) {
+                    send.run();
+                }
+                return result;
+            }
+            // The queue was dropped concurrently after becoming idle
+            endpoints.remove(endpoint, queue);
+        }
+    }
+
+    private void release(Endpoint endpoint) {
+        EndpointQueue queue = endpoints.get(endpoint);
+        Runnable next = queue.poll();
+        if (next != null) {
+            next.run();
+        } else if (queue.isDropped()) {
+            endpoints.remove(endpoint, queue);
+        }
+    }
+
+    private synchronized RestClient getRestClient(Configuration conf) throws Exception {
+        Configuration clientConf = getClientConfiguration(conf);
+        RestClient restClient = restClients.get(clientConf);
+        if (restClient == null) {
+            if (ioExecutor == null) {
+                ioExecutor =
+                        newVirtualThreadExecutor()
+                                .orElseGet(
+                                        () ->
+                                                Executors.newFixedThreadPool(
+                                                        operatorConfiguration
+                                                                .getFlinkRestIoThreads(),
+                                                        new ExecutorThreadFactory(
+                                                                "Flink-RestClient-IO")));
+            }
+            restClient = new RestClient(clientConf, ioExecutor);
+            restClients.put(clientConf, restClient);
+        }
+        return restClient;
+    }
+
+    /**
+     * The settings of the cluster configuration that the {@link RestClient} depends on, the REST
+     * SSL settings and the client timeouts. Clients are shared between the clusters with equal
+     * settings.
+     */
+    @VisibleForTesting
+    Configuration getClientConfiguration(Configuration conf) {
+        Configuration clientConf = new Configuration();
+        clientConf.set(
+                RestOptions.IDLENESS_TIMEOUT,
+                operatorConfiguration.getFlinkClientTimeout().toMillis());
+        conf.toMap()
+                .forEach(
+                        (key, value) -> {
+                            if (key.startsWith(SSL_OPTIONS_PREFIX)
+                                    || CLIENT_OPTIONS.contains(key)) {
+                                clientConf.setString(key, value);
+                            }
+                        });
+        return clientConf;
+    }
+
+    private synchronized HttpClient getHttpClient() {
+        if (httpClient == null) {
+            uploadExecutor =
+                    newVirtualThreadExecutor()
+                            .orElseGet(
+                                    () ->
+                                            Executors.newCachedThreadPool(
+                                                    new ExecutorThreadFactory(
+                                                            "Flink-JarUpload-IO")));
+            httpClient =
+                    HttpClient.newBuilder()
+                            .version(HttpClient.Version.HTTP_1_1)
+                            .connectTimeout(operatorConfiguration.getFlinkClientTimeout())
+                            .executor(uploadExecutor)
+                            .build();
+        }
+        return httpClient;
+    }
+
+    private Optional<ExecutorService> newVirtualThreadExecutor() {
+        return operatorConfiguration.isVirtualThreadsEnabled()
+                ? VirtualThreads.newVirtualThreadPerTaskExecutor()
+                : Optional.empty();
+    }
+
+    @VisibleForTesting
+    synchronized int getRestClients() {
+        return restClients.size();
+    }
+
+    @VisibleForTesting
+    int getInFlightRequests() {
+        return inFlightRequests.get();
+    }
+
+    @VisibleForTesting
+    int getQueuedRequests() {
+        return queuedRequests.get();
+    }
+
+    @Override
+    public synchronized void close() {
+        restClients.values().forEach(restClient -> restClient.shutdown(Time.seconds(5)));
+        restClients.clear();
+        if (ioExecutor != null) {
+            ioExecutor.shutdownNow();
+            ioExecutor = null;
+        }
+        if (httpClient != null) {
+            uploadExecutor.shutdownNow();
+            httpClient = null;
+        }
+    }
+
+    @Value
+    private static class Endpoint {
+        String host;
+        int port;
+    }
+
+    /** Requests of a single endpoint waiting for a free slot. */
+    private class EndpointQueue {
+
+        private final Queue<Runnable> pending = new ArrayDeque<>();
+        private int active;
+        private boolean dropped;
+
+        /**
+         * Offer a request to the endpoint. Returns true if the request can be sent right away,
+         * false if it was queued and null if the queue was dropped and must not be used anymore.
+         */
+        private synchronized Boolean offer(Runnable request) {
+            if (dropped) {
+                return null;
+            }
+            if (active < maxRequestsPerEndpoint) {
+                active++;
+                inFlightRequests.incrementAndGet();
+                return true;
+            }
+            pending.add(request);
+            queuedRequests.incrementAndGet();
+            return false;
+        }
+
+        /**
+         * Release the slot of a completed request and hand it to the next pending one, if any. The
+         * queue is dropped once it becomes idle so that endpoints of deleted clusters do not pile
+         * up.
+         */
+        private synchronized Runnable poll() {
+            Runnable next = pending.poll();
+            if (next != null) {
+                queuedRequests.decrementAndGet();
+                return next;
+            }
+            active--;
+            inFlightRequests.decrementAndGet();
+            if (active == 0) {
+                dropped = true;
+            }
+            return null;
+        }
+
+        private synchronized boolean isDropped() {
+            return dropped;
+        }
+    }
+}
@@ -17,7 +17,6 @@
 
 package org.apache.flink.kubernetes.operator.service;
 
-import org.apache.flink.annotation.VisibleForTesting;
 import org.apache.flink.api.common.JobID;
 import org.apache.flink.client.cli.ApplicationDeployer;
 import org.apache.flink.client.deployment.ClusterClientFactory;
@@ -26,11 +25,10 @@ import org.apache.flink.client.deployment.ClusterDescriptor;
 import org.apache.flink.client.deployment.DefaultClusterClientServiceLoader;
 import org.apache.flink.client.deployment.application.ApplicationConfiguration;
 import org.apache.flink.client.deployment.application.cli.ApplicationClusterDeployer;
-import org.apache.flink.client.program.ClusterClient;
-import org.apache.flink.client.program.rest.RestClusterClient;
 import org.apache.flink.configuration.CheckpointingOptions;
 import org.apache.flink.configuration.Configuration;
 import org.apache.flink.configuration.RestOptions;
+import org.apache.flink.configuration.SecurityOptions;
 import org.apache.flink.kubernetes.configuration.KubernetesConfigOptions;
 import org.apache.flink.kubernetes.kubeclient.decorators.ExternalServiceDecorator;
 import org.apache.flink.kubernetes.operator.artifact.ArtifactManager;
@@ -40,38 +38,56 @@ import org.apache.flink.kubernetes.operator.crd.FlinkSessionJob;
 import org.apache.flink.kubernetes.operator.crd.spec.JobSpec;
 import org.apache.flink.kubernetes.operator.crd.spec.UpgradeMode;
 import org.apache.flink.kubernetes.operator.crd.status.Savepoint;
+import org.apache.flink.kubernetes.operator.crd.status.SavepointTriggerType;
 import org.apache.flink.kubernetes.operator.observer.SavepointFetchResult;
 import org.apache.flink.kubernetes.operator.utils.FlinkUtils;
+import org.apache.flink.kubernetes.operator.utils.PodCache;
+import org.apache.flink.kubernetes.operator.utils.VirtualThreads;
+import org.apache.flink.metrics.MetricGroup;
+import org.apache.flink.metrics.groups.UnregisteredMetricsGroup;
 import org.apache.flink.runtime.client.JobStatusMessage;
-import org.apache.flink.runtime.highavailability.nonha.standalone.StandaloneClientHAServices;
 import org.apache.flink.runtime.rest.FileUpload;
-import org.apache.flink.runtime.rest.RestClient;
 import org.apache.flink.runtime.rest.handler.async.AsynchronousOperationResult;
-import org.apache.flink.runtime.rest.handler.async.TriggerResponse;
+import org.apache.flink.runtime.rest.handler.async.AsynchronousOperationTriggerMessageHeaders;
 import org.apache.flink.runtime.rest.messages.EmptyMessageParameters;
 import org.apache.flink.runtime.rest.messages.EmptyRequestBody;
+import org.apache.flink.runtime.rest.messages.JobCancellationHeaders;
+import org.apache.flink.runtime.rest.messages.JobCancellationMessageParameters;
+import org.apache.flink.runtime.rest.messages.JobMessageParameters;
+import org.apache.flink.runtime.rest.messages.JobsOverviewHeaders;
+import org.apache.flink.runtime.rest.messages.MessageHeaders;
+import org.apache.flink.runtime.rest.messages.MessageParameters;
+import org.apache.flink.runtime.rest.messages.RequestBody;
+import org.apache.flink.runtime.rest.messages.ResponseBody;
+import org.apache.flink.runtime.rest.messages.TerminationModeQueryParameter;
 import org.apache.flink.runtime.rest.messages.TriggerId;
+import org.apache.flink.runtime.rest.messages.checkpoints.CheckpointStatistics;
+import org.apache.flink.runtime.rest.messages.checkpoints.CheckpointingStatisticsHeaders;
 import org.apache.flink.runtime.rest.messages.job.savepoints.SavepointInfo;
 import org.apache.flink.runtime.rest.messages.job.savepoints.SavepointStatusHeaders;
 import org.apache.flink.runtime.rest.messages.job.savepoints.SavepointStatusMessageParameters;
 import org.apache.flink.runtime.rest.messages.job.savepoints.SavepointTriggerHeaders;
 import org.apache.flink.runtime.rest.messages.job.savepoints.SavepointTriggerMessageParameters;
 import org.apache.flink.runtime.rest.messages.job.savepoints.SavepointTriggerRequestBody;
+import org.apache.flink.runtime.rest.messages.job.savepoints.stop.StopWithSavepointRequestBody;
+import org.apache.flink.runtime.rest.messages.job.savepoints.stop.StopWithSavepointTriggerHeaders;
 import org.apache.flink.runtime.rest.util.RestConstants;
 import org.apache.flink.runtime.webmonitor.handlers.JarDeleteHeaders;
 import org.apache.flink.runtime.webmonitor.handlers.JarDeleteMessageParameters;
+import org.apache.flink.runtime.webmonitor.handlers.JarListHeaders;
 import org.apache.flink.runtime.webmonitor.handlers.JarRunHeaders;
 import org.apache.flink.runtime.webmonitor.handlers.JarRunMessageParameters;
 import org.apache.flink.runtime.webmonitor.handlers.JarRunRequestBody;
 import org.apache.flink.runtime.webmonitor.handlers.JarRunResponseBody;
 import org.apache.flink.runtime.webmonitor.handlers.JarUploadHeaders;
 import org.apache.flink.runtime.webmonitor.handlers.JarUploadResponseBody;
-import org.apache.flink.streaming.api.environment.ExecutionCheckpointingOptions;
+import org.apache.flink.util.ExceptionUtils;
 import org.apache.flink.util.FileUtils;
-import org.apache.flink.util.FlinkException;
 import org.apache.flink.util.FlinkRuntimeException;
 import org.apache.flink.util.Preconditions;
+import org.apache.flink.util.StringUtils;
 import org.apache.flink.util.concurrent.ExecutorThreadFactory;
+import org.apache.flink.util.concurrent.FutureUtils;
 
 import io.fabric8.kubernetes.api.model.ObjectMeta;
 import io.fabric8.kubernetes.api.model.PodList;
@@ -84,42 +100,83 @@ import javax.annotation.Nullable;
 
 import java.io.File;
 import java.io.IOException;
-import java.net.InetSocketAddress;
-import java.net.Socket;
-import java.net.SocketAddress;
-import java.net.SocketTimeoutException;
-import java.net.URI;
+import java.nio.file.Files;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /** Service for submitting and interacting with Flink clusters and jobs. */
 public class FlinkService {
 
     private static final Logger LOG = LoggerFactory.getLogger(FlinkService.class);
+    private static final Duration JM_PORT_PROBE_TIMEOUT = Duration.ofSeconds(1);
 
     private final KubernetesClient kubernetesClient;
     private final FlinkOperatorConfiguration operatorConfiguration;
     private final ArtifactManager artifactManager;
-    private final ExecutorService executorService;
+    private final FlinkRestTransport restTransport;
+    private final SingleFlightCache<String, Collection<JobStatusMessage>> listJobsCache;
+    private final SessionJarRegistry sessionJars;
+    private final JobManagerPortProber jobManagerPortProber;
+    private final ClusterCircuitBreakers circuitBreakers;
+    private final BlockingCallLimiter blockingCalls;
+    private final PodCache podCache;
+    private final ExecutorService jarUploadExecutor;
 
     public FlinkService(
             KubernetesClient kubernetesClient, FlinkOperatorConfiguration operatorConfiguration) {
+        this(kubernetesClient, operatorConfiguration, new UnregisteredMetricsGroup());
+    }
+
+    public FlinkService(
+            KubernetesClient kubernetesClient,
+            FlinkOperatorConfiguration operatorConfiguration,
+            MetricGroup metricGroup) {
         this.kubernetesClient = kubernetesClient;
         this.operatorConfiguration = operatorConfiguration;
         this.artifactManager = new ArtifactManager(operatorConfiguration);
-        this.executorService =
-                Executors.newFixedThreadPool(
-                        4, new ExecutorThreadFactory("Flink-RestClusterClient-IO"));
+        this.restTransport =
+                new FlinkRestTransport(operatorConfiguration, metricGroup.addGroup("FlinkRest"));
+        this.listJobsCache = new SingleFlightCache<>(operatorConfiguration.getListJobsCacheTtl());
+        this.sessionJars = new SessionJarRegistry(operatorConfiguration.getMaxUnusedSessionJars());
+        this.circuitBreakers =
+                new ClusterCircuitBreakers(
+                        operatorConfiguration, metricGroup.addGroup("CircuitBreaker"));
+        this.jobManagerPortProber =
+                new JobManagerPortProber(
+                        JM_PORT_PROBE_TIMEOUT, operatorConfiguration.getJmPortProbeCacheTtl());
+        this.blockingCalls =
+                new BlockingCallLimiter(
+                        operatorConfiguration.getMaxConcurrentBlockingCalls(),
+                        metricGroup.addGroup("BlockingCalls"));
+        this.podCache = new PodCache(metricGroup.addGroup("PodCache"));
+        this.jarUploadExecutor =
+                (operatorConfiguration.isVirtualThreadsEnabled()
+                                ? VirtualThreads.newVirtualThreadPerTaskExecutor()
+                                : Optional.<ExecutorService>empty())
+                        .orElseGet(
+                                () ->
+                                        Executors.newCachedThreadPool(
+                                                new ExecutorThreadFactory("Flink-JarUpload")));
     }
 
     public void submitApplicationCluster(JobSpec jobSpec, Configuration conf) throws Exception {
+        // The cluster might have been reconfigured, drop the state cached for the old one
+        invalidateClusterClient(conf);
         if (FlinkUtils.isKubernetesHAActivated(conf)) {
             final String clusterId =
                     Preconditions.checkNotNull(conf.get(KubernetesConfigOptions.CLUSTER_ID));
@@ -127,7 +184,10 @@ public class FlinkService {
                     Preconditions.checkNotNull(conf.get(KubernetesConfigOptions.NAMESPACE));
             // Delete the job graph in the HA ConfigMaps so that the newly changed job config(e.g.
             // parallelism) could take effect
-            FlinkUtils.deleteJobGraphInKubernetesHA(clusterId, namespace, kubernetesClient);
+            blockingCalls.run(
+                    () ->
+                            FlinkUtils.deleteJobGraphInKubernetesHA(
+                                    clusterId, namespace, kubernetesClient));
         }
         LOG.info("Deploying application cluster");
         final ClusterClientServiceLoader clusterClientServiceLoader =
@@ -140,18 +200,22 @@ public class FlinkService {
                         jobSpec.getArgs() != null ? jobSpec.getArgs() : new String[0],
                         jobSpec.getEntryClass());
 
+        // The deployment runs on its own Kubernetes client, its individual calls cannot be limited
         deployer.run(conf, applicationConfiguration);
         LOG.info("Application cluster successfully deployed");
     }
 
     public void submitSessionCluster(Configuration conf) throws Exception {
         LOG.info("Deploying session cluster");
+        invalidateClusterClient(conf);
         final ClusterClientServiceLoader clusterClientServiceLoader =
                 new DefaultClusterClientServiceLoader();
         final ClusterClientFactory<String> kubernetesClusterClientFactory =
                 clusterClientServiceLoader.getClusterClientFactory(conf);
         try (final ClusterDescriptor<String> kubernetesClusterDescriptor =
                 kubernetesClusterClientFactory.createClusterDescriptor(conf)) {
+            // The deployment runs on its own Kubernetes client, its individual calls cannot be
+            // limited
             kubernetesClusterDescriptor.deploySessionCluster(
                     kubernetesClusterClientFactory.getClusterSpecification(conf));
         }
@@ -161,254 +225,651 @@ public class FlinkService {
     public JobID submitJobToSessionCluster(
             FlinkSessionJob sessionJob, Configuration conf, @Nullable String savepoint)
             throws Exception {
-        var jarRunResponseBody = runJar(sessionJob, uploadJar(sessionJob, conf), conf, savepoint);
-        var jobID = jarRunResponseBody.getJobId();
-        LOG.info("Submitted job: {} to session cluster.", jobID);
-        return jobID;
+        return get(submitJobToSessionClusterAsync(sessionJob, conf, savepoint));
+    }
+
+    /**
+     * Submit the job of the session job to its session cluster. Jars are reused across submissions
+     * to the same cluster when the artifact content has not changed, identified by the fingerprint
+     * of the artifact or, once downloaded, by the hash of its content.
+     */
+    public CompletableFuture<JobID> submitJobToSessionClusterAsync(
+            FlinkSessionJob sessionJob, Configuration conf, @Nullable String savepoint)
+            throws Exception {
+        String cluster = getClusterKey(conf);
+        String sessionJobKey = getSessionJobKey(sessionJob);
+        String jarURI = sessionJob.getSpec().getJob().getJarURI();
+        String fingerprint = artifactManager.fingerprint(jarURI).orElse(null);
+        recoverSessionJars(cluster, conf);
+
+        CompletableFuture<JarRunResponseBody> runFuture;
+        Optional<SessionJarRegistry.UploadedJar> reusedJar =
+                fingerprint == null
+                        ? Optional.empty()
+                        : sessionJars.acquireByFingerprint(cluster, sessionJobKey, fingerprint);
+        if (reusedJar.isPresent()) {
+            LOG.info("Reusing the jar uploaded for content {}", reusedJar.get().getContentHash());
+            runFuture =
+                    runJar(sessionJob, reusedJar.get().getJarId(), conf, savepoint)
+                            .whenComplete(
+                                    (response, throwable) -> {
+                                        if (throwable != null) {
+                                            forgetJarIfMissing(cluster, conf, reusedJar.get());
+                                        }
+                                    });
+        } else if (operatorConfiguration.isStreamingJarUpload()
+                && !SecurityOptions.isRestSSLEnabled(conf)) {
+            // The streaming upload only speaks plain HTTP
+            runFuture = streamAndRunJar(sessionJob, cluster, fingerprint, conf, savepoint);
+        } else {
+            runFuture = uploadAndRunJar(sessionJob, cluster, fingerprint, conf, savepoint);
+        }
+        return runFuture
+                .whenComplete(
+                        (response, throwable) -> {
+                            invalidateJobListings(conf);
+                            deleteUnusedJars(cluster, conf);
+                        })
+                .thenApply(
+                        jarRunResponseBody -> {
+                            var jobID = jarRunResponseBody.getJobId();
+                            LOG.info("Submitted job: {} to session cluster.", jobID);
+                            return jobID;
+                        });
     }
 
-    private JarRunResponseBody runJar(
+    /**
+     * Stream the jar from its source to the cluster and run it, hashing the content on the fly. If
+     * the streaming upload fails the jar is staged on the local disk and uploaded from there, so
+     * that the retry does not depend on the source being readable twice. The jar is run, or staged
+     * and uploaded, on the jar upload executor instead of the thread completing the upload, which
+     * may be the shared timeout thread.
+     */
+    private CompletableFuture<JarRunResponseBody> streamAndRunJar(
             FlinkSessionJob sessionJob,
-            JarUploadResponseBody response,
+            String cluster,
+            @Nullable String fingerprint,
             Configuration conf,
-            String savepoint) {
-        String jarId =
-                response.getFilename().substring(response.getFilename().lastIndexOf("/") + 1);
-        // we generate jobID in advance to help deduplicate job submission.
-        JobID jobID = new JobID();
-        try (RestClusterClient<String> clusterClient =
-                (RestClusterClient<String>) getClusterClient(conf)) {
-            JarRunHeaders headers = JarRunHeaders.getInstance();
-            JarRunMessageParameters parameters = headers.getUnresolvedMessageParameters();
-            parameters.jarIdPathParameter.resolve(jarId);
-            JobSpec job = sessionJob.getSpec().getJob();
-            JarRunRequestBody runRequestBody =
-                    new JarRunRequestBody(
-                            job.getEntryClass(),
-                            null,
-                            job.getArgs() == null ? null : Arrays.asList(job.getArgs()),
-                            job.getParallelism() > 0 ? job.getParallelism() : null,
-                            jobID,
-                            null,
-                            savepoint);
-            LOG.info("Submitting job: {} to session cluster.", jobID.toHexString());
-            return clusterClient
-                    .sendRequest(headers, parameters, runRequestBody)
-                    .get(
-                            operatorConfiguration.getFlinkClientTimeout().toSeconds(),
-                            TimeUnit.SECONDS);
-        } catch (Exception e) {
-            LOG.error("Failed to submit job to session cluster.", e);
-            throw new FlinkRuntimeException(e);
-        } finally {
-            deleteJar(conf, jarId);
-        }
+            @Nullable String savepoint)
+            throws Exception {
+        String jarURI = sessionJob.getSpec().getJob().getJarURI();
+        AtomicReference<MessageDigest> digest = new AtomicReference<>();
+        String fileName = SessionJarRegistry.ownedJarName(ArtifactManager.getFileName(jarURI));
+        return circuitBreakers
+                .call(
+                        getCircuitBreakerKey(conf),
+                        () ->
+                                restTransport
+                                        .uploadJar(
+                                                getRestServerHost(conf),
+                                                conf.getInteger(RestOptions.PORT),
+                                                fileName,
+                                                () -> {
+                                                    digest.set(ArtifactManager.newContentDigest());
+                                                    try {
+                                                        return new DigestInputStream(
+                                                                artifactManager.open(jarURI),
+                                                                digest.get());
+                                                    } catch (Exception e) {
+                                                        throw new CompletionException(e);
+                                                    }
+                                                })
+                                        .orTimeout(
+                                                operatorConfiguration
+                                                        .getFlinkClientTimeout()
+                                                        .toSeconds(),
+                                                TimeUnit.SECONDS))
+                .handleAsync(
+                        (response, throwable) -> {
+                            if (throwable == null) {
+                                String contentHash =
+                                        StringUtils.byteToHexString(digest.get().digest());
+                                return registerAndRunJar(
+                                        sessionJob,
+                                        cluster,
+                                        contentHash,
+                                        fingerprint,
+                                        getJarId(response),
+                                        conf,
+                                        savepoint);
+                            }
+                            LOG.warn(
+                                    "Failed to stream the jar {}, retrying from a local copy.",
+                                    jarURI,
+                                    throwable);
+                            try {
+                                return uploadAndRunJar(
+                                        sessionJob, cluster, fingerprint, conf, savepoint);
+                            } catch (Exception e) {
+                                return FutureUtils.<JarRunResponseBody>completedExceptionally(e);
+                            }
+                        },
+                        jarUploadExecutor)
+                .thenCompose(Function.identity());
     }
 
-    private JarUploadResponseBody uploadJar(FlinkSessionJob sessionJob, Configuration conf)
+    private CompletableFuture<JarRunResponseBody> uploadAndRunJar(
+            FlinkSessionJob sessionJob,
+            String cluster,
+            @Nullable String fingerprint,
+            Configuration conf,
+            @Nullable String savepoint)
             throws Exception {
+        String sessionJobKey = getSessionJobKey(sessionJob);
         String targetDir = artifactManager.generateJarDir(sessionJob);
-        File jarFile = artifactManager.fetch(sessionJob.getSpec().getJob().getJarURI(), targetDir);
+        File fetchedJar =
+                artifactManager.fetch(sessionJob.getSpec().getJob().getJarURI(), targetDir);
         Preconditions.checkArgument(
-                jarFile.exists(),
-                String.format("The jar file %s not exists", jarFile.getAbsolutePath()));
-        JarUploadHeaders headers = JarUploadHeaders.getInstance();
-        String clusterId = sessionJob.getSpec().getClusterId();
-        String namespace = sessionJob.getMetadata().getNamespace();
-        int port = conf.getInteger(RestOptions.PORT);
-        String host =
-                ObjectUtils.firstNonNull(
-                        operatorConfiguration.getFlinkServiceHostOverride(),
-                        ExternalServiceDecorator.getNamespacedExternalServiceName(
-                                clusterId, namespace));
-        try (RestClient restClient = new RestClient(conf, executorService)) {
-            // TODO add method in flink#RestClusterClient to support upload jar.
-            return restClient
-                    .sendRequest(
-                            host,
-                            port,
-                            headers,
-                            EmptyMessageParameters.getInstance(),
-                            EmptyRequestBody.getInstance(),
-                            Collections.singletonList(
-                                    new FileUpload(
-                                            jarFile.toPath(), RestConstants.CONTENT_TYPE_JAR)))
-                    .get(
-                            operatorConfiguration.getFlinkClientTimeout().toSeconds(),
-                            TimeUnit.SECONDS);
-        } finally {
-            FileUtils.deleteFileOrDirectory(jarFile);
+                fetchedJar.exists(),
+                String.format("The jar file %s not exists", fetchedJar.getAbsolutePath()));
+        File jarFile = fetchedJar;
+        String contentHash;
+        try {
+            jarFile =
+                    Files.move(
+                                    fetchedJar.toPath(),
+                                    fetchedJar
+                                            .toPath()
+                                            .resolveSibling(
+                                                    SessionJarRegistry.ownedJarName(
+                                                            fetchedJar.getName())))
+                            .toFile();
+            contentHash = ArtifactManager.contentHash(jarFile);
+        } catch (Exception e) {
+            deleteLocalJar(jarFile);
+            throw e;
         }
+
+        Optional<SessionJarRegistry.UploadedJar> uploadedJar =
+                sessionJars.acquireByContentHash(cluster, sessionJobKey, contentHash, fingerprint);
+        if (uploadedJar.isPresent()) {
+            LOG.info("Reusing the jar uploaded for content {}", contentHash);
+            deleteLocalJar(jarFile);
+            return runJar(sessionJob, uploadedJar.get().getJarId(), conf, savepoint);
+        }
+
+        return uploadJar(jarFile, conf)
+                .thenCompose(
+                        response ->
+                                registerAndRunJar(
+                                        sessionJob,
+                                        cluster,
+                                        contentHash,
+                                        fingerprint,
+                                        getJarId(response),
+                                        conf,
+                                        savepoint));
     }
 
-    private void deleteJar(Configuration conf, String jarId) {
-        try (RestClusterClient<String> clusterClient =
-                (RestClusterClient<String>) getClusterClient(conf)) {
-            JarDeleteHeaders headers = JarDeleteHeaders.getInstance();
-            JarDeleteMessageParameters parameters = headers.getUnresolvedMessageParameters();
-            parameters.jarIdPathParameter.resolve(jarId);
-            clusterClient
-                    .sendRequest(headers, parameters, EmptyRequestBody.getInstance())
-                    .get(
-                            operatorConfiguration.getFlinkClientTimeout().toSeconds(),
-                            TimeUnit.SECONDS);
-        } catch (Exception e) {
-            LOG.error("Failed to delete the jar: {}.", jarId, e);
+    private CompletableFuture<JarRunResponseBody> registerAndRunJar(
+            FlinkSessionJob sessionJob,
+            String cluster,
+            String contentHash,
+            @Nullable String fingerprint,
+            String jarId,
+            Configuration conf,
+            @Nullable String savepoint) {
+        boolean registered =
+                sessionJars.register(
+                        cluster, getSessionJobKey(sessionJob), contentHash, fingerprint, jarId);
+        var run = runJar(sessionJob, jarId, conf, savepoint);
+        if (!registered) {
+            run.whenComplete((r, t) -> deleteJar(conf, jarId));
         }
+        return run;
     }
 
-    public boolean isJobManagerPortReady(Configuration config) {
-        final URI uri;
-        try (ClusterClient<String> clusterClient = getClusterClient(config)) {
-            uri = URI.create(clusterClient.getWebInterfaceURL());
-        } catch (Exception ex) {
-            throw new RuntimeException(ex);
+    private static String getJarId(JarUploadResponseBody response) {
+        return response.getFilename().substring(response.getFilename().lastIndexOf("/") + 1);
+    }
+
+    private CompletableFuture<JarRunResponseBody> runJar(
+            FlinkSessionJob sessionJob, String jarId, Configuration conf, String savepoint) {
+        // we generate jobID in advance to help deduplicate job submission.
+        JobID jobID = new JobID();
+        JarRunHeaders headers = JarRunHeaders.getInstance();
+        JarRunMessageParameters parameters = headers.getUnresolvedMessageParameters();
+        parameters.jarIdPathParameter.resolve(jarId);
+        JobSpec job = sessionJob.getSpec().getJob();
+        JarRunRequestBody runRequestBody =
+                new JarRunRequestBody(
+                        job.getEntryClass(),
+                        null,
+                        job.getArgs() == null ? null : Arrays.asList(job.getArgs()),
+                        job.getParallelism() > 0 ? job.getParallelism() : null,
+                        jobID,
+                        null,
+                        savepoint);
+        LOG.info("Submitting job: {} to session cluster.", jobID.toHexString());
+        return sendRequest(conf, headers, parameters, runRequestBody, Collections.emptyList())
+                .handle(
+                        (body, throwable) -> {
+                            if (throwable != null) {
+                                LOG.error("Failed to submit job to session cluster.", throwable);
+                                throw new CompletionException(
+                                        new FlinkRuntimeException(
+                                                ExceptionUtils.stripCompletionException(
+                                                        throwable)));
+                            }
+                            return body;
+                        });
+    }
+
+    private CompletableFuture<JarUploadResponseBody> uploadJar(File jarFile, Configuration conf) {
+        // TODO add method in flink#RestClusterClient to support upload jar.
+        return sendRequest(
+                        conf,
+                        JarUploadHeaders.getInstance(),
+                        EmptyMessageParameters.getInstance(),
+                        EmptyRequestBody.getInstance(),
+                        Collections.singletonList(
+                                new FileUpload(jarFile.toPath(), RestConstants.CONTENT_TYPE_JAR)))
+                .whenComplete((response, throwable) -> deleteLocalJar(jarFile));
+    }
+
+    /**
+     * Release the jar the session job was last submitted from, so that it can be deleted from the
+     * session cluster once no other session job uses it.
+     */
+    public void releaseSessionJobJar(FlinkSessionJob sessionJob, Configuration conf) {
+        String cluster = getClusterKey(conf);
+        sessionJars.release(cluster, getSessionJobKey(sessionJob));
+        deleteUnusedJars(cluster, conf);
+    }
+
+    /**
+     * Delete the jars left behind on the cluster, e.g. by a previous operator instance, before
+     * submitting to the cluster for the first time. A failed recovery does not fail the submission
+     * and is retried with the next one.
+     */
+    private void recoverSessionJars(String cluster, Configuration conf) {
+        try {
+            get(
+                    sessionJars.recover(
+                            cluster,
+                            () ->
+                                    listJarIds(conf)
+                                            .thenAccept(
+                                                    jarIds ->
+                                                            sessionJars
+                                                                    .getUntrackedOwnedJars(
+                                                                            cluster, jarIds)
+                                                                    .forEach(
+                                                                            jarId -> {
+                                                                                LOG.info(
+                                                                                        "Deleting the jar {} left behind on the session cluster",
+                                                                                        jarId);
+                                                                                deleteJar(
+                                                                                        conf,
+                                                                                        jarId);
+                                                                            }))));
+        } catch (Exception e) {
+            LOG.warn("Failed to recover the jars of the session cluster", e);
         }
-        SocketAddress socketAddress = new InetSocketAddress(uri.getHost(), uri.getPort());
-        Socket socket = new Socket();
+    }
+
+    /**
+     * Forget the reused jar if the cluster does not know it anymore, e.g. after a JobManager
+     * failover, so that it is uploaded again on the next attempt. Jars still on the cluster stay
+     * tracked, so that they are eventually deleted.
+     */
+    private void forgetJarIfMissing(
+            String cluster, Configuration conf, SessionJarRegistry.UploadedJar jar) {
+        listJarIds(conf)
+                .whenComplete(
+                        (jarIds, throwable) -> {
+                            if (throwable != null) {
+                                LOG.warn(
+                                        "Failed to list the jars of the session cluster",
+                                        throwable);
+                            } else if (!jarIds.contains(jar.getJarId())) {
+                                LOG.info("The jar {} is gone from the cluster", jar.getJarId());
+                                sessionJars.remove(cluster, jar.getContentHash());
+                            }
+                        });
+    }
+
+    private CompletableFuture<Set<String>> listJarIds(Configuration conf) {
+        return sendRequest(
+                        conf,
+                        JarListHeaders.getInstance(),
+                        EmptyMessageParameters.getInstance(),
+                        EmptyRequestBody.getInstance(),
+                        Collections.emptyList())
+                .thenApply(
+                        jarList ->
+                                jarList.jarFileList.stream()
+                                        .map(jarFile -> jarFile.id)
+                                        .collect(Collectors.toSet()));
+    }
+
+    private void deleteUnusedJars(String cluster, Configuration conf) {
+        sessionJars.evictUnused(cluster).forEach(jarId -> deleteJar(conf, jarId));
+    }
+
+    private static String getSessionJobKey(FlinkSessionJob sessionJob) {
+        return sessionJob.getMetadata().getNamespace() + "/" + sessionJob.getMetadata().getName();
+    }
+
+    private void deleteLocalJar(File jarFile) {
         try {
-            socket.connect(socketAddress, 1000);
-            socket.close();
-            return true;
-        } catch (SocketTimeoutException ste) {
+            FileUtils.deleteFileOrDirectory(jarFile);
         } catch (IOException e) {
+            LOG.warn("Failed to delete the local jar: {}.", jarFile, e);
         }
-        return false;
+    }
+
+    private void deleteJar(Configuration conf, String jarId) {
+        JarDeleteHeaders headers = JarDeleteHeaders.getInstance();
+        JarDeleteMessageParameters parameters = headers.getUnresolvedMessageParameters();
+        parameters.jarIdPathParameter.resolve(jarId);
+        sendRequest(
+                        conf,
+                        headers,
+                        parameters,
+                        EmptyRequestBody.getInstance(),
+                        Collections.emptyList())
+                .whenComplete(
+                        (ignored, throwable) -> {
+                            if (throwable != null) {
+                                LOG.error("Failed to delete the jar: {}.", jarId, throwable);
+                            }
+                        });
+    }
+
+    /**
+     * Check whether the JobManager port accepts connections, based on the recent probe of the port.
+     * If the port has not been probed recently, a probe is started and awaited for a short bounded
+     * time.
+     */
+    public boolean isJobManagerPortReady(Configuration config) {
+        return jobManagerPortProber.isReady(
+                getRestServerHost(config), config.getInteger(RestOptions.PORT));
     }
 
     public Collection<JobStatusMessage> listJobs(Configuration conf) throws Exception {
-        try (ClusterClient<String> clusterClient = getClusterClient(conf)) {
-            return clusterClient
-                    .listJobs()
-                    .get(
-                            operatorConfiguration.getFlinkClientTimeout().getSeconds(),
-                            TimeUnit.SECONDS);
+        return get(listJobsAsync(conf));
+    }
+
+    /**
+     * List the jobs of the cluster. Concurrent calls for the same cluster, e.g. from the session
+     * jobs of one session cluster, share a single request to the JobManager.
+     */
+    public CompletableFuture<Collection<JobStatusMessage>> listJobsAsync(Configuration conf) {
+        return listJobsCache.get(getClusterKey(conf), () -> requestJobs(conf));
+    }
+
+    private CompletableFuture<Collection<JobStatusMessage>> requestJobs(Configuration conf) {
+        return sendRequest(
+                        conf,
+                        JobsOverviewHeaders.getInstance(),
+                        EmptyMessageParameters.getInstance(),
+                        EmptyRequestBody.getInstance(),
+                        Collections.emptyList())
+                .<Collection<JobStatusMessage>>thenApply(
+                        multipleJobsDetails ->
+                                multipleJobsDetails.getJobs().stream()
+                                        .map(
+                                                details ->
+                                                        new JobStatusMessage(
+                                                                details.getJobId(),
+                                                                details.getJobName(),
+                                                                details.getStatus(),
+                                                                details.getStartTime()))
+                                        .collect(
+                                                Collectors.collectingAndThen(
+                                                        Collectors.toList(),
+                                                        Collections::unmodifiableList)));
+    }
+
+    /**
+     * Wait for the result of an async operation of the service, rethrowing the original cause of
+     * the failure.
+     */
+    private static <T> T get(CompletableFuture<T> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = ExceptionUtils.stripExecutionException(e);
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            throw e;
         }
     }
 
-    @VisibleForTesting
-    protected ClusterClient<String> getClusterClient(Configuration config) throws Exception {
+    /**
+     * Send a request to the JobManager of the cluster through the shared rest transport. The
+     * request times out after the Flink client timeout, which counts as a failure of the cluster.
+     */
+    private <
+                    M extends MessageHeaders<R, P, U>,
+                    U extends MessageParameters,
+                    R extends RequestBody,
+                    P extends ResponseBody>
+            CompletableFuture<P> sendRequest(
+                    Configuration conf,
+                    M messageHeaders,
+                    U messageParameters,
+                    R request,
+                    Collection<FileUpload> fileUploads) {
+        return sendRequest(
+                conf,
+                messageHeaders,
+                messageParameters,
+                request,
+                fileUploads,
+                operatorConfiguration.getFlinkClientTimeout());
+    }
+
+    private <
+                    M extends MessageHeaders<R, P, U>,
+                    U extends MessageParameters,
+                    R extends RequestBody,
+                    P extends ResponseBody>
+            CompletableFuture<P> sendRequest(
+                    Configuration conf,
+                    M messageHeaders,
+                    U messageParameters,
+                    R request,
+                    Collection<FileUpload> fileUploads,
+                    Duration timeout) {
+        return circuitBreakers.call(
+                getCircuitBreakerKey(conf),
+                () ->
+                        restTransport
+                                .sendRequest(
+                                        conf,
+                                        getRestServerHost(conf),
+                                        conf.getInteger(RestOptions.PORT),
+                                        messageHeaders,
+                                        messageParameters,
+                                        request,
+                                        fileUploads)
+                                .orTimeout(timeout.toSeconds(), TimeUnit.SECONDS));
+    }
+
+    private static String getCircuitBreakerKey(Configuration conf) {
+        return getCircuitBreakerKey(
+                conf.get(KubernetesConfigOptions.NAMESPACE),
+                conf.get(KubernetesConfigOptions.CLUSTER_ID));
+    }
+
+    private static String getCircuitBreakerKey(String namespace, String clusterId) {
+        return namespace + "/" + clusterId;
+    }
+
+    /**
+     * Get how long calls to the given cluster will still be rejected because the cluster did not
+     * respond recently. Reconciliations of resources depending on the cluster should be delayed
+     * accordingly.
+     *
+     * @return The remaining backoff, or {@code Optional.empty()} if the cluster can be called.
+     */
+    public Optional<Duration> getClusterBackoff(String namespace, String clusterId) {
+        return circuitBreakers.getRemainingOpenDuration(getCircuitBreakerKey(namespace, clusterId));
+    }
+
+    /** Drop the cached state of the cluster described by the given configuration. */
+    public void invalidateClusterClient(Configuration config) {
+        invalidateClusterClient(
+                config.get(KubernetesConfigOptions.NAMESPACE),
+                config.get(KubernetesConfigOptions.CLUSTER_ID));
+    }
+
+    /**
+     * Drop the cached job listings and uploaded jars of the given cluster and reset its breaker.
+     */
+    public void invalidateClusterClient(String namespace, String clusterId) {
+        String keyPrefix = namespace + "/" + clusterId + "@";
+        listJobsCache.invalidate(key -> key.startsWith(keyPrefix));
+        sessionJars.invalidate(key -> key.startsWith(keyPrefix));
+        circuitBreakers.reset(getCircuitBreakerKey(namespace, clusterId));
+    }
+
+    /** Drop the cached job listing of the cluster after changing its jobs. */
+    private void invalidateJobListings(Configuration conf) {
+        listJobsCache.invalidate(getClusterKey(conf)::equals);
+    }
+
+    private String getClusterKey(Configuration config) {
+        return config.get(KubernetesConfigOptions.NAMESPACE)
+                + "/"
+                + config.get(KubernetesConfigOptions.CLUSTER_ID)
+                + "@"
+                + getRestServerAddress(config);
+    }
+
+    private String getRestServerAddress(Configuration config) {
+        return String.format(
+                "http://%s:%s", getRestServerHost(config), config.getInteger(RestOptions.PORT));
+    }
+
+    private String getRestServerHost(Configuration config) {
         final String clusterId = config.get(KubernetesConfigOptions.CLUSTER_ID);
         final String namespace = config.get(KubernetesConfigOptions.NAMESPACE);
-        final int port = config.getInteger(RestOptions.PORT);
-        final String host =
-                ObjectUtils.firstNonNull(
-                        operatorConfiguration.getFlinkServiceHostOverride(),
-                        ExternalServiceDecorator.getNamespacedExternalServiceName(
-                                clusterId, namespace));
-        final String restServerAddress = String.format("http://%s:%s", host, port);
-        LOG.debug("Creating RestClusterClient({})", restServerAddress);
-        return new RestClusterClient<>(
-                config, clusterId, (c, e) -> new StandaloneClientHAServices(restServerAddress));
+        return ObjectUtils.firstNonNull(
+                operatorConfiguration.getFlinkServiceHostOverride(),
+                ExternalServiceDecorator.getNamespacedExternalServiceName(clusterId, namespace));
     }
 
+    /**
+     * Cancel or suspend the job according to the upgrade mode. Returns once the cluster has been
+     * asked to shut down, use {@link #isClusterShutDown} to check when it is gone. Jobs requiring a
+     * savepoint are stopped with {@link #stopWithSavepoint} instead.
+     */
     public Optional<String> cancelJob(
             @Nullable JobID jobID, UpgradeMode upgradeMode, Configuration conf) throws Exception {
         Optional<String> savepointOpt = Optional.empty();
-        try (ClusterClient<String> clusterClient = getClusterClient(conf)) {
-            final String clusterId = clusterClient.getClusterId();
-            switch (upgradeMode) {
-                case STATELESS:
-                    clusterClient
-                            .cancel(jobID)
-                            .get(
-                                    operatorConfiguration.getFlinkCancelJobTimeout().toSeconds(),
-                                    TimeUnit.SECONDS);
-                    break;
-                case SAVEPOINT:
-                    final String savepointDirectory =
-                            Preconditions.checkNotNull(
-                                    conf.get(CheckpointingOptions.SAVEPOINT_DIRECTORY));
-                    final long timeout =
-                            conf.get(ExecutionCheckpointingOptions.CHECKPOINTING_TIMEOUT)
-                                    .getSeconds();
-                    try {
-                        String savepoint =
-                                clusterClient
-                                        .stopWithSavepoint(jobID, false, savepointDirectory)
-                                        .get(timeout, TimeUnit.SECONDS);
-                        savepointOpt = Optional.of(savepoint);
-                    } catch (TimeoutException exception) {
-                        throw new FlinkException(
-                                String.format(
-                                        "Timed out stopping the job %s in Flink cluster %s with savepoint, "
-                                                + "please configure a larger timeout via '%s'",
-                                        jobID,
-                                        clusterId,
-                                        ExecutionCheckpointingOptions.CHECKPOINTING_TIMEOUT.key()),
-                                exception);
-                    }
-                    break;
-                case LAST_STATE:
-                    final String namespace = conf.getString(KubernetesConfigOptions.NAMESPACE);
-                    FlinkUtils.deleteCluster(
-                            namespace,
-                            clusterId,
-                            kubernetesClient,
-                            false,
-                            operatorConfiguration.getFlinkShutdownClusterTimeout().toSeconds());
-                    break;
-                default:
-                    throw new RuntimeException("Unsupported upgrade mode " + upgradeMode);
-            }
+        switch (upgradeMode) {
+            case STATELESS:
+                savepointOpt = get(cancelJobAsync(jobID, upgradeMode, conf));
+                break;
+            case LAST_STATE:
+                deleteCluster(
+                        conf.getString(KubernetesConfigOptions.NAMESPACE),
+                        conf.getString(KubernetesConfigOptions.CLUSTER_ID),
+                        kubernetesClient,
+                        false,
+                        operatorConfiguration.getFlinkShutdownClusterTimeout().toSeconds());
+                break;
+            default:
+                throw new RuntimeException("Unsupported upgrade mode " + upgradeMode);
         }
-        FlinkUtils.waitForClusterShutdown(
-                kubernetesClient,
-                conf,
-                operatorConfiguration.getFlinkShutdownClusterTimeout().toSeconds());
+        invalidateClusterClient(conf);
         return savepointOpt;
     }
 
+    /** Check whether the JobManager pods and the REST service of the cluster are gone. */
+    public boolean isClusterShutDown(Configuration conf) {
+        final String namespace = conf.getString(KubernetesConfigOptions.NAMESPACE);
+        final String clusterId = conf.getString(KubernetesConfigOptions.CLUSTER_ID);
+        return blockingCalls.call(
+                () ->
+                        FlinkUtils.isClusterShutDown(
+                                kubernetesClient, podCache, namespace, clusterId));
+    }
+
     public Optional<String> cancelSessionJob(
             JobID jobID, UpgradeMode upgradeMode, Configuration conf) throws Exception {
-        Optional<String> savepointOpt = Optional.empty();
-        try (ClusterClient<String> clusterClient = getClusterClient(conf)) {
-            final String clusterId = clusterClient.getClusterId();
-            switch (upgradeMode) {
-                case STATELESS:
-                    LOG.info("Cancelling job.");
-                    clusterClient
-                            .cancel(jobID)
-                            .get(
-                                    operatorConfiguration.getFlinkCancelJobTimeout().toSeconds(),
-                                    TimeUnit.SECONDS);
-                    break;
-                case SAVEPOINT:
-                    LOG.info("Suspending job.");
-                    final String savepointDirectory =
-                            Preconditions.checkNotNull(
-                                    conf.get(CheckpointingOptions.SAVEPOINT_DIRECTORY));
-                    final long timeout =
-                            conf.get(ExecutionCheckpointingOptions.CHECKPOINTING_TIMEOUT)
-                                    .getSeconds();
-                    try {
-                        String savepoint =
-                                clusterClient
-                                        .stopWithSavepoint(jobID, false, savepointDirectory)
-                                        .get(timeout, TimeUnit.SECONDS);
-                        savepointOpt = Optional.of(savepoint);
-                    } catch (TimeoutException exception) {
-                        throw new FlinkException(
-                                String.format(
-                                        "Timed out stopping the job %s in Flink cluster %s with savepoint, "
-                                                + "please configure a larger timeout via '%s'",
-                                        jobID,
-                                        clusterId,
-                                        ExecutionCheckpointingOptions.CHECKPOINTING_TIMEOUT.key()),
-                                exception);
-                    }
-                    break;
-                case LAST_STATE:
-                default:
-                    throw new RuntimeException("Unsupported upgrade mode " + upgradeMode);
-            }
+        return get(cancelJobAsync(jobID, upgradeMode, conf));
+    }
+
+    /**
+     * Cancel the job without a savepoint, only {@link UpgradeMode#STATELESS} is supported. Jobs are
+     * suspended with a savepoint by {@link #stopWithSavepoint}, which does not wait for the
+     * savepoint, and {@link UpgradeMode#LAST_STATE} requires deleting the cluster.
+     */
+    public CompletableFuture<Optional<String>> cancelJobAsync(
+            JobID jobID, UpgradeMode upgradeMode, Configuration conf) {
+        if (upgradeMode != UpgradeMode.STATELESS) {
+            return FutureUtils.completedExceptionally(
+                    new RuntimeException("Unsupported upgrade mode " + upgradeMode));
         }
-        return savepointOpt;
+        LOG.info("Cancelling job.");
+        JobCancellationHeaders headers = JobCancellationHeaders.getInstance();
+        JobCancellationMessageParameters parameters = headers.getUnresolvedMessageParameters();
+        parameters.jobPathParameter.resolve(jobID);
+        parameters.terminationModeQueryParameter.resolve(
+                Collections.singletonList(TerminationModeQueryParameter.TerminationMode.CANCEL));
+        return sendRequest(
+                        conf,
+                        headers,
+                        parameters,
+                        EmptyRequestBody.getInstance(),
+                        Collections.emptyList(),
+                        operatorConfiguration.getFlinkCancelJobTimeout())
+                .whenComplete((ack, throwable) -> invalidateJobListings(conf))
+                .thenApply(ack -> Optional.empty());
     }
 
     public void stopSessionCluster(
             ObjectMeta objectMeta, Configuration conf, boolean deleteHaData, long shutdownTimeout) {
-        FlinkUtils.deleteCluster(objectMeta, kubernetesClient, deleteHaData, shutdownTimeout);
+        deleteCluster(objectMeta, kubernetesClient, deleteHaData, shutdownTimeout);
+        invalidateClusterClient(objectMeta.getNamespace(), objectMeta.getName());
+    }
+
+    public void deleteCluster(
+            ObjectMeta meta,
+            KubernetesClient kubernetesClient,
+            boolean deleteHaData,
+            long shutdownTimeout) {
+        deleteCluster(
+                meta.getNamespace(),
+                meta.getName(),
+                kubernetesClient,
+                deleteHaData,
+                shutdownTimeout);
+    }
+
+    /**
+     * Delete the Kubernetes resources of the cluster through the given client, see {@link
+     * FlinkUtils#deleteCluster}. Each Kubernetes API call takes its own blocking call permit, so
+     * that waiting for the cluster to shut down does not hold a permit.
+     */
+    public void deleteCluster(
+            String namespace,
+            String clusterId,
+            KubernetesClient kubernetesClient,
+            boolean deleteHaData,
+            long shutdownTimeout) {
+        blockingCalls.run(
+                () -> FlinkUtils.deleteClusterDeployment(namespace, clusterId, kubernetesClient));
+        if (deleteHaData) {
+            // We need to wait for cluster shutdown otherwise HA configmaps might be recreated
+            FlinkUtils.waitForClusterShutdown(
+                    () ->
+                            blockingCalls.call(
+                                    () ->
+                                            FlinkUtils.isClusterShutDown(
+                                                    kubernetesClient,
+                                                    podCache,
+                                                    namespace,
+                                                    clusterId)),
+                    shutdownTimeout);
+            blockingCalls.run(
+                    () -> FlinkUtils.deleteHaConfigMaps(namespace, clusterId, kubernetesClient));
+        }
     }
 
     public void triggerSavepoint(
@@ -416,78 +877,181 @@ public class FlinkService {
             org.apache.flink.kubernetes.operator.crd.status.SavepointInfo savepointInfo,
             Configuration conf)
             throws Exception {
+        String triggerId = get(triggerSavepointAsync(jobId, conf));
+        savepointInfo.setTrigger(triggerId, SavepointTriggerType.MANUAL);
+    }
+
+    /** Trigger a savepoint for the job, the returned future completes with the trigger id. */
+    public CompletableFuture<String> triggerSavepointAsync(String jobId, Configuration conf) {
         LOG.info("Triggering new savepoint");
-        try (RestClusterClient<String> clusterClient =
-                (RestClusterClient<String>) getClusterClient(conf)) {
-            SavepointTriggerHeaders savepointTriggerHeaders = SavepointTriggerHeaders.getInstance();
-            SavepointTriggerMessageParameters savepointTriggerMessageParameters =
-                    savepointTriggerHeaders.getUnresolvedMessageParameters();
-            savepointTriggerMessageParameters.jobID.resolve(JobID.fromHexString(jobId));
-
-            final String savepointDirectory =
-                    Preconditions.checkNotNull(conf.get(CheckpointingOptions.SAVEPOINT_DIRECTORY));
-            final long timeout = operatorConfiguration.getFlinkClientTimeout().getSeconds();
-            TriggerResponse response =
-                    clusterClient
-                            .sendRequest(
-                                    savepointTriggerHeaders,
-                                    savepointTriggerMessageParameters,
-                                    new SavepointTriggerRequestBody(savepointDirectory, false))
-                            .get(timeout, TimeUnit.SECONDS);
-            LOG.info("Savepoint successfully triggered: " + response.getTriggerId().toHexString());
-
-            savepointInfo.setTrigger(response.getTriggerId().toHexString());
-            savepointInfo.setTriggerTimestamp(System.currentTimeMillis());
-        }
+        return triggerSavepointOperationAsync(
+                jobId,
+                conf,
+                SavepointTriggerHeaders.getInstance(),
+                savepointDirectory -> new SavepointTriggerRequestBody(savepointDirectory, false));
+    }
+
+    /**
+     * Stop the job with a savepoint without waiting for the savepoint, and record the trigger in
+     * the savepoint info. The savepoint result is fetched like for any other savepoint trigger.
+     */
+    public void stopWithSavepoint(
+            String jobId,
+            org.apache.flink.kubernetes.operator.crd.status.SavepointInfo savepointInfo,
+            Configuration conf)
+            throws Exception {
+        String triggerId = get(stopWithSavepointAsync(jobId, conf));
+        savepointInfo.setTrigger(triggerId, SavepointTriggerType.STOP);
+    }
+
+    /** Stop the job with a savepoint, the returned future completes with the trigger id. */
+    public CompletableFuture<String> stopWithSavepointAsync(String jobId, Configuration conf) {
+        LOG.info("Stopping job with savepoint");
+        return triggerSavepointOperationAsync(
+                jobId,
+                conf,
+                StopWithSavepointTriggerHeaders.getInstance(),
+                savepointDirectory -> new StopWithSavepointRequestBody(savepointDirectory, false));
+    }
+
+    private <R extends RequestBody> CompletableFuture<String> triggerSavepointOperationAsync(
+            String jobId,
+            Configuration conf,
+            AsynchronousOperationTriggerMessageHeaders<R, SavepointTriggerMessageParameters>
+                    triggerHeaders,
+            Function<String, R> requestBody) {
+        SavepointTriggerMessageParameters savepointTriggerMessageParameters =
+                triggerHeaders.getUnresolvedMessageParameters();
+        savepointTriggerMessageParameters.jobID.resolve(JobID.fromHexString(jobId));
+
+        final String savepointDirectory =
+                Preconditions.checkNotNull(conf.get(CheckpointingOptions.SAVEPOINT_DIRECTORY));
+        return sendRequest(
+                        conf,
+                        triggerHeaders,
+                        savepointTriggerMessageParameters,
+                        requestBody.apply(savepointDirectory),
+                        Collections.emptyList())
+                .thenApply(
+                        response -> {
+                            String triggerId = response.getTriggerId().toHexString();
+                            LOG.info("Savepoint successfully triggered: " + triggerId);
+                            return triggerId;
+                        });
     }
 
     public SavepointFetchResult fetchSavepointInfo(
             String triggerId, String jobId, Configuration conf) throws Exception {
+        return get(fetchSavepointInfoAsync(triggerId, jobId, conf));
+    }
+
+    public CompletableFuture<SavepointFetchResult> fetchSavepointInfoAsync(
+            String triggerId, String jobId, Configuration conf) {
         LOG.info("Fetching savepoint result with triggerId: " + triggerId);
-        try (RestClusterClient<String> clusterClient =
-                (RestClusterClient<String>) getClusterClient(conf)) {
-            SavepointStatusHeaders savepointStatusHeaders = SavepointStatusHeaders.getInstance();
-            SavepointStatusMessageParameters savepointStatusMessageParameters =
-                    savepointStatusHeaders.getUnresolvedMessageParameters();
-            savepointStatusMessageParameters.jobIdPathParameter.resolve(JobID.fromHexString(jobId));
-            savepointStatusMessageParameters.triggerIdPathParameter.resolve(
-                    TriggerId.fromHexString(triggerId));
-            CompletableFuture<AsynchronousOperationResult<SavepointInfo>> response =
-                    clusterClient.sendRequest(
-                            savepointStatusHeaders,
-                            savepointStatusMessageParameters,
-                            EmptyRequestBody.getInstance());
-
-            if (response.get() == null || response.get().resource() == null) {
-                return SavepointFetchResult.notTriggered();
-            }
+        SavepointStatusHeaders savepointStatusHeaders = SavepointStatusHeaders.getInstance();
+        SavepointStatusMessageParameters savepointStatusMessageParameters =
+                savepointStatusHeaders.getUnresolvedMessageParameters();
+        savepointStatusMessageParameters.jobIdPathParameter.resolve(JobID.fromHexString(jobId));
+        savepointStatusMessageParameters.triggerIdPathParameter.resolve(
+                TriggerId.fromHexString(triggerId));
+        return sendRequest(
+                        conf,
+                        savepointStatusHeaders,
+                        savepointStatusMessageParameters,
+                        EmptyRequestBody.getInstance(),
+                        Collections.emptyList())
+                .thenApply(FlinkService::toSavepointFetchResult)
+                .whenComplete(
+                        (result, throwable) -> {
+                            // A completed stop with savepoint has also stopped the job
+                            if (result != null && result.getSavepoint() != null) {
+                                invalidateJobListings(conf);
+                            }
+                        })
+                .thenCompose(
+                        result ->
+                                result.getSavepoint() == null
+                                        ? CompletableFuture.completedFuture(result)
+                                        : withCompletionTimestamp(result, jobId, conf));
+    }
 
-            if (response.get().resource().getLocation() == null) {
-                if (response.get().resource().getFailureCause() != null) {
-                    LOG.error("Savepoint error", response.get().resource().getFailureCause());
-                    return SavepointFetchResult.error(
-                            response.get().resource().getFailureCause().getMessage());
-                } else {
-                    return SavepointFetchResult.pending();
-                }
-            }
+    /**
+     * Replace the timestamp of the completed savepoint, taken when the result was fetched, with its
+     * completion time from the checkpoint statistics of the job. The fetched timestamp lags the
+     * completion by up to one observer interval, it is kept as an upper bound when the statistics
+     * are unavailable or already list a later savepoint.
+     */
+    private CompletableFuture<SavepointFetchResult> withCompletionTimestamp(
+            SavepointFetchResult result, String jobId, Configuration conf) {
+        CheckpointingStatisticsHeaders checkpointingStatisticsHeaders =
+                CheckpointingStatisticsHeaders.getInstance();
+        JobMessageParameters jobMessageParameters =
+                checkpointingStatisticsHeaders.getUnresolvedMessageParameters();
+        jobMessageParameters.jobPathParameter.resolve(JobID.fromHexString(jobId));
+        String location = result.getSavepoint().getLocation();
+        return sendRequest(
+                        conf,
+                        checkpointingStatisticsHeaders,
+                        jobMessageParameters,
+                        EmptyRequestBody.getInstance(),
+                        Collections.emptyList())
+                .thenApply(
+                        statistics -> {
+                            CheckpointStatistics.CompletedCheckpointStatistics savepointStatistics =
+                                    statistics.getLatestCheckpoints() == null
+                                            ? null
+                                            : statistics
+                                                    .getLatestCheckpoints()
+                                                    .getSavepointStatistics();
+                            if (savepointStatistics == null
+                                    || !location.equals(savepointStatistics.getExternalPath())) {
+                                return result;
+                            }
+                            return SavepointFetchResult.completed(
+                                    new Savepoint(
+                                            savepointStatistics.getLatestAckTimestamp(), location));
+                        })
+                .exceptionally(
+                        e -> {
+                            LOG.debug(
+                                    "Failed to fetch the completion time of savepoint {}",
+                                    location,
+                                    e);
+                            return result;
+                        });
+    }
+
+    private static SavepointFetchResult toSavepointFetchResult(
+            AsynchronousOperationResult<SavepointInfo> response) {
+        if (response == null || response.resource() == null) {
+            return SavepointFetchResult.notTriggered();
+        }
 
-            Savepoint savepoint =
-                    new Savepoint(
-                            System.currentTimeMillis(), response.get().resource().getLocation());
-            LOG.info("Savepoint result: " + savepoint);
-            return SavepointFetchResult.completed(savepoint);
+        if (response.resource().getLocation() == null) {
+            if (response.resource().getFailureCause() != null) {
+                LOG.error("Savepoint error", response.resource().getFailureCause());
+                return SavepointFetchResult.error(
+                        response.resource().getFailureCause().getMessage());
+            } else {
+                return SavepointFetchResult.pending();
+            }
         }
+
+        Savepoint savepoint =
+                new Savepoint(System.currentTimeMillis(), response.resource().getLocation());
+        LOG.info("Savepoint result: " + savepoint);
+        return SavepointFetchResult.completed(savepoint);
     }
 
     public PodList getJmPodList(FlinkDeployment deployment, Configuration conf) {
         final String namespace = conf.getString(KubernetesConfigOptions.NAMESPACE);
-        final String clusterId;
-        try (ClusterClient<String> clusterClient = getClusterClient(conf)) {
-            clusterId = clusterClient.getClusterId();
-        } catch (Exception ex) {
-            throw new RuntimeException(ex);
-        }
-        return FlinkUtils.getJmPodList(kubernetesClient, namespace, clusterId);
+        final String clusterId = conf.getString(KubernetesConfigOptions.CLUSTER_ID);
+        return blockingCalls.call(
+                () -> FlinkUtils.getJmPodList(kubernetesClient, podCache, namespace, clusterId));
+    }
+
+    /** The cache of the JobManager pods watched by the informers of this service. */
+    public PodCache getPodCache() {
+        return podCache;
     }
 }
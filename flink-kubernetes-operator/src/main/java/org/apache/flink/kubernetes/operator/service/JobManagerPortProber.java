@@ -0,0 +1,242 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.kubernetes.operator.service;
+
+import org.apache.flink.annotation.VisibleForTesting;
+
+import lombok.Value;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.LongSupplier;
+
+/**
+ * Probes whether the JobManager ports accept connections. All probes are non-blocking connects
+ * multiplexed on a single selector thread, so probing many JobManagers at once neither blocks the
+ * reconcile threads nor needs a thread per probe. Results are kept for a short time to live and
+ * concurrent probes of the same endpoint are coalesced.
+ */
+public class JobManagerPortProber implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(JobManagerPortProber.class);
+
+    private final Map<Endpoint, Probe> probes = new ConcurrentHashMap<>();
+    private final Queue<Probe> registrations = new ConcurrentLinkedQueue<>();
+    private final long connectTimeoutMillis;
+    private final long cacheTtlMillis;
+    private final LongSupplier clock;
+
+    private Selector selector;
+    private Thread selectorThread;
+    private volatile boolean closed;
+
+    public JobManagerPortProber(Duration connectTimeout, Duration cacheTtl) {
+        this(connectTimeout, cacheTtl, System::currentTimeMillis);
+    }
+
+    @VisibleForTesting
+    JobManagerPortProber(Duration connectTimeout, Duration cacheTtl, LongSupplier clock) {
+        this.connectTimeoutMillis = connectTimeout.toMillis();
+        this.cacheTtlMillis = cacheTtl.toMillis();
+        this.clock = clock;
+    }
+
+    /**
+     * Get the recent readiness of the port. If there is no recent result a probe is started and
+     * awaited for at most the connect timeout, the port is reported as not ready if the probe does
+     * not complete in time.
+     */
+    public boolean isReady(String host, int port) {
+        try {
+            return probe(host, port).get(connectTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException | TimeoutException e) {
+            return false;
+        }
+    }
+
+    /** Probe the port, or join the recent probe of the same port. */
+    public CompletableFuture<Boolean> probe(String host, int port) {
+        // Drop the results of endpoints that are not probed anymore, e.g. of deleted clusters
+        probes.values().removeIf(p -> !isRecent(p));
+        Endpoint endpoint = new Endpoint(host, port);
+        Probe probe = probes.compute(endpoint, (e, p) -> isRecent(p) ? p : new Probe(e));
+        if (probe.start()) {
+            connect(probe);
+        }
+        return probe.result.copy();
+    }
+
+    private boolean isRecent(Probe probe) {
+        if (probe == null) {
+            return false;
+        }
+        return !probe.result.isDone() || clock.getAsLong() - probe.completedAt <= cacheTtlMillis;
+    }
+
+    private void connect(Probe probe) {
+        // The address is resolved by the caller, the selector thread must not block on DNS
+        InetSocketAddress address =
+                new InetSocketAddress(probe.endpoint.getHost(), probe.endpoint.getPort());
+        if (address.isUnresolved()) {
+            complete(probe, false);
+            return;
+        }
+        try {
+            probe.channel = SocketChannel.open();
+            probe.channel.configureBlocking(false);
+            if (probe.channel.connect(address)) {
+                complete(probe, true);
+                return;
+            }
+            probe.deadline = System.nanoTime() + connectTimeoutMillis * 1_000_000;
+            registrations.add(probe);
+            getSelector().wakeup();
+        } catch (IOException | ClosedSelectorException e) {
+            complete(probe, false);
+        }
+    }
+
+    private synchronized Selector getSelector() throws IOException {
+        if (closed) {
+            throw new IOException("The prober has been closed");
+        }
+        if (selector == null) {
+            selector = Selector.open();
+            selectorThread = new Thread(this::run, "Flink-JobManager-Prober");
+            selectorThread.setDaemon(true);
+            selectorThread.start();
+        }
+        return selector;
+    }
+
+    private void run() {
+        while (!closed) {
+            try {
+                Probe registration;
+                while ((registration = registrations.poll()) != null) {
+                    registration.channel.register(selector, SelectionKey.OP_CONNECT, registration);
+                }
+
+                selector.select(connectTimeoutMillis);
+
+                Iterator<SelectionKey> selected = selector.selectedKeys().iterator();
+                while (selected.hasNext()) {
+                    SelectionKey key = selected.next();
+                    selected.remove();
+                    key.cancel();
+                    Probe probe = (Probe) key.attachment();
+                    boolean ready;
+                    try {
+                        ready = probe.channel.finishConnect();
+                    } catch (IOException e) {
+                        ready = false;
+                    }
+                    complete(probe, ready);
+                }
+
+                long now = System.nanoTime();
+                for (SelectionKey key : selector.keys()) {
+                    Probe probe = (Probe) key.attachment();
+                    if (key.isValid() && now - probe.deadline >= 0) {
+                        key.cancel();
+                        complete(probe, false);
+                    }
+                }
+            } catch (Exception e) {
+                if (!closed) {
+                    LOG.error("Failed to probe JobManager ports", e);
+                }
+            }
+        }
+    }
+
+    private void complete(Probe probe, boolean ready) {
+        if (probe.channel != null) {
+            try {
+                probe.channel.close();
+            } catch (IOException e) {
+                LOG.debug("Failed to close the probe connection", e);
+            }
+        }
+        probe.completedAt = clock.getAsLong();
+        probe.result.complete(ready);
+    }
+
+    @VisibleForTesting
+    int size() {
+        return probes.size();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        closed = true;
+        if (selector != null) {
+            selector.close();
+            selector = null;
+        }
+        probes.values().forEach(probe -> probe.result.complete(false));
+        probes.clear();
+    }
+
+    @Value
+    private static class Endpoint {
+        String host;
+        int port;
+    }
+
+    /** A single connection attempt to an endpoint. */
+    private static class Probe {
+        private final CompletableFuture<Boolean> result = new CompletableFuture<>();
+        private final Endpoint endpoint;
+        private SocketChannel channel;
+        private long deadline;
+        private volatile long completedAt;
+        private boolean started;
+
+        private Probe(Endpoint endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        private synchronized boolean start() {
+            if (started) {
+                return false;
+            }
+            started = true;
+            return true;
+        }
+    }
+}
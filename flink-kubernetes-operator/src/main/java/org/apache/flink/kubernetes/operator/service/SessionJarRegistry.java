@@ -0,0 +1,277 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.kubernetes.operator.service;
+
+import org.apache.flink.annotation.VisibleForTesting;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps track of the jars uploaded to session clusters, keyed by the content hash of the jar, so
+ * that session jobs using the same artifact share a single upload. Each jar is referenced by the
+ * session jobs that were last submitted from it. Jars without references are kept for reuse and
+ * only deleted from the cluster once more than the configured number of unused jars pile up, least
+ * recently used first.
+ *
+ * <p>The registry only lives in memory. Jars are therefore uploaded under a name marking them as
+ * uploaded by the operator, and before the first submission to a cluster the jars of the cluster
+ * are recovered from the listing of the JobManager: marked jars that are not tracked have been left
+ * behind, e.g. by a previous operator instance, and are deleted.
+ */
+public class SessionJarRegistry {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SessionJarRegistry.class);
+
+    private static final String OWNED_JAR_PREFIX = "flink-operator-";
+
+    private final Map<String, ClusterJars> clusters = new HashMap<>();
+    private final int maxUnusedJars;
+
+    public SessionJarRegistry(int maxUnusedJars) {
+        this.maxUnusedJars = maxUnusedJars;
+    }
+
+    /** The name to upload a jar with the given file name under, marking it as owned. */
+    public static String ownedJarName(String fileName) {
+        return OWNED_JAR_PREFIX + fileName;
+    }
+
+    /** Whether the jar with the given id on the JobManager has been uploaded by the operator. */
+    public static boolean isOwnedJar(String jarId) {
+        // The JobManager stores uploaded jars as <uuid>_<file name>
+        return jarId.substring(jarId.indexOf('_') + 1).startsWith(OWNED_JAR_PREFIX);
+    }
+
+    /**
+     * Recover the jars of the cluster, if not done yet. The recovery runs once per cluster, until
+     * it succeeds or the cluster is invalidated, and concurrent callers share it.
+     *
+     * @param recovery Lists the jars of the cluster and deletes the untracked owned ones, see
+     *     {@link #getUntrackedOwnedJars}.
+     * @return Future completing once the recovery is done, it fails if the recovery failed.
+     */
+    public synchronized CompletableFuture<Void> recover(
+            String cluster, Supplier<CompletableFuture<Void>> recovery) {
+        ClusterJars clusterJars = clusters.computeIfAbsent(cluster, c -> new ClusterJars());
+        if (clusterJars.recovery == null || clusterJars.recovery.isCompletedExceptionally()) {
+            clusterJars.recovery = recovery.get();
+        }
+        return clusterJars.recovery;
+    }
+
+    /**
+     * Get the jars of the given JobManager listing that were uploaded by the operator but are not
+     * tracked by the registry.
+     */
+    public synchronized List<String> getUntrackedOwnedJars(
+            String cluster, Collection<String> jarIds) {
+        ClusterJars clusterJars = clusters.get(cluster);
+        Set<String> tracked = new HashSet<>();
+        if (clusterJars != null) {
+            clusterJars.jars.values().forEach(jar -> tracked.add(jar.jarId));
+        }
+        return jarIds.stream()
+                .filter(jarId -> isOwnedJar(jarId) && !tracked.contains(jarId))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Acquire the uploaded jar with the given source artifact fingerprint for the session job.
+     *
+     * @return The acquired jar, or {@code Optional.empty()} if there is no such jar.
+     */
+    public synchronized Optional<UploadedJar> acquireByFingerprint(
+            String cluster, String sessionJob, String fingerprint) {
+        ClusterJars clusterJars = clusters.get(cluster);
+        String contentHash = clusterJars == null ? null : clusterJars.fingerprints.get(fingerprint);
+        return contentHash == null
+                ? Optional.empty()
+                : acquireByContentHash(cluster, sessionJob, contentHash, null);
+    }
+
+    /**
+     * Acquire the uploaded jar with the given content hash for the session job.
+     *
+     * @param fingerprint Fingerprint of the source artifact, recorded for later lookups.
+     * @return The acquired jar, or {@code Optional.empty()} if there is no such jar.
+     */
+    public synchronized Optional<UploadedJar> acquireByContentHash(
+            String cluster, String sessionJob, String contentHash, @Nullable String fingerprint) {
+        ClusterJars clusterJars = clusters.get(cluster);
+        UploadedJar jar = clusterJars == null ? null : clusterJars.jars.get(contentHash);
+        if (jar == null) {
+            return Optional.empty();
+        }
+        if (fingerprint != null) {
+            clusterJars.fingerprints.put(fingerprint, contentHash);
+        }
+        clusterJars.acquire(sessionJob, jar);
+        return Optional.of(jar);
+    }
+
+    /**
+     * Register a jar uploaded to the cluster and acquire it for the session job.
+     *
+     * @return False if a jar with the same content has been registered concurrently, in that case
+     *     the new jar is not tracked and has to be deleted by the caller after use.
+     */
+    public synchronized boolean register(
+            String cluster,
+            String sessionJob,
+            String contentHash,
+            @Nullable String fingerprint,
+            String jarId) {
+        ClusterJars clusterJars = clusters.computeIfAbsent(cluster, c -> new ClusterJars());
+        if (clusterJars.jars.containsKey(contentHash)) {
+            return false;
+        }
+        UploadedJar jar = new UploadedJar(contentHash, jarId);
+        clusterJars.jars.put(contentHash, jar);
+        if (fingerprint != null) {
+            clusterJars.fingerprints.put(fingerprint, contentHash);
+        }
+        clusterJars.acquire(sessionJob, jar);
+        return true;
+    }
+
+    /** Release the jar the given session job was submitted from, e.g. when the job was deleted. */
+    public synchronized void release(String cluster, String sessionJob) {
+        ClusterJars clusterJars = clusters.get(cluster);
+        if (clusterJars != null) {
+            clusterJars.release(sessionJob);
+        }
+    }
+
+    /**
+     * Evict the least recently used jars of the cluster that are not used by any session job,
+     * keeping at most the configured number of unused jars.
+     *
+     * @return The ids of the evicted jars, which should be deleted from the cluster.
+     */
+    public synchronized List<String> evictUnused(String cluster) {
+        ClusterJars clusterJars = clusters.get(cluster);
+        if (clusterJars == null) {
+            return Collections.emptyList();
+        }
+        long unused = clusterJars.jars.values().stream().filter(j -> j.references <= 0).count();
+        List<String> evicted = new ArrayList<>();
+        Iterator<UploadedJar> it = clusterJars.jars.values().iterator();
+        while (unused > maxUnusedJars && it.hasNext()) {
+            UploadedJar jar = it.next();
+            if (jar.references <= 0) {
+                LOG.info("Evicting unused jar {}", jar.jarId);
+                it.remove();
+                clusterJars.fingerprints.values().removeIf(jar.contentHash::equals);
+                evicted.add(jar.jarId);
+                unused--;
+            }
+        }
+        return evicted;
+    }
+
+    /**
+     * Forget the given jar without deleting it from the cluster, only to be used when the cluster
+     * does not know the jar anymore.
+     */
+    public synchronized void remove(String cluster, String contentHash) {
+        ClusterJars clusterJars = clusters.get(cluster);
+        if (clusterJars != null) {
+            clusterJars.jars.remove(contentHash);
+            clusterJars.fingerprints.values().removeIf(contentHash::equals);
+        }
+    }
+
+    /** Forget all jars of the matching clusters, e.g. when the cluster has been redeployed. */
+    public synchronized void invalidate(Predicate<String> clusterPredicate) {
+        clusters.keySet().removeIf(clusterPredicate);
+    }
+
+    @VisibleForTesting
+    synchronized int getReferences(String cluster, String contentHash) {
+        ClusterJars clusterJars = clusters.get(cluster);
+        UploadedJar jar = clusterJars == null ? null : clusterJars.jars.get(contentHash);
+        return jar == null ? -1 : jar.references;
+    }
+
+    /** A jar uploaded to a session cluster. */
+    public static class UploadedJar {
+        private final String contentHash;
+        private final String jarId;
+        private int references;
+
+        private UploadedJar(String contentHash, String jarId) {
+            this.contentHash = contentHash;
+            this.jarId = jarId;
+        }
+
+        public String getContentHash() {
+            return contentHash;
+        }
+
+        public String getJarId() {
+            return jarId;
+        }
+    }
+
+    /** The jars of a single session cluster, iterated from least to most recently used. */
+    private static class ClusterJars {
+        private final Map<String, UploadedJar> jars = new LinkedHashMap<>(16, 0.75f, true);
+        private final Map<String, String> fingerprints = new HashMap<>();
+        private final Map<String, String> sessionJobs = new HashMap<>();
+        private CompletableFuture<Void> recovery;
+
+        private void acquire(String sessionJob, UploadedJar jar) {
+            String previous = sessionJobs.put(sessionJob, jar.contentHash);
+            if (jar.contentHash.equals(previous)) {
+                return;
+            }
+            jar.references++;
+            dereference(previous);
+        }
+
+        private void release(String sessionJob) {
+            dereference(sessionJobs.remove(sessionJob));
+        }
+
+        private void dereference(@Nullable String contentHash) {
+            UploadedJar jar = contentHash == null ? null : jars.get(contentHash);
+            if (jar != null) {
+                jar.references--;
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.kubernetes.operator.service;
+
+import org.apache.flink.annotation.VisibleForTesting;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent requests for the same key into a single in flight request. Successful
+ * results are optionally kept for a short time to live, failures are never cached.
+ *
+ * @param <K> Key of the request, typically identifying the target cluster.
+ * @param <V> Result of the request.
+ */
+public class SingleFlightCache<K, V> {
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final long ttlMillis;
+    private final LongSupplier clock;
+
+    public SingleFlightCache(Duration ttl) {
+        this(ttl, System::currentTimeMillis);
+    }
+
+    @VisibleForTesting
+    SingleFlightCache(Duration ttl, LongSupplier clock) {
+        this.ttlMillis = ttl.toMillis();
+        this.clock = clock;
+    }
+
+    /**
+     * Get the result for the key. Joins the in flight request or returns the cached result if there
+     * is one, otherwise starts a new request with the loader. Every caller receives its own copy of
+     * the shared future, so completing or cancelling it does not affect other callers.
+     */
+    public CompletableFuture<V> get(K key, Supplier<CompletableFuture<V>> loader) {
+        Entry<V> entry = entries.compute(key, (k, e) -> isUsable(e) ? e : new Entry<>());
+        if (entry.startLoading()) {
+            CompletableFuture<V> loaded;
+            try {
+                loaded = loader.get();
+            } catch (Throwable t) {
+                loaded = CompletableFuture.failedFuture(t);
+            }
+            loaded.whenComplete(
+                    (value, throwable) -> {
+                        if (throwable != null) {
+                            entries.remove(key, entry);
+                            entry.future.completeExceptionally(throwable);
+                        } else {
+                            entry.completedAt = clock.getAsLong();
+                            if (ttlMillis <= 0) {
+                                entries.remove(key, entry);
+                            }
+                            entry.future.complete(value);
+                        }
+                    });
+        }
+        return entry.future.copy();
+    }
+
+    /** Drop the in flight requests and cached results of all matching keys. */
+    public void invalidate(Predicate<K> keyPredicate) {
+        entries.keySet().removeIf(keyPredicate);
+    }
+
+    @VisibleForTesting
+    int size() {
+        return entries.size();
+    }
+
+    private boolean isUsable(Entry<V> entry) {
+        if (entry == null) {
+            return false;
+        }
+        if (!entry.future.isDone()) {
+            return true;
+        }
+        return !entry.future.isCompletedExceptionally()
+                && clock.getAsLong() - entry.completedAt <= ttlMillis;
+    }
+
+    private static class Entry<V> {
+        private final CompletableFuture<V> future = new CompletableFuture<>();
+        private volatile long completedAt;
+        private boolean loading;
+
+        private synchronized boolean startLoading() {
+            if (loading) {
+                return false;
+            }
+            loading = true;
+            return true;
+        }
+    }
+}
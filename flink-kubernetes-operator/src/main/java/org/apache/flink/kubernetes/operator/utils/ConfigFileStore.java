@@ -0,0 +1,321 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.kubernetes.operator.utils;
+
+import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.configuration.ConfigOption;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.configuration.DeploymentOptionsInternal;
+import org.apache.flink.kubernetes.configuration.KubernetesConfigOptions;
+import org.apache.flink.kubernetes.operator.config.FlinkOperatorConfiguration;
+import org.apache.flink.kubernetes.operator.config.KubernetesOperatorConfigOptions;
+import org.apache.flink.metrics.MetricGroup;
+import org.apache.flink.util.FileUtils;
+import org.apache.flink.util.StringUtils;
+import org.apache.flink.util.clock.Clock;
+import org.apache.flink.util.clock.SystemClock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Content addressed store of the pod template and log configuration files referenced by the
+ * effective configurations. Files with the same content are written once and shared, and every
+ * store call takes a reference on the file that is given back by {@link #release}. Files without
+ * references are deleted once they have not been used for a grace period, as are the files left
+ * behind by previous operator runs.
+ *
+ * <p>The directory can be shared by several operator instances, which only know their own
+ * references. The modification time of a file is its last use by any instance: it is refreshed when
+ * a file is stored and, by the garbage collection running every half grace period, for the files
+ * still referenced. Files are only deleted once their modification time is older than the grace
+ * period, so the instances sharing a directory must use the same grace period.
+ */
+public class ConfigFileStore {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ConfigFileStore.class);
+
+    private static final String DEFAULT_DIR_NAME = "flink-operator-config-files";
+    private static final String TMP_PREFIX = ".tmp-";
+
+    private static final List<ConfigOption<String>> FILE_OPTIONS =
+            List.of(
+                    KubernetesConfigOptions.KUBERNETES_POD_TEMPLATE,
+                    KubernetesConfigOptions.JOB_MANAGER_POD_TEMPLATE,
+                    KubernetesConfigOptions.TASK_MANAGER_POD_TEMPLATE,
+                    DeploymentOptionsInternal.CONF_DIR);
+
+    private final File dir;
+    private final Duration gracePeriod;
+    private final Clock clock;
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    private long diskUsage;
+    private volatile long lastGc;
+
+    /**
+     * Store in the default directory with the default grace period, for the configurations built
+     * outside of the operator.
+     */
+    public ConfigFileStore() {
+        this(
+                new File(System.getProperty("java.io.tmpdir"), DEFAULT_DIR_NAME),
+                KubernetesOperatorConfigOptions.OPERATOR_CONFIG_FILES_GC_GRACE_PERIOD
+                        .defaultValue(),
+                SystemClock.getInstance());
+    }
+
+    public ConfigFileStore(FlinkOperatorConfiguration operatorConfiguration) {
+        this(
+                StringUtils.isNullOrWhitespaceOnly(operatorConfiguration.getConfigFilesDir())
+                        ? new File(System.getProperty("java.io.tmpdir"), DEFAULT_DIR_NAME)
+                        : new File(operatorConfiguration.getConfigFilesDir()),
+                operatorConfiguration.getConfigFilesGcGracePeriod(),
+                SystemClock.getInstance());
+    }
+
+    @VisibleForTesting
+    ConfigFileStore(File dir, Duration gracePeriod, Clock clock) {
+        this.dir = normalize(dir);
+        this.gracePeriod = gracePeriod;
+        this.clock = clock;
+        this.lastGc = clock.absoluteTimeMillis();
+    }
+
+    /** Store a file with the given content and return its path. */
+    public synchronized String storeFile(String prefix, String suffix, String content)
+            throws IOException {
+        String name = prefix + "-" + hash(content) + suffix;
+        Entry entry = entries.get(name);
+        if (entry == null) {
+            File file = new File(dir, name);
+            if (!file.exists()) {
+                File tmp = createTmp();
+                Files.writeString(tmp.toPath(), content);
+                move(tmp, file);
+            }
+            entry = addEntry(name, file);
+        }
+        entry.references++;
+        touch(entry.file, clock.absoluteTimeMillis());
+        maybeGc();
+        return entry.file.getAbsolutePath();
+    }
+
+    /** Store a directory with the given file names and contents and return its path. */
+    public synchronized String storeDirectory(String prefix, Map<String, String> files)
+            throws IOException {
+        Map<String, String> sortedFiles = new TreeMap<>(files);
+        StringBuilder digestInput = new StringBuilder();
+        sortedFiles.forEach(
+                (fileName, content) ->
+                        digestInput
+                                .append(fileName)
+                                .append('\0')
+                                .append(content.length())
+                                .append('\0')
+                                .append(content));
+        String name = prefix + "-" + hash(digestInput.toString());
+        Entry entry = entries.get(name);
+        if (entry == null) {
+            File directory = new File(dir, name);
+            if (!directory.exists()) {
+                File tmp = createTmp();
+                Files.createDirectory(tmp.toPath());
+                for (Map.Entry<String, String> file : sortedFiles.entrySet()) {
+                    Files.writeString(new File(tmp, file.getKey()).toPath(), file.getValue());
+                }
+                move(tmp, directory);
+            }
+            entry = addEntry(name, directory);
+        }
+        entry.references++;
+        touch(entry.file, clock.absoluteTimeMillis());
+        maybeGc();
+        return entry.file.getAbsolutePath();
+    }
+
+    /** Release the references on the stored files the configuration points to. */
+    public void release(Configuration conf) {
+        for (ConfigOption<String> option : FILE_OPTIONS) {
+            conf.getOptional(option).ifPresent(this::release);
+        }
+    }
+
+    /** Release a reference on a stored file, paths outside of the store are ignored. */
+    public synchronized void release(String path) {
+        File file = normalize(new File(path));
+        if (!dir.equals(file.getParentFile())) {
+            return;
+        }
+        Entry entry = entries.get(file.getName());
+        if (entry != null && entry.references > 0) {
+            entry.references--;
+            entry.lastReleased = clock.absoluteTimeMillis();
+        }
+        maybeGc();
+    }
+
+    /** Run the garbage collection if it has not run for half the grace period. */
+    public void maybeGc() {
+        if (clock.absoluteTimeMillis() - lastGc >= gracePeriod.toMillis() / 2) {
+            synchronized (this) {
+                if (clock.absoluteTimeMillis() - lastGc >= gracePeriod.toMillis() / 2) {
+                    gc();
+                }
+            }
+        }
+    }
+
+    /**
+     * Refresh the modification time of the referenced files and delete the files that have been
+     * unused for the grace period, including the ones of previous runs.
+     */
+    public synchronized void gc() {
+        long now = clock.absoluteTimeMillis();
+        lastGc = now;
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next().getValue();
+            if (entry.references > 0) {
+                touch(entry.file, now);
+            } else if (now - entry.lastReleased >= gracePeriod.toMillis()) {
+                // Still used by another instance sharing the directory if touched recently
+                if (now - entry.file.lastModified() >= gracePeriod.toMillis()) {
+                    delete(entry.file);
+                }
+                diskUsage -= entry.size;
+                iterator.remove();
+            }
+        }
+
+        File[] files = dir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                if (!entries.containsKey(file.getName())
+                        && now - file.lastModified() >= gracePeriod.toMillis()) {
+                    delete(file);
+                }
+            }
+        }
+    }
+
+    public void registerMetrics(MetricGroup metricGroup) {
+        metricGroup.gauge("DiskUsage", this::getDiskUsage);
+        metricGroup.gauge("Files", this::getFileCount);
+    }
+
+    public synchronized long getDiskUsage() {
+        return diskUsage;
+    }
+
+    public synchronized int getFileCount() {
+        return entries.size();
+    }
+
+    private Entry addEntry(String name, File file) {
+        Entry entry = new Entry(file, size(file));
+        diskUsage += entry.size;
+        entries.put(name, entry);
+        return entry;
+    }
+
+    private static long size(File file) {
+        File[] children = file.listFiles();
+        if (children == null) {
+            return file.length();
+        }
+        long size = 0;
+        for (File child : children) {
+            size += size(child);
+        }
+        return size;
+    }
+
+    private File createTmp() throws IOException {
+        Files.createDirectories(dir.toPath());
+        return new File(dir, TMP_PREFIX + UUID.randomUUID());
+    }
+
+    private static void move(File from, File to) throws IOException {
+        try {
+            Files.move(from.toPath(), to.toPath(), StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            if (!to.exists()) {
+                throw e;
+            }
+            // Written concurrently by another operator instance sharing the directory
+            delete(from);
+        }
+    }
+
+    private static File normalize(File file) {
+        return file.toPath().toAbsolutePath().normalize().toFile();
+    }
+
+    private static void touch(File file, long time) {
+        if (!file.setLastModified(time)) {
+            LOG.warn("Could not update the modification time of {}", file);
+        }
+    }
+
+    private static void delete(File file) {
+        try {
+            FileUtils.deleteFileOrDirectory(file);
+        } catch (IOException e) {
+            LOG.warn("Could not delete {}", file, e);
+        }
+    }
+
+    private static String hash(String content) {
+        try {
+            return StringUtils.byteToHexString(
+                    MessageDigest.getInstance("SHA-256")
+                            .digest(content.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class Entry {
+        private final File file;
+        private final long size;
+        private int references;
+        private long lastReleased;
+
+        private Entry(File file, long size) {
+            this.file = file;
+            this.size = size;
+        }
+    }
+}
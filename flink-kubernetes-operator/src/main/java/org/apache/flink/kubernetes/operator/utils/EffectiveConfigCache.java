@@ -0,0 +1,225 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.kubernetes.operator.utils;
+
+import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.configuration.UnmodifiableConfiguration;
+import org.apache.flink.kubernetes.operator.crd.spec.FlinkDeploymentSpec;
+import org.apache.flink.kubernetes.operator.crd.spec.UpgradeMode;
+import org.apache.flink.metrics.Counter;
+import org.apache.flink.metrics.MetricGroup;
+import org.apache.flink.metrics.SimpleCounter;
+import org.apache.flink.util.function.FunctionWithException;
+
+import org.apache.flink.shaded.guava30.com.google.common.cache.Cache;
+import org.apache.flink.shaded.guava30.com.google.common.cache.CacheBuilder;
+
+import io.fabric8.kubernetes.api.model.ObjectMeta;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Cache of the effective configurations built from the deployment specs. Building the effective
+ * configuration copies the default configuration and writes the pod templates and log configuration
+ * to new temporary files, while the observer, the reconciler and the session jobs of a deployment
+ * all need the same configuration in every reconcile loop.
+ *
+ * <p>Configurations are cached by the name and namespace of the deployment, its spec and the
+ * default configuration, so a changed spec or default configuration never hits an old entry.
+ * Entries of specs that are no longer used expire after some time. The cached configurations are
+ * unmodifiable snapshots, every caller gets its own copy to modify. The cache holds the references
+ * on the {@link ConfigFileStore} files of the configurations until they are removed.
+ *
+ * <p>The configurations are built by static utilities, which cannot reach the controller, so a
+ * controller binds the cache of the operator to the thread running a reconciliation with {@link
+ * #startReconcile()}. Configurations built outside of a reconciliation are not cached.
+ */
+public class EffectiveConfigCache {
+
+    private static final Duration EXPIRE_AFTER_ACCESS = Duration.ofMinutes(15);
+
+    private static final ThreadLocal<EffectiveConfigCache> CURRENT_CACHE = new ThreadLocal<>();
+
+    private final ConfigFileStore configFileStore;
+    private final Cache<Key, Configuration> configs;
+    private final Counter hits = new SimpleCounter();
+    private final Counter misses = new SimpleCounter();
+
+    public EffectiveConfigCache(ConfigFileStore configFileStore) {
+        this.configFileStore = configFileStore;
+        this.configs =
+                CacheBuilder.newBuilder()
+                        .expireAfterAccess(EXPIRE_AFTER_ACCESS)
+                        .<Key, Configuration>removalListener(
+                                removal -> configFileStore.release(removal.getValue()))
+                        .build();
+    }
+
+    /**
+     * Get a copy of the effective configuration from the cache of the reconciliation running on the
+     * current thread, building it with the file store of the cache if not cached. Outside of a
+     * reconciliation the configuration is built with a store in the default directory.
+     */
+    public static Configuration get(
+            ObjectMeta meta,
+            FlinkDeploymentSpec spec,
+            Configuration defaultConfig,
+            FunctionWithException<ConfigFileStore, Configuration, Exception> builder)
+            throws Exception {
+        EffectiveConfigCache cache = CURRENT_CACHE.get();
+        if (cache == null) {
+            return builder.apply(new ConfigFileStore());
+        }
+        return cache.getConfig(meta, spec, defaultConfig, builder);
+    }
+
+    /**
+     * Remove the configurations of a deployment from the cache of the reconciliation running on the
+     * current thread.
+     */
+    public static void invalidate(ObjectMeta meta) {
+        EffectiveConfigCache cache = CURRENT_CACHE.get();
+        if (cache != null) {
+            cache.invalidateConfigs(meta);
+        }
+    }
+
+    /**
+     * Use this cache for the configurations built on the current thread until the returned
+     * reconciliation is closed.
+     */
+    public Reconciliation startReconcile() {
+        Reconciliation reconciliation = new Reconciliation(CURRENT_CACHE.get());
+        CURRENT_CACHE.set(this);
+        return reconciliation;
+    }
+
+    public void registerMetrics(MetricGroup metricGroup) {
+        metricGroup.counter("Hits", hits);
+        metricGroup.counter("Misses", misses);
+        metricGroup.gauge("Size", configs::size);
+    }
+
+    @VisibleForTesting
+    long getMissCount() {
+        return misses.getCount();
+    }
+
+    private Configuration getConfig(
+            ObjectMeta meta,
+            FlinkDeploymentSpec spec,
+            Configuration defaultConfig,
+            FunctionWithException<ConfigFileStore, Configuration, Exception> builder)
+            throws Exception {
+        Key key = new Key(meta.getNamespace(), meta.getName(), spec, defaultConfig);
+        Configuration config = configs.getIfPresent(key);
+        if (config != null) {
+            hits.inc();
+            // Keeps the files of the cached configurations marked as in use
+            configFileStore.maybeGc();
+        } else {
+            misses.inc();
+            config = new UnmodifiableConfiguration(builder.apply(configFileStore));
+            // Store copies, the caller might still modify the spec or the default config
+            configs.put(key.snapshot(), config);
+        }
+        return new Configuration(config);
+    }
+
+    private void invalidateConfigs(ObjectMeta meta) {
+        configs.asMap()
+                .keySet()
+                .removeIf(
+                        key ->
+                                Objects.equals(key.namespace, meta.getNamespace())
+                                        && Objects.equals(key.name, meta.getName()));
+    }
+
+    /** A reconciliation using the cache on the thread that started it. */
+    public static class Reconciliation implements AutoCloseable {
+        private final EffectiveConfigCache previous;
+
+        private Reconciliation(EffectiveConfigCache previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            if (previous == null) {
+                CURRENT_CACHE.remove();
+            } else {
+                CURRENT_CACHE.set(previous);
+            }
+        }
+    }
+
+    private static class Key {
+        private final String namespace;
+        private final String name;
+        private final FlinkDeploymentSpec spec;
+        // Not part of the spec equality but affects the effective configuration
+        private final UpgradeMode upgradeMode;
+        private final Configuration defaultConfig;
+        private final int hash;
+
+        private Key(
+                String namespace,
+                String name,
+                FlinkDeploymentSpec spec,
+                Configuration defaultConfig) {
+            this.namespace = namespace;
+            this.name = name;
+            this.spec = spec;
+            this.upgradeMode = spec.getJob() == null ? null : spec.getJob().getUpgradeMode();
+            this.defaultConfig = defaultConfig;
+            this.hash = Objects.hash(namespace, name, spec, upgradeMode, defaultConfig);
+        }
+
+        private Key snapshot() {
+            return new Key(
+                    namespace,
+                    name,
+                    ResourceCopier.copy(spec),
+                    new UnmodifiableConfiguration(defaultConfig));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key key = (Key) o;
+            return hash == key.hash
+                    && Objects.equals(namespace, key.namespace)
+                    && Objects.equals(name, key.name)
+                    && upgradeMode == key.upgradeMode
+                    && Objects.equals(spec, key.spec)
+                    && Objects.equals(defaultConfig, key.defaultConfig);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -38,13 +38,13 @@ import io.fabric8.kubernetes.api.model.ObjectMeta;
 import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.client.internal.SerializationUtils;
 
-import java.io.File;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.nio.file.Files;
 import java.time.Duration;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 
 import static org.apache.flink.configuration.DeploymentOptionsInternal.CONF_DIR;
 import static org.apache.flink.configuration.WebOptions.CANCEL_ENABLE;
@@ -58,18 +58,23 @@ public class FlinkConfigBuilder {
     private final ObjectMeta meta;
     private final FlinkDeploymentSpec spec;
     private final Configuration effectiveConfig;
+    private final ConfigFileStore configFileStore;
 
     public static final Duration DEFAULT_CHECKPOINTING_INTERVAL = Duration.ofMinutes(5);
 
     public FlinkConfigBuilder(FlinkDeployment deploy, Configuration flinkConfig) {
-        this(deploy.getMetadata(), deploy.getSpec(), flinkConfig);
+        this(deploy.getMetadata(), deploy.getSpec(), flinkConfig, new ConfigFileStore());
     }
 
     public FlinkConfigBuilder(
-            ObjectMeta metadata, FlinkDeploymentSpec spec, Configuration flinkConfig) {
+            ObjectMeta metadata,
+            FlinkDeploymentSpec spec,
+            Configuration flinkConfig,
+            ConfigFileStore configFileStore) {
         this.meta = metadata;
         this.spec = spec;
         this.effectiveConfig = new Configuration(flinkConfig);
+        this.configFileStore = configFileStore;
     }
 
     public FlinkConfigBuilder applyImage() {
@@ -125,7 +130,7 @@ public class FlinkConfigBuilder {
     public FlinkConfigBuilder applyLogConfiguration() throws IOException {
         if (spec.getLogConfiguration() != null) {
             String confDir =
-                    createLogConfigFiles(
+                    storeLogConfigFiles(
                             spec.getLogConfiguration().get(CONFIG_FILE_LOG4J_NAME),
                             spec.getLogConfiguration().get(CONFIG_FILE_LOGBACK_NAME));
             effectiveConfig.setString(CONF_DIR, confDir);
@@ -137,7 +142,7 @@ public class FlinkConfigBuilder {
         if (spec.getPodTemplate() != null) {
             effectiveConfig.set(
                     KubernetesConfigOptions.KUBERNETES_POD_TEMPLATE,
-                    createTempFile(spec.getPodTemplate()));
+                    storePodTemplate(spec.getPodTemplate()));
         }
         return this;
     }
@@ -219,13 +224,16 @@ public class FlinkConfigBuilder {
 
     public static Configuration buildFrom(FlinkDeployment dep, Configuration flinkConfig)
             throws IOException, URISyntaxException {
-        return buildFrom(dep.getMetadata(), dep.getSpec(), flinkConfig);
+        return buildFrom(dep.getMetadata(), dep.getSpec(), flinkConfig, new ConfigFileStore());
     }
 
     public static Configuration buildFrom(
-            ObjectMeta meta, FlinkDeploymentSpec spec, Configuration flinkConfig)
+            ObjectMeta meta,
+            FlinkDeploymentSpec spec,
+            Configuration flinkConfig,
+            ConfigFileStore configFileStore)
             throws IOException, URISyntaxException {
-        return new FlinkConfigBuilder(meta, spec, flinkConfig)
+        return new FlinkConfigBuilder(meta, spec, flinkConfig, configFileStore)
                 .applyFlinkConfiguration()
                 .applyLogConfiguration()
                 .applyImage()
@@ -255,7 +263,7 @@ public class FlinkConfigBuilder {
         }
     }
 
-    private static void setPodTemplate(
+    private void setPodTemplate(
             Pod basicPod, Pod appendPod, Configuration effectiveConfig, boolean isJM)
             throws IOException {
 
@@ -268,30 +276,24 @@ public class FlinkConfigBuilder {
                         ? KubernetesConfigOptions.JOB_MANAGER_POD_TEMPLATE
                         : KubernetesConfigOptions.TASK_MANAGER_POD_TEMPLATE;
         effectiveConfig.setString(
-                podConfigOption, createTempFile(mergePodTemplates(basicPod, appendPod)));
+                podConfigOption, storePodTemplate(mergePodTemplates(basicPod, appendPod)));
     }
 
-    private static String createLogConfigFiles(String log4jConf, String logbackConf)
-            throws IOException {
-        File tmpDir = Files.createTempDirectory("conf").toFile();
+    private String storeLogConfigFiles(String log4jConf, String logbackConf) throws IOException {
+        Map<String, String> files = new HashMap<>();
 
         if (log4jConf != null) {
-            File log4jConfFile = new File(tmpDir.getAbsolutePath(), CONFIG_FILE_LOG4J_NAME);
-            Files.write(log4jConfFile.toPath(), log4jConf.getBytes());
+            files.put(CONFIG_FILE_LOG4J_NAME, log4jConf);
         }
 
         if (logbackConf != null) {
-            File logbackConfFile = new File(tmpDir.getAbsolutePath(), CONFIG_FILE_LOGBACK_NAME);
-            Files.write(logbackConfFile.toPath(), logbackConf.getBytes());
+            files.put(CONFIG_FILE_LOGBACK_NAME, logbackConf);
         }
-        tmpDir.deleteOnExit();
-        return tmpDir.getAbsolutePath();
+        return configFileStore.storeDirectory("conf", files);
     }
 
-    private static String createTempFile(Pod podTemplate) throws IOException {
-        final File tmp = File.createTempFile("podTemplate_", ".yaml");
-        Files.write(tmp.toPath(), SerializationUtils.dumpAsYaml(podTemplate).getBytes());
-        tmp.deleteOnExit();
-        return tmp.getAbsolutePath();
+    private String storePodTemplate(Pod podTemplate) throws IOException {
+        return configFileStore.storeFile(
+                "podTemplate", ".yaml", SerializationUtils.dumpAsYaml(podTemplate));
     }
 }
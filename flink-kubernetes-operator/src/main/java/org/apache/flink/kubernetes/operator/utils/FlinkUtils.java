@@ -18,6 +18,7 @@
 package org.apache.flink.kubernetes.operator.utils;
 
 import org.apache.flink.configuration.Configuration;
+import org.apache.flink.configuration.DeploymentOptionsInternal;
 import org.apache.flink.configuration.HighAvailabilityOptions;
 import org.apache.flink.kubernetes.configuration.KubernetesConfigOptions;
 import org.apache.flink.kubernetes.highavailability.KubernetesHaServicesFactory;
@@ -27,21 +28,24 @@ import org.apache.flink.kubernetes.operator.crd.spec.FlinkDeploymentSpec;
 import org.apache.flink.kubernetes.utils.Constants;
 import org.apache.flink.kubernetes.utils.KubernetesUtils;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.fabric8.kubernetes.api.model.ConfigMap;
 import io.fabric8.kubernetes.api.model.ConfigMapList;
 import io.fabric8.kubernetes.api.model.ObjectMeta;
 import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.api.model.PodList;
-import io.fabric8.kubernetes.api.model.Service;
 import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.dsl.Resource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Iterator;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.function.BooleanSupplier;
 
 import static org.apache.flink.kubernetes.utils.Constants.LABEL_CONFIGMAP_TYPE_HIGH_AVAILABILITY;
 
@@ -49,7 +53,6 @@ import static org.apache.flink.kubernetes.utils.Constants.LABEL_CONFIGMAP_TYPE_H
 public class FlinkUtils {
 
     private static final Logger LOG = LoggerFactory.getLogger(FlinkUtils.class);
-    private static final ObjectMapper MAPPER = new ObjectMapper();
 
     public static Configuration getEffectiveConfig(
             FlinkDeployment flinkApp, Configuration flinkConfig) {
@@ -60,7 +63,13 @@ public class FlinkUtils {
             ObjectMeta meta, FlinkDeploymentSpec spec, Configuration flinkConfig) {
         try {
             final Configuration effectiveConfig =
-                    FlinkConfigBuilder.buildFrom(meta, spec, flinkConfig);
+                    EffectiveConfigCache.get(
+                            meta,
+                            spec,
+                            flinkConfig,
+                            configFileStore ->
+                                    FlinkConfigBuilder.buildFrom(
+                                            meta, spec, flinkConfig, configFileStore));
             LOG.debug("Effective config: {}", effectiveConfig);
             return effectiveConfig;
         } catch (Exception e) {
@@ -69,46 +78,7 @@ public class FlinkUtils {
     }
 
     public static Pod mergePodTemplates(Pod toPod, Pod fromPod) {
-        if (fromPod == null) {
-            return toPod;
-        } else if (toPod == null) {
-            return fromPod;
-        }
-        JsonNode node1 = MAPPER.valueToTree(toPod);
-        JsonNode node2 = MAPPER.valueToTree(fromPod);
-        mergeInto(node1, node2);
-        try {
-            return MAPPER.treeToValue(node1, Pod.class);
-        } catch (Exception ex) {
-            throw new RuntimeException(ex);
-        }
-    }
-
-    private static void mergeInto(JsonNode toNode, JsonNode fromNode) {
-        Iterator<String> fieldNames = fromNode.fieldNames();
-        while (fieldNames.hasNext()) {
-            String fieldName = fieldNames.next();
-            JsonNode toChildNode = toNode.get(fieldName);
-            JsonNode fromChildNode = fromNode.get(fieldName);
-
-            if (toChildNode != null && toChildNode.isArray() && fromChildNode.isArray()) {
-                // TODO: does merging arrays even make sense or should it just override?
-                for (int i = 0; i < fromChildNode.size(); i++) {
-                    JsonNode updatedChildNode = fromChildNode.get(i);
-                    if (toChildNode.size() <= i) {
-                        // append new node
-                        ((ArrayNode) toChildNode).add(updatedChildNode);
-                    }
-                    mergeInto(toChildNode.get(i), updatedChildNode);
-                }
-            } else if (toChildNode != null && toChildNode.isObject()) {
-                mergeInto(toChildNode, fromChildNode);
-            } else {
-                if (toNode instanceof ObjectNode) {
-                    ((ObjectNode) toNode).replace(fieldName, fromChildNode);
-                }
-            }
-        }
+        return PodTemplateMerger.merge(toPod, fromPod);
     }
 
     public static void deleteCluster(
@@ -139,6 +109,18 @@ public class FlinkUtils {
             KubernetesClient kubernetesClient,
             boolean deleteHaConfigmaps,
             long shutdownTimeout) {
+        deleteClusterDeployment(namespace, clusterId, kubernetesClient);
+
+        if (deleteHaConfigmaps) {
+            // We need to wait for cluster shutdown otherwise HA configmaps might be recreated
+            waitForClusterShutdown(kubernetesClient, namespace, clusterId, shutdownTimeout);
+            deleteHaConfigMaps(namespace, clusterId, kubernetesClient);
+        }
+    }
+
+    /** Delete the JobManager deployment of the Flink cluster, cascading to its resources. */
+    public static void deleteClusterDeployment(
+            String namespace, String clusterId, KubernetesClient kubernetesClient) {
         LOG.info("Deleting Flink cluster resources");
         kubernetesClient
                 .apps()
@@ -147,18 +129,18 @@ public class FlinkUtils {
                 .withName(KubernetesUtils.getDeploymentName(clusterId))
                 .cascading(true)
                 .delete();
+    }
 
-        if (deleteHaConfigmaps) {
-            // We need to wait for cluster shutdown otherwise HA configmaps might be recreated
-            waitForClusterShutdown(kubernetesClient, namespace, clusterId, shutdownTimeout);
-            kubernetesClient
-                    .configMaps()
-                    .inNamespace(namespace)
-                    .withLabels(
-                            KubernetesUtils.getConfigMapLabels(
-                                    clusterId, LABEL_CONFIGMAP_TYPE_HIGH_AVAILABILITY))
-                    .delete();
-        }
+    /** Delete the native Kubernetes HA config maps of the Flink cluster. */
+    public static void deleteHaConfigMaps(
+            String namespace, String clusterId, KubernetesClient kubernetesClient) {
+        kubernetesClient
+                .configMaps()
+                .inNamespace(namespace)
+                .withLabels(
+                        KubernetesUtils.getConfigMapLabels(
+                                clusterId, LABEL_CONFIGMAP_TYPE_HIGH_AVAILABILITY))
+                .delete();
     }
 
     /** Wait until the FLink cluster has completely shut down. */
@@ -167,34 +149,19 @@ public class FlinkUtils {
             String namespace,
             String clusterId,
             long shutdownTimeout) {
+        waitForClusterShutdown(
+                () -> isClusterShutDown(kubernetesClient, namespace, clusterId), shutdownTimeout);
+    }
 
-        boolean jobManagerRunning = true;
-        boolean serviceRunning = true;
+    /**
+     * Wait until the Flink cluster has completely shut down, checking the cluster with the given
+     * check once per second.
+     */
+    public static void waitForClusterShutdown(
+            BooleanSupplier isClusterShutDown, long shutdownTimeout) {
 
         for (int i = 0; i < shutdownTimeout; i++) {
-            if (jobManagerRunning) {
-                PodList jmPodList = getJmPodList(kubernetesClient, namespace, clusterId);
-
-                if (jmPodList == null || jmPodList.getItems().isEmpty()) {
-                    jobManagerRunning = false;
-                }
-            }
-
-            if (serviceRunning) {
-                Service service =
-                        kubernetesClient
-                                .services()
-                                .inNamespace(namespace)
-                                .withName(
-                                        ExternalServiceDecorator.getExternalServiceName(clusterId))
-                                .fromServer()
-                                .get();
-                if (service == null) {
-                    serviceRunning = false;
-                }
-            }
-
-            if (!jobManagerRunning && !serviceRunning) {
+            if (isClusterShutDown.getAsBoolean()) {
                 break;
             }
             // log a message waiting to shutdown Flink cluster every 5 seconds.
@@ -210,6 +177,49 @@ public class FlinkUtils {
         LOG.info("Cluster shutdown completed.");
     }
 
+    /** Check whether the JobManager pods and the REST service of the cluster are gone. */
+    public static boolean isClusterShutDown(
+            KubernetesClient kubernetesClient, String namespace, String clusterId) {
+        return isClusterShutDown(
+                kubernetesClient,
+                getJmPodList(kubernetesClient, namespace, clusterId),
+                namespace,
+                clusterId);
+    }
+
+    /**
+     * Check whether the JobManager pods and the REST service of the cluster are gone, reading the
+     * pods from the given cache when possible.
+     */
+    public static boolean isClusterShutDown(
+            KubernetesClient kubernetesClient,
+            PodCache podCache,
+            String namespace,
+            String clusterId) {
+        return isClusterShutDown(
+                kubernetesClient,
+                getJmPodList(kubernetesClient, podCache, namespace, clusterId),
+                namespace,
+                clusterId);
+    }
+
+    private static boolean isClusterShutDown(
+            KubernetesClient kubernetesClient,
+            PodList jmPodList,
+            String namespace,
+            String clusterId) {
+        if (jmPodList != null && !jmPodList.getItems().isEmpty()) {
+            return false;
+        }
+        return kubernetesClient
+                        .services()
+                        .inNamespace(namespace)
+                        .withName(ExternalServiceDecorator.getExternalServiceName(clusterId))
+                        .fromServer()
+                        .get()
+                == null;
+    }
+
     /** Wait until the FLink cluster has completely shut down. */
     public static void waitForClusterShutdown(
             KubernetesClient kubernetesClient, Configuration conf, long shutdownTimeout) {
@@ -220,6 +230,63 @@ public class FlinkUtils {
                 shutdownTimeout);
     }
 
+    /**
+     * Update the log configuration files in the config map of a running Flink cluster. The Flink
+     * processes pick up the new files if the log configuration sets a monitor interval.
+     */
+    public static void updateLogConfiguration(KubernetesClient kubernetesClient, Configuration conf)
+            throws IOException {
+        String confDir =
+                conf.getOptional(DeploymentOptionsInternal.CONF_DIR)
+                        .orElse(conf.getString(KubernetesConfigOptions.FLINK_CONF_DIR));
+        Map<String, String> logFiles = new HashMap<>();
+        for (String fileName :
+                List.of(Constants.CONFIG_FILE_LOG4J_NAME, Constants.CONFIG_FILE_LOGBACK_NAME)) {
+            File file = new File(confDir, fileName);
+            logFiles.put(fileName, file.exists() ? Files.readString(file.toPath()) : null);
+        }
+
+        Resource<ConfigMap> configMap =
+                kubernetesClient
+                        .configMaps()
+                        .inNamespace(conf.getString(KubernetesConfigOptions.NAMESPACE))
+                        .withName(
+                                Constants.CONFIG_MAP_PREFIX
+                                        + conf.getString(KubernetesConfigOptions.CLUSTER_ID));
+        if (configMap.get() == null) {
+            LOG.info("Flink config map not found, skipping log configuration update");
+            return;
+        }
+        LOG.info("Updating log configuration");
+        configMap.edit(
+                cm -> {
+                    logFiles.forEach(
+                            (fileName, content) -> {
+                                if (content == null) {
+                                    cm.getData().remove(fileName);
+                                } else {
+                                    cm.getData().put(fileName, content);
+                                }
+                            });
+                    return cm;
+                });
+    }
+
+    /** Get the JobManager pods of the cluster from the {@link PodCache} or the API server. */
+    public static PodList getJmPodList(
+            KubernetesClient kubernetesClient,
+            PodCache podCache,
+            String namespace,
+            String clusterId) {
+        Optional<List<Pod>> cachedPods = podCache.getJobManagerPods(namespace, clusterId);
+        if (cachedPods.isPresent()) {
+            PodList podList = new PodList();
+            podList.setItems(cachedPods.get());
+            return podList;
+        }
+        return getJmPodList(kubernetesClient, namespace, clusterId);
+    }
+
     public static PodList getJmPodList(
             KubernetesClient kubernetesClient, String namespace, String clusterId) {
         return kubernetesClient
@@ -95,6 +95,16 @@ public class IngressUtils {
         }
     }
 
+    public static void deleteIngress(ObjectMeta objectMeta, KubernetesClient client) {
+        LOG.info("Deleting ingress {}", objectMeta.getName());
+        client.network()
+                .v1()
+                .ingresses()
+                .inNamespace(objectMeta.getNamespace())
+                .withName(objectMeta.getName())
+                .delete();
+    }
+
     private static IngressRule getIngressRule(
             ObjectMeta objectMeta, FlinkDeploymentSpec spec, Configuration effectiveConfig) {
         final String clusterId = objectMeta.getName();
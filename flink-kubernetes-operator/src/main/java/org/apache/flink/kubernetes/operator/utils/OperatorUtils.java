@@ -24,6 +24,8 @@ import org.apache.flink.kubernetes.operator.crd.FlinkSessionJob;
 import org.apache.flink.kubernetes.utils.Constants;
 
 import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodList;
 import io.fabric8.kubernetes.api.model.apps.Deployment;
 import io.fabric8.kubernetes.api.model.apps.DeploymentList;
 import io.fabric8.kubernetes.client.KubernetesClient;
@@ -75,6 +77,45 @@ public class OperatorUtils {
         };
     }
 
+    public static InformerEventSource<Pod, HasMetadata> createPodInformerEventSource(
+            KubernetesClient kubernetesClient, String namespace, PodCache podCache) {
+        return createPodInformerEventSource(
+                kubernetesClient.pods().inNamespace(namespace), namespace, namespace, podCache);
+    }
+
+    public static InformerEventSource<Pod, HasMetadata> createPodInformerEventSource(
+            KubernetesClient kubernetesClient, PodCache podCache) {
+        return createPodInformerEventSource(
+                kubernetesClient.pods().inAnyNamespace(), null, "all", podCache);
+    }
+
+    /**
+     * Informer event source of the JobManager pods of the native Flink clusters, which also backs
+     * the given {@link PodCache}. The TaskManager pods come and go with the jobs and are not
+     * watched.
+     */
+    private static InformerEventSource<Pod, HasMetadata> createPodInformerEventSource(
+            FilterWatchListDeletable<Pod, PodList> filteredClient,
+            String namespace,
+            String name,
+            PodCache podCache) {
+        SharedIndexInformer<Pod> informer =
+                filteredClient
+                        .withLabel(Constants.LABEL_TYPE_KEY, Constants.LABEL_TYPE_NATIVE_TYPE)
+                        .withLabel(
+                                Constants.LABEL_COMPONENT_KEY,
+                                Constants.LABEL_COMPONENT_JOB_MANAGER)
+                        .runnableInformer(0);
+        podCache.register(informer, namespace);
+
+        return new InformerEventSource<>(informer, Mappers.fromLabel(Constants.LABEL_APP_KEY)) {
+            @Override
+            public String name() {
+                return name;
+            }
+        };
+    }
+
     public static Set<String> getWatchedNamespaces() {
         String watchedNamespaces = EnvUtils.get(EnvUtils.ENV_WATCHED_NAMESPACES);
 
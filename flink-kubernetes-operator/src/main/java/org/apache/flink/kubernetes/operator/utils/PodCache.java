@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.kubernetes.operator.utils;
+
+import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.kubernetes.utils.Constants;
+import org.apache.flink.metrics.Counter;
+import org.apache.flink.metrics.MetricGroup;
+import org.apache.flink.metrics.SimpleCounter;
+
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Local cache of the JobManager pods of the native Flink clusters, backed by the pod informers of
+ * the deployment controller. The pods are indexed by namespace and cluster id, so the crash loop
+ * checks and the cluster shutdown waits read the JobManager pods of a cluster from the cache
+ * instead of listing them on the API server. Lookups in namespaces without a synced informer return
+ * nothing, callers then fall back to listing the pods. The cache is owned by the {@link
+ * org.apache.flink.kubernetes.operator.service.FlinkService} the informers are registered for.
+ */
+public class PodCache {
+
+    public static final String CLUSTER_INDEX = "cluster_index";
+
+    private static final String ALL_NAMESPACES = "";
+
+    private final Map<String, SharedIndexInformer<Pod>> informers = new ConcurrentHashMap<>();
+    private final Counter hits = new SimpleCounter();
+    private final Counter misses = new SimpleCounter();
+
+    public PodCache(MetricGroup metricGroup) {
+        metricGroup.counter("CacheHits", hits);
+        metricGroup.counter("CacheMisses", misses);
+    }
+
+    /** Index the pods of the informer and use it for lookups in its namespace. */
+    public void register(SharedIndexInformer<Pod> informer, String namespace) {
+        informer.addIndexers(clusterIndexer());
+        informers.put(namespace == null ? ALL_NAMESPACES : namespace, informer);
+    }
+
+    /** Get the cached JobManager pods of a cluster, empty if the namespace is not cached. */
+    public Optional<List<Pod>> getJobManagerPods(String namespace, String clusterId) {
+        SharedIndexInformer<Pod> informer =
+                informers.getOrDefault(namespace, informers.get(ALL_NAMESPACES));
+        if (informer == null || !informer.hasSynced()) {
+            misses.inc();
+            return Optional.empty();
+        }
+        hits.inc();
+        return Optional.of(informer.getIndexer().byIndex(CLUSTER_INDEX, key(namespace, clusterId)));
+    }
+
+    @VisibleForTesting
+    static Map<String, Function<Pod, List<String>>> clusterIndexer() {
+        return Map.of(
+                CLUSTER_INDEX,
+                pod -> {
+                    Map<String, String> labels = pod.getMetadata().getLabels();
+                    if (labels == null
+                            || !labels.containsKey(Constants.LABEL_APP_KEY)
+                            || !Constants.LABEL_COMPONENT_JOB_MANAGER.equals(
+                                    labels.get(Constants.LABEL_COMPONENT_KEY))) {
+                        return List.of();
+                    }
+                    return List.of(
+                            key(
+                                    pod.getMetadata().getNamespace(),
+                                    labels.get(Constants.LABEL_APP_KEY)));
+                });
+    }
+
+    private static String key(String namespace, String clusterId) {
+        return namespace + "/" + clusterId;
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.kubernetes.operator.utils;
+
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import io.fabric8.kubernetes.api.model.Container;
+import io.fabric8.kubernetes.api.model.ContainerPort;
+import io.fabric8.kubernetes.api.model.EnvVar;
+import io.fabric8.kubernetes.api.model.LocalObjectReference;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.Volume;
+import io.fabric8.kubernetes.api.model.VolumeMount;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Merges pod templates directly on the Kubernetes model classes. Fields set in the overriding pod
+ * replace the ones of the base pod, objects and maps are merged recursively. Lists are merged as
+ * follows:
+ *
+ * <ul>
+ *   <li>Lists of containers, volumes, environment variables, volume mounts, container ports and
+ *       image pull secrets are merged by their name, mount path or port, like in a Kubernetes
+ *       strategic merge. The elements of the overriding list come first in their order, followed by
+ *       the elements only in the base list.
+ *   <li>Lists of values such as command arguments are replaced by the overriding list.
+ *   <li>Other lists of objects are merged by index.
+ * </ul>
+ */
+public class PodTemplateMerger {
+
+    private static final String KUBERNETES_MODEL_PACKAGE = "io.fabric8.kubernetes.api.model";
+
+    private static final Map<Class<?>, String> LIST_MERGE_KEYS =
+            Map.of(
+                    Container.class, "name",
+                    Volume.class, "name",
+                    EnvVar.class, "name",
+                    VolumeMount.class, "mountPath",
+                    ContainerPort.class, "containerPort",
+                    LocalObjectReference.class, "name");
+
+    private static final Map<Class<?>, ModelClass> MODEL_CLASSES = new ConcurrentHashMap<>();
+
+    /** Merge the overriding pod into a copy of the base pod. */
+    public static Pod merge(Pod basePod, Pod overridePod) {
+        if (overridePod == null) {
+            return basePod;
+        } else if (basePod == null) {
+            return overridePod;
+        }
+        Pod merged = ResourceCopier.copy(basePod);
+        mergeObject(merged, overridePod, modelClass(Pod.class));
+        return merged;
+    }
+
+    private static void mergeObject(Object to, Object from, ModelClass modelClass) {
+        try {
+            for (Field field : modelClass.fields) {
+                Object fromValue = field.get(from);
+                if (fromValue != null) {
+                    field.set(to, mergeValue(field.get(to), fromValue));
+                }
+            }
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** Merge the values, the base value is owned by the merge result and updated in place. */
+    @SuppressWarnings("unchecked")
+    private static Object mergeValue(Object to, Object from) {
+        if (to == null || from == null) {
+            return ResourceCopier.copy(from);
+        }
+        if (to instanceof List && from instanceof List) {
+            return mergeList((List<Object>) to, (List<?>) from);
+        }
+        if (to instanceof Map && from instanceof Map) {
+            Map<Object, Object> toMap = (Map<Object, Object>) to;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) from).entrySet()) {
+                toMap.put(entry.getKey(), mergeValue(toMap.get(entry.getKey()), entry.getValue()));
+            }
+            return toMap;
+        }
+        if (to.getClass() == from.getClass()) {
+            ModelClass modelClass = modelClass(from.getClass());
+            if (modelClass.mergeable) {
+                mergeObject(to, from, modelClass);
+                return to;
+            }
+        }
+        return ResourceCopier.copy(from);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Object> mergeList(List<Object> to, List<?> from) {
+        if (from.isEmpty()) {
+            return to;
+        }
+        Object first = from.get(0);
+        if (first == null || !(first instanceof Map || modelClass(first.getClass()).mergeable)) {
+            return (List<Object>) ResourceCopier.copy(from);
+        }
+
+        Field keyField = first instanceof Map ? null : modelClass(first.getClass()).listMergeKey;
+        if (keyField == null) {
+            for (int i = 0; i < from.size(); i++) {
+                if (i < to.size()) {
+                    to.set(i, mergeValue(to.get(i), from.get(i)));
+                } else {
+                    to.add(ResourceCopier.copy(from.get(i)));
+                }
+            }
+            return to;
+        }
+
+        List<Object> merged = new ArrayList<>(from.size() + to.size());
+        for (Object fromElement : from) {
+            int toIndex = indexOfKey(to, keyField, key(fromElement, keyField));
+            merged.add(
+                    toIndex < 0
+                            ? ResourceCopier.copy(fromElement)
+                            : mergeValue(to.get(toIndex), fromElement));
+        }
+        for (Object toElement : to) {
+            if (indexOfKey(from, keyField, key(toElement, keyField)) < 0) {
+                merged.add(toElement);
+            }
+        }
+        return merged;
+    }
+
+    private static int indexOfKey(List<?> list, Field keyField, Object key) {
+        if (key == null) {
+            return -1;
+        }
+        for (int i = 0; i < list.size(); i++) {
+            if (Objects.equals(key, key(list.get(i), keyField))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static Object key(Object element, Field keyField) {
+        if (element == null || element.getClass() != keyField.getDeclaringClass()) {
+            return null;
+        }
+        try {
+            return keyField.get(element);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static ModelClass modelClass(Class<?> clazz) {
+        return MODEL_CLASSES.computeIfAbsent(clazz, ModelClass::new);
+    }
+
+    /**
+     * Fields of a class of the Kubernetes model. Classes serialized as plain values, like
+     * quantities, are not merged field by field.
+     */
+    private static class ModelClass {
+        private final boolean mergeable;
+        private final Field[] fields;
+        private final Field listMergeKey;
+
+        private ModelClass(Class<?> clazz) {
+            JsonSerialize serialize = clazz.getAnnotation(JsonSerialize.class);
+            mergeable =
+                    clazz.getName().startsWith(KUBERNETES_MODEL_PACKAGE)
+                            && (serialize == null
+                                    || serialize.using() == JsonSerializer.None.class);
+            List<Field> fieldList = new ArrayList<>();
+            Field keyField = null;
+            if (mergeable) {
+                String keyFieldName = LIST_MERGE_KEYS.get(clazz);
+                for (Class<?> c = clazz; c != null && c != Object.class; c = c.getSuperclass()) {
+                    for (Field field : c.getDeclaredFields()) {
+                        if (!Modifier.isStatic(field.getModifiers())) {
+                            field.setAccessible(true);
+                            fieldList.add(field);
+                            if (field.getName().equals(keyFieldName)) {
+                                keyField = field;
+                            }
+                        }
+                    }
+                }
+            }
+            fields = fieldList.toArray(new Field[0]);
+            listMergeKey = keyField;
+        }
+    }
+}
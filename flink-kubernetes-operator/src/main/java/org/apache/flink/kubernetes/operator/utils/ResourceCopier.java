@@ -0,0 +1,350 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.kubernetes.operator.utils;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.AnnotationIntrospector;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.introspect.AnnotatedConstructor;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMethod;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import io.fabric8.kubernetes.client.CustomResource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * Deep copies of the custom resources and their spec and status. The operator model classes and the
+ * Kubernetes model classes they embed are plain beans, which are copied property by property with
+ * the properties of every class looked up once through Jackson. Other objects fall back to a
+ * Jackson round trip through a token buffer.
+ *
+ * <p>The bean copy only carries the properties Jackson would serialize and deserialize, including
+ * the any-getter map, so {@code @JsonIgnore} and transient state is left at the value set by the
+ * default constructor, the same as after the round trip. Classes with custom serializers, without a
+ * default constructor, or whose accessors cannot be made accessible use the round trip.
+ */
+public class ResourceCopier {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ResourceCopier.class);
+
+    private static final String OPERATOR_MODEL_PACKAGE = "org.apache.flink.kubernetes.operator.crd";
+    private static final String KUBERNETES_MODEL_PACKAGE = "io.fabric8.kubernetes.api.model";
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final Map<Class<?>, UnaryOperator<Object>> BEAN_COPIERS =
+            new ConcurrentHashMap<>();
+
+    /** Create a deep copy of the object, which equals the object but shares no mutable state. */
+    @SuppressWarnings("unchecked")
+    public static <T> T copy(T object) {
+        return (T) copyValue(object);
+    }
+
+    private static Object copyValue(Object value) {
+        if (value == null || isImmutable(value)) {
+            return value;
+        }
+        Class<?> clazz = value.getClass();
+        UnaryOperator<Object> beanCopier = BEAN_COPIERS.get(clazz);
+        if (beanCopier != null) {
+            return beanCopier.apply(value);
+        }
+        if (value instanceof List) {
+            List<?> list = (List<?>) value;
+            int size = list.size();
+            List<Object> copy = new ArrayList<>(size);
+            if (list instanceof RandomAccess) {
+                for (int i = 0; i < size; i++) {
+                    copy.add(copyValue(list.get(i)));
+                }
+            } else {
+                for (Object element : list) {
+                    copy.add(copyValue(element));
+                }
+            }
+            return copy;
+        }
+        if (value instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) value;
+            Map<Object, Object> copy = new LinkedHashMap<>(Math.max(16, map.size() * 4 / 3 + 1));
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                copy.put(copyValue(entry.getKey()), copyValue(entry.getValue()));
+            }
+            return copy;
+        }
+        if (value instanceof Set) {
+            Set<Object> copy = new LinkedHashSet<>();
+            for (Object element : (Collection<?>) value) {
+                copy.add(copyValue(element));
+            }
+            return copy;
+        }
+        if (clazz.isArray()) {
+            return copyArray(value);
+        }
+        if (isBean(clazz)) {
+            return BEAN_COPIERS
+                    .computeIfAbsent(clazz, ResourceCopier::createBeanCopier)
+                    .apply(value);
+        }
+        return copyWithJackson(value);
+    }
+
+    private static boolean isImmutable(Object value) {
+        return value instanceof String
+                || value instanceof Integer
+                || value instanceof Long
+                || value instanceof Boolean
+                || value instanceof Double
+                || value instanceof Float
+                || value instanceof Short
+                || value instanceof Byte
+                || value instanceof Character
+                || value instanceof BigInteger
+                || value instanceof BigDecimal
+                || value instanceof Enum;
+    }
+
+    private static boolean isImmutableType(Class<?> type) {
+        return type.isPrimitive()
+                || type.isEnum()
+                || type == String.class
+                || type == Integer.class
+                || type == Long.class
+                || type == Boolean.class
+                || type == Double.class
+                || type == Float.class
+                || type == Short.class
+                || type == Byte.class
+                || type == Character.class
+                || type == BigInteger.class
+                || type == BigDecimal.class;
+    }
+
+    private static boolean isBean(Class<?> clazz) {
+        String className = clazz.getName();
+        return className.startsWith(OPERATOR_MODEL_PACKAGE)
+                || className.startsWith(KUBERNETES_MODEL_PACKAGE)
+                || CustomResource.class.isAssignableFrom(clazz);
+    }
+
+    private static Object copyArray(Object array) {
+        int length = Array.getLength(array);
+        Object copy = Array.newInstance(array.getClass().getComponentType(), length);
+        if (array.getClass().getComponentType().isPrimitive()) {
+            System.arraycopy(array, 0, copy, 0, length);
+        } else {
+            for (int i = 0; i < length; i++) {
+                Array.set(copy, i, copyValue(Array.get(array, i)));
+            }
+        }
+        return copy;
+    }
+
+    private static Object copyWithJackson(Object value) {
+        try (TokenBuffer buffer = new TokenBuffer(objectMapper, false)) {
+            objectMapper.writeValue(buffer, value);
+            return objectMapper.readValue(buffer.asParser(), value.getClass());
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static UnaryOperator<Object> createBeanCopier(Class<?> clazz) {
+        try {
+            BeanCopier beanCopier = BeanCopier.create(clazz);
+            if (beanCopier != null) {
+                return beanCopier::copy;
+            }
+        } catch (RuntimeException e) {
+            LOG.debug("Copying {} through Jackson as its properties are not accessible", clazz, e);
+        }
+        return ResourceCopier::copyWithJackson;
+    }
+
+    /**
+     * Copies the Jackson properties of a bean into an instance created by its default constructor.
+     * Values are read through the accessor Jackson serializes from and written through the mutator
+     * Jackson deserializes with.
+     */
+    private static class BeanCopier {
+        private final AnnotatedConstructor constructor;
+        private final AnnotatedMember[] accessors;
+        private final AnnotatedMember[] mutators;
+        private final boolean[] immutable;
+        private final boolean[] copyNulls;
+        private final AnnotatedMember anyGetter;
+        private final AnnotatedMember anySetter;
+
+        private BeanCopier(
+                AnnotatedConstructor constructor,
+                List<AnnotatedMember> accessors,
+                List<AnnotatedMember> mutators,
+                List<Boolean> copyNulls,
+                AnnotatedMember anyGetter,
+                AnnotatedMember anySetter) {
+            this.constructor = constructor;
+            this.accessors = accessors.toArray(new AnnotatedMember[0]);
+            this.mutators = mutators.toArray(new AnnotatedMember[0]);
+            this.immutable = new boolean[this.accessors.length];
+            this.copyNulls = new boolean[this.accessors.length];
+            for (int i = 0; i < this.accessors.length; i++) {
+                immutable[i] = isImmutableType(this.accessors[i].getRawType());
+                this.copyNulls[i] = copyNulls.get(i);
+            }
+            this.anyGetter = anyGetter;
+            this.anySetter = anySetter;
+        }
+
+        /** Returns null if the class cannot be copied property by property. */
+        private static BeanCopier create(Class<?> clazz) {
+            JavaType type = objectMapper.constructType(clazz);
+            SerializationConfig serConfig = objectMapper.getSerializationConfig();
+            BeanDescription serDesc = serConfig.introspect(type);
+            BeanDescription deserDesc = objectMapper.getDeserializationConfig().introspect(type);
+            AnnotationIntrospector introspector = serConfig.getAnnotationIntrospector();
+            AnnotatedConstructor constructor = deserDesc.findDefaultConstructor();
+            if (constructor == null
+                    || introspector.findSerializer(serDesc.getClassInfo()) != null
+                    || introspector.findDeserializer(deserDesc.getClassInfo()) != null) {
+                return null;
+            }
+
+            Map<String, BeanPropertyDefinition> serProperties = new LinkedHashMap<>();
+            for (BeanPropertyDefinition property : serDesc.findProperties()) {
+                serProperties.put(property.getName(), property);
+            }
+            List<AnnotatedMember> accessors = new ArrayList<>();
+            List<AnnotatedMember> mutators = new ArrayList<>();
+            List<Boolean> copyNulls = new ArrayList<>();
+            JsonInclude.Value classInclusion =
+                    serDesc.findPropertyInclusion(serConfig.getDefaultPropertyInclusion(clazz));
+            for (BeanPropertyDefinition property : deserDesc.findProperties()) {
+                BeanPropertyDefinition serProperty = serProperties.get(property.getName());
+                AnnotatedMember mutator = property.getMutator();
+                if (serProperty == null || serProperty.getAccessor() == null || mutator == null) {
+                    // Read-only or write-only, the round trip drops it as well
+                    continue;
+                }
+                AnnotatedMember accessor = serProperty.getAccessor();
+                if (property.getConstructorParameter() == mutator
+                        || introspector.findSerializer(accessor) != null
+                        || introspector.findDeserializer(mutator) != null) {
+                    return null;
+                }
+                accessors.add(accessor);
+                mutators.add(mutator);
+                // Nulls written to the JSON are set on the copy, overriding constructor defaults
+                JsonInclude.Include inclusion =
+                        classInclusion
+                                .withOverrides(serProperty.findInclusion())
+                                .getValueInclusion();
+                copyNulls.add(
+                        inclusion == JsonInclude.Include.ALWAYS
+                                || inclusion == JsonInclude.Include.USE_DEFAULTS);
+            }
+
+            AnnotatedMember anyGetter = serDesc.findAnyGetter();
+            AnnotatedMember anySetter = deserDesc.findAnySetterAccessor();
+            if (anyGetter != null && anySetter == null) {
+                return null;
+            }
+
+            constructor.fixAccess(true);
+            for (int i = 0; i < accessors.size(); i++) {
+                accessors.get(i).fixAccess(true);
+                mutators.get(i).fixAccess(true);
+            }
+            if (anyGetter != null) {
+                anyGetter.fixAccess(true);
+                anySetter.fixAccess(true);
+            }
+            return new BeanCopier(
+                    constructor, accessors, mutators, copyNulls, anyGetter, anySetter);
+        }
+
+        private Object copy(Object bean) {
+            Object copy;
+            try {
+                copy = constructor.call();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            for (int i = 0; i < accessors.length; i++) {
+                Object value = accessors[i].getValue(bean);
+                if (value != null) {
+                    mutators[i].setValue(copy, immutable[i] ? value : copyValue(value));
+                } else if (copyNulls[i]) {
+                    mutators[i].setValue(copy, null);
+                }
+            }
+            if (anyGetter != null) {
+                copyAnyProperties(bean, copy);
+            }
+            return copy;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void copyAnyProperties(Object bean, Object copy) {
+            Map<?, ?> properties = (Map<?, ?>) anyGetter.getValue(bean);
+            if (properties == null || properties.isEmpty()) {
+                return;
+            }
+            if (anySetter instanceof AnnotatedMethod) {
+                AnnotatedMethod setter = (AnnotatedMethod) anySetter;
+                for (Map.Entry<?, ?> entry : properties.entrySet()) {
+                    try {
+                        setter.callOnWith(copy, entry.getKey(), copyValue(entry.getValue()));
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+            } else {
+                Map<Object, Object> target = (Map<Object, Object>) anySetter.getValue(copy);
+                if (target == null) {
+                    target = new LinkedHashMap<>();
+                    anySetter.setValue(copy, target);
+                }
+                for (Map.Entry<?, ?> entry : properties.entrySet()) {
+                    target.put(entry.getKey(), copyValue(entry.getValue()));
+                }
+            }
+        }
+    }
+}
@@ -22,6 +22,7 @@ import org.apache.flink.kubernetes.operator.crd.spec.JobSpec;
 import org.apache.flink.kubernetes.operator.crd.status.FlinkDeploymentStatus;
 import org.apache.flink.kubernetes.operator.crd.status.JobStatus;
 import org.apache.flink.kubernetes.operator.crd.status.SavepointInfo;
+import org.apache.flink.kubernetes.operator.crd.status.SavepointTriggerType;
 
 import java.time.Duration;
 
@@ -32,6 +33,12 @@ public class SavepointUtils {
         return jobStatus.getSavepointInfo().getTriggerId() != null;
     }
 
+    /** Check whether the job is being stopped with a savepoint that is not completed yet. */
+    public static boolean stopWithSavepointInProgress(JobStatus jobStatus) {
+        return savepointInProgress(jobStatus)
+                && jobStatus.getSavepointInfo().getTriggerType() == SavepointTriggerType.STOP;
+    }
+
     public static boolean shouldTriggerSavepoint(JobSpec jobSpec, FlinkDeploymentStatus status) {
         if (savepointInProgress(status.getJobStatus())) {
             return false;
@@ -45,6 +52,31 @@ public class SavepointUtils {
                                         .getSavepointTriggerNonce());
     }
 
+    /**
+     * Get the delay until the status of the pending savepoint should be polled next. The status is
+     * polled frequently right after the trigger and around the time the savepoint is expected to
+     * complete based on the duration of the last one, backing off geometrically in between. The
+     * cluster of an application shuts down right after the job has been stopped, so the status of a
+     * stop with savepoint is always polled with the minimum interval.
+     */
+    public static Duration getStatusPollDelay(
+            FlinkOperatorConfiguration configuration, SavepointInfo savepointInfo) {
+        long minDelay = configuration.getSavepointPollMinInterval().toMillis();
+        long maxDelay = configuration.getSavepointPollMaxInterval().toMillis();
+        Long triggerTimestamp = savepointInfo.getTriggerTimestamp();
+        if (triggerTimestamp == null
+                || savepointInfo.getTriggerType() == SavepointTriggerType.STOP) {
+            return Duration.ofMillis(minDelay);
+        }
+        long elapsed = Math.max(0, System.currentTimeMillis() - triggerTimestamp);
+        long distance = elapsed;
+        Long expectedDuration = savepointInfo.getLastSavepointDuration();
+        if (expectedDuration != null) {
+            distance = Math.min(elapsed, Math.abs(expectedDuration - elapsed));
+        }
+        return Duration.ofMillis(Math.max(minDelay, Math.min(maxDelay, distance / 2)));
+    }
+
     public static boolean gracePeriodEnded(
             FlinkOperatorConfiguration configuration, SavepointInfo savepointInfo) {
         Duration gracePeriod = configuration.getSavepointTriggerGracePeriod();
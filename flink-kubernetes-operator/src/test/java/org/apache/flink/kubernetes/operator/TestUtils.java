@@ -40,18 +40,27 @@ import org.apache.flink.kubernetes.operator.crd.status.FlinkSessionJobStatus;
 import org.apache.flink.kubernetes.operator.crd.status.JobManagerDeploymentStatus;
 import org.apache.flink.kubernetes.operator.exception.DeploymentFailedException;
 import org.apache.flink.kubernetes.operator.observer.deployment.ObserverFactory;
+import org.apache.flink.kubernetes.operator.reconciler.AppliedSpecChanges;
+import org.apache.flink.kubernetes.operator.reconciler.ReconciliationCounter;
+import org.apache.flink.kubernetes.operator.reconciler.SpecCache;
+import org.apache.flink.kubernetes.operator.reconciler.SpecEncoding;
 import org.apache.flink.kubernetes.operator.reconciler.deployment.ReconcilerFactory;
+import org.apache.flink.kubernetes.operator.utils.ConfigFileStore;
+import org.apache.flink.kubernetes.operator.utils.EffectiveConfigCache;
 import org.apache.flink.kubernetes.operator.utils.ValidatorUtils;
 
 import io.fabric8.kubernetes.api.model.Container;
 import io.fabric8.kubernetes.api.model.ContainerStatus;
 import io.fabric8.kubernetes.api.model.ContainerStatusBuilder;
+import io.fabric8.kubernetes.api.model.IntOrString;
 import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
 import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
 import io.fabric8.kubernetes.api.model.PodList;
 import io.fabric8.kubernetes.api.model.PodListBuilder;
 import io.fabric8.kubernetes.api.model.PodSpec;
 import io.fabric8.kubernetes.api.model.PodStatusBuilder;
+import io.fabric8.kubernetes.api.model.Quantity;
 import io.fabric8.kubernetes.api.model.apps.Deployment;
 import io.fabric8.kubernetes.api.model.apps.DeploymentCondition;
 import io.fabric8.kubernetes.api.model.apps.DeploymentSpec;
@@ -156,6 +165,67 @@ public class TestUtils {
         return pod;
     }
 
+    /** A pod template with a sidecar, resources, probes and volumes, similar to real ones. */
+    public static Pod getTestPodTemplate() {
+        return new PodBuilder()
+                .withApiVersion("v1")
+                .withKind("Pod")
+                .withNewMetadata()
+                .withName("pod-template")
+                .addToLabels("app", "flink")
+                .addToAnnotations("prometheus.io/scrape", "true")
+                .endMetadata()
+                .withNewSpec()
+                .withServiceAccountName("flink")
+                .addNewContainer()
+                .withName("flink-main-container")
+                .withNewResources()
+                .addToLimits("memory", new Quantity("4Gi"))
+                .addToRequests("cpu", new Quantity("500m"))
+                .endResources()
+                .addNewEnv()
+                .withName("ENABLE_BUILT_IN_PLUGINS")
+                .withValue("flink-s3-fs-presto-1.14.4.jar")
+                .endEnv()
+                .addNewPort()
+                .withName("metrics")
+                .withContainerPort(9249)
+                .endPort()
+                .withNewLivenessProbe()
+                .withNewTcpSocket()
+                .withPort(new IntOrString(6123))
+                .endTcpSocket()
+                .withInitialDelaySeconds(30)
+                .endLivenessProbe()
+                .addNewVolumeMount()
+                .withMountPath("/opt/flink/log")
+                .withName("flink-logs")
+                .endVolumeMount()
+                .endContainer()
+                .addNewContainer()
+                .withName("fluentbit")
+                .withImage("fluent/fluent-bit:1.8.12-debug")
+                .withCommand("sh", "-c", "/fluent-bit/bin/fluent-bit -i tail -o stdout")
+                .addNewVolumeMount()
+                .withMountPath("/flink-logs")
+                .withName("flink-logs")
+                .endVolumeMount()
+                .endContainer()
+                .addNewVolume()
+                .withName("flink-logs")
+                .withNewEmptyDir()
+                .endEmptyDir()
+                .endVolume()
+                .addNewToleration()
+                .withKey("dedicated")
+                .withOperator("Equal")
+                .withValue("flink")
+                .withEffect("NoSchedule")
+                .endToleration()
+                .endSpec()
+                .build();
+    }
+
     public static PodList createFailedPodList(String crashLoopMessage) {
         ContainerStatus cs =
                 new ContainerStatusBuilder()
@@ -355,8 +425,14 @@ public class TestUtils {
                                 kubernetesClient,
                                 flinkService,
                                 operatorConfiguration,
-                                defaultConfig),
-                        new ObserverFactory(flinkService, operatorConfiguration, defaultConfig));
+                                defaultConfig,
+                                new AppliedSpecChanges()),
+                        new ObserverFactory(flinkService, operatorConfiguration, defaultConfig),
+                        flinkService,
+                        new SpecCache(),
+                        new SpecEncoding(operatorConfiguration),
+                        new EffectiveConfigCache(new ConfigFileStore()),
+                        new ReconciliationCounter());
         controller.setControllerConfig(
                 new FlinkControllerConfig(controller, Collections.emptySet()));
         return controller;
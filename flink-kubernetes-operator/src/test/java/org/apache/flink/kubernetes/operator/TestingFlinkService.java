@@ -34,6 +34,7 @@ import org.apache.flink.kubernetes.operator.observer.SavepointFetchResult;
 import org.apache.flink.kubernetes.operator.service.FlinkService;
 import org.apache.flink.runtime.client.JobStatusMessage;
 import org.apache.flink.runtime.jobgraph.SavepointConfigOptions;
+import org.apache.flink.util.concurrent.FutureUtils;
 
 import io.fabric8.kubernetes.api.model.ObjectMeta;
 import io.fabric8.kubernetes.api.model.PodList;
@@ -41,12 +42,14 @@ import io.fabric8.kubernetes.api.model.PodList;
 import javax.annotation.Nullable;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeoutException;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
@@ -60,7 +63,9 @@ public class TestingFlinkService extends FlinkService {
     private final List<Tuple2<String, JobStatusMessage>> jobs = new ArrayList<>();
     private final Map<JobID, SubmittedJobInfo> sessionJobs = new HashMap<>();
     private final Set<String> sessions = new HashSet<>();
+    private final Map<String, JobID> stopTriggers = new HashMap<>();
     private boolean isPortReady = true;
+    private boolean isClusterShutDown = true;
     private PodList podList = new PodList();
     private Consumer<Configuration> listJobConsumer = conf -> {};
 
@@ -93,7 +98,7 @@ public class TestingFlinkService extends FlinkService {
     }
 
     @Override
-    public JobID submitJobToSessionCluster(
+    public CompletableFuture<JobID> submitJobToSessionClusterAsync(
             FlinkSessionJob sessionJob, Configuration conf, @Nullable String savepoint) {
         JobID jobID = new JobID();
         JobStatusMessage jobStatusMessage =
@@ -104,27 +109,29 @@ public class TestingFlinkService extends FlinkService {
                         System.currentTimeMillis());
         sessionJob.getStatus().getJobStatus().setJobId(jobID.toHexString());
         sessionJobs.put(jobID, new SubmittedJobInfo(savepoint, jobStatusMessage, conf));
-        return jobID;
+        return CompletableFuture.completedFuture(jobID);
     }
 
     @Override
-    public List<JobStatusMessage> listJobs(Configuration conf) throws Exception {
+    public CompletableFuture<Collection<JobStatusMessage>> listJobsAsync(Configuration conf) {
         listJobConsumer.accept(conf);
         if (jobs.isEmpty()
                 && !sessions.isEmpty()
                 && conf.get(DeploymentOptions.TARGET)
                         .equals(KubernetesDeploymentTarget.APPLICATION.getName())) {
-            throw new Exception("Trying to list a job without submitting it");
+            return FutureUtils.completedExceptionally(
+                    new Exception("Trying to list a job without submitting it"));
         }
         if (!isPortReady) {
-            throw new TimeoutException("JM port is unavailable");
+            return FutureUtils.completedExceptionally(
+                    new TimeoutException("JM port is unavailable"));
         }
         var lists = jobs.stream().map(t -> t.f1).collect(Collectors.toList());
         lists.addAll(
                 sessionJobs.values().stream()
                         .map(t -> t.jobStatusMessage)
                         .collect(Collectors.toList()));
-        return lists;
+        return CompletableFuture.completedFuture(lists);
     }
 
     public void setListJobConsumer(Consumer<Configuration> listJobConsumer) {
@@ -148,29 +155,28 @@ public class TestingFlinkService extends FlinkService {
             return Optional.empty();
         }
 
-        if (!jobs.removeIf(js -> js.f1.getJobId().equals(jobID))) {
-            throw new Exception("Job not found");
+        if (upgradeMode != UpgradeMode.STATELESS) {
+            throw new Exception("Unsupported upgrade mode " + upgradeMode);
         }
 
-        if (upgradeMode != UpgradeMode.STATELESS) {
-            return Optional.of("savepoint_" + savepointCounter++);
-        } else {
-            return Optional.empty();
+        if (!jobs.removeIf(js -> js.f1.getJobId().equals(jobID))) {
+            throw new Exception("Job not found");
         }
+        return Optional.empty();
     }
 
     @Override
-    public Optional<String> cancelSessionJob(
-            JobID jobID, UpgradeMode upgradeMode, Configuration conf) throws Exception {
-        if (sessionJobs.remove(jobID) == null) {
-            throw new Exception("Job not found");
+    public CompletableFuture<Optional<String>> cancelJobAsync(
+            JobID jobID, UpgradeMode upgradeMode, Configuration conf) {
+        if (upgradeMode != UpgradeMode.STATELESS) {
+            return FutureUtils.completedExceptionally(
+                    new Exception("Unsupported upgrade mode " + upgradeMode));
         }
 
-        if (upgradeMode == UpgradeMode.SAVEPOINT) {
-            return Optional.of("savepoint_" + savepointCounter++);
-        } else {
-            return Optional.empty();
+        if (sessionJobs.remove(jobID) == null) {
+            return FutureUtils.completedExceptionally(new Exception("Job not found"));
         }
+        return CompletableFuture.completedFuture(Optional.empty());
     }
 
     @Override
@@ -180,18 +186,59 @@ public class TestingFlinkService extends FlinkService {
     }
 
     @Override
-    public void triggerSavepoint(
-            String jobId,
-            org.apache.flink.kubernetes.operator.crd.status.SavepointInfo savepointInfo,
-            Configuration conf)
-            throws Exception {
-        savepointInfo.setTrigger("trigger_" + triggerCounter++);
+    public CompletableFuture<String> triggerSavepointAsync(String jobId, Configuration conf) {
+        return CompletableFuture.completedFuture("trigger_" + triggerCounter++);
+    }
+
+    @Override
+    public CompletableFuture<String> stopWithSavepointAsync(String jobId, Configuration conf) {
+        JobID jobID = JobID.fromHexString(jobId);
+        for (int i = 0; i < jobs.size(); i++) {
+            JobStatusMessage job = jobs.get(i).f1;
+            if (job.getJobId().equals(jobID)) {
+                jobs.set(
+                        i,
+                        Tuple2.of(
+                                jobs.get(i).f0,
+                                new JobStatusMessage(
+                                        jobID,
+                                        job.getJobName(),
+                                        JobStatus.FINISHED,
+                                        job.getStartTime())));
+                String triggerId = "trigger_" + triggerCounter++;
+                stopTriggers.put(triggerId, jobID);
+                return CompletableFuture.completedFuture(triggerId);
+            }
+        }
+        // Session clusters keep running and list the stopped job as finished
+        SubmittedJobInfo sessionJob = sessionJobs.remove(jobID);
+        if (sessionJob != null) {
+            JobStatusMessage job = sessionJob.jobStatusMessage;
+            sessionJobs.put(
+                    jobID,
+                    new SubmittedJobInfo(
+                            sessionJob.savepointPath,
+                            new JobStatusMessage(
+                                    jobID,
+                                    job.getJobName(),
+                                    JobStatus.FINISHED,
+                                    job.getStartTime()),
+                            sessionJob.effectiveConfig));
+            return CompletableFuture.completedFuture("trigger_" + triggerCounter++);
+        }
+        return FutureUtils.completedExceptionally(new Exception("Job not found"));
     }
 
     @Override
-    public SavepointFetchResult fetchSavepointInfo(
-            String triggerId, String jobId, Configuration conf) throws Exception {
-        return SavepointFetchResult.completed(Savepoint.of("savepoint_" + savepointCounter++));
+    public CompletableFuture<SavepointFetchResult> fetchSavepointInfoAsync(
+            String triggerId, String jobId, Configuration conf) {
+        // The cluster shuts down once the savepoint of a stopped job has been completed
+        JobID stoppedJob = stopTriggers.remove(triggerId);
+        if (stoppedJob != null) {
+            jobs.removeIf(js -> js.f1.getJobId().equals(stoppedJob));
+        }
+        return CompletableFuture.completedFuture(
+                SavepointFetchResult.completed(Savepoint.of("savepoint_" + savepointCounter++)));
     }
 
     @Override
@@ -203,6 +250,15 @@ public class TestingFlinkService extends FlinkService {
         this.isPortReady = isPortReady;
     }
 
+    @Override
+    public boolean isClusterShutDown(Configuration conf) {
+        return isClusterShutDown;
+    }
+
+    public void setClusterShutDown(boolean isClusterShutDown) {
+        this.isClusterShutDown = isClusterShutDown;
+    }
+
     @Override
     public PodList getJmPodList(FlinkDeployment deployment, Configuration conf) {
         return podList;
@@ -42,6 +42,9 @@ import java.net.HttpURLConnection;
 import java.net.InetSocketAddress;
 import java.net.URL;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
 
 /** Test for {@link ArtifactManager}. */
 public class ArtifactManagerTest {
@@ -108,6 +111,45 @@ public class ArtifactManagerTest {
         }
     }
 
+    @Test
+    public void testHttpFingerprintTimesOut() throws Exception {
+        Configuration configuration = new Configuration();
+        configuration.setString(
+                KubernetesOperatorConfigOptions.OPERATOR_USER_ARTIFACTS_BASE_DIR,
+                tempDir.toAbsolutePath().toString());
+        configuration.set(
+                KubernetesOperatorConfigOptions.OPERATOR_OBSERVER_FLINK_CLIENT_TIMEOUT,
+                Duration.ofMillis(200));
+        var artifactManager =
+                new ArtifactManager(FlinkOperatorConfiguration.fromConfiguration(configuration));
+        var release = new CountDownLatch(1);
+        HttpServer httpServer = null;
+        try {
+            httpServer = startHttpServer();
+            httpServer.createContext(
+                    "/download",
+                    exchange -> {
+                        try {
+                            release.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        exchange.close();
+                    });
+            Assertions.assertEquals(
+                    Optional.empty(),
+                    artifactManager.fingerprint(
+                            String.format(
+                                    "http://127.0.0.1:%d/download",
+                                    httpServer.getAddress().getPort())));
+        } finally {
+            release.countDown();
+            if (httpServer != null) {
+                httpServer.stop(0);
+            }
+        }
+    }
+
     private HttpServer startHttpServer() throws IOException {
         int port = RandomUtils.nextInt(1000, 2000);
         HttpServer httpServer = null;
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.kubernetes.operator.benchmark;
+
+import org.apache.flink.kubernetes.operator.TestUtils;
+import org.apache.flink.kubernetes.operator.utils.JsonPodTemplateMerger;
+import org.apache.flink.kubernetes.operator.utils.PodTemplateMerger;
+
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.BinaryOperator;
+
+/**
+ * Compares the merge of the common pod template with a component pod template through {@link
+ * PodTemplateMerger} against the merge through Jackson trees it replaced. Reports the time and the
+ * heap allocated per merge, measured on the benchmark thread.
+ *
+ * <p>Not run as part of the build. Run the main method with the test classpath, optionally passing
+ * the number of measured iterations.
+ */
+public class PodTemplateMergeBenchmark {
+
+    public static void main(String[] args) {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+
+        Pod base = TestUtils.getTestPodTemplate();
+        Pod override =
+                new PodBuilder(TestUtils.getTestPodTemplate())
+                        .editMetadata()
+                        .addToLabels("component", "taskmanager")
+                        .endMetadata()
+                        .editSpec()
+                        .editFirstContainer()
+                        .withImage("flink:override")
+                        .endContainer()
+                        .endSpec()
+                        .build();
+        System.out.printf("%d iterations%n", iterations);
+
+        run("json-merge", JsonPodTemplateMerger::merge, base, override, iterations);
+        run("typed-merge", PodTemplateMerger::merge, base, override, iterations);
+    }
+
+    private static void run(
+            String name, BinaryOperator<Pod> merger, Pod base, Pod override, int iterations) {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        // Warm up
+        for (int i = 0; i < iterations / 2; i++) {
+            consume(merger.apply(base, override));
+        }
+
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            consume(merger.apply(base, override));
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        System.out.printf(
+                "%-12s %8.2f us/op, %8d bytes/op%n",
+                name, elapsed / 1000.0 / iterations, allocated / iterations);
+    }
+
+    private static int sink;
+
+    private static void consume(Pod merged) {
+        sink += System.identityHashCode(merged);
+    }
+}
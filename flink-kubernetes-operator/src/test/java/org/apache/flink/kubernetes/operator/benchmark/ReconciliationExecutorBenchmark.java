@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.kubernetes.operator.benchmark;
+
+import org.apache.flink.kubernetes.operator.service.BlockingCallLimiter;
+import org.apache.flink.kubernetes.operator.utils.VirtualThreads;
+import org.apache.flink.metrics.groups.UnregisteredMetricsGroup;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Compares the reconciliation executor modes of the operator under blocking workloads. Every
+ * simulated reconciliation makes a number of blocking calls of fixed latency, like the Kubernetes
+ * and Flink calls of a real reconciliation, through a {@link BlockingCallLimiter}. Reports the wall
+ * time and the peak number of live platform threads for each mode.
+ *
+ * <p>Not run as part of the build. Run the main method with the test classpath, optionally passing
+ * the number of resources, calls per reconciliation, call latency in ms and the max concurrent
+ * blocking calls. The virtual thread mode is skipped on runtimes without virtual threads.
+ */
+public class ReconciliationExecutorBenchmark {
+
+    private static final int WARMUP_ROUNDS = 1;
+    private static final int MEASURED_ROUNDS = 3;
+
+    public static void main(String[] args) throws Exception {
+        int resources = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int callsPerReconcile = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        long callLatencyMs = args.length > 2 ? Long.parseLong(args[2]) : 20;
+        int maxBlockingCalls = args.length > 3 ? Integer.parseInt(args[3]) : 256;
+
+        System.out.printf(
+                "%d resources, %d calls of %d ms per reconciliation, %d max blocking calls%n",
+                resources, callsPerReconcile, callLatencyMs, maxBlockingCalls);
+
+        run(
+                "fixed(5)",
+                () -> Executors.newFixedThreadPool(5),
+                -1,
+                resources,
+                callsPerReconcile,
+                callLatencyMs);
+        run(
+                "fixed(50)",
+                () -> Executors.newFixedThreadPool(50),
+                -1,
+                resources,
+                callsPerReconcile,
+                callLatencyMs);
+        run(
+                "cached",
+                Executors::newCachedThreadPool,
+                -1,
+                resources,
+                callsPerReconcile,
+                callLatencyMs);
+        run(
+                "cached+limiter",
+                Executors::newCachedThreadPool,
+                maxBlockingCalls,
+                resources,
+                callsPerReconcile,
+                callLatencyMs);
+        if (VirtualThreads.isSupported()) {
+            Supplier<ExecutorService> virtual =
+                    () -> VirtualThreads.newVirtualThreadPerTaskExecutor().get();
+            run("virtual", virtual, -1, resources, callsPerReconcile, callLatencyMs);
+            run(
+                    "virtual+limiter",
+                    virtual,
+                    maxBlockingCalls,
+                    resources,
+                    callsPerReconcile,
+                    callLatencyMs);
+        } else {
+            System.out.println("Virtual threads are not supported by this runtime, skipping");
+        }
+    }
+
+    private static void run(
+            String mode,
+            Supplier<ExecutorService> executorFactory,
+            int maxBlockingCalls,
+            int resources,
+            int callsPerReconcile,
+            long callLatencyMs)
+            throws Exception {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        BlockingCallLimiter limiter =
+                new BlockingCallLimiter(maxBlockingCalls, new UnregisteredMetricsGroup());
+        List<Long> times = new ArrayList<>();
+        int peakThreads = 0;
+        for (int round = 0; round < WARMUP_ROUNDS + MEASURED_ROUNDS; round++) {
+            ExecutorService executor = executorFactory.get();
+            threads.resetPeakThreadCount();
+            long start = System.nanoTime();
+            List<Future<?>> reconciliations = new ArrayList<>(resources);
+            for (int i = 0; i < resources; i++) {
+                reconciliations.add(
+                        executor.submit(
+                                () -> {
+                                    reconcile(limiter, callsPerReconcile, callLatencyMs);
+                                    return null;
+                                }));
+            }
+            for (Future<?> reconciliation : reconciliations) {
+                reconciliation.get();
+            }
+            long elapsed = System.nanoTime() - start;
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+            if (round >= WARMUP_ROUNDS) {
+                times.add(TimeUnit.NANOSECONDS.toMillis(elapsed));
+                peakThreads = Math.max(peakThreads, threads.getPeakThreadCount());
+            }
+        }
+        long avg = (long) times.stream().mapToLong(Long::longValue).average().orElse(0);
+        Optional<Long> min = times.stream().min(Long::compare);
+        System.out.printf(
+                "%-16s avg %6d ms, min %6d ms, %8.0f reconciliations/s, peak %5d platform threads%n",
+                mode, avg, min.orElse(0L), resources * 1000.0 / Math.max(avg, 1), peakThreads);
+    }
+
+    private static void reconcile(BlockingCallLimiter limiter, int calls, long latencyMs)
+            throws InterruptedException {
+        for (int i = 0; i < calls; i++) {
+            limiter.run(() -> Thread.sleep(latencyMs));
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.kubernetes.operator.benchmark;
+
+import org.apache.flink.kubernetes.operator.TestUtils;
+import org.apache.flink.kubernetes.operator.crd.FlinkDeployment;
+import org.apache.flink.kubernetes.operator.utils.ResourceCopier;
+import org.apache.flink.util.function.FunctionWithException;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Compares the copy of a {@link FlinkDeployment} with pod templates through {@link ResourceCopier}
+ * against the JSON string round trip it replaced. Reports the time and the heap allocated per copy,
+ * measured on the benchmark thread.
+ *
+ * <p>Not run as part of the build. Run the main method with the test classpath, optionally passing
+ * the number of measured iterations.
+ */
+public class ResourceCopyBenchmark {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    public static void main(String[] args) throws Exception {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+
+        FlinkDeployment deployment = TestUtils.buildApplicationCluster();
+        deployment.getSpec().setPodTemplate(TestUtils.getTestPodTemplate());
+        deployment.getSpec().getJobManager().setPodTemplate(TestUtils.getTestPodTemplate());
+        deployment.getSpec().getTaskManager().setPodTemplate(TestUtils.getTestPodTemplate());
+        System.out.printf(
+                "FlinkDeployment of %d bytes as JSON, %d iterations%n",
+                objectMapper.writeValueAsString(deployment).length(), iterations);
+
+        run(
+                "json-round-trip",
+                d ->
+                        objectMapper.readValue(
+                                objectMapper.writeValueAsString(d), FlinkDeployment.class),
+                deployment,
+                iterations);
+        run("resource-copier", ResourceCopier::copy, deployment, iterations);
+    }
+
+    private static void run(
+            String name,
+            FunctionWithException<FlinkDeployment, FlinkDeployment, Exception> copier,
+            FlinkDeployment deployment,
+            int iterations)
+            throws Exception {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        // Warm up
+        for (int i = 0; i < iterations / 2; i++) {
+            consume(copier.apply(deployment));
+        }
+
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            consume(copier.apply(deployment));
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        System.out.printf(
+                "%-16s %8.2f us/op, %8d bytes/op%n",
+                name, elapsed / 1000.0 / iterations, allocated / iterations);
+    }
+
+    private static int sink;
+
+    private static void consume(FlinkDeployment copy) {
+        sink += System.identityHashCode(copy);
+    }
+}
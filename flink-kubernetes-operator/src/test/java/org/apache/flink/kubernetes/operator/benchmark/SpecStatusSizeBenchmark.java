@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.kubernetes.operator.benchmark;
+
+import org.apache.flink.kubernetes.operator.TestUtils;
+import org.apache.flink.kubernetes.operator.crd.FlinkDeployment;
+import org.apache.flink.kubernetes.operator.crd.status.ReconciliationStatus;
+import org.apache.flink.kubernetes.operator.reconciler.SpecEncoding;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Compares the size of the status and of the whole {@link FlinkDeployment} with pod templates for
+ * the plain and the compact {@link SpecEncoding}. Every status update sends the whole resource to
+ * all watchers, so the resource size times the update rate is the watch bandwidth per watcher.
+ *
+ * <p>Not run as part of the build. Run the main method with the test classpath, optionally passing
+ * the number of resources and the status updates per resource and minute.
+ */
+public class SpecStatusSizeBenchmark {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    public static void main(String[] args) throws Exception {
+        int resources = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        double updatesPerMinute = args.length > 1 ? Double.parseDouble(args[1]) : 4;
+
+        System.out.printf(
+                "%d resources, %.1f status updates per resource and minute%n",
+                resources, updatesPerMinute);
+        run("plain", false, resources, updatesPerMinute);
+        run("compact", true, resources, updatesPerMinute);
+    }
+
+    private static void run(String name, boolean compact, int resources, double updatesPerMinute)
+            throws Exception {
+        FlinkDeployment deployment = TestUtils.buildApplicationCluster();
+        deployment.getSpec().setPodTemplate(TestUtils.getTestPodTemplate());
+        deployment.getSpec().getJobManager().setPodTemplate(TestUtils.getTestPodTemplate());
+        deployment.getSpec().getTaskManager().setPodTemplate(TestUtils.getTestPodTemplate());
+        ReconciliationStatus status = deployment.getStatus().getReconciliationStatus();
+        try (SpecEncoding.Reconciliation ignored =
+                new SpecEncoding(compact, 2048).startReconcile()) {
+            status.serializeAndSetLastReconciledSpec(deployment.getSpec());
+            status.markReconciledSpecAsStable();
+        }
+
+        int statusBytes = objectMapper.writeValueAsBytes(deployment.getStatus()).length;
+        int resourceBytes = objectMapper.writeValueAsBytes(deployment).length;
+        double bytesPerSecond = resourceBytes * (double) resources * updatesPerMinute / 60;
+
+        System.out.printf(
+                "%-8s status %6d bytes, resource %6d bytes, watch %8.1f KiB/s per watcher%n",
+                name, statusBytes, resourceBytes, bytesPerSecond / 1024);
+    }
+}
@@ -276,7 +276,10 @@ public class FlinkDeploymentControllerTest {
         // Upgrade job
         appCluster.getSpec().getJob().setParallelism(100);
 
-        assertEquals(0, testController.reconcile(appCluster, context).getScheduleDelay().get());
+        // The job is stopped with a savepoint, which is polled until it is completed
+        assertEquals(
+                operatorConfiguration.getSavepointPollMinInterval().toMillis(),
+                testController.reconcile(appCluster, context).getScheduleDelay().get());
         assertEquals(
                 JobState.SUSPENDED,
                 appCluster
@@ -295,6 +298,12 @@ public class FlinkDeploymentControllerTest {
         // Suspend job
         appCluster.getSpec().getJob().setState(JobState.SUSPENDED);
         testController.reconcile(appCluster, context);
+        assertEquals(
+                JobManagerDeploymentStatus.READY,
+                appCluster.getStatus().getJobManagerDeploymentStatus());
+
+        // The job is marked suspended once the savepoint has been completed
+        testController.reconcile(appCluster, context);
         assertEquals(
                 JobManagerDeploymentStatus.MISSING,
                 appCluster.getStatus().getJobManagerDeploymentStatus());
@@ -554,14 +563,16 @@ public class FlinkDeploymentControllerTest {
         testController.setControllerConfig(
                 new FlinkControllerConfig(testController, Collections.emptySet()));
         List<EventSource> eventSources = testController.prepareEventSources(null);
-        assertEquals(1, eventSources.size());
+        // JobManager deployment and pod event sources
+        assertEquals(2, eventSources.size());
         assertEquals("all", eventSources.get(0).name());
+        assertEquals("all", eventSources.get(1).name());
 
         // Test watch namespaces
         Set<String> namespaces = Set.of("ns1", "ns2", "ns3");
         testController.setControllerConfig(new FlinkControllerConfig(testController, namespaces));
         eventSources = testController.prepareEventSources(null);
-        assertEquals(3, eventSources.size());
+        assertEquals(6, eventSources.size());
         assertEquals(
                 namespaces,
                 eventSources.stream().map(EventSource::name).collect(Collectors.toSet()));
@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.kubernetes.operator.controller;
+
+import org.apache.flink.kubernetes.operator.TestUtils;
+import org.apache.flink.kubernetes.operator.crd.FlinkDeployment;
+import org.apache.flink.kubernetes.operator.crd.status.JobManagerDeploymentStatus;
+import org.apache.flink.kubernetes.operator.reconciler.ReconciliationUtils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** {@link FlinkSessionJobController} tests. */
+public class FlinkSessionJobControllerTest {
+
+    @Test
+    public void testSessionClusterChanges() {
+        FlinkDeployment cluster = TestUtils.buildSessionCluster();
+        cluster.getMetadata().setGeneration(1L);
+        cluster.getStatus().setJobManagerDeploymentStatus(JobManagerDeploymentStatus.DEPLOYING);
+
+        // Status updates of the cluster do not wake up the session jobs
+        FlinkDeployment updated = ReconciliationUtils.clone(cluster);
+        updated.getStatus().setError("error");
+        updated.getStatus().setClusterShutdownTimestamp(System.currentTimeMillis());
+        assertFalse(FlinkSessionJobController.isSessionClusterChanged(cluster, updated));
+
+        updated.getStatus().setJobManagerDeploymentStatus(JobManagerDeploymentStatus.READY);
+        assertTrue(FlinkSessionJobController.isSessionClusterChanged(cluster, updated));
+
+        updated = ReconciliationUtils.clone(cluster);
+        updated.getMetadata().setGeneration(2L);
+        assertTrue(FlinkSessionJobController.isSessionClusterChanged(cluster, updated));
+
+        updated = ReconciliationUtils.clone(cluster);
+        updated.getMetadata().setDeletionTimestamp("2022-05-01T00:00:00Z");
+        assertTrue(FlinkSessionJobController.isSessionClusterChanged(cluster, updated));
+    }
+}
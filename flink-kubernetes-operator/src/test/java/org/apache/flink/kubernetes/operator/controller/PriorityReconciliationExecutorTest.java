@@ -0,0 +1,200 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.kubernetes.operator.controller;
+
+import org.apache.flink.kubernetes.operator.controller.PriorityReconciliationExecutor.TaskInfo;
+import org.apache.flink.kubernetes.operator.reconciler.ReconciliationPriority;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** {@link PriorityReconciliationExecutor} tests. */
+public class PriorityReconciliationExecutorTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final List<String> executed = new ArrayList<>();
+
+    private PriorityReconciliationExecutor executor;
+
+    @Test
+    public void testQueuedTasksRunByPriority() throws Exception {
+        executor = createExecutor(1, null);
+        var blocker = block("ns", false);
+        executor.execute(new TestTask("low", ReconciliationPriority.LOW));
+        executor.execute(new TestTask("normal", ReconciliationPriority.NORMAL));
+        executor.execute(new TestTask("high", ReconciliationPriority.HIGH));
+        executor.execute(new TestTask("high2", ReconciliationPriority.HIGH));
+        assertEquals(1, executor.getQueueDepth(ReconciliationPriority.LOW));
+        assertEquals(2, executor.getQueueDepth(ReconciliationPriority.HIGH));
+
+        blocker.countDown();
+        awaitTasks();
+        assertEquals(List.of("high", "high2", "normal", "low"), executed);
+        for (ReconciliationPriority priority : ReconciliationPriority.values()) {
+            assertEquals(0, executor.getQueueDepth(priority));
+        }
+    }
+
+    @Test
+    public void testLowPriorityTasksDoNotStarve() throws Exception {
+        executor = createExecutor(1, null);
+        var blocker = block("ns", false);
+        executor.execute(new TestTask("low", ReconciliationPriority.LOW));
+        clock.set(Duration.ofSeconds(40).toMillis());
+        executor.execute(new TestTask("high", ReconciliationPriority.HIGH));
+        executor.execute(new TestTask("normal", ReconciliationPriority.NORMAL));
+        clock.set(Duration.ofSeconds(61).toMillis());
+        executor.execute(new TestTask("late-high", ReconciliationPriority.HIGH));
+
+        blocker.countDown();
+        awaitTasks();
+        assertEquals(List.of("high", "low", "late-high", "normal"), executed);
+    }
+
+    @Test
+    public void testNamespacesShareThreadsByWeight() throws Exception {
+        executor =
+                createExecutor(
+                        1,
+                        new NamespaceFairShareQueue(
+                                namespace -> Map.of("a", 2.0).getOrDefault(namespace, 1.0),
+                                namespace -> -1));
+        var blocker = block("other", false);
+        for (int i = 1; i <= 4; i++) {
+            executor.execute(new TestTask("a" + i, "a", false));
+        }
+        for (int i = 1; i <= 4; i++) {
+            executor.execute(new TestTask("b" + i, "b", false));
+        }
+        clock.set(Duration.ofSeconds(5).toMillis());
+
+        blocker.countDown();
+        awaitTasks();
+        assertEquals(List.of("a1", "b1", "a2", "a3", "b2", "a4", "b3", "b4"), executed);
+        assertEquals(4, executor.getQueueLatency("a").getCount());
+        assertEquals(5000, executor.getQueueLatency("b").getStatistics().getMin());
+    }
+
+    @Test
+    public void testConcurrentOperationsAreCappedPerNamespace() throws Exception {
+        executor =
+                createExecutor(
+                        2,
+                        new NamespaceFairShareQueue(
+                                namespace -> 1.0, namespace -> "a".equals(namespace) ? 1 : -1));
+        var blocker = block("a", true);
+        executor.execute(new TestTask("a-operation", "a", true));
+        var routineExecuted = new CountDownLatch(2);
+        executor.execute(
+                new TestTask("a-routine", "a", false) {
+                    @Override
+                    public void run() {
+                        super.run();
+                        routineExecuted.countDown();
+                    }
+                });
+        executor.execute(
+                new TestTask("b-operation", "b", true) {
+                    @Override
+                    public void run() {
+                        super.run();
+                        routineExecuted.countDown();
+                    }
+                });
+
+        assertTrue(routineExecuted.await(10, TimeUnit.SECONDS));
+        synchronized (executed) {
+            assertFalse(executed.contains("a-operation"));
+        }
+
+        blocker.countDown();
+        awaitTasks();
+        assertEquals("a-operation", executed.get(executed.size() - 1));
+    }
+
+    private PriorityReconciliationExecutor createExecutor(
+            int parallelism, NamespaceFairShareQueue fairShareQueue) {
+        return new PriorityReconciliationExecutor(
+                parallelism,
+                Duration.ofMinutes(1),
+                fairShareQueue,
+                task -> ((TestTask) task).info,
+                clock::get);
+    }
+
+    private CountDownLatch block(String namespace, boolean expensive) {
+        var blocker = new CountDownLatch(1);
+        var started = new CountDownLatch(1);
+        executor.execute(
+                new TestTask("blocker", namespace, expensive) {
+                    @Override
+                    public void run() {
+                        started.countDown();
+                        try {
+                            blocker.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                });
+        try {
+            started.await();
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+        return blocker;
+    }
+
+    private void awaitTasks() throws InterruptedException {
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    private class TestTask implements Runnable {
+        private final String name;
+        private final TaskInfo info;
+
+        private TestTask(String name, ReconciliationPriority priority) {
+            this.name = name;
+            this.info = new TaskInfo(priority, "ns", false);
+        }
+
+        private TestTask(String name, String namespace, boolean expensive) {
+            this.name = name;
+            this.info = new TaskInfo(ReconciliationPriority.NORMAL, namespace, expensive);
+        }
+
+        @Override
+        public void run() {
+            synchronized (executed) {
+                executed.add(name);
+            }
+        }
+    }
+}
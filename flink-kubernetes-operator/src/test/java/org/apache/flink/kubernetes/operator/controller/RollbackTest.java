@@ -82,11 +82,12 @@ public class RollbackTest {
                 () -> {
                     dep.getSpec().getJob().setParallelism(9999);
                     testController.reconcile(dep, context);
-                    savepoints.add(jobStatus.getSavepointInfo().getLastSavepoint().getLocation());
                     assertEquals(
                             JobState.SUSPENDED,
                             reconStatus.deserializeLastReconciledSpec().getJob().getState());
+                    // The savepoint of the stopped job is observed before the redeployment
                     testController.reconcile(dep, TestUtils.createEmptyContext());
+                    savepoints.add(jobStatus.getSavepointInfo().getLastSavepoint().getLocation());
 
                     // Trigger rollback by delaying the recovery
                     Thread.sleep(500);
@@ -296,6 +297,8 @@ public class RollbackTest {
 
             deployment.getSpec().getJob().setState(JobState.SUSPENDED);
             testController.reconcile(deployment, context);
+            // A job stopped with a savepoint is suspended once the savepoint has been observed
+            testController.reconcile(deployment, context);
             assertTrue(reconciliationStatus.isLastReconciledSpecStable());
             assertEquals(ReconciliationState.DEPLOYED, reconciliationStatus.getState());
             assertNull(deployment.getStatus().getError());
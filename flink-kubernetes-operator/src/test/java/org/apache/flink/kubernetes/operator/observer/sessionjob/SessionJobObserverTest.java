@@ -24,12 +24,20 @@ import org.apache.flink.configuration.RestOptions;
 import org.apache.flink.kubernetes.operator.TestUtils;
 import org.apache.flink.kubernetes.operator.TestingFlinkService;
 import org.apache.flink.kubernetes.operator.config.FlinkOperatorConfiguration;
+import org.apache.flink.kubernetes.operator.config.KubernetesOperatorConfigOptions;
+import org.apache.flink.kubernetes.operator.crd.FlinkSessionJob;
 import org.apache.flink.kubernetes.operator.reconciler.sessionjob.FlinkSessionJobReconciler;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 
 import static org.apache.flink.kubernetes.operator.observer.deployment.AbstractDeploymentObserver.JOB_STATE_UNKNOWN;
 
@@ -165,4 +173,117 @@ public class SessionJobObserverTest {
         Assertions.assertNull(savepointInfo.getTriggerId());
         Assertions.assertNull(savepointInfo.getTriggerTimestamp());
     }
+
+    @Test
+    public void testWakeUpChangedSessionJobs() throws Exception {
+        // The job listings are shared by default
+        final var cachingConfiguration =
+                FlinkOperatorConfiguration.fromConfiguration(new Configuration());
+        final var flinkService = new TestingFlinkService();
+        final var reconciler =
+                new FlinkSessionJobReconciler(
+                        null, flinkService, cachingConfiguration, new Configuration());
+        final var pendingChecks = new ArrayDeque<Runnable>();
+        final var sessionClusterObserver =
+                new SessionClusterObserver(flinkService, cachingConfiguration, pendingChecks::add);
+        final var observer =
+                new SessionJobObserver(
+                        cachingConfiguration, flinkService, defaultConfig, sessionClusterObserver);
+        final var readyContext = TestUtils.createContextWithReadyFlinkDeployment();
+
+        final var sessionJob = TestUtils.buildSessionJob();
+        final var sessionJob2 = TestUtils.buildSessionJob();
+        sessionJob2.getMetadata().setName("session-job-2");
+        reconciler.reconcile(sessionJob, readyContext);
+        reconciler.reconcile(sessionJob2, readyContext);
+
+        final var wokenUp = new ArrayList<String>();
+        sessionClusterObserver.setSessionJobs(
+                new SessionClusterObserver.SessionJobs() {
+                    @Override
+                    public Collection<FlinkSessionJob> get(String namespace, String clusterId) {
+                        return List.of(sessionJob, sessionJob2);
+                    }
+
+                    @Override
+                    public void wakeUp(FlinkSessionJob job) {
+                        wokenUp.add(job.getMetadata().getName());
+                    }
+                });
+
+        // The other session job is still unknown, but its job is running
+        observer.observe(sessionJob, readyContext);
+        Assertions.assertEquals(
+                JobStatus.RUNNING.name(), sessionJob.getStatus().getJobStatus().getState());
+        // The other session jobs are checked on the executor, not by the observing thread
+        Assertions.assertEquals(List.of(), wokenUp);
+        runAll(pendingChecks);
+        Assertions.assertEquals(List.of("session-job-2"), wokenUp);
+
+        wokenUp.clear();
+        observer.observe(sessionJob2, readyContext);
+        runAll(pendingChecks);
+        Assertions.assertEquals(
+                JobStatus.RUNNING.name(), sessionJob2.getStatus().getJobStatus().getState());
+        Assertions.assertEquals(List.of(), wokenUp);
+
+        // Unchanged jobs are neither woken up nor get a status update
+        var updateTime = sessionJob.getStatus().getJobStatus().getUpdateTime();
+        Thread.sleep(2);
+        observer.observe(sessionJob, readyContext);
+        runAll(pendingChecks);
+        Assertions.assertEquals(List.of(), wokenUp);
+        Assertions.assertEquals(updateTime, sessionJob.getStatus().getJobStatus().getUpdateTime());
+    }
+
+    @Test
+    public void testNoWakeUpWithoutSharedListings() throws Exception {
+        final var config = new Configuration();
+        config.set(
+                KubernetesOperatorConfigOptions.OPERATOR_OBSERVER_LIST_JOBS_CACHE_TTL,
+                Duration.ZERO);
+        final var operatorConfiguration = FlinkOperatorConfiguration.fromConfiguration(config);
+        final var flinkService = new TestingFlinkService();
+        final var reconciler =
+                new FlinkSessionJobReconciler(
+                        null, flinkService, operatorConfiguration, new Configuration());
+        final var pendingChecks = new ArrayDeque<Runnable>();
+        final var sessionClusterObserver =
+                new SessionClusterObserver(flinkService, operatorConfiguration, pendingChecks::add);
+        final var observer =
+                new SessionJobObserver(
+                        operatorConfiguration, flinkService, defaultConfig, sessionClusterObserver);
+        final var readyContext = TestUtils.createContextWithReadyFlinkDeployment();
+
+        final var sessionJob = TestUtils.buildSessionJob();
+        final var sessionJob2 = TestUtils.buildSessionJob();
+        sessionJob2.getMetadata().setName("session-job-2");
+        reconciler.reconcile(sessionJob, readyContext);
+        reconciler.reconcile(sessionJob2, readyContext);
+        sessionClusterObserver.setSessionJobs(
+                new SessionClusterObserver.SessionJobs() {
+                    @Override
+                    public Collection<FlinkSessionJob> get(String namespace, String clusterId) {
+                        return List.of(sessionJob, sessionJob2);
+                    }
+
+                    @Override
+                    public void wakeUp(FlinkSessionJob job) {
+                        Assertions.fail("Woke up " + job.getMetadata().getName());
+                    }
+                });
+
+        // Every session job lists the jobs itself, the other session jobs are not checked
+        observer.observe(sessionJob, readyContext);
+        Assertions.assertEquals(
+                JobStatus.RUNNING.name(), sessionJob.getStatus().getJobStatus().getState());
+        Assertions.assertTrue(pendingChecks.isEmpty());
+    }
+
+    private static void runAll(Queue<Runnable> tasks) {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            task.run();
+        }
+    }
 }
@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.kubernetes.operator.reconciler;
+
+import org.apache.flink.kubernetes.operator.TestUtils;
+import org.apache.flink.kubernetes.operator.crd.spec.JobState;
+import org.apache.flink.kubernetes.operator.crd.status.JobManagerDeploymentStatus;
+import org.apache.flink.kubernetes.operator.crd.status.ReconciliationState;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/** {@link ReconciliationPriority} tests. */
+public class ReconciliationPriorityTest {
+
+    @Test
+    public void testDeploymentPriority() {
+        var deployment = TestUtils.buildApplicationCluster();
+        assertEquals(ReconciliationPriority.NORMAL, ReconciliationPriority.of(deployment));
+
+        var status = deployment.getStatus();
+        status.getReconciliationStatus().serializeAndSetLastReconciledSpec(deployment.getSpec());
+        status.setJobManagerDeploymentStatus(JobManagerDeploymentStatus.DEPLOYING);
+        assertEquals(ReconciliationPriority.NORMAL, ReconciliationPriority.of(deployment));
+
+        status.setJobManagerDeploymentStatus(JobManagerDeploymentStatus.READY);
+        assertEquals(ReconciliationPriority.LOW, ReconciliationPriority.of(deployment));
+
+        deployment.getSpec().setImage("new-image");
+        assertEquals(ReconciliationPriority.NORMAL, ReconciliationPriority.of(deployment));
+        status.getReconciliationStatus().serializeAndSetLastReconciledSpec(deployment.getSpec());
+
+        status.getJobStatus().getSavepointInfo().setTrigger("trigger");
+        assertEquals(ReconciliationPriority.HIGH, ReconciliationPriority.of(deployment));
+        status.getJobStatus().getSavepointInfo().resetTrigger();
+
+        status.getReconciliationStatus().setState(ReconciliationState.ROLLING_BACK);
+        assertEquals(ReconciliationPriority.HIGH, ReconciliationPriority.of(deployment));
+        status.getReconciliationStatus().setState(ReconciliationState.DEPLOYED);
+
+        // Suspended for an upgrade that is not finished yet
+        var suspendedSpec = ReconciliationUtils.clone(deployment.getSpec());
+        suspendedSpec.getJob().setState(JobState.SUSPENDED);
+        status.getReconciliationStatus().serializeAndSetLastReconciledSpec(suspendedSpec);
+        assertEquals(ReconciliationPriority.HIGH, ReconciliationPriority.of(deployment));
+    }
+
+    @Test
+    public void testSessionJobPriority() {
+        var sessionJob = TestUtils.buildSessionJob();
+        assertEquals(ReconciliationPriority.NORMAL, ReconciliationPriority.of(sessionJob));
+
+        var status = sessionJob.getStatus();
+        status.getReconciliationStatus().serializeAndSetLastReconciledSpec(sessionJob.getSpec());
+        assertEquals(ReconciliationPriority.NORMAL, ReconciliationPriority.of(sessionJob));
+
+        status.getJobStatus().setState(org.apache.flink.api.common.JobStatus.RUNNING.name());
+        assertEquals(ReconciliationPriority.LOW, ReconciliationPriority.of(sessionJob));
+
+        status.getJobStatus().getSavepointInfo().setTrigger("trigger");
+        assertEquals(ReconciliationPriority.HIGH, ReconciliationPriority.of(sessionJob));
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.kubernetes.operator.reconciler;
+
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.kubernetes.operator.TestUtils;
+import org.apache.flink.kubernetes.operator.config.FlinkOperatorConfiguration;
+import org.apache.flink.kubernetes.operator.config.KubernetesOperatorConfigOptions;
+import org.apache.flink.kubernetes.operator.crd.FlinkDeployment;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** {@link RescheduleIntervals} tests. */
+public class RescheduleIntervalsTest {
+
+    private static final Duration INTERVAL = Duration.ofSeconds(60);
+
+    @Test
+    public void testJitter() {
+        var deployment = TestUtils.buildApplicationCluster();
+        assertEquals(INTERVAL, RescheduleIntervals.jitter(deployment, INTERVAL, 0));
+
+        Set<Duration> intervals = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            deployment.getMetadata().setUid(UUID.randomUUID().toString());
+            Duration jittered = RescheduleIntervals.jitter(deployment, INTERVAL, 0.2);
+            assertTrue(jittered.compareTo(Duration.ofSeconds(48)) >= 0);
+            assertTrue(jittered.compareTo(Duration.ofSeconds(72)) <= 0);
+            // The same resource always gets the same interval
+            assertEquals(jittered, RescheduleIntervals.jitter(deployment, INTERVAL, 0.2));
+            intervals.add(jittered);
+        }
+        assertTrue(intervals.size() > 50);
+    }
+
+    @Test
+    public void testJitterKeepsMinInterval() {
+        var deployment = TestUtils.buildApplicationCluster();
+        // The empty key is at the lowest position
+        deployment.getMetadata().setUid("");
+        assertEquals(Duration.ofSeconds(30), RescheduleIntervals.jitter(deployment, INTERVAL, 0.5));
+        assertEquals(
+                RescheduleIntervals.MIN_JITTERED_INTERVAL,
+                RescheduleIntervals.jitter(deployment, INTERVAL, 0.999));
+        assertEquals(
+                Duration.ofMillis(100),
+                RescheduleIntervals.jitter(deployment, Duration.ofMillis(100), 0.999));
+
+        var config = new Configuration();
+        config.set(KubernetesOperatorConfigOptions.OPERATOR_RECONCILER_RESCHEDULE_JITTER, 1.0);
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> FlinkOperatorConfiguration.fromConfiguration(config));
+        config.set(KubernetesOperatorConfigOptions.OPERATOR_RECONCILER_RESCHEDULE_JITTER, -0.1);
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> FlinkOperatorConfiguration.fromConfiguration(config));
+    }
+
+    @Test
+    public void testAdaptiveInterval() {
+        var config = new Configuration();
+        config.set(
+                KubernetesOperatorConfigOptions.OPERATOR_RECONCILER_RESCHEDULE_INTERVAL, INTERVAL);
+        var deployment = TestUtils.buildApplicationCluster();
+
+        // Disabled by default
+        var operatorConfiguration = FlinkOperatorConfiguration.fromConfiguration(config);
+        assertEquals(INTERVAL, interval(deployment, operatorConfiguration, false, 0));
+        assertEquals(INTERVAL, interval(deployment, operatorConfiguration, true, 0));
+
+        config.set(
+                KubernetesOperatorConfigOptions.OPERATOR_RECONCILER_RESCHEDULE_ADAPTIVE_ENABLED,
+                true);
+        operatorConfiguration = FlinkOperatorConfiguration.fromConfiguration(config);
+        assertEquals(Duration.ofSeconds(30), interval(deployment, operatorConfiguration, false, 0));
+        assertEquals(INTERVAL, interval(deployment, operatorConfiguration, true, 0));
+        assertEquals(
+                Duration.ofSeconds(120),
+                interval(deployment, operatorConfiguration, true, Duration.ofMinutes(30)));
+        assertEquals(
+                Duration.ofSeconds(180),
+                interval(deployment, operatorConfiguration, true, Duration.ofHours(5)));
+    }
+
+    private static Duration interval(
+            FlinkDeployment deployment,
+            FlinkOperatorConfiguration operatorConfiguration,
+            boolean settled,
+            long stableForMillis) {
+        return RescheduleIntervals.reconcileInterval(
+                deployment, operatorConfiguration, settled, 1000, 1000 + stableForMillis);
+    }
+
+    private static Duration interval(
+            FlinkDeployment deployment,
+            FlinkOperatorConfiguration operatorConfiguration,
+            boolean settled,
+            Duration stableFor) {
+        return interval(deployment, operatorConfiguration, settled, stableFor.toMillis());
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.kubernetes.operator.reconciler;
+
+import org.apache.flink.kubernetes.operator.TestUtils;
+import org.apache.flink.kubernetes.operator.crd.FlinkDeployment;
+import org.apache.flink.kubernetes.operator.crd.spec.FlinkDeploymentSpec;
+import org.apache.flink.kubernetes.operator.crd.status.ReconciliationStatus;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+/** {@link SpecCache} tests. */
+public class SpecCacheTest {
+
+    @Test
+    public void testSpecIsParsedOncePerString() {
+        FlinkDeployment deployment = TestUtils.buildApplicationCluster();
+        ReconciliationStatus status = deployment.getStatus().getReconciliationStatus();
+        status.serializeAndSetLastReconciledSpec(deployment.getSpec());
+        status.markReconciledSpecAsStable();
+
+        try (SpecCache specCache = new SpecCache();
+                SpecCache.Reconciliation ignored = specCache.startReconcile()) {
+            FlinkDeploymentSpec spec = status.deserializeLastReconciledSpec();
+            assertEquals(deployment.getSpec(), spec);
+            assertEquals(1, specCache.getParseCount());
+
+            // The stable spec is the same string, every caller gets its own copy
+            spec.setImage("changed");
+            FlinkDeploymentSpec stableSpec = status.deserializeLastStableSpec();
+            assertNotSame(spec, stableSpec);
+            assertEquals(deployment.getSpec(), stableSpec);
+            assertEquals(1, specCache.getParseCount());
+
+            // Updated specs are parsed again
+            status.serializeAndSetLastReconciledSpec(spec);
+            assertEquals(spec, status.deserializeLastReconciledSpec());
+            assertEquals(2, specCache.getParseCount());
+        }
+    }
+
+    @Test
+    public void testSpecIsNotCachedOutsideOfReconciliation() {
+        FlinkDeployment deployment = TestUtils.buildApplicationCluster();
+        ReconciliationStatus status = deployment.getStatus().getReconciliationStatus();
+        status.serializeAndSetLastReconciledSpec(deployment.getSpec());
+
+        try (SpecCache specCache = new SpecCache()) {
+            try (SpecCache.Reconciliation ignored = specCache.startReconcile()) {
+                status.deserializeLastReconciledSpec();
+            }
+            assertEquals(deployment.getSpec(), status.deserializeLastReconciledSpec());
+            assertEquals(1, specCache.getParseCount());
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.kubernetes.operator.reconciler;
+
+import org.apache.flink.kubernetes.operator.TestUtils;
+import org.apache.flink.kubernetes.operator.crd.diff.DiffType;
+import org.apache.flink.kubernetes.operator.crd.spec.FlinkDeploymentSpec;
+import org.apache.flink.kubernetes.operator.crd.spec.IngressSpec;
+import org.apache.flink.kubernetes.operator.crd.status.SpecChange;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** {@link SpecDiffer} tests. */
+public class SpecDifferTest {
+
+    @Test
+    public void testClassification() {
+        FlinkDeploymentSpec oldSpec = TestUtils.buildApplicationCluster().getSpec();
+
+        FlinkDeploymentSpec newSpec = ReconciliationUtils.clone(oldSpec);
+        assertEquals(new SpecChange(), SpecDiffer.diff(oldSpec, newSpec));
+
+        newSpec.setLogConfiguration(Map.of("log4j-console.properties", "rootLogger.level = DEBUG"));
+        newSpec.setIngress(IngressSpec.builder().template("{{name}}.example.com").build());
+        SpecChange change = SpecDiffer.diff(oldSpec, newSpec);
+        assertEquals(DiffType.IN_PLACE, change.getType());
+        assertEquals(List.of("ingress", "logConfiguration"), change.getFields());
+        assertTrue(SpecDiffer.isChanged(change, "ingress"));
+        assertFalse(SpecDiffer.isChanged(change, "job"));
+
+        newSpec.getJob().setParallelism(oldSpec.getJob().getParallelism() + 1);
+        newSpec.getFlinkConfiguration()
+                .put("kubernetes.operator.reconciler.reschedule.interval", "1 s");
+        change = SpecDiffer.diff(oldSpec, newSpec);
+        assertEquals(DiffType.UPGRADE, change.getType());
+        assertEquals(
+                List.of(
+                        "ingress",
+                        "flinkConfiguration.kubernetes.operator.reconciler.reschedule.interval",
+                        "job.parallelism",
+                        "logConfiguration"),
+                change.getFields());
+        assertTrue(SpecDiffer.isChanged(change, "job"));
+    }
+
+    @Test
+    public void testOperatorConfigurationIsIgnored() {
+        FlinkDeploymentSpec oldSpec = TestUtils.buildApplicationCluster().getSpec();
+        FlinkDeploymentSpec newSpec = ReconciliationUtils.clone(oldSpec);
+        newSpec.getFlinkConfiguration()
+                .put("kubernetes.operator.reconciler.reschedule.interval", "1 s");
+        assertEquals(DiffType.IGNORE, SpecDiffer.diff(oldSpec, newSpec).getType());
+
+        newSpec.getFlinkConfiguration().put("taskmanager.numberOfTaskSlots", "4");
+        SpecChange change = SpecDiffer.diff(oldSpec, newSpec);
+        assertEquals(DiffType.UPGRADE, change.getType());
+        assertTrue(change.getFields().contains("flinkConfiguration.taskmanager.numberOfTaskSlots"));
+    }
+}
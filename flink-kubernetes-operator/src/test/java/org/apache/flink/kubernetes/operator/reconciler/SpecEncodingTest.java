@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.kubernetes.operator.reconciler;
+
+import org.apache.flink.kubernetes.operator.TestUtils;
+import org.apache.flink.kubernetes.operator.crd.FlinkDeployment;
+import org.apache.flink.kubernetes.operator.crd.spec.FlinkDeploymentSpec;
+import org.apache.flink.kubernetes.operator.crd.status.ReconciliationStatus;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** {@link SpecEncoding} tests. */
+public class SpecEncodingTest {
+
+    private SpecEncoding.Reconciliation reconciliation;
+
+    @AfterEach
+    public void reset() {
+        if (reconciliation != null) {
+            reconciliation.close();
+        }
+    }
+
+    @Test
+    public void testCompression() {
+        FlinkDeployment deployment = TestUtils.buildApplicationCluster();
+        deployment.getSpec().setPodTemplate(TestUtils.getTestPodTemplate());
+        String plain = ReconciliationUtils.writeSpecWithCurrentVersion(deployment.getSpec());
+        assertFalse(plain.startsWith(SpecEncoding.GZIP_PREFIX));
+
+        useEncoding(true, 0);
+        String compressed = ReconciliationUtils.writeSpecWithCurrentVersion(deployment.getSpec());
+        assertTrue(compressed.startsWith(SpecEncoding.GZIP_PREFIX));
+        assertTrue(compressed.length() < plain.length());
+        assertEquals(plain, SpecEncoding.decode(compressed));
+        assertEquals(
+                deployment.getSpec(),
+                ReconciliationUtils.deserializedSpecWithVersion(
+                        compressed, FlinkDeploymentSpec.class));
+
+        // Specs below the threshold are not compressed
+        useEncoding(true, plain.length() + 1);
+        assertEquals(plain, ReconciliationUtils.writeSpecWithCurrentVersion(deployment.getSpec()));
+    }
+
+    @Test
+    public void testStableSpecDeduplication() {
+        useEncoding(true, Long.MAX_VALUE);
+        FlinkDeployment deployment = TestUtils.buildApplicationCluster();
+        ReconciliationStatus status = deployment.getStatus().getReconciliationStatus();
+
+        status.serializeAndSetLastReconciledSpec(deployment.getSpec());
+        status.markReconciledSpecAsStable();
+        assertEquals(SpecEncoding.SAME_AS_LAST_RECONCILED, status.getLastStableSpec());
+        assertTrue(status.isLastReconciledSpecStable());
+        assertEquals(deployment.getSpec(), status.deserializeLastStableSpec());
+
+        // The stable spec is kept when a new spec is reconciled
+        FlinkDeploymentSpec stableSpec = ReconciliationUtils.clone(deployment.getSpec());
+        deployment.getSpec().setImage("new-image");
+        status.serializeAndSetLastReconciledSpec(deployment.getSpec());
+        assertFalse(status.isLastReconciledSpecStable());
+        assertEquals(stableSpec, status.deserializeLastStableSpec());
+        assertEquals(deployment.getSpec(), status.deserializeLastReconciledSpec());
+
+        // Rolling back references the stable spec again
+        status.serializeAndSetLastReconciledSpec(stableSpec);
+        assertEquals(SpecEncoding.SAME_AS_LAST_RECONCILED, status.getLastStableSpec());
+        assertTrue(status.isLastReconciledSpecStable());
+    }
+
+    @Test
+    public void testMigration() {
+        FlinkDeployment deployment = TestUtils.buildApplicationCluster();
+        ReconciliationStatus status = deployment.getStatus().getReconciliationStatus();
+        status.serializeAndSetLastReconciledSpec(deployment.getSpec());
+        status.markReconciledSpecAsStable();
+        String plain = status.getLastReconciledSpec();
+
+        // Nothing changes for the plain encoding
+        status.migrateSpecEncoding();
+        assertSame(plain, status.getLastReconciledSpec());
+        assertSame(plain, status.getLastStableSpec());
+
+        useEncoding(true, 0);
+        status.migrateSpecEncoding();
+        assertTrue(status.getLastReconciledSpec().startsWith(SpecEncoding.GZIP_PREFIX));
+        assertEquals(SpecEncoding.SAME_AS_LAST_RECONCILED, status.getLastStableSpec());
+        assertEquals(deployment.getSpec(), status.deserializeLastStableSpec());
+
+        useEncoding(false, Long.MAX_VALUE);
+        status.migrateSpecEncoding();
+        assertEquals(plain, status.getLastReconciledSpec());
+        assertEquals(plain, status.getLastStableSpec());
+
+        // Specs are encoded plain outside of a reconciliation
+        useEncoding(true, 0);
+        reconciliation.close();
+        reconciliation = null;
+        status.migrateSpecEncoding();
+        assertEquals(plain, status.getLastReconciledSpec());
+    }
+
+    private void useEncoding(boolean compactionEnabled, long compressionMinSize) {
+        reset();
+        reconciliation = new SpecEncoding(compactionEnabled, compressionMinSize).startReconcile();
+    }
+}
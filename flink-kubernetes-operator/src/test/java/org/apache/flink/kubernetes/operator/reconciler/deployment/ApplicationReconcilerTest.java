@@ -23,11 +23,21 @@ import org.apache.flink.configuration.HighAvailabilityOptions;
 import org.apache.flink.kubernetes.operator.TestUtils;
 import org.apache.flink.kubernetes.operator.TestingFlinkService;
 import org.apache.flink.kubernetes.operator.config.FlinkOperatorConfiguration;
+import org.apache.flink.kubernetes.operator.config.KubernetesOperatorConfigOptions;
 import org.apache.flink.kubernetes.operator.crd.FlinkDeployment;
+import org.apache.flink.kubernetes.operator.crd.diff.DiffType;
+import org.apache.flink.kubernetes.operator.crd.spec.FlinkDeploymentSpec;
 import org.apache.flink.kubernetes.operator.crd.spec.JobState;
 import org.apache.flink.kubernetes.operator.crd.spec.UpgradeMode;
 import org.apache.flink.kubernetes.operator.crd.status.JobManagerDeploymentStatus;
 import org.apache.flink.kubernetes.operator.crd.status.JobStatus;
+import org.apache.flink.kubernetes.operator.crd.status.ReconciliationState;
+import org.apache.flink.kubernetes.operator.crd.status.ReconciliationStatus;
+import org.apache.flink.kubernetes.operator.crd.status.SavepointInfo;
+import org.apache.flink.kubernetes.operator.crd.status.SavepointTriggerType;
+import org.apache.flink.kubernetes.operator.crd.status.SpecChange;
+import org.apache.flink.kubernetes.operator.observer.SavepointObserver;
+import org.apache.flink.kubernetes.operator.reconciler.AppliedSpecChanges;
 import org.apache.flink.kubernetes.operator.reconciler.ReconciliationUtils;
 import org.apache.flink.runtime.client.JobStatusMessage;
 
@@ -39,6 +49,7 @@ import java.util.concurrent.ThreadLocalRandom;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -55,7 +66,11 @@ public class ApplicationReconcilerTest {
 
         ApplicationReconciler reconciler =
                 new ApplicationReconciler(
-                        null, flinkService, operatorConfiguration, new Configuration());
+                        null,
+                        flinkService,
+                        operatorConfiguration,
+                        new Configuration(),
+                        new AppliedSpecChanges());
         FlinkDeployment deployment = TestUtils.buildApplicationCluster();
 
         reconciler.reconcile(deployment, context);
@@ -88,6 +103,7 @@ public class ApplicationReconcilerTest {
         statefulUpgrade.getSpec().getFlinkConfiguration().put("new", "conf2");
 
         reconciler.reconcile(statefulUpgrade, context);
+        observeSavepoint(flinkService, statefulUpgrade);
 
         runningJobs = flinkService.listJobs();
         assertEquals(0, runningJobs.size());
@@ -99,6 +115,173 @@ public class ApplicationReconcilerTest {
         assertEquals("savepoint_0", runningJobs.get(0).f0);
     }
 
+    @Test
+    public void testUpgradeWaitsForClusterShutdown() throws Exception {
+        Context context = TestUtils.createContextWithReadyJobManagerDeployment();
+        TestingFlinkService flinkService = new TestingFlinkService();
+
+        ApplicationReconciler reconciler =
+                new ApplicationReconciler(
+                        null,
+                        flinkService,
+                        operatorConfiguration,
+                        new Configuration(),
+                        new AppliedSpecChanges());
+        FlinkDeployment deployment = TestUtils.buildApplicationCluster();
+
+        reconciler.reconcile(deployment, context);
+        verifyAndSetRunningJobsToStatus(deployment, flinkService.listJobs());
+
+        flinkService.setClusterShutDown(false);
+        deployment.getSpec().getJob().setUpgradeMode(UpgradeMode.SAVEPOINT);
+        deployment.getSpec().getFlinkConfiguration().put("new", "conf");
+        reconciler.reconcile(deployment, context);
+        observeSavepoint(flinkService, deployment);
+        reconciler.reconcile(deployment, context);
+        assertEquals(0, flinkService.listJobs().size());
+        assertNotNull(deployment.getStatus().getClusterShutdownTimestamp());
+
+        // The job is not redeployed while the cluster is shutting down
+        reconciler.reconcile(deployment, context);
+        assertEquals(0, flinkService.listJobs().size());
+        assertNotNull(deployment.getStatus().getClusterShutdownTimestamp());
+
+        flinkService.setClusterShutDown(true);
+        reconciler.reconcile(deployment, context);
+        assertNull(deployment.getStatus().getClusterShutdownTimestamp());
+        assertEquals(1, flinkService.listJobs().size());
+        assertEquals("savepoint_0", flinkService.listJobs().get(0).f0);
+
+        // The upgrade continues after the shutdown timeout even if the cluster is not gone
+        deployment
+                .getStatus()
+                .getJobStatus()
+                .setJobId(flinkService.listJobs().get(0).f1.getJobId().toHexString());
+        deployment.getStatus().getJobStatus().setState("RUNNING");
+        deployment.getStatus().setJobManagerDeploymentStatus(JobManagerDeploymentStatus.READY);
+        flinkService.setClusterShutDown(false);
+        deployment.getSpec().getFlinkConfiguration().put("new", "conf2");
+        reconciler.reconcile(deployment, context);
+        observeSavepoint(flinkService, deployment);
+        reconciler.reconcile(deployment, context);
+        assertEquals(0, flinkService.listJobs().size());
+        deployment
+                .getStatus()
+                .setClusterShutdownTimestamp(
+                        System.currentTimeMillis()
+                                - operatorConfiguration
+                                        .getFlinkShutdownClusterTimeout()
+                                        .toMillis());
+        reconciler.reconcile(deployment, context);
+        assertNull(deployment.getStatus().getClusterShutdownTimestamp());
+        assertEquals(1, flinkService.listJobs().size());
+    }
+
+    @Test
+    public void testSavepointUpgradeDoesNotWaitForSavepoint() throws Exception {
+        Context context = TestUtils.createContextWithReadyJobManagerDeployment();
+        TestingFlinkService flinkService = new TestingFlinkService();
+
+        ApplicationReconciler reconciler =
+                new ApplicationReconciler(
+                        null,
+                        flinkService,
+                        operatorConfiguration,
+                        new Configuration(),
+                        new AppliedSpecChanges());
+        FlinkDeployment deployment = TestUtils.buildApplicationCluster();
+
+        reconciler.reconcile(deployment, context);
+        verifyAndSetRunningJobsToStatus(deployment, flinkService.listJobs());
+
+        // The reconciliation returns once the job has been asked to stop with a savepoint
+        deployment.getSpec().getJob().setUpgradeMode(UpgradeMode.SAVEPOINT);
+        deployment.getSpec().getFlinkConfiguration().put("new", "conf");
+        reconciler.reconcile(deployment, context);
+        SavepointInfo savepointInfo = deployment.getStatus().getJobStatus().getSavepointInfo();
+        assertEquals("trigger_0", savepointInfo.getTriggerId());
+        assertEquals(SavepointTriggerType.STOP, savepointInfo.getTriggerType());
+        assertEquals(
+                JobManagerDeploymentStatus.READY,
+                deployment.getStatus().getJobManagerDeploymentStatus());
+        assertNull(deployment.getStatus().getClusterShutdownTimestamp());
+
+        // The upgrade only continues once the savepoint has been completed
+        reconciler.reconcile(deployment, context);
+        assertEquals(1, flinkService.listJobs().size());
+        assertEquals("trigger_0", savepointInfo.getTriggerId());
+
+        observeSavepoint(flinkService, deployment);
+        assertNull(savepointInfo.getTriggerType());
+        reconciler.reconcile(deployment, context);
+        assertEquals(1, flinkService.listJobs().size());
+        assertEquals("savepoint_0", flinkService.listJobs().get(0).f0);
+        assertEquals(
+                JobManagerDeploymentStatus.DEPLOYING,
+                deployment.getStatus().getJobManagerDeploymentStatus());
+
+        // The job stays suspended if the cluster is gone before the savepoint was observed
+        deployment
+                .getStatus()
+                .getJobStatus()
+                .setJobId(flinkService.listJobs().get(0).f1.getJobId().toHexString());
+        deployment.getStatus().getJobStatus().setState("RUNNING");
+        deployment.getStatus().setJobManagerDeploymentStatus(JobManagerDeploymentStatus.READY);
+        deployment.getSpec().getFlinkConfiguration().put("new", "conf2");
+        reconciler.reconcile(deployment, context);
+        deployment.getStatus().setJobManagerDeploymentStatus(JobManagerDeploymentStatus.MISSING);
+        reconciler.reconcile(deployment, context);
+        assertNotNull(deployment.getStatus().getError());
+        assertEquals("trigger_1", savepointInfo.getTriggerId());
+        assertEquals(1, flinkService.listJobs().size());
+    }
+
+    @Test
+    public void testFailedStopWithSavepointRetriesUpgrade() throws Exception {
+        Context context = TestUtils.createContextWithReadyJobManagerDeployment();
+        TestingFlinkService flinkService = new TestingFlinkService();
+
+        ApplicationReconciler reconciler =
+                new ApplicationReconciler(
+                        null,
+                        flinkService,
+                        operatorConfiguration,
+                        new Configuration(),
+                        new AppliedSpecChanges());
+        FlinkDeployment deployment = TestUtils.buildApplicationCluster();
+
+        reconciler.reconcile(deployment, context);
+        verifyAndSetRunningJobsToStatus(deployment, flinkService.listJobs());
+        ReconciliationStatus reconciliationStatus =
+                deployment.getStatus().getReconciliationStatus();
+        FlinkDeploymentSpec runningSpec = reconciliationStatus.deserializeLastReconciledSpec();
+
+        // The running spec stays recorded until the savepoint of the stop has been completed
+        deployment.getSpec().getJob().setUpgradeMode(UpgradeMode.SAVEPOINT);
+        deployment.getSpec().getFlinkConfiguration().put("new", "conf");
+        reconciler.reconcile(deployment, context);
+        SavepointInfo savepointInfo = deployment.getStatus().getJobStatus().getSavepointInfo();
+        assertEquals(SavepointTriggerType.STOP, savepointInfo.getTriggerType());
+        runningSpec.getJob().setState(JobState.SUSPENDED);
+        assertEquals(runningSpec, reconciliationStatus.deserializeLastReconciledSpec());
+
+        // The savepoint failed and the job keeps running
+        savepointInfo.resetTrigger();
+        reconciler.reconcile(deployment, context);
+        assertEquals(
+                JobManagerDeploymentStatus.READY,
+                deployment.getStatus().getJobManagerDeploymentStatus());
+        assertEquals("RUNNING", deployment.getStatus().getJobStatus().getState());
+        assertNull(deployment.getStatus().getClusterShutdownTimestamp());
+        runningSpec.getJob().setState(JobState.RUNNING);
+        assertEquals(runningSpec, reconciliationStatus.deserializeLastReconciledSpec());
+
+        // The upgrade is retried
+        reconciler.reconcile(deployment, context);
+        assertEquals(SavepointTriggerType.STOP, savepointInfo.getTriggerType());
+        assertEquals("trigger_1", savepointInfo.getTriggerId());
+    }
+
     @Test
     public void testUpgradeModeChangeFromSavepointToLastState() throws Exception {
         final String expectedSavepointPath = "savepoint_0";
@@ -107,7 +290,11 @@ public class ApplicationReconcilerTest {
 
         final ApplicationReconciler reconciler =
                 new ApplicationReconciler(
-                        null, flinkService, operatorConfiguration, new Configuration());
+                        null,
+                        flinkService,
+                        operatorConfiguration,
+                        new Configuration(),
+                        new AppliedSpecChanges());
         final FlinkDeployment deployment = TestUtils.buildApplicationCluster();
 
         reconciler.reconcile(deployment, context);
@@ -119,6 +306,8 @@ public class ApplicationReconcilerTest {
         deployment.getSpec().getJob().setState(JobState.SUSPENDED);
         deployment.getSpec().setImage("new-image-1");
 
+        reconciler.reconcile(deployment, context);
+        observeSavepoint(flinkService, deployment);
         reconciler.reconcile(deployment, context);
         assertEquals(0, flinkService.listJobs().size());
         assertTrue(
@@ -150,7 +339,11 @@ public class ApplicationReconcilerTest {
         TestingFlinkService flinkService = new TestingFlinkService();
         ApplicationReconciler reconciler =
                 new ApplicationReconciler(
-                        null, flinkService, operatorConfiguration, new Configuration());
+                        null,
+                        flinkService,
+                        operatorConfiguration,
+                        new Configuration(),
+                        new AppliedSpecChanges());
         FlinkDeployment deployment = TestUtils.buildApplicationCluster();
 
         reconciler.reconcile(deployment, context);
@@ -212,7 +405,11 @@ public class ApplicationReconcilerTest {
 
         final ApplicationReconciler reconciler =
                 new ApplicationReconciler(
-                        null, flinkService, operatorConfiguration, new Configuration());
+                        null,
+                        flinkService,
+                        operatorConfiguration,
+                        new Configuration(),
+                        new AppliedSpecChanges());
         final FlinkDeployment deployment = TestUtils.buildApplicationCluster();
         deployment.getSpec().getFlinkConfiguration().remove(HighAvailabilityOptions.HA_MODE.key());
 
@@ -239,6 +436,7 @@ public class ApplicationReconcilerTest {
         // Ready for spec changes, the reconciliation should be performed
         verifyAndSetRunningJobsToStatus(deployment, flinkService.listJobs());
         reconciler.reconcile(deployment, context);
+        observeSavepoint(flinkService, deployment);
         reconciler.reconcile(deployment, context);
         assertEquals(
                 newImage,
@@ -261,7 +459,11 @@ public class ApplicationReconcilerTest {
 
         final ApplicationReconciler reconciler =
                 new ApplicationReconciler(
-                        null, flinkService, operatorConfiguration, new Configuration());
+                        null,
+                        flinkService,
+                        operatorConfiguration,
+                        new Configuration(),
+                        new AppliedSpecChanges());
         final FlinkDeployment deployment = TestUtils.buildApplicationCluster();
 
         reconciler.reconcile(deployment, context);
@@ -299,7 +501,11 @@ public class ApplicationReconcilerTest {
 
         ApplicationReconciler reconciler =
                 new ApplicationReconciler(
-                        null, flinkService, operatorConfiguration, new Configuration());
+                        null,
+                        flinkService,
+                        operatorConfiguration,
+                        new Configuration(),
+                        new AppliedSpecChanges());
         FlinkDeployment deployment = TestUtils.buildApplicationCluster();
 
         reconciler.reconcile(deployment, context);
@@ -341,6 +547,126 @@ public class ApplicationReconcilerTest {
                         .getRestartNonce());
     }
 
+    @Test
+    public void testOperatorConfigChangeDoesNotRestartJob() throws Exception {
+        Context context = TestUtils.createContextWithReadyJobManagerDeployment();
+        TestingFlinkService flinkService = new TestingFlinkService();
+
+        ApplicationReconciler reconciler =
+                new ApplicationReconciler(
+                        null,
+                        flinkService,
+                        operatorConfiguration,
+                        new Configuration(),
+                        new AppliedSpecChanges());
+        FlinkDeployment deployment = TestUtils.buildApplicationCluster();
+
+        reconciler.reconcile(deployment, context);
+        List<Tuple2<String, JobStatusMessage>> runningJobs = flinkService.listJobs();
+        verifyAndSetRunningJobsToStatus(deployment, runningJobs);
+
+        deployment
+                .getSpec()
+                .getFlinkConfiguration()
+                .put(KubernetesOperatorConfigOptions.DEPLOYMENT_ROLLBACK_ENABLED.key(), "true");
+        reconciler.reconcile(deployment, context);
+
+        assertEquals(runningJobs, flinkService.listJobs());
+        SpecChange specChange =
+                deployment.getStatus().getReconciliationStatus().getLastSpecChange();
+        assertEquals(DiffType.IGNORE, specChange.getType());
+        assertEquals(
+                List.of(
+                        "flinkConfiguration."
+                                + KubernetesOperatorConfigOptions.DEPLOYMENT_ROLLBACK_ENABLED
+                                        .key()),
+                specChange.getFields());
+        assertEquals(
+                deployment.getSpec(),
+                deployment.getStatus().getReconciliationStatus().deserializeLastReconciledSpec());
+    }
+
+    private void observeSavepoint(TestingFlinkService flinkService, FlinkDeployment deployment) {
+        JobStatus jobStatus = deployment.getStatus().getJobStatus();
+        new SavepointObserver(flinkService, operatorConfiguration)
+                .observe(jobStatus, new Configuration());
+    }
+
+    @Test
+    public void testInPlaceChangeKeepsReadinessDeadline() throws Exception {
+        Context context = TestUtils.createContextWithReadyJobManagerDeployment();
+        TestingFlinkService flinkService = new TestingFlinkService();
+
+        ApplicationReconciler reconciler =
+                new ApplicationReconciler(
+                        null,
+                        flinkService,
+                        operatorConfiguration,
+                        new Configuration(),
+                        new AppliedSpecChanges());
+        FlinkDeployment deployment = TestUtils.buildApplicationCluster();
+
+        reconciler.reconcile(deployment, context);
+        List<Tuple2<String, JobStatusMessage>> runningJobs = flinkService.listJobs();
+        verifyAndSetRunningJobsToStatus(deployment, runningJobs);
+        ReconciliationStatus reconciliationStatus =
+                deployment.getStatus().getReconciliationStatus();
+        reconciliationStatus.setReconciliationTimestamp(1L);
+
+        deployment
+                .getSpec()
+                .getFlinkConfiguration()
+                .put(
+                        KubernetesOperatorConfigOptions.OPERATOR_RECONCILER_RESCHEDULE_INTERVAL
+                                .key(),
+                        "1 s");
+        reconciler.reconcile(deployment, context);
+
+        assertEquals(runningJobs, flinkService.listJobs());
+        assertEquals(DiffType.IGNORE, reconciliationStatus.getLastSpecChange().getType());
+        assertEquals(1L, reconciliationStatus.getReconciliationTimestamp());
+    }
+
+    @Test
+    public void testInPlaceChangeAfterRollbackRedeploys() throws Exception {
+        Context context = TestUtils.createContextWithReadyJobManagerDeployment();
+        TestingFlinkService flinkService = new TestingFlinkService();
+
+        ApplicationReconciler reconciler =
+                new ApplicationReconciler(
+                        null,
+                        flinkService,
+                        operatorConfiguration,
+                        new Configuration(),
+                        new AppliedSpecChanges());
+        FlinkDeployment deployment = TestUtils.buildApplicationCluster();
+
+        reconciler.reconcile(deployment, context);
+        verifyAndSetRunningJobsToStatus(deployment, flinkService.listJobs());
+        ReconciliationStatus reconciliationStatus =
+                deployment.getStatus().getReconciliationStatus();
+        reconciliationStatus.markReconciledSpecAsStable();
+        reconciliationStatus.setState(ReconciliationState.ROLLED_BACK);
+
+        deployment
+                .getSpec()
+                .getFlinkConfiguration()
+                .put(
+                        KubernetesOperatorConfigOptions.OPERATOR_RECONCILER_RESCHEDULE_INTERVAL
+                                .key(),
+                        "1 s");
+        reconciler.reconcile(deployment, context);
+        assertEquals(0, flinkService.listJobs().size());
+        assertEquals(ReconciliationState.DEPLOYED, reconciliationStatus.getState());
+        assertEquals(
+                JobState.SUSPENDED,
+                reconciliationStatus.deserializeLastReconciledSpec().getJob().getState());
+
+        reconciler.reconcile(deployment, context);
+        assertEquals(1, flinkService.listJobs().size());
+        assertEquals(deployment.getSpec(), reconciliationStatus.deserializeLastReconciledSpec());
+    }
+
     private void verifyAndSetRunningJobsToStatus(
             FlinkDeployment deployment, List<Tuple2<String, JobStatusMessage>> runningJobs) {
         assertEquals(1, runningJobs.size());
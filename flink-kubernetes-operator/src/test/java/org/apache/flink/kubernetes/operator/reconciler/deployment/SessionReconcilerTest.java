@@ -22,6 +22,9 @@ import org.apache.flink.kubernetes.operator.TestUtils;
 import org.apache.flink.kubernetes.operator.TestingFlinkService;
 import org.apache.flink.kubernetes.operator.config.FlinkOperatorConfiguration;
 import org.apache.flink.kubernetes.operator.crd.FlinkDeployment;
+import org.apache.flink.kubernetes.operator.crd.diff.DiffType;
+import org.apache.flink.kubernetes.operator.crd.status.JobManagerDeploymentStatus;
+import org.apache.flink.kubernetes.operator.reconciler.AppliedSpecChanges;
 
 import io.javaoperatorsdk.operator.api.reconciler.Context;
 import org.junit.jupiter.api.Test;
@@ -29,6 +32,9 @@ import org.junit.jupiter.api.Test;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 /**
  * Tests for {@link org.apache.flink.kubernetes.operator.reconciler.deployment.SessionReconciler}.
@@ -53,9 +59,66 @@ public class SessionReconcilerTest {
 
         SessionReconciler reconciler =
                 new SessionReconciler(
-                        null, flinkService, operatorConfiguration, new Configuration());
+                        null,
+                        flinkService,
+                        operatorConfiguration,
+                        new Configuration(),
+                        new AppliedSpecChanges());
         FlinkDeployment deployment = TestUtils.buildSessionCluster();
         reconciler.reconcile(deployment, context);
         assertEquals(1, count.get());
     }
+
+    @Test
+    public void testUpgradeWaitsForClusterShutdown() throws Exception {
+        Context context = TestUtils.createEmptyContext();
+        var count = new AtomicInteger(0);
+        TestingFlinkService flinkService =
+                new TestingFlinkService() {
+                    @Override
+                    public void submitSessionCluster(Configuration conf) {
+                        super.submitSessionCluster(conf);
+                        count.addAndGet(1);
+                    }
+                };
+
+        AppliedSpecChanges appliedSpecChanges = new AppliedSpecChanges();
+        SessionReconciler reconciler =
+                new SessionReconciler(
+                        null,
+                        flinkService,
+                        operatorConfiguration,
+                        new Configuration(),
+                        appliedSpecChanges);
+        FlinkDeployment deployment = TestUtils.buildSessionCluster();
+        reconciler.reconcile(deployment, context);
+        assertEquals(1, count.get());
+        deployment.getStatus().setJobManagerDeploymentStatus(JobManagerDeploymentStatus.READY);
+
+        flinkService.setClusterShutDown(false);
+        deployment.getSpec().getFlinkConfiguration().put("new", "conf");
+        reconciler.reconcile(deployment, context);
+        reconciler.reconcile(deployment, context);
+        assertEquals(1, count.get());
+        assertEquals(
+                JobManagerDeploymentStatus.MISSING,
+                deployment.getStatus().getJobManagerDeploymentStatus());
+        assertNotNull(deployment.getStatus().getClusterShutdownTimestamp());
+        assertEquals(0, appliedSpecChanges.getCount(DiffType.UPGRADE));
+        assertNotEquals(
+                deployment.getSpec(),
+                deployment.getStatus().getReconciliationStatus().deserializeLastReconciledSpec());
+
+        flinkService.setClusterShutDown(true);
+        reconciler.reconcile(deployment, context);
+        assertEquals(2, count.get());
+        assertEquals(
+                JobManagerDeploymentStatus.DEPLOYING,
+                deployment.getStatus().getJobManagerDeploymentStatus());
+        assertNull(deployment.getStatus().getClusterShutdownTimestamp());
+        assertEquals(1, appliedSpecChanges.getCount(DiffType.UPGRADE));
+        assertEquals(
+                deployment.getSpec(),
+                deployment.getStatus().getReconciliationStatus().deserializeLastReconciledSpec());
+    }
 }
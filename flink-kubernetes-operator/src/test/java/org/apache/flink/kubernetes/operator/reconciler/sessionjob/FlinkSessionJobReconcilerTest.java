@@ -26,6 +26,8 @@ import org.apache.flink.kubernetes.operator.crd.FlinkSessionJob;
 import org.apache.flink.kubernetes.operator.crd.spec.JobState;
 import org.apache.flink.kubernetes.operator.crd.spec.UpgradeMode;
 import org.apache.flink.kubernetes.operator.crd.status.JobStatus;
+import org.apache.flink.kubernetes.operator.crd.status.SavepointTriggerType;
+import org.apache.flink.kubernetes.operator.observer.SavepointObserver;
 import org.apache.flink.kubernetes.operator.reconciler.ReconciliationUtils;
 
 import org.junit.jupiter.api.Assertions;
@@ -151,13 +153,41 @@ public class FlinkSessionJobReconcilerTest {
         statefulSessionJob.getSpec().getJob().setParallelism(3);
         reconciler.reconcile(statefulSessionJob, readyContext);
 
-        // job suspended first
-        assertTrue(flinkService.listSessionJobs().isEmpty());
+        // job stopped with a savepoint first, the running spec stays recorded until it completed
+        var savepointInfo = statefulSessionJob.getStatus().getJobStatus().getSavepointInfo();
+        assertEquals(SavepointTriggerType.STOP, savepointInfo.getTriggerType());
+        assertEquals("trigger_0", savepointInfo.getTriggerId());
+        verifyJobState(statefulSessionJob, JobState.RUNNING, JOB_STATE_UNKNOWN);
+        reconciler.reconcile(statefulSessionJob, readyContext);
+        assertEquals("trigger_0", savepointInfo.getTriggerId());
+        assertEquals(1, flinkService.listSessionJobs().size());
+
+        // a failed stop is retried while the job keeps running
+        savepointInfo.resetTrigger();
+        statefulSessionJob
+                .getStatus()
+                .getJobStatus()
+                .setState(org.apache.flink.api.common.JobStatus.RUNNING.name());
+        reconciler.reconcile(statefulSessionJob, readyContext);
+        assertEquals("trigger_1", savepointInfo.getTriggerId());
+        verifyJobState(
+                statefulSessionJob,
+                JobState.RUNNING,
+                org.apache.flink.api.common.JobStatus.RUNNING.name());
+
+        new SavepointObserver(flinkService, operatorConfiguration)
+                .observe(statefulSessionJob.getStatus().getJobStatus(), new Configuration());
+        assertEquals(
+                org.apache.flink.api.common.JobStatus.FINISHED.name(),
+                statefulSessionJob.getStatus().getJobStatus().getState());
+
+        // job suspended once stopped
+        reconciler.reconcile(statefulSessionJob, readyContext);
         verifyJobState(statefulSessionJob, JobState.SUSPENDED, JobState.SUSPENDED.name());
 
-        // upgraded
+        // upgraded, the stopped job is still listed as finished
         reconciler.reconcile(statefulSessionJob, readyContext);
-        assertEquals(1, flinkService.listSessionJobs().size());
+        assertEquals(2, flinkService.listSessionJobs().size());
         verifyAndSetRunningJobsToStatus(
                 statefulSessionJob,
                 JobState.RUNNING,
@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.kubernetes.operator.service;
+
+import org.apache.flink.metrics.groups.UnregisteredMetricsGroup;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/** {@link BlockingCallLimiter} tests. */
+public class BlockingCallLimiterTest {
+
+    @Test
+    public void testConcurrentCallsAreCapped() throws Exception {
+        BlockingCallLimiter limiter = new BlockingCallLimiter(2, new UnregisteredMetricsGroup());
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        List<Future<String>> calls = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            calls.add(
+                    executor.submit(
+                            () ->
+                                    limiter.call(
+                                            () -> {
+                                                release.await();
+                                                return "ok";
+                                            })));
+        }
+        await().atMost(10, TimeUnit.SECONDS).until(() -> limiter.getWaitingCalls() == 1);
+        assertEquals(2, limiter.getActiveCalls());
+
+        release.countDown();
+        for (Future<String> call : calls) {
+            assertEquals("ok", call.get(10, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+        assertEquals(0, limiter.getActiveCalls());
+        assertEquals(0, limiter.getWaitingCalls());
+    }
+
+    @Test
+    public void testFailedCallsReleasePermit() {
+        BlockingCallLimiter limiter = new BlockingCallLimiter(1, new UnregisteredMetricsGroup());
+        assertThrows(
+                IllegalStateException.class,
+                () ->
+                        limiter.run(
+                                () -> {
+                                    throw new IllegalStateException();
+                                }));
+        assertEquals(0, limiter.getActiveCalls());
+
+        BlockingCallLimiter unbounded = new BlockingCallLimiter(-1, new UnregisteredMetricsGroup());
+        assertEquals("ok", unbounded.call(() -> "ok"));
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.kubernetes.operator.service;
+
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.kubernetes.operator.config.FlinkOperatorConfiguration;
+import org.apache.flink.kubernetes.operator.config.KubernetesOperatorConfigOptions;
+import org.apache.flink.kubernetes.operator.exception.ClusterUnavailableException;
+import org.apache.flink.metrics.groups.UnregisteredMetricsGroup;
+import org.apache.flink.runtime.rest.util.RestClientException;
+
+import org.apache.flink.shaded.netty4.io.netty.handler.codec.http.HttpResponseStatus;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** {@link ClusterCircuitBreakers} tests. */
+public class ClusterCircuitBreakersTest {
+
+    private static final String CLUSTER = "ns/cluster";
+
+    private final AtomicLong clock = new AtomicLong();
+    private ClusterCircuitBreakers breakers;
+
+    @BeforeEach
+    public void setup() {
+        Configuration conf = new Configuration();
+        conf.set(
+                KubernetesOperatorConfigOptions
+                        .OPERATOR_FLINK_REST_CIRCUIT_BREAKER_FAILURE_THRESHOLD,
+                2);
+        conf.set(
+                KubernetesOperatorConfigOptions.OPERATOR_FLINK_REST_CIRCUIT_BREAKER_OPEN_DURATION,
+                Duration.ofSeconds(10));
+        conf.set(
+                KubernetesOperatorConfigOptions
+                        .OPERATOR_FLINK_REST_CIRCUIT_BREAKER_MAX_OPEN_DURATION,
+                Duration.ofSeconds(15));
+        conf.set(
+                KubernetesOperatorConfigOptions
+                        .OPERATOR_FLINK_REST_MAX_CONCURRENT_CALLS_PER_CLUSTER,
+                2);
+        breakers =
+                new ClusterCircuitBreakers(
+                        FlinkOperatorConfiguration.fromConfiguration(conf),
+                        new UnregisteredMetricsGroup(),
+                        clock::get);
+    }
+
+    @Test
+    public void testBreakerOpensAndCloses() throws Exception {
+        fail(new TimeoutException());
+        assertEquals(ClusterCircuitBreakers.State.CLOSED, breakers.getState(CLUSTER));
+        fail(new ConnectException());
+        assertEquals(ClusterCircuitBreakers.State.OPEN, breakers.getState(CLUSTER));
+        assertEquals(
+                Optional.of(Duration.ofSeconds(10)), breakers.getRemainingOpenDuration(CLUSTER));
+        assertRejected(breakers.call(CLUSTER, () -> CompletableFuture.completedFuture("ok")));
+        assertEquals(
+                Optional.of(Duration.ofSeconds(10)), breakers.getRemainingOpenDuration(CLUSTER));
+
+        // A single trial call is let through after the open duration
+        clock.set(10000);
+        CompletableFuture<String> trial = new CompletableFuture<>();
+        CompletableFuture<String> trialResult = breakers.call(CLUSTER, () -> trial);
+        assertEquals(ClusterCircuitBreakers.State.HALF_OPEN, breakers.getState(CLUSTER));
+        assertRejected(breakers.call(CLUSTER, () -> CompletableFuture.completedFuture("ok")));
+
+        // A failed trial opens the breaker for twice as long, capped at the max duration
+        trial.completeExceptionally(new TimeoutException());
+        assertTrue(trialResult.isCompletedExceptionally());
+        assertEquals(ClusterCircuitBreakers.State.OPEN, breakers.getState(CLUSTER));
+        assertEquals(
+                Optional.of(Duration.ofSeconds(15)), breakers.getRemainingOpenDuration(CLUSTER));
+
+        clock.set(25000);
+        assertEquals(
+                "ok", breakers.call(CLUSTER, () -> CompletableFuture.completedFuture("ok")).get());
+        assertEquals(ClusterCircuitBreakers.State.CLOSED, breakers.getState(CLUSTER));
+        assertEquals(Optional.empty(), breakers.getRemainingOpenDuration(CLUSTER));
+
+        // Other clusters are not affected
+        fail(new TimeoutException());
+        assertEquals(
+                "ok",
+                breakers.call("ns/other", () -> CompletableFuture.completedFuture("ok")).get());
+    }
+
+    @Test
+    public void testErrorRepliesDoNotOpenBreaker() {
+        for (int i = 0; i < 3; i++) {
+            fail(new RestClientException("Not found", HttpResponseStatus.NOT_FOUND));
+        }
+        assertEquals(ClusterCircuitBreakers.State.CLOSED, breakers.getState(CLUSTER));
+
+        // Timeouts applied by the caller count as failures
+        for (int i = 0; i < 2; i++) {
+            breakers.call(CLUSTER, CompletableFuture::new)
+                    .completeExceptionally(new TimeoutException());
+        }
+        assertEquals(ClusterCircuitBreakers.State.OPEN, breakers.getState(CLUSTER));
+
+        breakers.reset(CLUSTER);
+        assertEquals(ClusterCircuitBreakers.State.CLOSED, breakers.getState(CLUSTER));
+    }
+
+    @Test
+    public void testConcurrentCallsAreBounded() throws Exception {
+        CompletableFuture<String> first = new CompletableFuture<>();
+        breakers.call(CLUSTER, () -> first);
+        breakers.call(CLUSTER, CompletableFuture::new);
+        assertRejected(breakers.call(CLUSTER, () -> CompletableFuture.completedFuture("ok")));
+
+        first.complete("ok");
+        assertEquals(
+                "ok", breakers.call(CLUSTER, () -> CompletableFuture.completedFuture("ok")).get());
+        assertFalse(breakers.getRemainingOpenDuration(CLUSTER).isPresent());
+    }
+
+    private void fail(Exception e) {
+        breakers.call(CLUSTER, () -> CompletableFuture.failedFuture(e));
+    }
+
+    private static void assertRejected(CompletableFuture<String> call) {
+        ExecutionException e = assertThrows(ExecutionException.class, call::get);
+        assertTrue(e.getCause() instanceof ClusterUnavailableException);
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.kubernetes.operator.service;
+
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.configuration.RestOptions;
+import org.apache.flink.configuration.SecurityOptions;
+import org.apache.flink.kubernetes.configuration.KubernetesConfigOptions;
+import org.apache.flink.kubernetes.operator.config.FlinkOperatorConfiguration;
+import org.apache.flink.kubernetes.operator.config.KubernetesOperatorConfigOptions;
+import org.apache.flink.metrics.groups.UnregisteredMetricsGroup;
+import org.apache.flink.runtime.messages.webmonitor.MultipleJobsDetails;
+import org.apache.flink.runtime.rest.messages.EmptyMessageParameters;
+import org.apache.flink.runtime.rest.messages.EmptyRequestBody;
+import org.apache.flink.runtime.rest.messages.JobsOverviewHeaders;
+import org.apache.flink.runtime.webmonitor.handlers.JarUploadResponseBody;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** {@link FlinkRestTransport} tests. */
+public class FlinkRestTransportTest {
+
+    private FlinkRestTransport transport;
+    private ServerSocket server;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        Configuration conf = new Configuration();
+        conf.set(KubernetesOperatorConfigOptions.OPERATOR_FLINK_REST_MAX_REQUESTS_PER_ENDPOINT, 1);
+        transport =
+                new FlinkRestTransport(
+                        FlinkOperatorConfiguration.fromConfiguration(conf),
+                        new UnregisteredMetricsGroup());
+        server = new ServerSocket(0);
+    }
+
+    @AfterEach
+    public void cleanup() throws Exception {
+        transport.close();
+        server.close();
+    }
+
+    @Test
+    public void testRequestsAreQueuedPerEndpoint() throws Exception {
+        CompletableFuture<MultipleJobsDetails> first = listJobs();
+        CompletableFuture<MultipleJobsDetails> second = listJobs();
+
+        // The server never answers, so the first request keeps holding the single slot
+        List<Socket> connections = new ArrayList<>();
+        connections.add(server.accept());
+        assertEquals(1, transport.getInFlightRequests());
+        assertEquals(1, transport.getQueuedRequests());
+        assertFalse(second.isDone());
+
+        connections.get(0).close();
+        assertThrows(ExecutionException.class, () -> first.get(10, TimeUnit.SECONDS));
+        connections.add(server.accept());
+        assertEquals(1, transport.getInFlightRequests());
+        assertEquals(0, transport.getQueuedRequests());
+
+        connections.get(1).close();
+        assertThrows(ExecutionException.class, () -> second.get(10, TimeUnit.SECONDS));
+        await().atMost(10, TimeUnit.SECONDS).until(() -> transport.getInFlightRequests() == 0);
+    }
+
+    @Test
+    public void testFailedRequestReleasesSlot() throws Exception {
+        int port = server.getLocalPort();
+        server.close();
+        CompletableFuture<MultipleJobsDetails> request = listJobs(port);
+        assertThrows(ExecutionException.class, () -> request.get(10, TimeUnit.SECONDS));
+        await().atMost(10, TimeUnit.SECONDS).until(() -> transport.getInFlightRequests() == 0);
+        assertEquals(0, transport.getQueuedRequests());
+    }
+
+    @Test
+    public void testStreamingJarUpload() throws Exception {
+        HttpServer httpServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        AtomicReference<String> uploaded = new AtomicReference<>();
+        httpServer.createContext(
+                "/jars/upload",
+                exchange -> {
+                    uploaded.set(
+                            exchange.getRequestHeaders().getFirst("Content-Type")
+                                    + "\n"
+                                    + new String(
+                                            exchange.getRequestBody().readAllBytes(),
+                                            StandardCharsets.UTF_8));
+                    byte[] response =
+                            "{\"filename\":\"/tmp/flink-web/upload/1234_test.jar\",\"status\":\"success\"}"
+                                    .getBytes(StandardCharsets.UTF_8);
+                    exchange.sendResponseHeaders(200, response.length);
+                    exchange.getResponseBody().write(response);
+                    exchange.close();
+                });
+        httpServer.start();
+        try {
+            JarUploadResponseBody response =
+                    transport
+                            .uploadJar(
+                                    "localhost",
+                                    httpServer.getAddress().getPort(),
+                                    "test.jar",
+                                    () ->
+                                            new ByteArrayInputStream(
+                                                    "jar-content".getBytes(StandardCharsets.UTF_8)))
+                            .get(10, TimeUnit.SECONDS);
+            assertEquals("/tmp/flink-web/upload/1234_test.jar", response.getFilename());
+            assertTrue(uploaded.get().startsWith("multipart/form-data; boundary="));
+            assertTrue(uploaded.get().contains("filename=\"test.jar\""));
+            assertTrue(uploaded.get().contains("\r\n\r\njar-content\r\n--"));
+            await().atMost(10, TimeUnit.SECONDS).until(() -> transport.getInFlightRequests() == 0);
+        } finally {
+            httpServer.stop(0);
+        }
+    }
+
+    @Test
+    public void testClientsAreSharedPerClientConfiguration() throws Exception {
+        Configuration conf = new Configuration();
+        conf.set(KubernetesConfigOptions.CLUSTER_ID, "cluster");
+        conf.set(SecurityOptions.SSL_REST_ENABLED, false);
+        Configuration clientConf = transport.getClientConfiguration(conf);
+        assertEquals(
+                Set.of(SecurityOptions.SSL_REST_ENABLED.key(), RestOptions.IDLENESS_TIMEOUT.key()),
+                clientConf.keySet());
+
+        int port = server.getLocalPort();
+        server.close();
+        Configuration otherCluster = new Configuration(conf);
+        otherCluster.set(KubernetesConfigOptions.CLUSTER_ID, "other-cluster");
+        Configuration otherTimeout = new Configuration(conf);
+        otherTimeout.set(RestOptions.CONNECTION_TIMEOUT, 1234L);
+        for (Configuration clusterConf : List.of(conf, otherCluster, otherTimeout)) {
+            assertThrows(
+                    ExecutionException.class,
+                    () -> listJobs(clusterConf, port).get(10, TimeUnit.SECONDS));
+        }
+        assertEquals(2, transport.getRestClients());
+    }
+
+    private CompletableFuture<MultipleJobsDetails> listJobs() {
+        return listJobs(server.getLocalPort());
+    }
+
+    private CompletableFuture<MultipleJobsDetails> listJobs(int port) {
+        return listJobs(new Configuration(), port);
+    }
+
+    private CompletableFuture<MultipleJobsDetails> listJobs(Configuration conf, int port) {
+        return transport.sendRequest(
+                conf,
+                "localhost",
+                port,
+                JobsOverviewHeaders.getInstance(),
+                EmptyMessageParameters.getInstance(),
+                EmptyRequestBody.getInstance(),
+                Collections.emptyList());
+    }
+}
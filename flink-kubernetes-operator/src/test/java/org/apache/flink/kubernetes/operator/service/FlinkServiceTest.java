@@ -18,39 +18,61 @@
 package org.apache.flink.kubernetes.operator.service;
 
 import org.apache.flink.api.common.JobID;
-import org.apache.flink.api.java.tuple.Tuple3;
-import org.apache.flink.client.program.ClusterClient;
+import org.apache.flink.api.java.tuple.Tuple2;
 import org.apache.flink.configuration.CheckpointingOptions;
 import org.apache.flink.configuration.Configuration;
 import org.apache.flink.configuration.HighAvailabilityOptions;
+import org.apache.flink.configuration.RestOptions;
 import org.apache.flink.kubernetes.configuration.KubernetesConfigOptions;
 import org.apache.flink.kubernetes.highavailability.KubernetesHaServicesFactory;
 import org.apache.flink.kubernetes.operator.TestUtils;
-import org.apache.flink.kubernetes.operator.TestingClusterClient;
 import org.apache.flink.kubernetes.operator.config.FlinkOperatorConfiguration;
+import org.apache.flink.kubernetes.operator.config.KubernetesOperatorConfigOptions;
 import org.apache.flink.kubernetes.operator.crd.FlinkDeployment;
 import org.apache.flink.kubernetes.operator.crd.spec.UpgradeMode;
 import org.apache.flink.kubernetes.operator.crd.status.JobStatus;
-import org.apache.flink.runtime.messages.Acknowledge;
-import org.apache.flink.runtime.rest.handler.async.TriggerResponse;
+import org.apache.flink.kubernetes.operator.crd.status.Savepoint;
+import org.apache.flink.kubernetes.operator.crd.status.SavepointInfo;
+import org.apache.flink.kubernetes.operator.crd.status.SavepointTriggerType;
+import org.apache.flink.kubernetes.operator.observer.SavepointFetchResult;
 import org.apache.flink.runtime.rest.messages.TriggerId;
-import org.apache.flink.runtime.rest.messages.job.savepoints.SavepointTriggerMessageParameters;
 import org.apache.flink.runtime.rest.messages.job.savepoints.SavepointTriggerRequestBody;
+import org.apache.flink.runtime.rest.messages.job.savepoints.stop.StopWithSavepointRequestBody;
+import org.apache.flink.runtime.rest.util.RestMapperUtils;
+import org.apache.flink.util.FlinkException;
 
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
 import io.fabric8.kubernetes.api.model.apps.Deployment;
 import io.fabric8.kubernetes.api.model.apps.DeploymentBuilder;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.server.mock.EnableKubernetesMockClient;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import static org.awaitility.Awaitility.await;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /** @link FlinkService unit tests */
@@ -60,6 +82,8 @@ public class FlinkServiceTest {
     private final Configuration configuration = new Configuration();
     private static final String CLUSTER_ID = "testing-flink-cluster";
     private static final String TESTING_NAMESPACE = "test";
+    private final List<Tuple2<String, String>> restRequests = new CopyOnWriteArrayList<>();
+    private HttpServer restServer;
 
     @BeforeEach
     public void setup() {
@@ -67,53 +91,165 @@ public class FlinkServiceTest {
         configuration.set(KubernetesConfigOptions.NAMESPACE, TESTING_NAMESPACE);
     }
 
+    @AfterEach
+    public void cleanup() {
+        if (restServer != null) {
+            restServer.stop(0);
+        }
+    }
+
     @Test
     public void testCancelJobWithStatelessUpgradeMode() throws Exception {
-        final TestingClusterClient<String> testingClusterClient =
-                new TestingClusterClient<>(configuration, CLUSTER_ID);
-        final CompletableFuture<JobID> cancelFuture = new CompletableFuture<>();
-        testingClusterClient.setCancelFunction(
-                jobID -> {
-                    cancelFuture.complete(jobID);
-                    return CompletableFuture.completedFuture(Acknowledge.get());
-                });
-
-        final FlinkService flinkService = createFlinkService(testingClusterClient);
+        startRestServer(exchange -> respond(exchange, 202, "{}"));
+        final FlinkService flinkService = createFlinkService();
 
         final JobID jobID = JobID.generate();
         Optional<String> result =
                 flinkService.cancelJob(jobID, UpgradeMode.STATELESS, configuration);
-        assertTrue(cancelFuture.isDone());
-        assertEquals(jobID, cancelFuture.get());
+        assertEquals(1, restRequests.size());
+        assertEquals("PATCH /v1/jobs/" + jobID + "?mode=cancel", restRequests.get(0).f0);
         assertFalse(result.isPresent());
     }
 
     @Test
-    public void testCancelJobWithSavepointUpgradeMode() throws Exception {
-        final TestingClusterClient<String> testingClusterClient =
-                new TestingClusterClient<>(configuration, CLUSTER_ID);
-        final CompletableFuture<Tuple3<JobID, Boolean, String>> stopWithSavepointFuture =
-                new CompletableFuture<>();
+    public void testCancelSessionJobInvalidatesJobListing() throws Exception {
+        startRestServer(
+                exchange -> {
+                    if ("PATCH".equals(exchange.getRequestMethod())) {
+                        respond(exchange, 202, "{}");
+                    } else {
+                        respond(exchange, 200, "{\"jobs\":[]}");
+                    }
+                });
+        final FlinkService flinkService = createFlinkService();
+
+        flinkService.listJobs(configuration);
+        flinkService.listJobs(configuration);
+        assertEquals(1, restRequests.size());
+
+        flinkService.cancelSessionJob(JobID.generate(), UpgradeMode.STATELESS, configuration);
+        flinkService.listJobs(configuration);
+        assertEquals(3, restRequests.size());
+        assertEquals("GET /v1/jobs/overview", restRequests.get(2).f0);
+    }
+
+    @Test
+    public void testStopWithSavepoint() throws Exception {
         final String savepointPath = "file:///path/of/svp-1";
         configuration.set(CheckpointingOptions.SAVEPOINT_DIRECTORY, savepointPath);
-        testingClusterClient.setStopWithSavepointFunction(
-                (jobID, advanceToEndOfEventTime, savepointDir) -> {
-                    stopWithSavepointFuture.complete(
-                            new Tuple3<>(jobID, advanceToEndOfEventTime, savepointDir));
-                    return CompletableFuture.completedFuture(savepointPath);
+        final TriggerId triggerId = new TriggerId();
+        startRestServer(exchange -> respondTriggered(exchange, triggerId));
+        final FlinkService flinkService = createFlinkService();
+
+        final JobID jobID = JobID.generate();
+        final SavepointInfo savepointInfo = new SavepointInfo();
+        flinkService.stopWithSavepoint(jobID.toHexString(), savepointInfo, configuration);
+        assertEquals(1, restRequests.size());
+        assertEquals("POST /v1/jobs/" + jobID + "/stop", restRequests.get(0).f0);
+        final StopWithSavepointRequestBody requestBody =
+                RestMapperUtils.getStrictObjectMapper()
+                        .readValue(restRequests.get(0).f1, StopWithSavepointRequestBody.class);
+        assertEquals(savepointPath, requestBody.getTargetDirectory());
+        assertFalse(requestBody.shouldDrain());
+        // The savepoint is not awaited, its result is fetched by the observer
+        assertEquals(triggerId.toHexString(), savepointInfo.getTriggerId());
+        assertEquals(SavepointTriggerType.STOP, savepointInfo.getTriggerType());
+
+        assertThrows(
+                RuntimeException.class,
+                () -> flinkService.cancelJob(jobID, UpgradeMode.SAVEPOINT, configuration));
+        assertEquals(1, restRequests.size());
+    }
+
+    @Test
+    public void testPendingSavepointDoesNotHoldClusterSlot() throws Exception {
+        configuration.set(CheckpointingOptions.SAVEPOINT_DIRECTORY, "file:///path/of/svp");
+        configuration.set(
+                KubernetesOperatorConfigOptions
+                        .OPERATOR_FLINK_REST_MAX_CONCURRENT_CALLS_PER_CLUSTER,
+                1);
+        final TriggerId triggerId = new TriggerId();
+        startRestServer(
+                exchange -> {
+                    String path = exchange.getRequestURI().getPath();
+                    if (path.endsWith("/stop")) {
+                        respondTriggered(exchange, triggerId);
+                    } else if (path.endsWith("/savepoints/" + triggerId)) {
+                        respond(exchange, 200, "{\"status\":{\"id\":\"IN_PROGRESS\"}}");
+                    } else {
+                        respond(exchange, 200, "{\"jobs\":[]}");
+                    }
                 });
+        final FlinkService flinkService = createFlinkService();
 
-        final FlinkService flinkService = createFlinkService(testingClusterClient);
+        final String jobId = JobID.generate().toHexString();
+        final SavepointInfo savepointInfo = new SavepointInfo();
+        flinkService.stopWithSavepoint(jobId, savepointInfo, configuration);
+        assertEquals(triggerId.toHexString(), savepointInfo.getTriggerId());
 
-        final JobID jobID = JobID.generate();
-        Optional<String> result =
-                flinkService.cancelJob(jobID, UpgradeMode.SAVEPOINT, configuration);
-        assertTrue(stopWithSavepointFuture.isDone());
-        assertEquals(jobID, stopWithSavepointFuture.get().f0);
-        assertFalse(stopWithSavepointFuture.get().f1);
-        assertEquals(savepointPath, stopWithSavepointFuture.get().f2);
-        assertTrue(result.isPresent());
-        assertEquals(savepointPath, result.get());
+        // The stop is still in progress, the single slot of the cluster is free for other calls
+        SavepointFetchResult result =
+                flinkService.fetchSavepointInfo(triggerId.toHexString(), jobId, configuration);
+        assertNull(result.getSavepoint());
+        assertNull(result.getError());
+        assertTrue(flinkService.listJobs(configuration).isEmpty());
+        assertFalse(flinkService.getClusterBackoff(TESTING_NAMESPACE, CLUSTER_ID).isPresent());
+        assertEquals(3, restRequests.size());
+    }
+
+    @Test
+    public void testSavepointTimestampIsCompletionTime() throws Exception {
+        final String location = "file:///path/of/svp/savepoint-1";
+        final long completionTimestamp = 1000L;
+        final AtomicBoolean statisticsAvailable = new AtomicBoolean(true);
+        final String statistics =
+                "{\"counts\":{\"restored\":0,\"total\":1,\"in_progress\":0,\"completed\":1,"
+                        + "\"failed\":0},\"summary\":{},\"history\":[],"
+                        + "\"latest\":{\"savepoint\":{\"@class\":\"completed\",\"id\":1,"
+                        + "\"status\":\"COMPLETED\",\"is_savepoint\":true,"
+                        + "\"trigger_timestamp\":"
+                        + (completionTimestamp - 100)
+                        + ",\"latest_ack_timestamp\":"
+                        + completionTimestamp
+                        + ",\"state_size\":0,\"end_to_end_duration\":100,"
+                        + "\"alignment_buffered\":0,\"processed_data\":0,"
+                        + "\"persisted_data\":0,\"num_subtasks\":1,"
+                        + "\"num_acknowledged_subtasks\":1,\"checkpoint_type\":\"SAVEPOINT\","
+                        + "\"tasks\":{},\"external_path\":\""
+                        + location
+                        + "\",\"discarded\":false}}}";
+        final TriggerId triggerId = new TriggerId();
+        startRestServer(
+                exchange -> {
+                    String path = exchange.getRequestURI().getPath();
+                    if (path.endsWith("/savepoints/" + triggerId)) {
+                        respond(
+                                exchange,
+                                200,
+                                "{\"status\":{\"id\":\"COMPLETED\"},"
+                                        + "\"operation\":{\"location\":\""
+                                        + location
+                                        + "\"}}");
+                    } else if (path.endsWith("/checkpoints") && statisticsAvailable.get()) {
+                        respond(exchange, 200, statistics);
+                    } else {
+                        respond(exchange, 404, "{\"errors\":[\"Not found\"]}");
+                    }
+                });
+        final FlinkService flinkService = createFlinkService();
+        final String jobId = JobID.generate().toHexString();
+
+        SavepointFetchResult result =
+                flinkService.fetchSavepointInfo(triggerId.toHexString(), jobId, configuration);
+        assertEquals(new Savepoint(completionTimestamp, location), result.getSavepoint());
+        assertEquals("GET /v1/jobs/" + jobId + "/checkpoints", restRequests.get(1).f0);
+
+        // Without statistics the fetch time is kept as an upper bound of the completion time
+        statisticsAvailable.set(false);
+        long before = System.currentTimeMillis();
+        result = flinkService.fetchSavepointInfo(triggerId.toHexString(), jobId, configuration);
+        assertEquals(location, result.getSavepoint().getLocation());
+        assertTrue(result.getSavepoint().getTimeStamp() >= before);
     }
 
     @Test
@@ -122,9 +258,7 @@ public class FlinkServiceTest {
                 HighAvailabilityOptions.HA_MODE,
                 KubernetesHaServicesFactory.class.getCanonicalName());
         configuration.set(HighAvailabilityOptions.HA_STORAGE_PATH, "file:///path/of/ha");
-        final TestingClusterClient<String> testingClusterClient =
-                new TestingClusterClient<>(configuration, CLUSTER_ID);
-        final FlinkService flinkService = createFlinkService(testingClusterClient);
+        final FlinkService flinkService = createFlinkService();
 
         client.apps()
                 .deployments()
@@ -150,25 +284,11 @@ public class FlinkServiceTest {
 
     @Test
     public void testTriggerSavepoint() throws Exception {
-        final TestingClusterClient<String> testingClusterClient =
-                new TestingClusterClient<>(configuration, CLUSTER_ID);
-        final CompletableFuture<Tuple3<JobID, String, Boolean>> triggerSavepointFuture =
-                new CompletableFuture<>();
         final String savepointPath = "file:///path/of/svp";
         configuration.set(CheckpointingOptions.SAVEPOINT_DIRECTORY, savepointPath);
-        testingClusterClient.setTriggerSavepointFunction(
-                (headers, parameters, requestBody) -> {
-                    triggerSavepointFuture.complete(
-                            new Tuple3<>(
-                                    ((SavepointTriggerMessageParameters) parameters)
-                                            .jobID.getValue(),
-                                    ((SavepointTriggerRequestBody) requestBody)
-                                            .getTargetDirectory(),
-                                    ((SavepointTriggerRequestBody) requestBody).isCancelJob()));
-                    return CompletableFuture.completedFuture(new TriggerResponse(new TriggerId()));
-                });
-
-        final FlinkService flinkService = createFlinkService(testingClusterClient);
+        final TriggerId triggerId = new TriggerId();
+        startRestServer(exchange -> respondTriggered(exchange, triggerId));
+        final FlinkService flinkService = createFlinkService();
 
         final JobID jobID = JobID.generate();
         final FlinkDeployment flinkDeployment = TestUtils.buildApplicationCluster();
@@ -179,20 +299,121 @@ public class FlinkServiceTest {
                 flinkDeployment.getStatus().getJobStatus().getJobId(),
                 flinkDeployment.getStatus().getJobStatus().getSavepointInfo(),
                 configuration);
-        assertTrue(triggerSavepointFuture.isDone());
-        assertEquals(jobID, triggerSavepointFuture.get().f0);
-        assertEquals(savepointPath, triggerSavepointFuture.get().f1);
-        assertFalse(triggerSavepointFuture.get().f2);
+        assertEquals(1, restRequests.size());
+        assertEquals("POST /v1/jobs/" + jobID + "/savepoints", restRequests.get(0).f0);
+        final SavepointTriggerRequestBody requestBody =
+                RestMapperUtils.getStrictObjectMapper()
+                        .readValue(restRequests.get(0).f1, SavepointTriggerRequestBody.class);
+        assertEquals(savepointPath, requestBody.getTargetDirectory());
+        assertFalse(requestBody.isCancelJob());
+        assertEquals(
+                triggerId.toHexString(),
+                flinkDeployment.getStatus().getJobStatus().getSavepointInfo().getTriggerId());
+    }
+
+    @Test
+    public void testTriggerSavepointAsync() throws Exception {
+        configuration.set(CheckpointingOptions.SAVEPOINT_DIRECTORY, "file:///path/of/svp");
+        final CompletableFuture<TriggerId> triggerResponseFuture = new CompletableFuture<>();
+        startRestServer(
+                exchange -> {
+                    try {
+                        respondTriggered(exchange, triggerResponseFuture.get());
+                    } catch (Exception e) {
+                        throw new IOException(e);
+                    }
+                });
+
+        final FlinkService flinkService = createFlinkService();
+        final CompletableFuture<String> triggerIdFuture =
+                flinkService.triggerSavepointAsync(JobID.generate().toHexString(), configuration);
+        await().atMost(10, TimeUnit.SECONDS).until(() -> restRequests.size() == 1);
+        assertFalse(triggerIdFuture.isDone());
+
+        final TriggerId triggerId = new TriggerId();
+        triggerResponseFuture.complete(triggerId);
+        assertEquals(triggerId.toHexString(), triggerIdFuture.get(10, TimeUnit.SECONDS));
+
+        restServer.removeContext("/");
+        restServer.createContext(
+                "/", exchange -> respond(exchange, 500, "{\"errors\":[\"Trigger failed\"]}"));
+        assertThrows(
+                FlinkException.class,
+                () ->
+                        flinkService.triggerSavepoint(
+                                JobID.generate().toHexString(),
+                                new SavepointInfo(),
+                                configuration));
     }
 
-    private FlinkService createFlinkService(ClusterClient<String> clusterClient) {
+    @Test
+    public void testRequestTimeoutsCountAsClusterFailures() throws Exception {
+        configuration.set(
+                KubernetesOperatorConfigOptions.OPERATOR_OBSERVER_FLINK_CLIENT_TIMEOUT,
+                Duration.ofSeconds(1));
+        configuration.set(
+                KubernetesOperatorConfigOptions
+                        .OPERATOR_FLINK_REST_CIRCUIT_BREAKER_FAILURE_THRESHOLD,
+                1);
+        var flinkService =
+                new FlinkService(
+                        client, FlinkOperatorConfiguration.fromConfiguration(configuration));
+        // The server accepts connections but never answers
+        try (ServerSocket server = new ServerSocket(0)) {
+            configuration.set(RestOptions.PORT, server.getLocalPort());
+            configuration.set(RestOptions.IDLENESS_TIMEOUT, Duration.ofMinutes(1).toMillis());
+            var listJobs = flinkService.listJobsAsync(configuration);
+            var exception =
+                    assertThrows(
+                            ExecutionException.class, () -> listJobs.get(10, TimeUnit.SECONDS));
+            assertTrue(exception.getCause() instanceof TimeoutException);
+            await().atMost(5, TimeUnit.SECONDS)
+                    .until(
+                            () ->
+                                    flinkService
+                                            .getClusterBackoff(TESTING_NAMESPACE, CLUSTER_ID)
+                                            .isPresent());
+        }
+    }
+
+    private FlinkService createFlinkService() {
         return new FlinkService(
-                client, FlinkOperatorConfiguration.fromConfiguration(configuration)) {
-            @Override
-            protected ClusterClient<String> getClusterClient(Configuration config) {
-                return clusterClient;
-            }
-        };
+                client, FlinkOperatorConfiguration.fromConfiguration(configuration));
+    }
+
+    /**
+     * Start a REST endpoint for the cluster that records the method, path and body of the requests
+     * before passing them to the given handler.
+     */
+    private void startRestServer(HttpHandler handler) throws IOException {
+        restServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        restServer.setExecutor(Executors.newCachedThreadPool());
+        restServer.createContext(
+                "/",
+                exchange -> {
+                    restRequests.add(
+                            Tuple2.of(
+                                    exchange.getRequestMethod() + " " + exchange.getRequestURI(),
+                                    new String(
+                                            exchange.getRequestBody().readAllBytes(),
+                                            StandardCharsets.UTF_8)));
+                    handler.handle(exchange);
+                });
+        restServer.start();
+        configuration.set(RestOptions.PORT, restServer.getAddress().getPort());
+    }
+
+    private static void respondTriggered(HttpExchange exchange, TriggerId triggerId)
+            throws IOException {
+        respond(exchange, 202, "{\"request-id\":\"" + triggerId + "\"}");
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] response = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, response.length);
+        exchange.getResponseBody().write(response);
+        exchange.close();
     }
 
     private Deployment createTestingDeployment() {
@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.kubernetes.operator.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** {@link JobManagerPortProber} tests. */
+public class JobManagerPortProberTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private JobManagerPortProber prober;
+
+    @BeforeEach
+    public void setup() {
+        prober = new JobManagerPortProber(Duration.ofSeconds(1), Duration.ofSeconds(5), clock::get);
+    }
+
+    @AfterEach
+    public void cleanup() throws Exception {
+        prober.close();
+    }
+
+    @Test
+    public void testResultsAreCached() throws Exception {
+        int port;
+        try (ServerSocket server = new ServerSocket(0)) {
+            port = server.getLocalPort();
+            assertTrue(prober.probe("localhost", port).get(10, TimeUnit.SECONDS));
+        }
+
+        // The port is closed now, but the recent result is still used
+        clock.set(5000);
+        assertTrue(prober.isReady("localhost", port));
+
+        clock.set(5001);
+        assertFalse(prober.probe("localhost", port).get(10, TimeUnit.SECONDS));
+        assertFalse(prober.isReady("localhost", port));
+        assertEquals(1, prober.size());
+
+        // Results of endpoints which are not probed anymore are dropped
+        clock.set(20000);
+        prober.probe("localhost", 1).get(10, TimeUnit.SECONDS);
+        assertEquals(1, prober.size());
+    }
+
+    @Test
+    public void testReadinessIsProbedOnCacheMiss() throws Exception {
+        try (ServerSocket server = new ServerSocket(0)) {
+            assertTrue(prober.isReady("localhost", server.getLocalPort()));
+        }
+        assertFalse(prober.isReady("unknown.invalid", 8081));
+    }
+
+    @Test
+    public void testManyEndpointsAreProbedConcurrently() throws Exception {
+        ServerSocket[] servers = new ServerSocket[20];
+        try {
+            for (int i = 0; i < servers.length; i++) {
+                servers[i] = new ServerSocket(0, 50);
+            }
+            for (ServerSocket server : servers) {
+                prober.probe("localhost", server.getLocalPort());
+            }
+            for (ServerSocket server : servers) {
+                assertTrue(
+                        prober.probe("localhost", server.getLocalPort()).get(10, TimeUnit.SECONDS));
+            }
+            assertEquals(servers.length, prober.size());
+        } finally {
+            for (ServerSocket server : servers) {
+                if (server != null) {
+                    server.close();
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testUnresolvableHost() throws Exception {
+        assertFalse(prober.probe("unknown.invalid", 8081).get(10, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.kubernetes.operator.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** {@link SessionJarRegistry} tests. */
+public class SessionJarRegistryTest {
+
+    private static final String CLUSTER = "ns/session-cluster@http://localhost:8081";
+
+    @Test
+    public void testJarsAreSharedBetweenSessionJobs() {
+        SessionJarRegistry registry = new SessionJarRegistry(0);
+        assertTrue(registry.register(CLUSTER, "ns/job-1", "hash-1", "fp-1", "jar-1"));
+        assertFalse(registry.register(CLUSTER, "ns/job-2", "hash-1", "fp-1", "jar-2"));
+
+        assertEquals(
+                "jar-1",
+                registry.acquireByFingerprint(CLUSTER, "ns/job-2", "fp-1").get().getJarId());
+        assertEquals(2, registry.getReferences(CLUSTER, "hash-1"));
+
+        // Resubmitting from the same jar does not add references
+        registry.acquireByContentHash(CLUSTER, "ns/job-2", "hash-1", null);
+        assertEquals(2, registry.getReferences(CLUSTER, "hash-1"));
+
+        assertFalse(registry.acquireByFingerprint(CLUSTER, "ns/job-2", "fp-2").isPresent());
+        assertFalse(
+                registry.acquireByFingerprint("ns/other@http://localhost:8081", "ns/job", "fp-1")
+                        .isPresent());
+
+        registry.release(CLUSTER, "ns/job-1");
+        assertEquals(Collections.emptyList(), registry.evictUnused(CLUSTER));
+        registry.release(CLUSTER, "ns/job-2");
+        assertEquals(List.of("jar-1"), registry.evictUnused(CLUSTER));
+        assertEquals(-1, registry.getReferences(CLUSTER, "hash-1"));
+        assertFalse(registry.acquireByFingerprint(CLUSTER, "ns/job-1", "fp-1").isPresent());
+    }
+
+    @Test
+    public void testUnusedJarsAreEvictedInLruOrder() {
+        SessionJarRegistry registry = new SessionJarRegistry(1);
+        registry.register(CLUSTER, "ns/job", "hash-1", null, "jar-1");
+        // Upgrading the job to a new jar leaves the previous one unused
+        registry.register(CLUSTER, "ns/job", "hash-2", null, "jar-2");
+        assertEquals(0, registry.getReferences(CLUSTER, "hash-1"));
+        assertEquals(Collections.emptyList(), registry.evictUnused(CLUSTER));
+
+        registry.register(CLUSTER, "ns/job", "hash-3", null, "jar-3");
+        // Rolling back to the first jar makes it the most recently used one
+        registry.acquireByContentHash(CLUSTER, "ns/job", "hash-1", "fp-1");
+        registry.release(CLUSTER, "ns/job");
+        assertEquals(List.of("jar-2", "jar-3"), registry.evictUnused(CLUSTER));
+        assertTrue(registry.acquireByFingerprint(CLUSTER, "ns/job", "fp-1").isPresent());
+    }
+
+    @Test
+    public void testRemoveAndInvalidate() {
+        SessionJarRegistry registry = new SessionJarRegistry(10);
+        registry.register(CLUSTER, "ns/job-1", "hash-1", "fp-1", "jar-1");
+        registry.register(CLUSTER, "ns/job-2", "hash-2", "fp-2", "jar-2");
+
+        registry.remove(CLUSTER, "hash-1");
+        assertFalse(registry.acquireByFingerprint(CLUSTER, "ns/job-1", "fp-1").isPresent());
+        assertEquals(1, registry.getReferences(CLUSTER, "hash-2"));
+
+        registry.invalidate(cluster -> cluster.startsWith("ns/session-cluster@"));
+        assertEquals(-1, registry.getReferences(CLUSTER, "hash-2"));
+        assertEquals(Collections.emptyList(), registry.evictUnused(CLUSTER));
+    }
+
+    @Test
+    public void testUntrackedOwnedJarsAreRecovered() {
+        SessionJarRegistry registry = new SessionJarRegistry(10);
+        String owned = "1234_" + SessionJarRegistry.ownedJarName("job.jar");
+        String tracked = "5678_" + SessionJarRegistry.ownedJarName("job.jar");
+        registry.register(CLUSTER, "ns/job", "hash-1", null, tracked);
+        assertTrue(SessionJarRegistry.isOwnedJar(owned));
+        assertFalse(SessionJarRegistry.isOwnedJar("1234_job.jar"));
+        assertEquals(
+                List.of(owned),
+                registry.getUntrackedOwnedJars(CLUSTER, List.of(owned, tracked, "1234_job.jar")));
+
+        AtomicInteger recoveries = new AtomicInteger();
+        CompletableFuture<Void> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new Exception("unreachable"));
+        assertTrue(
+                registry.recover(
+                                CLUSTER,
+                                () -> {
+                                    recoveries.incrementAndGet();
+                                    return failed;
+                                })
+                        .isCompletedExceptionally());
+        // Failed recoveries are retried, successful ones are not
+        for (int i = 0; i < 2; i++) {
+            registry.recover(
+                    CLUSTER,
+                    () -> {
+                        recoveries.incrementAndGet();
+                        return CompletableFuture.completedFuture(null);
+                    });
+        }
+        assertEquals(2, recoveries.get());
+
+        registry.invalidate(CLUSTER::equals);
+        registry.recover(
+                CLUSTER,
+                () -> {
+                    recoveries.incrementAndGet();
+                    return CompletableFuture.completedFuture(null);
+                });
+        assertEquals(3, recoveries.get());
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.kubernetes.operator.service;
+
+import org.apache.flink.util.concurrent.FutureUtils;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** {@link SingleFlightCache} tests. */
+public class SingleFlightCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final List<CompletableFuture<String>> requests = new ArrayList<>();
+
+    @Test
+    public void testConcurrentRequestsAreCoalesced() throws Exception {
+        SingleFlightCache<String, String> cache =
+                new SingleFlightCache<>(Duration.ZERO, clock::get);
+        CompletableFuture<String> first = cache.get("cluster-1", this::request);
+        CompletableFuture<String> second = cache.get("cluster-1", this::request);
+        CompletableFuture<String> other = cache.get("cluster-2", this::request);
+        assertEquals(2, requests.size());
+
+        requests.get(0).complete("jobs");
+        assertEquals("jobs", first.get());
+        assertEquals("jobs", second.get());
+        assertFalse(other.isDone());
+
+        // Without a ttl the result is not reused once the request completed
+        cache.get("cluster-1", this::request);
+        assertEquals(3, requests.size());
+    }
+
+    @Test
+    public void testResultIsCachedForTtl() throws Exception {
+        SingleFlightCache<String, String> cache =
+                new SingleFlightCache<>(Duration.ofSeconds(5), clock::get);
+        cache.get("cluster-1", this::request);
+        requests.get(0).complete("jobs");
+
+        clock.set(5000);
+        assertEquals("jobs", cache.get("cluster-1", this::request).get());
+        assertEquals(1, requests.size());
+
+        clock.set(5001);
+        cache.get("cluster-1", this::request);
+        assertEquals(2, requests.size());
+
+        cache.invalidate(key -> key.equals("cluster-1"));
+        assertEquals(0, cache.size());
+        cache.get("cluster-1", this::request);
+        assertEquals(3, requests.size());
+    }
+
+    @Test
+    public void testFailuresAreNotCached() {
+        SingleFlightCache<String, String> cache =
+                new SingleFlightCache<>(Duration.ofSeconds(5), clock::get);
+        CompletableFuture<String> failed =
+                cache.get(
+                        "cluster-1",
+                        () -> FutureUtils.completedExceptionally(new Exception("Unavailable")));
+        assertTrue(failed.isCompletedExceptionally());
+        assertEquals(0, cache.size());
+
+        cache.get("cluster-1", this::request);
+        assertEquals(1, requests.size());
+    }
+
+    @Test
+    public void testCallersGetIndependentFutures() throws Exception {
+        SingleFlightCache<String, String> cache =
+                new SingleFlightCache<>(Duration.ZERO, clock::get);
+        CompletableFuture<String> first = cache.get("cluster-1", this::request);
+        CompletableFuture<String> second = cache.get("cluster-1", this::request);
+        first.cancel(true);
+
+        requests.get(0).complete("jobs");
+        assertEquals("jobs", second.get());
+    }
+
+    private CompletableFuture<String> request() {
+        CompletableFuture<String> request = new CompletableFuture<>();
+        requests.add(request);
+        return request;
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.kubernetes.operator.utils;
+
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.configuration.DeploymentOptionsInternal;
+import org.apache.flink.kubernetes.configuration.KubernetesConfigOptions;
+import org.apache.flink.util.clock.ManualClock;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** {@link ConfigFileStore} tests. */
+public class ConfigFileStoreTest {
+
+    private static final Duration GRACE_PERIOD = Duration.ofMinutes(10);
+
+    @TempDir Path tempDir;
+
+    private final ManualClock clock = new ManualClock(System.currentTimeMillis() * 1_000_000);
+
+    @Test
+    public void testIdenticalContentIsStoredOnce() throws Exception {
+        ConfigFileStore store = new ConfigFileStore(tempDir.toFile(), GRACE_PERIOD, clock);
+
+        String path = store.storeFile("podTemplate", ".yaml", "content");
+        assertEquals(path, store.storeFile("podTemplate", ".yaml", "content"));
+        assertEquals("content", Files.readString(Path.of(path)));
+        String otherPath = store.storeFile("podTemplate", ".yaml", "other content");
+        assertNotEquals(path, otherPath);
+
+        String dir = store.storeDirectory("conf", Map.of("log4j.properties", "log4j"));
+        assertEquals(dir, store.storeDirectory("conf", Map.of("log4j.properties", "log4j")));
+        assertEquals("log4j", Files.readString(Path.of(dir, "log4j.properties")));
+        assertNotEquals(dir, store.storeDirectory("conf", Map.of("logback.xml", "log4j")));
+
+        assertEquals(4, store.getFileCount());
+        assertEquals(
+                "content".length() + "other content".length() + 2 * "log4j".length(),
+                store.getDiskUsage());
+    }
+
+    @Test
+    public void testUnreferencedFilesAreCollected() throws Exception {
+        ConfigFileStore store = new ConfigFileStore(tempDir.toFile(), GRACE_PERIOD, clock);
+        File orphan = tempDir.resolve("podTemplate-orphan.yaml").toFile();
+        Files.writeString(orphan.toPath(), "previous run");
+        orphan.setLastModified(clock.absoluteTimeMillis() - GRACE_PERIOD.toMillis());
+
+        String path = store.storeFile("podTemplate", ".yaml", "content");
+        store.storeFile("podTemplate", ".yaml", "content");
+        String dir = store.storeDirectory("conf", Map.of("log4j.properties", "log4j"));
+
+        Configuration conf = new Configuration();
+        conf.set(KubernetesConfigOptions.JOB_MANAGER_POD_TEMPLATE, path);
+        conf.set(DeploymentOptionsInternal.CONF_DIR, dir);
+        store.release(conf);
+        store.gc();
+        assertFalse(orphan.exists());
+        assertTrue(new File(dir).exists());
+
+        // Files are kept for the grace period after the last reference is released
+        clock.advanceTime(GRACE_PERIOD);
+        store.gc();
+        assertFalse(new File(dir).exists());
+        assertTrue(new File(path).exists());
+        store.release(path);
+        store.release("/not/in/the/store");
+        clock.advanceTime(GRACE_PERIOD.minusSeconds(1));
+        store.gc();
+        assertTrue(new File(path).exists());
+        clock.advanceTime(Duration.ofSeconds(1));
+        store.gc();
+        assertFalse(new File(path).exists());
+        assertEquals(0, store.getFileCount());
+        assertEquals(0, store.getDiskUsage());
+    }
+
+    @Test
+    public void testFilesUsedByOtherInstancesAreKept() throws Exception {
+        ConfigFileStore store = new ConfigFileStore(tempDir.toFile(), GRACE_PERIOD, clock);
+        ConfigFileStore otherStore = new ConfigFileStore(tempDir.toFile(), GRACE_PERIOD, clock);
+
+        String path = store.storeFile("podTemplate", ".yaml", "content");
+        assertEquals(path, otherStore.storeFile("podTemplate", ".yaml", "content"));
+        store.release(path);
+
+        // The other instance refreshes the files it references while it runs
+        clock.advanceTime(GRACE_PERIOD.dividedBy(2));
+        otherStore.gc();
+        clock.advanceTime(GRACE_PERIOD.dividedBy(2));
+        store.gc();
+        assertTrue(new File(path).exists());
+        assertEquals(0, store.getFileCount());
+
+        otherStore.release(path);
+        clock.advanceTime(GRACE_PERIOD);
+        store.gc();
+        assertFalse(new File(path).exists());
+    }
+
+    @Test
+    public void testReleaseWithRelativeDirectory() throws Exception {
+        File relativeDir = Path.of("").toAbsolutePath().relativize(tempDir).toFile();
+        ConfigFileStore store = new ConfigFileStore(relativeDir, GRACE_PERIOD, clock);
+
+        String path = store.storeFile("podTemplate", ".yaml", "content");
+        store.release(path);
+        clock.advanceTime(GRACE_PERIOD);
+        store.gc();
+        assertFalse(new File(path).exists());
+        assertEquals(0, store.getFileCount());
+    }
+}
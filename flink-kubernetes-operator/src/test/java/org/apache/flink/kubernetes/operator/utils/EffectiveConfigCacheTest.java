@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.kubernetes.operator.utils;
+
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.configuration.CoreOptions;
+import org.apache.flink.kubernetes.configuration.KubernetesConfigOptions;
+import org.apache.flink.kubernetes.operator.TestUtils;
+import org.apache.flink.kubernetes.operator.crd.FlinkDeployment;
+import org.apache.flink.kubernetes.operator.crd.spec.UpgradeMode;
+import org.apache.flink.kubernetes.operator.reconciler.ReconciliationUtils;
+import org.apache.flink.streaming.api.environment.ExecutionCheckpointingOptions;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+/** {@link EffectiveConfigCache} tests. */
+public class EffectiveConfigCacheTest {
+
+    private EffectiveConfigCache cache;
+    private EffectiveConfigCache.Reconciliation reconciliation;
+
+    @BeforeEach
+    public void setup() {
+        cache = new EffectiveConfigCache(new ConfigFileStore());
+        reconciliation = cache.startReconcile();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        reconciliation.close();
+    }
+
+    @Test
+    public void testConfigIsBuiltOncePerSpec() {
+        FlinkDeployment deployment = TestUtils.buildApplicationCluster();
+        deployment.getMetadata().setName("effective-config-cache-test");
+        deployment.getSpec().setPodTemplate(TestUtils.getTestPodTemplate());
+        Configuration defaultConfig = new Configuration();
+
+        Configuration config = FlinkUtils.getEffectiveConfig(deployment, defaultConfig);
+        assertEquals(1, cache.getMissCount());
+
+        // Equal specs hit the cache, every caller gets its own modifiable copy
+        config.set(CoreOptions.DEFAULT_PARALLELISM, 42);
+        Configuration cachedConfig =
+                FlinkUtils.getEffectiveConfig(
+                        ReconciliationUtils.clone(deployment), new Configuration(defaultConfig));
+        assertEquals(1, cache.getMissCount());
+        assertNotSame(config, cachedConfig);
+        assertNotEquals(42, cachedConfig.get(CoreOptions.DEFAULT_PARALLELISM));
+        assertEquals(
+                config.get(KubernetesConfigOptions.TASK_MANAGER_POD_TEMPLATE),
+                cachedConfig.get(KubernetesConfigOptions.TASK_MANAGER_POD_TEMPLATE));
+
+        // Spec changes are not served from the cache, not even the ones ignored by equals
+        deployment.getSpec().setImage("new-image");
+        assertEquals(
+                "new-image",
+                FlinkUtils.getEffectiveConfig(deployment, defaultConfig)
+                        .get(KubernetesConfigOptions.CONTAINER_IMAGE));
+        deployment.getSpec().getJob().setUpgradeMode(UpgradeMode.LAST_STATE);
+        assertEquals(
+                FlinkConfigBuilder.DEFAULT_CHECKPOINTING_INTERVAL,
+                FlinkUtils.getEffectiveConfig(deployment, defaultConfig)
+                        .get(ExecutionCheckpointingOptions.CHECKPOINTING_INTERVAL));
+        assertEquals(3, cache.getMissCount());
+
+        // Neither are default config changes
+        defaultConfig.set(CoreOptions.FLINK_JVM_OPTIONS, "-Xss1m");
+        assertEquals(
+                "-Xss1m",
+                FlinkUtils.getEffectiveConfig(deployment, defaultConfig)
+                        .get(CoreOptions.FLINK_JVM_OPTIONS));
+        assertEquals(4, cache.getMissCount());
+
+        EffectiveConfigCache.invalidate(deployment.getMetadata());
+        FlinkUtils.getEffectiveConfig(deployment, defaultConfig);
+        assertEquals(5, cache.getMissCount());
+    }
+
+    @Test
+    public void testConfigIsNotCachedOutsideOfReconciliation() throws Exception {
+        FlinkDeployment deployment = TestUtils.buildApplicationCluster();
+        reconciliation.close();
+        AtomicInteger builds = new AtomicInteger();
+        for (int i = 0; i < 2; i++) {
+            EffectiveConfigCache.get(
+                    deployment.getMetadata(),
+                    deployment.getSpec(),
+                    new Configuration(),
+                    store -> {
+                        builds.incrementAndGet();
+                        return new Configuration();
+                    });
+        }
+        assertEquals(2, builds.get());
+        assertEquals(0, cache.getMissCount());
+    }
+
+    @Test
+    public void testCachedConfigIsUnmodifiable() throws Exception {
+        FlinkDeployment deployment = TestUtils.buildApplicationCluster();
+        deployment.getMetadata().setName("effective-config-cache-snapshot-test");
+        Configuration built = new Configuration();
+        EffectiveConfigCache.get(
+                deployment.getMetadata(),
+                deployment.getSpec(),
+                new Configuration(),
+                store -> built);
+        built.set(CoreOptions.DEFAULT_PARALLELISM, 42);
+        assertFalse(
+                EffectiveConfigCache.get(
+                                deployment.getMetadata(),
+                                deployment.getSpec(),
+                                new Configuration(),
+                                store -> built)
+                        .contains(CoreOptions.DEFAULT_PARALLELISM));
+    }
+}
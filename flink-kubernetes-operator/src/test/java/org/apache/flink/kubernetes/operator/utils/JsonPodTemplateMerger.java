@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.kubernetes.operator.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.fabric8.kubernetes.api.model.Pod;
+
+import java.util.Iterator;
+
+/**
+ * The pod template merge through Jackson trees that {@link PodTemplateMerger} replaced, kept as a
+ * reference for parity tests and benchmarks.
+ */
+public class JsonPodTemplateMerger {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    public static Pod merge(Pod toPod, Pod fromPod) {
+        if (fromPod == null) {
+            return toPod;
+        } else if (toPod == null) {
+            return fromPod;
+        }
+        JsonNode node1 = MAPPER.valueToTree(toPod);
+        JsonNode node2 = MAPPER.valueToTree(fromPod);
+        mergeInto(node1, node2);
+        try {
+            return MAPPER.treeToValue(node1, Pod.class);
+        } catch (Exception ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
+    private static void mergeInto(JsonNode toNode, JsonNode fromNode) {
+        Iterator<String> fieldNames = fromNode.fieldNames();
+        while (fieldNames.hasNext()) {
+            String fieldName = fieldNames.next();
+            JsonNode toChildNode = toNode.get(fieldName);
+            JsonNode fromChildNode = fromNode.get(fieldName);
+
+            if (toChildNode != null && toChildNode.isArray() && fromChildNode.isArray()) {
+                for (int i = 0; i < fromChildNode.size(); i++) {
+                    JsonNode updatedChildNode = fromChildNode.get(i);
+                    if (toChildNode.size() <= i) {
+                        // append new node
+                        ((ArrayNode) toChildNode).add(updatedChildNode);
+                    }
+                    mergeInto(toChildNode.get(i), updatedChildNode);
+                }
+            } else if (toChildNode != null && toChildNode.isObject()) {
+                mergeInto(toChildNode, fromChildNode);
+            } else {
+                if (toNode instanceof ObjectNode) {
+                    ((ObjectNode) toNode).replace(fieldName, fromChildNode);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.kubernetes.operator.utils;
+
+import org.apache.flink.kubernetes.utils.Constants;
+import org.apache.flink.metrics.groups.UnregisteredMetricsGroup;
+
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import io.fabric8.kubernetes.client.server.mock.EnableKubernetesMockClient;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** {@link PodCache} tests. */
+@EnableKubernetesMockClient(crud = true)
+public class PodCacheTest {
+
+    private static final String NAMESPACE = "flink-test";
+
+    KubernetesClient kubernetesClient;
+
+    @Test
+    public void testPodsAreIndexedByClusterAndComponent() throws Exception {
+        createPod("cluster-jm", "cluster", Constants.LABEL_COMPONENT_JOB_MANAGER);
+        createPod("cluster-tm-1", "cluster", Constants.LABEL_COMPONENT_TASK_MANAGER);
+        createPod("cluster-tm-2", "cluster", Constants.LABEL_COMPONENT_TASK_MANAGER);
+        createPod("other-jm", "other", Constants.LABEL_COMPONENT_JOB_MANAGER);
+
+        PodCache podCache = new PodCache(new UnregisteredMetricsGroup());
+
+        // Not cached yet, the pods are listed from the API server
+        assertEquals(Optional.empty(), podCache.getJobManagerPods(NAMESPACE, "cluster"));
+        assertEquals(
+                List.of("cluster-jm"),
+                names(
+                        FlinkUtils.getJmPodList(kubernetesClient, podCache, NAMESPACE, "cluster")
+                                .getItems()));
+
+        SharedIndexInformer<Pod> informer =
+                kubernetesClient
+                        .pods()
+                        .inNamespace(NAMESPACE)
+                        .withLabel(Constants.LABEL_TYPE_KEY, Constants.LABEL_TYPE_NATIVE_TYPE)
+                        .withLabel(
+                                Constants.LABEL_COMPONENT_KEY,
+                                Constants.LABEL_COMPONENT_JOB_MANAGER)
+                        .runnableInformer(0);
+        podCache.register(informer, NAMESPACE);
+        assertEquals(Optional.empty(), podCache.getJobManagerPods(NAMESPACE, "cluster"));
+        informer.run();
+        try {
+            waitForSync(informer);
+            assertEquals(
+                    List.of("cluster-jm"),
+                    names(
+                            FlinkUtils.getJmPodList(
+                                            kubernetesClient, podCache, NAMESPACE, "cluster")
+                                    .getItems()));
+            // The TaskManager pods are not cached
+            assertEquals(2, informer.getStore().list().size());
+            assertEquals(
+                    List.of("other-jm"),
+                    names(podCache.getJobManagerPods(NAMESPACE, "other").get()));
+            assertTrue(podCache.getJobManagerPods(NAMESPACE, "missing").get().isEmpty());
+            assertEquals(
+                    Optional.empty(), podCache.getJobManagerPods("other-namespace", "cluster"));
+        } finally {
+            informer.stop();
+        }
+    }
+
+    private void createPod(String name, String clusterId, String component) {
+        kubernetesClient
+                .pods()
+                .inNamespace(NAMESPACE)
+                .create(
+                        new PodBuilder()
+                                .withNewMetadata()
+                                .withName(name)
+                                .withNamespace(NAMESPACE)
+                                .addToLabels(
+                                        Constants.LABEL_TYPE_KEY, Constants.LABEL_TYPE_NATIVE_TYPE)
+                                .addToLabels(Constants.LABEL_APP_KEY, clusterId)
+                                .addToLabels(Constants.LABEL_COMPONENT_KEY, component)
+                                .endMetadata()
+                                .build());
+    }
+
+    private static void waitForSync(SharedIndexInformer<Pod> informer) throws Exception {
+        for (int i = 0; i < 100 && !informer.hasSynced(); i++) {
+            Thread.sleep(50);
+        }
+        assertTrue(informer.hasSynced());
+    }
+
+    private static List<String> names(List<Pod> pods) {
+        return pods.stream().map(pod -> pod.getMetadata().getName()).collect(Collectors.toList());
+    }
+}
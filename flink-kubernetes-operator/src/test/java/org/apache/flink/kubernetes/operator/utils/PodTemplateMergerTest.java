@@ -0,0 +1,251 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.kubernetes.operator.utils;
+
+import org.apache.flink.kubernetes.operator.TestUtils;
+import org.apache.flink.kubernetes.operator.reconciler.ReconciliationUtils;
+
+import io.fabric8.kubernetes.api.model.Container;
+import io.fabric8.kubernetes.api.model.ContainerBuilder;
+import io.fabric8.kubernetes.api.model.ContainerPortBuilder;
+import io.fabric8.kubernetes.api.model.EnvVar;
+import io.fabric8.kubernetes.api.model.LocalObjectReference;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.api.model.Toleration;
+import io.fabric8.kubernetes.api.model.Volume;
+import io.fabric8.kubernetes.api.model.VolumeBuilder;
+import io.fabric8.kubernetes.api.model.VolumeMount;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/** {@link PodTemplateMerger} tests. */
+public class PodTemplateMergerTest {
+
+    private static final int ITERATIONS = 500;
+
+    @Test
+    public void testParityWithJsonMerge() {
+        for (int seed = 0; seed < ITERATIONS; seed++) {
+            Random random = new Random(seed);
+            int[] listSizes = new int[] {random.nextInt(4), random.nextInt(4)};
+            Pod base = randomPod(random, listSizes[0], true);
+            Pod override = randomPod(random, listSizes[1], false);
+            Pod baseCopy = ReconciliationUtils.clone(base);
+            Pod overrideCopy = ReconciliationUtils.clone(override);
+
+            assertEquals(
+                    JsonPodTemplateMerger.merge(base, override),
+                    PodTemplateMerger.merge(base, override),
+                    "seed " + seed);
+            assertEquals(baseCopy, base);
+            assertEquals(overrideCopy, override);
+        }
+    }
+
+    @Test
+    public void testListsAreMergedByName() {
+        Pod base =
+                new PodBuilder()
+                        .withNewSpec()
+                        .addNewContainer()
+                        .withName("sidecar")
+                        .withImage("sidecar:1")
+                        .withArgs("--verbose", "--port=1")
+                        .endContainer()
+                        .addNewContainer()
+                        .withName("flink-main-container")
+                        .withImage("flink:1")
+                        .addNewVolumeMount()
+                        .withName("data")
+                        .withMountPath("/data")
+                        .endVolumeMount()
+                        .endContainer()
+                        .addNewVolume()
+                        .withName("data")
+                        .withNewEmptyDir()
+                        .endEmptyDir()
+                        .endVolume()
+                        .endSpec()
+                        .build();
+        Pod override =
+                new PodBuilder()
+                        .withNewSpec()
+                        .addNewContainer()
+                        .withName("flink-main-container")
+                        .addNewVolumeMount()
+                        .withName("data")
+                        .withMountPath("/data-2")
+                        .endVolumeMount()
+                        .endContainer()
+                        .addNewContainer()
+                        .withName("sidecar")
+                        .withArgs("--port=2")
+                        .endContainer()
+                        .endSpec()
+                        .build();
+
+        Pod merged = PodTemplateMerger.merge(base, override);
+        List<Container> containers = merged.getSpec().getContainers();
+        assertEquals(2, containers.size());
+        assertEquals("flink-main-container", containers.get(0).getName());
+        assertEquals("flink:1", containers.get(0).getImage());
+        assertEquals(
+                List.of("/data-2", "/data"),
+                map(containers.get(0).getVolumeMounts(), VolumeMount::getMountPath));
+        assertEquals("sidecar", containers.get(1).getName());
+        assertEquals("sidecar:1", containers.get(1).getImage());
+        assertEquals(List.of("--port=2"), containers.get(1).getArgs());
+        assertEquals(base.getSpec().getVolumes(), merged.getSpec().getVolumes());
+
+        assertSame(base, PodTemplateMerger.merge(base, null));
+        assertSame(override, PodTemplateMerger.merge(null, override));
+    }
+
+    @Test
+    public void testTestPodTemplate() {
+        Pod base = TestUtils.getTestPodTemplate();
+        Pod override = TestUtils.getTestPodTemplate();
+        assertEquals(base, PodTemplateMerger.merge(base, override));
+        assertEquals(
+                JsonPodTemplateMerger.merge(base, override),
+                PodTemplateMerger.merge(base, override));
+    }
+
+    /**
+     * Random pod whose keyed lists share the keys at the same positions with every other random pod
+     * and whose value lists are only set on one side, where both merges behave the same.
+     */
+    private static Pod randomPod(Random random, int listSize, boolean base) {
+        PodBuilder builder = new PodBuilder();
+        if (random.nextBoolean()) {
+            builder.withApiVersion("v" + random.nextInt(3));
+        }
+        builder.withNewMetadata()
+                .withLabels(randomMap(random, "label"))
+                .withAnnotations(randomMap(random, "annotation"))
+                .endMetadata();
+
+        List<Container> containers = new ArrayList<>();
+        for (int i = 0; i < listSize; i++) {
+            ContainerBuilder container =
+                    new ContainerBuilder()
+                            .withName("container-" + i)
+                            .withImage(random(random, "image"));
+            for (int j = 0; j < random.nextInt(3); j++) {
+                container.addToEnv(new EnvVar("env-" + j, random(random, "value"), null));
+            }
+            for (int j = 0; j < random.nextInt(3); j++) {
+                container.addToVolumeMounts(
+                        new VolumeMount(
+                                "/mount-" + j,
+                                null,
+                                "volume-" + j,
+                                random.nextBoolean(),
+                                null,
+                                null));
+            }
+            for (int j = 0; j < random.nextInt(2); j++) {
+                container.addToPorts(
+                        new ContainerPortBuilder()
+                                .withContainerPort(8080 + j)
+                                .withName(random(random, "port"))
+                                .build());
+            }
+            if (base == (i % 2 == 0)) {
+                container.withArgs("--arg", random(random, "value"));
+            }
+            if (random.nextBoolean()) {
+                container
+                        .withNewResources()
+                        .withLimits(Map.of("memory", new Quantity(random.nextInt(4) + "Gi")))
+                        .withRequests(
+                                random.nextBoolean()
+                                        ? Map.of("cpu", new Quantity(random.nextInt(4) + "00m"))
+                                        : Map.of())
+                        .endResources();
+            }
+            containers.add(container.build());
+        }
+
+        List<Volume> volumes = new ArrayList<>();
+        for (int i = 0; i < random.nextInt(3); i++) {
+            VolumeBuilder volume = new VolumeBuilder().withName("volume-" + i);
+            if (random.nextBoolean()) {
+                volume.withNewEmptyDir().withMedium(random(random, "medium")).endEmptyDir();
+            } else {
+                volume.withNewConfigMap().withName(random(random, "config")).endConfigMap();
+            }
+            volumes.add(volume.build());
+        }
+
+        List<Toleration> tolerations = new ArrayList<>();
+        for (int i = 0; i < random.nextInt(3); i++) {
+            tolerations.add(
+                    new Toleration(
+                            random(random, "effect"),
+                            random(random, "key"),
+                            "Equal",
+                            null,
+                            random(random, "value")));
+        }
+
+        List<LocalObjectReference> pullSecrets = new ArrayList<>();
+        for (int i = 0; i < random.nextInt(2); i++) {
+            pullSecrets.add(new LocalObjectReference("secret-" + i));
+        }
+
+        return builder.withNewSpec()
+                .withServiceAccountName(random(random, "account"))
+                .withNodeSelector(randomMap(random, "node"))
+                .withContainers(containers)
+                .withVolumes(volumes)
+                .withTolerations(tolerations)
+                .withImagePullSecrets(pullSecrets)
+                .endSpec()
+                .build();
+    }
+
+    private static Map<String, String> randomMap(Random random, String prefix) {
+        Map<String, String> map = new HashMap<>();
+        for (int i = 0; i < random.nextInt(4); i++) {
+            map.put(prefix + "-" + random.nextInt(4), random(random, prefix));
+        }
+        return map;
+    }
+
+    private static String random(Random random, String prefix) {
+        return random.nextInt(3) == 0 ? null : prefix + "-" + random.nextInt(3);
+    }
+
+    private static <T, R> List<R> map(List<T> list, Function<T, R> mapper) {
+        List<R> result = new ArrayList<>();
+        list.forEach(element -> result.add(mapper.apply(element)));
+        return result;
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.kubernetes.operator.utils;
+
+import org.apache.flink.kubernetes.operator.TestUtils;
+import org.apache.flink.kubernetes.operator.crd.FlinkDeployment;
+import org.apache.flink.kubernetes.operator.crd.FlinkSessionJob;
+import org.apache.flink.kubernetes.operator.crd.status.Savepoint;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.fabric8.kubernetes.api.model.Namespaced;
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.client.CustomResource;
+import io.fabric8.kubernetes.model.annotation.Group;
+import io.fabric8.kubernetes.model.annotation.Version;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/** {@link ResourceCopier} tests. */
+public class ResourceCopierTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    public void testCopyMatchesJsonRoundTrip() throws Exception {
+        FlinkDeployment deployment = TestUtils.buildApplicationCluster();
+        deployment.getSpec().setPodTemplate(TestUtils.getTestPodTemplate());
+        deployment.getSpec().getJob().setArgs(new String[] {"--input", "in"});
+        deployment.getSpec().getPodTemplate().getSpec().setAdditionalProperty("unknown", 1);
+        deployment.getStatus().getJobStatus().getSavepointInfo().setTrigger("trigger");
+        deployment
+                .getStatus()
+                .getJobStatus()
+                .getSavepointInfo()
+                .updateLastSavepoint(Savepoint.of("savepoint"));
+        assertCopy(deployment);
+
+        FlinkSessionJob sessionJob = TestUtils.buildSessionJob();
+        assertCopy(sessionJob);
+
+        assertNull(ResourceCopier.copy(null));
+    }
+
+    @Test
+    public void testCopySharesNoMutableState() {
+        FlinkDeployment deployment = TestUtils.buildApplicationCluster();
+        deployment.getSpec().setPodTemplate(TestUtils.getTestPodTemplate());
+        deployment.getSpec().getJob().setArgs(new String[] {"--input", "in"});
+
+        FlinkDeployment copy = ResourceCopier.copy(deployment);
+        copy.getSpec().getFlinkConfiguration().put("key", "value");
+        copy.getSpec().getJob().getArgs()[0] = "--output";
+        copy.getSpec()
+                .getPodTemplate()
+                .getSpec()
+                .getContainers()
+                .get(0)
+                .getResources()
+                .getLimits()
+                .put("memory", new Quantity("8Gi"));
+        copy.getStatus().getReconciliationStatus().setLastReconciledSpec("spec");
+
+        assertNotEquals(deployment, copy);
+        assertEquals("--input", deployment.getSpec().getJob().getArgs()[0]);
+        assertEquals(
+                new Quantity("4Gi"),
+                deployment
+                        .getSpec()
+                        .getPodTemplate()
+                        .getSpec()
+                        .getContainers()
+                        .get(0)
+                        .getResources()
+                        .getLimits()
+                        .get("memory"));
+        assertNull(deployment.getStatus().getReconciliationStatus().getLastReconciledSpec());
+    }
+
+    @Test
+    public void testCopyOfOtherTypes() {
+        String[] args = {"a", "b"};
+        assertArrayEquals(args, ResourceCopier.copy(args));
+        assertNotSame(args, ResourceCopier.copy(args));
+    }
+
+    @Test
+    public void testCopySkipsStateIgnoredByJackson() throws Exception {
+        TestResource resource = new TestResource();
+        resource.setMetadata(new ObjectMetaBuilder().withName("test").build());
+        resource.setSpec("spec");
+        resource.ignored = "ignored";
+        resource.cached = "cached";
+
+        TestResource copy = ResourceCopier.copy(resource);
+        assertEquals(resource.getMetadata(), copy.getMetadata());
+        assertEquals("spec", copy.getSpec());
+        assertNull(copy.ignored);
+        assertNull(copy.cached);
+        assertCopy(resource);
+    }
+
+    private void assertCopy(Object resource) throws Exception {
+        Object copy = ResourceCopier.copy(resource);
+        assertNotSame(resource, copy);
+        assertEquals(resource, copy);
+        assertEquals(
+                objectMapper.writeValueAsString(resource), objectMapper.writeValueAsString(copy));
+        assertEquals(
+                objectMapper.readValue(
+                        objectMapper.writeValueAsString(resource), resource.getClass()),
+                copy);
+    }
+
+    /** Custom resource with state that is not part of its JSON form. */
+    @Group("test.flink.apache.org")
+    @Version("v1")
+    public static class TestResource extends CustomResource<String, Void> implements Namespaced {
+        @JsonIgnore private String ignored;
+        private transient String cached;
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.kubernetes.operator.utils;
+
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.kubernetes.operator.config.FlinkOperatorConfiguration;
+import org.apache.flink.kubernetes.operator.crd.status.Savepoint;
+import org.apache.flink.kubernetes.operator.crd.status.SavepointInfo;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/** {@link SavepointUtils} tests. */
+public class SavepointUtilsTest {
+
+    private final FlinkOperatorConfiguration operatorConfiguration =
+            FlinkOperatorConfiguration.fromConfiguration(new Configuration());
+
+    @Test
+    public void testStatusPollDelayBacksOff() {
+        SavepointInfo savepointInfo = new SavepointInfo();
+        assertEquals(Duration.ofSeconds(2), pollDelay(savepointInfo));
+
+        savepointInfo.setTriggerId("trigger");
+        savepointInfo.setTriggerTimestamp(System.currentTimeMillis());
+        assertEquals(Duration.ofSeconds(2), pollDelay(savepointInfo));
+
+        savepointInfo.setTriggerTimestamp(System.currentTimeMillis() - 40_000);
+        assertDelayAround(20_000, pollDelay(savepointInfo));
+
+        savepointInfo.setTriggerTimestamp(System.currentTimeMillis() - 600_000);
+        assertEquals(Duration.ofMinutes(1), pollDelay(savepointInfo));
+    }
+
+    @Test
+    public void testStatusPollDelayFollowsLastSavepointDuration() {
+        SavepointInfo savepointInfo = new SavepointInfo();
+        savepointInfo.setTriggerId("trigger");
+        savepointInfo.setTriggerTimestamp(System.currentTimeMillis() - 100_000);
+        savepointInfo.updateLastSavepoint(Savepoint.of("savepoint"));
+        assertDelayAround(100_000, Duration.ofMillis(savepointInfo.getLastSavepointDuration()));
+
+        // Polls are frequent around the expected completion
+        savepointInfo.setTriggerId("trigger");
+        savepointInfo.setTriggerTimestamp(System.currentTimeMillis() - 96_000);
+        assertDelayAround(2_000, pollDelay(savepointInfo));
+
+        // And back off in between
+        savepointInfo.setTriggerTimestamp(System.currentTimeMillis() - 50_000);
+        assertDelayAround(25_000, pollDelay(savepointInfo));
+
+        // Savepoints completed without an operator trigger keep the last duration
+        savepointInfo.resetTrigger();
+        savepointInfo.updateLastSavepoint(Savepoint.of("savepoint"));
+        assertDelayAround(100_000, Duration.ofMillis(savepointInfo.getLastSavepointDuration()));
+    }
+
+    private Duration pollDelay(SavepointInfo savepointInfo) {
+        return SavepointUtils.getStatusPollDelay(operatorConfiguration, savepointInfo);
+    }
+
+    private static void assertDelayAround(long expectedMillis, Duration delay) {
+        assertEquals(expectedMillis, delay.toMillis(), 1_000);
+    }
+}